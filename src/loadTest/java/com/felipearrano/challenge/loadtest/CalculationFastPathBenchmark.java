@@ -0,0 +1,195 @@
+package com.felipearrano.challenge.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.felipearrano.challenge.TestcontainersConfiguration;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compara el controlador anotado de {@code /sum-with-percentage} con su versión funcional
+ * ({@code calculation.fast-path}) dentro de la misma aplicación. Carga cerrada con concurrencia fija,
+ * para medir el throughput máximo y la latencia de cada camino; las rondas se alternan entre ambos
+ * para que el calentamiento del JIT o de la base no favorezca a ninguno. El upstream simulado responde
+ * sin demora, de modo que la diferencia medida es el costo del despacho.
+ * <p>
+ * {@code ./gradlew loadTest --tests '*CalculationFastPathBenchmark' -Dloadtest.benchmark.concurrency=64}
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "calculation.fast-path.enabled=true",
+        "calculation.fast-path.path=" + CalculationFastPathBenchmark.FAST_PATH,
+        "mock.percentage-service.delay=0ms",
+        "mock.percentage-service.failure-rate=0"
+})
+@Import(TestcontainersConfiguration.class)
+@ActiveProfiles("loadtest")
+class CalculationFastPathBenchmark {
+
+    static final String FAST_PATH = "/api/v1/fast/calculations/sum-with-percentage";
+
+    private static final int CONCURRENCY = Integer.getInteger("loadtest.benchmark.concurrency", 64);
+    private static final int ROUNDS = Integer.getInteger("loadtest.benchmark.rounds", 3);
+    private static final Duration ROUND = duration("loadtest.benchmark.round", "10s");
+    private static final Duration WARMUP = duration("loadtest.benchmark.warmup", "10s");
+
+    private enum Variant {
+        ANNOTATED("/api/v1/calculations/sum-with-percentage"),
+        FUNCTIONAL(FAST_PATH);
+
+        private final String path;
+
+        Variant(String path) {
+            this.path = path;
+        }
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    @DisplayName("Debe medir throughput y latencia del controlador anotado y del endpoint funcional")
+    void shouldCompareAnnotatedAndFunctionalEndpoints() throws IOException {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        ConnectionProvider provider = ConnectionProvider.builder("fast-path-benchmark")
+                .maxConnections(CONCURRENCY)
+                .pendingAcquireMaxCount(-1)
+                .build();
+        WebClient webClient = WebClient.builder()
+                .baseUrl("http://localhost:" + port)
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(provider)))
+                .build();
+
+        try {
+            for (Variant variant : Variant.values()) {
+                run(webClient, variant, WARMUP, new Stats());
+            }
+
+            Map<Variant, Stats> stats = new LinkedHashMap<>();
+            for (Variant variant : Variant.values()) {
+                stats.put(variant, new Stats());
+            }
+            for (int round = 0; round < ROUNDS; round++) {
+                // Orden alternado por ronda: ninguno corre siempre primero
+                Variant first = round % 2 == 0 ? Variant.ANNOTATED : Variant.FUNCTIONAL;
+                Variant second = first == Variant.ANNOTATED ? Variant.FUNCTIONAL : Variant.ANNOTATED;
+                run(webClient, first, ROUND, stats.get(first));
+                run(webClient, second, ROUND, stats.get(second));
+            }
+
+            Map<String, LoadTestReport.EndpointSummary> summaries = new LinkedHashMap<>();
+            stats.forEach((variant, variantStats) -> summaries.put(variant.name().toLowerCase(), variantStats.summary()));
+            print(summaries);
+            Path report = write(settings, summaries);
+            System.out.println("Reporte guardado en " + report);
+
+            summaries.forEach((variant, summary) -> {
+                assertThat(summary.requests()).as("Peticiones de %s", variant).isPositive();
+                assertThat(summary.errors()).as("Errores de %s", variant).isZero();
+            });
+        } finally {
+            provider.dispose();
+        }
+    }
+
+    // Cada trabajador encadena peticiones hasta el plazo: siempre hay exactamente CONCURRENCY en vuelo
+    private void run(WebClient webClient, Variant variant, Duration duration, Stats stats) {
+        AtomicInteger sequence = new AtomicInteger();
+        long deadline = System.nanoTime() + duration.toNanos();
+        long start = System.nanoTime();
+
+        Flux.range(0, CONCURRENCY)
+                .flatMap(worker -> Mono.defer(() -> call(webClient, variant, sequence.incrementAndGet(), stats))
+                        .repeat(() -> System.nanoTime() < deadline), CONCURRENCY)
+                .then()
+                .block(duration.plusMinutes(1));
+
+        stats.elapsedNanos += System.nanoTime() - start;
+    }
+
+    private Mono<Void> call(WebClient webClient, Variant variant, int sequence, Stats stats) {
+        long start = System.nanoTime();
+        return webClient.get()
+                .uri(variant.path + "?num1=" + (sequence % 10_000) + "&num2=" + (sequence % 97))
+                .exchangeToMono(response -> response.releaseBody().thenReturn(response.statusCode().value()))
+                .doOnNext(status -> stats.record(status, System.nanoTime() - start))
+                .then();
+    }
+
+    private static void print(Map<String, LoadTestReport.EndpointSummary> summaries) {
+        System.out.printf("Concurrencia %d, %d rondas de %s por variante%n", CONCURRENCY, ROUNDS, ROUND);
+        System.out.printf("%-12s %12s %10s %10s %10s %10s%n", "variante", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        summaries.forEach((variant, summary) -> System.out.printf("%-12s %12.1f %10.3f %10.3f %10.3f %10.3f%n",
+                variant, summary.throughputPerSecond(), summary.p50Millis(), summary.p99Millis(),
+                summary.p999Millis(), summary.maxMillis()));
+
+        LoadTestReport.EndpointSummary annotated = summaries.get("annotated");
+        LoadTestReport.EndpointSummary functional = summaries.get("functional");
+        System.out.printf("Funcional vs anotado: throughput %+.1f%%, p50 %+.1f%%, p99 %+.1f%%%n",
+                change(annotated.throughputPerSecond(), functional.throughputPerSecond()),
+                change(annotated.p50Millis(), functional.p50Millis()),
+                change(annotated.p99Millis(), functional.p99Millis()));
+    }
+
+    private static Path write(LoadTestSettings settings, Map<String, LoadTestReport.EndpointSummary> summaries) throws IOException {
+        Files.createDirectories(settings.reportDir());
+        Path file = settings.reportDir().resolve("fast-path-benchmark-" + settings.commit() + ".json");
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(file.toFile(), summaries);
+        return file;
+    }
+
+    private static double change(double baseline, double current) {
+        return baseline == 0 ? 0.0 : (current - baseline) / baseline * 100.0;
+    }
+
+    private static Duration duration(String key, String defaultValue) {
+        return DurationStyle.detectAndParse(System.getProperty(key, defaultValue));
+    }
+
+    private static class Stats {
+
+        private final Histogram latency = new ConcurrentHistogram(3);
+        private final Map<Integer, LongAdder> statusCounts = new ConcurrentHashMap<>();
+        private final LongAdder errors = new LongAdder();
+        private long elapsedNanos;
+
+        private void record(int status, long latencyNanos) {
+            latency.recordValue(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+            statusCounts.computeIfAbsent(status, key -> new LongAdder()).increment();
+            if (status != 200) {
+                errors.increment();
+            }
+        }
+
+        private LoadTestReport.EndpointSummary summary() {
+            Map<String, Long> snapshot = new TreeMap<>();
+            statusCounts.forEach((status, count) -> snapshot.put(String.valueOf(status), count.sum()));
+            return LoadTestReport.EndpointSummary.of(latency, errors.sum(), 0, snapshot, elapsedNanos);
+        }
+    }
+}
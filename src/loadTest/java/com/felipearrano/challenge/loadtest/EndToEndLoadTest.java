@@ -0,0 +1,85 @@
+package com.felipearrano.challenge.loadtest;
+
+import com.felipearrano.challenge.TestcontainersConfiguration;
+import com.felipearrano.challenge.infrastructure.adapter.out.external.PercentageStubServer;
+import com.felipearrano.challenge.infrastructure.adapter.out.external.simulation.UpstreamBehaviorModel;
+import com.felipearrano.challenge.infrastructure.config.MockServiceProperties;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Levanta la aplicación completa (WebFlux, aspecto de auditoría, rate limiter, Redis y R2DBC)
+ * contra contenedores locales y la somete a tráfico de modelo abierto.
+ * Con {@code -Dloadtest.upstream=http} el porcentaje se pide por HTTP a un {@link PercentageStubServer}
+ * local, para incluir el costo real de red y del pool de conexiones.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Import(TestcontainersConfiguration.class)
+@ActiveProfiles("loadtest")
+class EndToEndLoadTest {
+
+    private static PercentageStubServer stubServer;
+
+    @LocalServerPort
+    private int port;
+
+    @DynamicPropertySource
+    static void upstreamProperties(DynamicPropertyRegistry registry) {
+        if (!"http".equals(System.getProperty("loadtest.upstream", "mock"))) {
+            return;
+        }
+        MockServiceProperties stubBehavior = new MockServiceProperties();
+        stubBehavior.setPercentageValue(10.0);
+        stubBehavior.setFailureRate(0.0);
+        stubBehavior.setSeed(Long.getLong("loadtest.seed", 42L));
+        stubBehavior.setDelay(DurationStyle.detectAndParse(System.getProperty("loadtest.upstream-delay", "20ms")));
+        stubServer = PercentageStubServer.start(new UpstreamBehaviorModel(stubBehavior), 10.0);
+
+        registry.add("percentage-service.mode", () -> "http");
+        registry.add("percentage-service.http.base-url", stubServer::baseUrl);
+    }
+
+    @AfterAll
+    static void stopStubServer() {
+        if (stubServer != null) {
+            stubServer.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Debe sostener la carga configurada y generar el reporte de percentiles")
+    void shouldSustainConfiguredLoadAndWriteReport() throws IOException {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        OpenModelLoadGenerator generator = new OpenModelLoadGenerator(port, settings);
+
+        if (!settings.warmup().isZero()) {
+            generator.run(settings.warmup());
+        }
+        LoadRunResult result = generator.run(settings.duration());
+
+        LoadTestReport report = LoadTestReport.from(settings, result);
+        Path reportFile = report.write(settings.reportDir());
+        report.print(System.out);
+        if (settings.baselineReport() != null && Files.exists(settings.baselineReport())) {
+            report.printComparison(System.out, LoadTestReport.read(settings.baselineReport()));
+        }
+        System.out.println("Reporte guardado en " + reportFile);
+
+        assertThat(report.total().requests()).isPositive();
+        assertThat(report.total().errorRate()).isLessThanOrEqualTo(settings.maxErrorRate());
+    }
+}
@@ -0,0 +1,76 @@
+package com.felipearrano.challenge.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Acumula latencias (en microsegundos) y resultados de una corrida, separados por endpoint.
+ */
+class LoadRunResult {
+
+    private final Map<LoadTarget, TargetStats> stats = new EnumMap<>(LoadTarget.class);
+    private long elapsedNanos;
+
+    LoadRunResult() {
+        for (LoadTarget target : LoadTarget.values()) {
+            stats.put(target, new TargetStats());
+        }
+    }
+
+    void recordResponse(LoadTarget target, int status, long latencyNanos) {
+        TargetStats targetStats = stats.get(target);
+        targetStats.latency.recordValue(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+        targetStats.statusCounts.computeIfAbsent(status, key -> new LongAdder()).increment();
+        if (status < 200 || status >= 300) {
+            targetStats.errors.increment();
+        }
+    }
+
+    void recordTransportFailure(LoadTarget target, long latencyNanos) {
+        TargetStats targetStats = stats.get(target);
+        targetStats.latency.recordValue(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+        targetStats.transportFailures.increment();
+        targetStats.errors.increment();
+    }
+
+    void recordDropped(LoadTarget target) {
+        stats.get(target).dropped.increment();
+    }
+
+    void finish(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    long elapsedNanos() {
+        return elapsedNanos;
+    }
+
+    TargetStats stats(LoadTarget target) {
+        return stats.get(target);
+    }
+
+    static class TargetStats {
+
+        final Histogram latency = new ConcurrentHistogram(3);
+        final Map<Integer, LongAdder> statusCounts = new ConcurrentHashMap<>();
+        final LongAdder errors = new LongAdder();
+        final LongAdder transportFailures = new LongAdder();
+        final LongAdder dropped = new LongAdder();
+
+        Map<String, Long> statusSnapshot() {
+            Map<String, Long> snapshot = new TreeMap<>();
+            statusCounts.forEach((status, count) -> snapshot.put(String.valueOf(status), count.sum()));
+            if (transportFailures.sum() > 0) {
+                snapshot.put("transport-failure", transportFailures.sum());
+            }
+            return snapshot;
+        }
+    }
+}
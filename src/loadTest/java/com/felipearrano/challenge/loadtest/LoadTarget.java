@@ -0,0 +1,35 @@
+package com.felipearrano.challenge.loadtest;
+
+import java.util.Random;
+
+/**
+ * Endpoints ejercitados por la prueba de carga y cómo generar sus parámetros.
+ */
+enum LoadTarget {
+
+    CALCULATION("/api/v1/calculations/sum-with-percentage") {
+        @Override
+        String uri(Random random) {
+            return path() + "?num1=" + random.nextInt(10_000) + "&num2=" + random.nextInt(10_000);
+        }
+    },
+    HISTORY("/api/v1/history") {
+        @Override
+        String uri(Random random) {
+            // La mayoría de los dashboards consultan las primeras páginas
+            return path() + "?page=" + random.nextInt(3) + "&size=10";
+        }
+    };
+
+    private final String path;
+
+    LoadTarget(String path) {
+        this.path = path;
+    }
+
+    String path() {
+        return path;
+    }
+
+    abstract String uri(Random random);
+}
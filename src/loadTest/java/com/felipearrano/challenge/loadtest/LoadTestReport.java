@@ -0,0 +1,139 @@
+package com.felipearrano.challenge.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Reporte de una corrida de carga. Se guarda como JSON con el commit en el nombre del archivo
+ * ({@code load-test-<commit>.json}) para poder comparar corridas entre commits.
+ */
+record LoadTestReport(
+        String commit,
+        String timestamp,
+        int ratePerSecond,
+        long durationSeconds,
+        double historyRatio,
+        long seed,
+        EndpointSummary total,
+        Map<String, EndpointSummary> endpoints
+) {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    record EndpointSummary(
+            long requests,
+            long errors,
+            long dropped,
+            double errorRate,
+            double throughputPerSecond,
+            double p50Millis,
+            double p99Millis,
+            double p999Millis,
+            double maxMillis,
+            Map<String, Long> statusCounts
+    ) {
+
+        static EndpointSummary of(Histogram latency, long errors, long dropped, Map<String, Long> statusCounts, long elapsedNanos) {
+            long requests = latency.getTotalCount();
+            double elapsedSeconds = elapsedNanos / 1_000_000_000.0;
+            return new EndpointSummary(
+                    requests,
+                    errors,
+                    dropped,
+                    requests + dropped == 0 ? 0.0 : (double) (errors + dropped) / (requests + dropped),
+                    elapsedSeconds == 0 ? 0.0 : requests / elapsedSeconds,
+                    latency.getValueAtPercentile(50.0) / 1000.0,
+                    latency.getValueAtPercentile(99.0) / 1000.0,
+                    latency.getValueAtPercentile(99.9) / 1000.0,
+                    latency.getMaxValue() / 1000.0,
+                    statusCounts
+            );
+        }
+    }
+
+    static LoadTestReport from(LoadTestSettings settings, LoadRunResult result) {
+        Map<String, EndpointSummary> endpoints = new LinkedHashMap<>();
+        Histogram totalLatency = new Histogram(3);
+        Map<String, Long> totalStatus = new LinkedHashMap<>();
+        long totalErrors = 0;
+        long totalDropped = 0;
+
+        for (LoadTarget target : LoadTarget.values()) {
+            LoadRunResult.TargetStats stats = result.stats(target);
+            Map<String, Long> statusCounts = stats.statusSnapshot();
+            endpoints.put(target.path(), EndpointSummary.of(stats.latency, stats.errors.sum(), stats.dropped.sum(),
+                    statusCounts, result.elapsedNanos()));
+
+            totalLatency.add(stats.latency);
+            totalErrors += stats.errors.sum();
+            totalDropped += stats.dropped.sum();
+            statusCounts.forEach((status, count) -> totalStatus.merge(status, count, Long::sum));
+        }
+
+        return new LoadTestReport(
+                settings.commit(),
+                Instant.now().toString(),
+                settings.ratePerSecond(),
+                settings.duration().toSeconds(),
+                settings.historyRatio(),
+                settings.seed(),
+                EndpointSummary.of(totalLatency, totalErrors, totalDropped, totalStatus, result.elapsedNanos()),
+                endpoints
+        );
+    }
+
+    Path write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Path file = directory.resolve("load-test-" + commit + ".json");
+        MAPPER.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), this);
+        return file;
+    }
+
+    static LoadTestReport read(Path file) throws IOException {
+        return MAPPER.readValue(file.toFile(), LoadTestReport.class);
+    }
+
+    void print(PrintStream out) {
+        out.printf("%n=== Prueba de carga (commit %s, %d req/s, %ds) ===%n", commit, ratePerSecond, durationSeconds);
+        out.printf("%-45s %9s %9s %8s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "req/s", "errors", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        endpoints.forEach((endpoint, summary) -> printLine(out, endpoint, summary));
+        printLine(out, "TOTAL", total);
+    }
+
+    /**
+     * Imprime la variación de latencia y throughput respecto de un reporte anterior.
+     */
+    void printComparison(PrintStream out, LoadTestReport baseline) {
+        out.printf("%n=== Comparación con commit %s ===%n", baseline.commit());
+        endpoints.forEach((endpoint, summary) -> {
+            EndpointSummary previous = baseline.endpoints().get(endpoint);
+            if (previous == null) {
+                return;
+            }
+            out.printf("%-45s p50 %+.1f%%  p99 %+.1f%%  p99.9 %+.1f%%  req/s %+.1f%%%n", endpoint,
+                    delta(previous.p50Millis(), summary.p50Millis()),
+                    delta(previous.p99Millis(), summary.p99Millis()),
+                    delta(previous.p999Millis(), summary.p999Millis()),
+                    delta(previous.throughputPerSecond(), summary.throughputPerSecond()));
+        });
+    }
+
+    private static void printLine(PrintStream out, String name, EndpointSummary summary) {
+        out.printf("%-45s %9d %9.1f %8d %9.2f %9.2f %9.2f %9.2f%n",
+                name, summary.requests(), summary.throughputPerSecond(), summary.errors() + summary.dropped(),
+                summary.p50Millis(), summary.p99Millis(), summary.p999Millis(), summary.maxMillis());
+    }
+
+    private static double delta(double previous, double current) {
+        return previous == 0 ? 0.0 : (current - previous) / previous * 100.0;
+    }
+}
@@ -0,0 +1,46 @@
+package com.felipearrano.challenge.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Parámetros de la prueba de carga, leídos desde propiedades de sistema {@code loadtest.*}
+ * (el task {@code loadTest} de Gradle reenvía las que recibe por línea de comandos).
+ */
+record LoadTestSettings(
+        int ratePerSecond,
+        Duration duration,
+        Duration warmup,
+        double historyRatio,
+        int maxInFlight,
+        Duration requestTimeout,
+        long seed,
+        double maxErrorRate,
+        Path reportDir,
+        Path baselineReport,
+        String commit
+) {
+
+    static LoadTestSettings fromSystemProperties() {
+        String baseline = System.getProperty("loadtest.baseline");
+        return new LoadTestSettings(
+                Integer.getInteger("loadtest.rate", 50),
+                duration("loadtest.duration", "30s"),
+                duration("loadtest.warmup", "10s"),
+                Double.parseDouble(System.getProperty("loadtest.history-ratio", "0.2")),
+                Integer.getInteger("loadtest.max-in-flight", 512),
+                duration("loadtest.request-timeout", "10s"),
+                Long.getLong("loadtest.seed", 42L),
+                Double.parseDouble(System.getProperty("loadtest.max-error-rate", "0.01")),
+                Path.of(System.getProperty("loadtest.report-dir", "build/reports/load-test")),
+                baseline != null ? Path.of(baseline) : null,
+                System.getProperty("loadtest.commit", "unknown")
+        );
+    }
+
+    private static Duration duration(String key, String defaultValue) {
+        return DurationStyle.detectAndParse(System.getProperty(key, defaultValue));
+    }
+}
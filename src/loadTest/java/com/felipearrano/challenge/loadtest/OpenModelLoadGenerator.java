@@ -0,0 +1,85 @@
+package com.felipearrano.challenge.loadtest;
+
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generador de carga de modelo abierto: las peticiones se disparan a tasa fija sin esperar a que
+ * terminen las anteriores, como ocurre con tráfico real. La latencia se mide desde el instante en que
+ * la petición debía salir (no desde que salió), para no ocultar colas ("coordinated omission").
+ */
+class OpenModelLoadGenerator {
+
+    private final WebClient webClient;
+    private final LoadTestSettings settings;
+
+    OpenModelLoadGenerator(int port, LoadTestSettings settings) {
+        this.settings = settings;
+        ConnectionProvider provider = ConnectionProvider.builder("load-test")
+                .maxConnections(settings.maxInFlight())
+                .pendingAcquireMaxCount(-1)
+                .build();
+        this.webClient = WebClient.builder()
+                .baseUrl("http://localhost:" + port)
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(provider)))
+                .build();
+    }
+
+    LoadRunResult run(Duration duration) {
+        long periodNanos = 1_000_000_000L / settings.ratePerSecond();
+        long totalRequests = settings.ratePerSecond() * duration.toSeconds();
+        // Semilla fija: la secuencia de endpoints y parámetros es la misma en cada corrida.
+        // El map se ejecuta secuencialmente sobre el hilo del intervalo, así que Random no se comparte.
+        Random random = new Random(settings.seed());
+        AtomicInteger inFlight = new AtomicInteger();
+        LoadRunResult result = new LoadRunResult();
+        long startNanos = System.nanoTime();
+
+        Flux.interval(Duration.ofNanos(periodNanos))
+                .take(totalRequests)
+                .map(tick -> {
+                    LoadTarget target = random.nextDouble() < settings.historyRatio()
+                            ? LoadTarget.HISTORY
+                            : LoadTarget.CALCULATION;
+                    return new PlannedRequest(target, target.uri(random), startNanos + (tick + 1) * periodNanos);
+                })
+                .flatMap(planned -> fire(planned, inFlight, result), Integer.MAX_VALUE)
+                .then()
+                .block(duration.plus(settings.requestTimeout()).plusMinutes(1));
+
+        result.finish(System.nanoTime() - startNanos);
+        return result;
+    }
+
+    private Mono<Void> fire(PlannedRequest planned, AtomicInteger inFlight, LoadRunResult result) {
+        if (inFlight.incrementAndGet() > settings.maxInFlight()) {
+            inFlight.decrementAndGet();
+            result.recordDropped(planned.target());
+            return Mono.empty();
+        }
+
+        return webClient.get()
+                .uri(planned.uri())
+                .exchangeToMono(response -> response.releaseBody().thenReturn(response.statusCode().value()))
+                .timeout(settings.requestTimeout())
+                .doOnNext(status -> result.recordResponse(planned.target(), status,
+                        System.nanoTime() - planned.intendedStartNanos()))
+                .onErrorResume(error -> {
+                    result.recordTransportFailure(planned.target(), System.nanoTime() - planned.intendedStartNanos());
+                    return Mono.empty();
+                })
+                .doFinally(signal -> inFlight.decrementAndGet())
+                .then();
+    }
+
+    private record PlannedRequest(LoadTarget target, String uri, long intendedStartNanos) {
+    }
+}
@@ -0,0 +1,140 @@
+package com.felipearrano.challenge.loadtest;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.felipearrano.challenge.domain.HistoryLog;
+import com.felipearrano.challenge.infrastructure.adapter.in.web.dto.PageResponse;
+import com.felipearrano.challenge.infrastructure.config.BinaryCodecsConfig;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tamaño y CPU de serializar una página de {@code /history} en cada formato negociable (JSON, CBOR, Smile),
+ * con los mismos ObjectMapper que arma la aplicación. Incluye el JSON del {@code PageImpl} que se devolvía
+ * antes de {@link PageResponse}, como referencia. Mide CPU del hilo (no tiempo de pared) por operación,
+ * mediana de varias rondas, para serializar y para deserializar (lo que paga el consumidor).
+ * <p>
+ * {@code ./gradlew loadTest --tests '*ResponseFormatBenchmark' -Dloadtest.format.page-size=200}
+ */
+class ResponseFormatBenchmark {
+
+    private static final int PAGE_SIZE = Integer.getInteger("loadtest.format.page-size", 50);
+    private static final int ITERATIONS = Integer.getInteger("loadtest.format.iterations", 2000);
+    private static final int ROUNDS = Integer.getInteger("loadtest.format.rounds", 5);
+
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+    record FormatResult(int bytes, long serializeNanos, long deserializeNanos) {
+    }
+
+    @Test
+    @DisplayName("Debe medir tamaño y CPU de la página de historial en JSON, CBOR y Smile")
+    void shouldCompareResponseFormats() throws IOException {
+        ObjectMapper json = new Jackson2ObjectMapperBuilder().build();
+        ObjectMapper cbor = BinaryCodecsConfig.cborMapper(new Jackson2ObjectMapperBuilder());
+        ObjectMapper smile = BinaryCodecsConfig.smileMapper(new Jackson2ObjectMapperBuilder());
+
+        PageImpl<HistoryLog> page = new PageImpl<>(samplePage(), PageRequest.of(0, PAGE_SIZE), 10_000);
+        PageResponse<HistoryLog> response = PageResponse.from(page);
+        JavaType responseType = json.getTypeFactory().constructParametricType(PageResponse.class, HistoryLog.class);
+
+        Map<String, FormatResult> results = new LinkedHashMap<>();
+        results.put("json-pageimpl", measure(json, page, null));
+        results.put("json", measure(json, response, responseType));
+        results.put("cbor", measure(cbor, response, responseType));
+        results.put("smile", measure(smile, response, responseType));
+
+        print(results);
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        Files.createDirectories(settings.reportDir());
+        Path file = settings.reportDir().resolve("response-format-benchmark-" + settings.commit() + ".json");
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(file.toFile(), results);
+        System.out.println("Reporte guardado en " + file);
+
+        assertThat(results.get("cbor").bytes()).isLessThan(results.get("json").bytes());
+        assertThat(results.get("smile").bytes()).isLessThan(results.get("json").bytes());
+    }
+
+    private FormatResult measure(ObjectMapper mapper, Object value, JavaType type) throws IOException {
+        byte[] encoded = mapper.writeValueAsBytes(value);
+        if (type != null) {
+            // Ida y vuelta: el formato binario no debe perder información
+            assertThat(mapper.<Object>readValue(encoded, type)).isEqualTo(value);
+        }
+        long serialize = cpuNanosPerOperation(() -> mapper.writeValueAsBytes(value));
+        long deserialize = type == null ? 0 : cpuNanosPerOperation(() -> mapper.readValue(encoded, type));
+        return new FormatResult(encoded.length, serialize, deserialize);
+    }
+
+    private long cpuNanosPerOperation(IoOperation operation) throws IOException {
+        for (int i = 0; i < ITERATIONS; i++) {
+            operation.run();
+        }
+        long[] perRound = new long[ROUNDS];
+        for (int round = 0; round < ROUNDS; round++) {
+            long before = threads.getCurrentThreadCpuTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                operation.run();
+            }
+            perRound[round] = (threads.getCurrentThreadCpuTime() - before) / ITERATIONS;
+        }
+        Arrays.sort(perRound);
+        return perRound[ROUNDS / 2];
+    }
+
+    private static void print(Map<String, FormatResult> results) {
+        FormatResult baseline = results.get("json");
+        System.out.printf("Página de historial con %d registros%n", PAGE_SIZE);
+        System.out.printf("%-14s %10s %8s %14s %16s%n", "formato", "bytes", "vs json", "serializar µs", "deserializar µs");
+        results.forEach((format, result) -> System.out.printf("%-14s %10d %+7.1f%% %14.1f %16s%n",
+                format, result.bytes(), (result.bytes() - baseline.bytes()) * 100.0 / baseline.bytes(),
+                result.serializeNanos() / 1000.0,
+                result.deserializeNanos() == 0 ? "-" : String.format("%.1f", result.deserializeNanos() / 1000.0)));
+    }
+
+    // Registros con la forma típica del historial: parámetros y cuerpo JSON como texto, algunos errores
+    private static List<HistoryLog> samplePage() {
+        Random random = new Random(42);
+        Instant now = Instant.parse("2025-04-10T12:00:00Z");
+        List<HistoryLog> logs = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            boolean success = random.nextDouble() < 0.9;
+            double num1 = random.nextInt(10_000) / 10.0;
+            double num2 = random.nextInt(10_000) / 10.0;
+            logs.add(new HistoryLog(
+                    new UUID(random.nextLong(), random.nextLong()),
+                    now.minusMillis(i * 250L),
+                    "/api/v1/calculations/sum-with-percentage",
+                    "[" + num1 + ", " + num2 + "]",
+                    success ? "{\"result\":" + (num1 + num2) * 1.1 + "}" : "\"Error: Servicio no disponible\"",
+                    success ? 200 : 500,
+                    success,
+                    success ? null : "Servicio no disponible"));
+        }
+        return logs;
+    }
+
+    @FunctionalInterface
+    private interface IoOperation {
+        void run() throws IOException;
+    }
+}
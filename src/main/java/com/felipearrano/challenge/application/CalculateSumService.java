@@ -2,13 +2,13 @@ package com.felipearrano.challenge.application;
 
 import com.felipearrano.challenge.application.port.in.CalculateSumUseCase;
 import com.felipearrano.challenge.application.port.out.PercentageServicePort;
+import com.felipearrano.challenge.domain.PercentageIncrease;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 
 @Service
 public class CalculateSumService implements CalculateSumUseCase {
@@ -34,12 +34,7 @@ public class CalculateSumService implements CalculateSumUseCase {
                 .flatMap(percentage -> {
                     log.info("Porcentaje obtenido: {}%", percentage);
 
-                    BigDecimal sum = num1.add(num2);
-
-                    BigDecimal percentageDecimal = BigDecimal.valueOf(percentage)
-                            .divide(BigDecimal.valueOf(100), 4, RoundingMode.HALF_UP);
-                    BigDecimal multiplier = BigDecimal.ONE.add(percentageDecimal);
-                    BigDecimal result = sum.multiply(multiplier);
+                    BigDecimal result = PercentageIncrease.of(percentage).applyToSum(num1, num2);
 
                     log.info("Cálculo: ({} + {}) * (1 + {} / 100) = {}", num1, num2, percentage, result);
 
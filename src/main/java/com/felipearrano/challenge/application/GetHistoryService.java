@@ -2,6 +2,7 @@ package com.felipearrano.challenge.application;
 
 import com.felipearrano.challenge.application.port.in.GetHistoryUseCase;
 import com.felipearrano.challenge.application.port.out.HistoryRepositoryPort;
+import com.felipearrano.challenge.application.port.out.RecentHistoryCachePort;
 import com.felipearrano.challenge.domain.HistoryLog;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -15,15 +16,28 @@ public class GetHistoryService implements GetHistoryUseCase {
 
     private static final Logger log = LoggerFactory.getLogger(GetHistoryService.class);
     private final HistoryRepositoryPort historyRepositoryPort;
+    private final RecentHistoryCachePort recentHistoryCachePort;
 
-    public GetHistoryService(HistoryRepositoryPort historyRepositoryPort) {
+    public GetHistoryService(HistoryRepositoryPort historyRepositoryPort, RecentHistoryCachePort recentHistoryCachePort) {
         this.historyRepositoryPort = historyRepositoryPort;
+        this.recentHistoryCachePort = recentHistoryCachePort;
     }
 
     @Override
     public Mono<Page<HistoryLog>> getHistory(Pageable pageable) {
         log.info("Caso de uso GetHistory ejecutándose para pageable: {}", pageable);
 
-        return historyRepositoryPort.findAllPaginated(pageable);
+        return recentHistoryCachePort.findRecentPage(pageable)
+                .map(page -> {
+                    log.debug("Página {} servida desde el historial reciente en memoria", pageable.getPageNumber());
+                    return Mono.just(page);
+                })
+                .orElseGet(() -> getStoredHistory(pageable));
+    }
+
+    @Override
+    public Mono<Page<HistoryLog>> getStoredHistory(Pageable pageable) {
+        return historyRepositoryPort.findAllPaginated(pageable)
+                .doOnNext(page -> recentHistoryCachePort.syncTotal(page.getTotalElements()));
     }
 }
@@ -0,0 +1,30 @@
+package com.felipearrano.challenge.application;
+
+import com.felipearrano.challenge.application.port.in.SearchHistoryUseCase;
+import com.felipearrano.challenge.application.port.out.HistoryRepositoryPort;
+import com.felipearrano.challenge.domain.HistoryLog;
+import com.felipearrano.challenge.domain.HistorySearchCriteria;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@Service
+public class SearchHistoryService implements SearchHistoryUseCase {
+
+    private static final Logger log = LoggerFactory.getLogger(SearchHistoryService.class);
+    private final HistoryRepositoryPort historyRepositoryPort;
+
+    public SearchHistoryService(HistoryRepositoryPort historyRepositoryPort) {
+        this.historyRepositoryPort = historyRepositoryPort;
+    }
+
+    @Override
+    public Mono<List<HistoryLog>> search(HistorySearchCriteria criteria) {
+        log.info("Caso de uso SearchHistory ejecutándose con criterios: {}", criteria);
+
+        return historyRepositoryPort.search(criteria).collectList();
+    }
+}
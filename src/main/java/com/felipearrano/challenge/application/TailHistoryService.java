@@ -0,0 +1,31 @@
+package com.felipearrano.challenge.application;
+
+import com.felipearrano.challenge.application.port.in.TailHistoryUseCase;
+import com.felipearrano.challenge.application.port.out.HistoryLiveFeedPort;
+import com.felipearrano.challenge.domain.HistoryLog;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+
+import java.util.function.Predicate;
+
+@Service
+public class TailHistoryService implements TailHistoryUseCase {
+
+    private static final Logger log = LoggerFactory.getLogger(TailHistoryService.class);
+    private final HistoryLiveFeedPort historyLiveFeedPort;
+
+    public TailHistoryService(HistoryLiveFeedPort historyLiveFeedPort) {
+        this.historyLiveFeedPort = historyLiveFeedPort;
+    }
+
+    @Override
+    public Flux<HistoryLog> tail(String endpoint, Integer httpStatus) {
+        log.info("Caso de uso TailHistory ejecutándose con endpoint={}, status={}", endpoint, httpStatus);
+
+        Predicate<HistoryLog> filter = historyLog -> (endpoint == null || endpoint.equals(historyLog.endpointInvoked()))
+                && (httpStatus == null || httpStatus.equals(historyLog.httpStatus()));
+        return historyLiveFeedPort.subscribe(filter);
+    }
+}
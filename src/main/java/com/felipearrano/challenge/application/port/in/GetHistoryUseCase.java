@@ -7,4 +7,10 @@ import reactor.core.publisher.Mono;
 
 public interface GetHistoryUseCase {
     Mono<Page<HistoryLog>> getHistory(Pageable pageable);
+
+    /**
+     * Igual que {@link #getHistory(Pageable)} pero sin el historial reciente en memoria, que solo ve las
+     * escrituras de esta instancia: la página refleja todo lo guardado por cualquier réplica.
+     */
+    Mono<Page<HistoryLog>> getStoredHistory(Pageable pageable);
 }
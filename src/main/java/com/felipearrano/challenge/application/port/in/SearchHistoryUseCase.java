@@ -0,0 +1,11 @@
+package com.felipearrano.challenge.application.port.in;
+
+import com.felipearrano.challenge.domain.HistoryLog;
+import com.felipearrano.challenge.domain.HistorySearchCriteria;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+public interface SearchHistoryUseCase {
+    Mono<List<HistoryLog>> search(HistorySearchCriteria criteria);
+}
@@ -0,0 +1,8 @@
+package com.felipearrano.challenge.application.port.in;
+
+import com.felipearrano.challenge.domain.HistoryLog;
+import reactor.core.publisher.Flux;
+
+public interface TailHistoryUseCase {
+    Flux<HistoryLog> tail(String endpoint, Integer httpStatus);
+}
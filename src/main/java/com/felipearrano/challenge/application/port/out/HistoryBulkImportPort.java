@@ -0,0 +1,20 @@
+package com.felipearrano.challenge.application.port.out;
+
+import com.felipearrano.challenge.domain.HistoryLog;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+public interface HistoryBulkImportPort {
+
+    /**
+     * Cantidad de registros del origen ya confirmados para la importación {@code jobId} (0 si es nueva).
+     */
+    Mono<Long> findCommittedPosition(String jobId);
+
+    /**
+     * Inserta el lote y avanza la posición de la importación en la misma transacción.
+     * Los ids ya existentes se ignoran. Devuelve la cantidad de filas realmente insertadas.
+     */
+    Mono<Long> importBatch(String jobId, List<HistoryLog> batch, long position);
+}
@@ -0,0 +1,20 @@
+package com.felipearrano.challenge.application.port.out;
+
+import com.felipearrano.challenge.domain.HistoryLog;
+import reactor.core.publisher.Flux;
+
+import java.util.function.Predicate;
+
+public interface HistoryLiveFeedPort {
+
+    /**
+     * Publica un registro aceptado por el pipeline de auditoría; nunca bloquea a quien publica.
+     */
+    void publish(HistoryLog log);
+
+    /**
+     * Registros publicados desde la suscripción que cumplen el filtro. Un suscriptor lento pierde eventos
+     * en vez de frenar a los demás.
+     */
+    Flux<HistoryLog> subscribe(Predicate<HistoryLog> filter);
+}
@@ -1,14 +1,29 @@
 package com.felipearrano.challenge.application.port.out;
 
 import com.felipearrano.challenge.domain.HistoryLog;
+import com.felipearrano.challenge.domain.HistorySearchCriteria;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Instant;
+
 public interface HistoryRepositoryPort {
 
     Mono<Void> saveLog(HistoryLog log);
 
     Mono<Page<HistoryLog>> findAllPaginated(Pageable pageable);
 
+    /**
+     * Registros con timestamp en [from, to], del más nuevo al más antiguo, opcionalmente de un solo endpoint
+     * ({@code endpoint} nulo para todos).
+     */
+    Flux<HistoryLog> findInRange(Instant from, Instant to, String endpoint);
+
+    /**
+     * Registros cuyo contenido cumple los filtros, del más nuevo al más antiguo.
+     */
+    Flux<HistoryLog> search(HistorySearchCriteria criteria);
+
 }
@@ -0,0 +1,19 @@
+package com.felipearrano.challenge.application.port.out;
+
+import com.felipearrano.challenge.domain.HistoryLog;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Optional;
+
+public interface RecentHistoryCachePort {
+
+    void add(HistoryLog log);
+
+    /**
+     * Devuelve la página desde memoria solo si puede armarse completa y con el mismo orden que la BD.
+     */
+    Optional<Page<HistoryLog>> findRecentPage(Pageable pageable);
+
+    void syncTotal(long totalElements);
+}
@@ -1,6 +1,7 @@
 package com.felipearrano.challenge.domain;
 
 import java.time.Instant;
+import java.util.Comparator;
 import java.util.UUID;
 
 public record HistoryLog(
@@ -11,6 +12,39 @@ public record HistoryLog(
         String responseBody,
         Integer httpStatus,
         Boolean isSuccess,
-        String errorMessage
+        String errorMessage,
+        Integer occurrences,
+        Instant lastTimestamp
 ) {
+
+    /**
+     * {@code occurrences} es la cantidad de llamadas idénticas que representa el registro y
+     * {@code lastTimestamp} la última de ellas; {@code timestamp} es siempre la primera.
+     */
+    public HistoryLog {
+        if (occurrences == null || occurrences < 1) {
+            occurrences = 1;
+        }
+        if (lastTimestamp == null) {
+            lastTimestamp = timestamp;
+        }
+    }
+
+    public HistoryLog(UUID id, Instant timestamp, String endpointInvoked, String parametersReceived,
+                      String responseBody, Integer httpStatus, Boolean isSuccess, String errorMessage) {
+        this(id, timestamp, endpointInvoked, parametersReceived, responseBody, httpStatus, isSuccess, errorMessage, 1, timestamp);
+    }
+
+    /**
+     * Orden del historial: timestamp descendente y luego id descendente.
+     * Los UUID se comparan como bytes sin signo, igual que PostgreSQL (UUID.compareTo usa longs con signo).
+     */
+    public static final Comparator<HistoryLog> NEWEST_FIRST = (a, b) -> {
+        int byTimestamp = b.timestamp().compareTo(a.timestamp());
+        if (byTimestamp != 0) {
+            return byTimestamp;
+        }
+        int byMost = Long.compareUnsigned(b.id().getMostSignificantBits(), a.id().getMostSignificantBits());
+        return byMost != 0 ? byMost : Long.compareUnsigned(b.id().getLeastSignificantBits(), a.id().getLeastSignificantBits());
+    };
 }
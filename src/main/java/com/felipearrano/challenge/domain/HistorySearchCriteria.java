@@ -0,0 +1,32 @@
+package com.felipearrano.challenge.domain;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Filtros de la búsqueda del historial por contenido. {@code parametersContain} y {@code responseContains}
+ * son documentos JSON que deben estar contenidos en los parámetros o en la respuesta del registro;
+ * los campos nulos no filtran. Los resultados van del más nuevo al más antiguo, hasta {@code limit}.
+ */
+public record HistorySearchCriteria(
+        String endpoint,
+        String parametersContain,
+        String responseContains,
+        List<ParameterCondition> parameterConditions,
+        int limit
+) {
+
+    public enum Comparison {
+        EQ, GT, GTE, LT, LTE
+    }
+
+    /**
+     * Comparación numérica sobre una clave de primer nivel de los parámetros, p. ej. {@code num1 > 1000}.
+     */
+    public record ParameterCondition(String key, Comparison comparison, BigDecimal value) {
+    }
+
+    public HistorySearchCriteria {
+        parameterConditions = parameterConditions == null ? List.of() : List.copyOf(parameterConditions);
+    }
+}
@@ -0,0 +1,21 @@
+package com.felipearrano.challenge.domain;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Incremento porcentual que se aplica a la suma: {@code (num1 + num2) * (1 + porcentaje / 100)}.
+ * El factor se redondea a 4 decimales; los trabajos por lotes lo calculan una vez y lo aplican a todos los pares.
+ */
+public record PercentageIncrease(BigDecimal factor) {
+
+    public static PercentageIncrease of(double percentage) {
+        BigDecimal percentageDecimal = BigDecimal.valueOf(percentage)
+                .divide(BigDecimal.valueOf(100), 4, RoundingMode.HALF_UP);
+        return new PercentageIncrease(BigDecimal.ONE.add(percentageDecimal));
+    }
+
+    public BigDecimal applyToSum(BigDecimal num1, BigDecimal num2) {
+        return num1.add(num2).multiply(factor);
+    }
+}
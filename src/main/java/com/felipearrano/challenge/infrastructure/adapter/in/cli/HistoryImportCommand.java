@@ -0,0 +1,50 @@
+package com.felipearrano.challenge.infrastructure.adapter.in.cli;
+
+import com.felipearrano.challenge.infrastructure.config.HistoryImportProperties;
+import com.felipearrano.challenge.infrastructure.service.HistoryImportService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * Comando de importación masiva del historial. Uso típico:
+ * {@code java -jar app.jar --spring.main.web-application-type=none --history.import.file=/data/history.ndjson}.
+ * Si el proceso se interrumpe, relanzarlo con el mismo archivo (o {@code history.import.job-id}) lo reanuda.
+ */
+@Component
+@ConditionalOnProperty(prefix = "history.import", name = "file")
+public class HistoryImportCommand implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(HistoryImportCommand.class);
+
+    private final HistoryImportService historyImportService;
+    private final HistoryImportProperties properties;
+    private final ConfigurableApplicationContext applicationContext;
+
+    public HistoryImportCommand(HistoryImportService historyImportService, HistoryImportProperties properties,
+                                ConfigurableApplicationContext applicationContext) {
+        this.historyImportService = historyImportService;
+        this.properties = properties;
+        this.applicationContext = applicationContext;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int exitCode = 0;
+        try {
+            historyImportService.importFile(properties.getFile()).block();
+        } catch (Exception e) {
+            log.error("La importación de {} falló: {}", properties.getFile(), e.getMessage(), e);
+            exitCode = 1;
+        }
+        if (properties.isExitOnCompletion()) {
+            int code = exitCode;
+            System.exit(SpringApplication.exit(applicationContext, () -> code));
+        }
+    }
+}
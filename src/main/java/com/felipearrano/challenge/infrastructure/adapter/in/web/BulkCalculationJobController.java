@@ -0,0 +1,128 @@
+package com.felipearrano.challenge.infrastructure.adapter.in.web;
+
+import com.felipearrano.challenge.infrastructure.adapter.in.web.dto.BulkCalculationJobResponse;
+import com.felipearrano.challenge.infrastructure.adapter.in.web.dto.ErrorResponse;
+import com.felipearrano.challenge.infrastructure.service.BulkCalculationJob;
+import com.felipearrano.challenge.infrastructure.service.BulkCalculationJobService;
+import com.felipearrano.challenge.infrastructure.service.exception.BulkJobNotFoundException;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.multipart.FilePart;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestPart;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+
+@RestController
+@RequestMapping(BulkCalculationJobController.BASE_PATH)
+@ConditionalOnProperty(prefix = "calculation.bulk", name = "enabled", havingValue = "true")
+@Tag(name = "API de Cálculos por Lotes", description = "Trabajos asíncronos de cálculo sobre archivos CSV o NDJSON.")
+public class BulkCalculationJobController {
+
+    static final String BASE_PATH = "/api/v1/calculations/bulk-jobs";
+
+    private static final Logger log = LoggerFactory.getLogger(BulkCalculationJobController.class);
+
+    private final BulkCalculationJobService bulkCalculationJobService;
+
+    public BulkCalculationJobController(BulkCalculationJobService bulkCalculationJobService) {
+        this.bulkCalculationJobService = bulkCalculationJobService;
+    }
+
+    @Operation(
+            summary = "Crear Trabajo de Cálculo por Lotes",
+            description = "Recibe un archivo .csv (num1,num2 por línea, cabecera opcional) o .ndjson/.jsonl " +
+                    "({\"num1\": 10.5, \"num2\": 20} por línea) y lo encola. Todas las filas usan el porcentaje " +
+                    "obtenido al iniciar el trabajo. Devuelve 202 con la URL de estado en Location."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Trabajo aceptado y encolado",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = BulkCalculationJobResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Archivo ausente o con extensión no soportada",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "413", description = "Archivo mayor que calculation.bulk.max-upload-size",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "503", description = "Demasiados trabajos pendientes",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<BulkCalculationJobResponse>> submit(
+            @Parameter(description = "Archivo con los pares a calcular (.csv, .ndjson o .jsonl).", required = true)
+            @RequestPart("file") FilePart file) {
+        BulkCalculationJob.Format format = BulkCalculationJob.Format.fromFileName(file.filename())
+                .orElseThrow(() -> new ServerWebInputException("Extensión no soportada: se acepta .csv, .ndjson o .jsonl."));
+        log.info("Recibida solicitud POST /bulk-jobs con archivo {} ({})", file.filename(), format);
+
+        return bulkCalculationJobService.submit(file.filename(), format, file.content())
+                .map(job -> ResponseEntity.accepted()
+                        .location(URI.create(BASE_PATH + "/" + job.id()))
+                        .body(BulkCalculationJobResponse.from(job, BASE_PATH)));
+    }
+
+    @Operation(summary = "Consultar Trabajo de Cálculo por Lotes",
+            description = "Estado y progreso del trabajo. Los trabajos terminados se conservan durante calculation.bulk.retention.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Estado del trabajo",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = BulkCalculationJobResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Trabajo inexistente o vencido",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping(path = "/{jobId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<BulkCalculationJobResponse>> status(
+            @Parameter(description = "Id devuelto al crear el trabajo.") @PathVariable String jobId) {
+        return Mono.justOrEmpty(bulkCalculationJobService.find(jobId))
+                .switchIfEmpty(Mono.error(() -> new BulkJobNotFoundException("No existe el trabajo de cálculo por lotes " + jobId + ".")))
+                .map(job -> ResponseEntity.ok(BulkCalculationJobResponse.from(job, BASE_PATH)));
+    }
+
+    @Operation(summary = "Descargar Resultados de Cálculo por Lotes",
+            description = "Archivo en el formato de entrada: una fila por línea con el resultado o el error de esa línea. " +
+                    "Se envía desde disco, sin cargarlo en memoria.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Archivo de resultados"),
+            @ApiResponse(responseCode = "404", description = "Trabajo inexistente o vencido",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "409", description = "El trabajo aún no terminó o falló",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/{jobId}/result")
+    public Mono<ResponseEntity<Resource>> downloadResult(
+            @Parameter(description = "Id devuelto al crear el trabajo.") @PathVariable String jobId) {
+        return Mono.fromCallable(() -> bulkCalculationJobService.completed(jobId))
+                .map(job -> ResponseEntity.ok()
+                        .contentType(MediaType.parseMediaType(job.format().contentType()))
+                        .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                                .filename(job.id() + "-result" + job.format().extension())
+                                .build()
+                                .toString())
+                        .body(new FileSystemResource(job.resultFile())));
+    }
+}
@@ -3,6 +3,9 @@ package com.felipearrano.challenge.infrastructure.adapter.in.web;
 import com.felipearrano.challenge.application.port.in.CalculateSumUseCase;
 import com.felipearrano.challenge.infrastructure.adapter.in.web.dto.CalculationResponse;
 import com.felipearrano.challenge.infrastructure.adapter.in.web.dto.ErrorResponse;
+import com.felipearrano.challenge.infrastructure.config.BinaryCodecsConfig;
+import com.felipearrano.challenge.infrastructure.config.ExecutionLane;
+import com.felipearrano.challenge.infrastructure.util.RateLimitedLogger;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -14,6 +17,7 @@ import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
@@ -32,16 +36,21 @@ import java.math.BigDecimal;
 public class CalculationController {
 
     private static final Logger log = LoggerFactory.getLogger(CalculationController.class);
+    private static final RateLimitedLogger errorLog = RateLimitedLogger.of(log);
 
     private final CalculateSumUseCase calculateSumUseCase;
+    private final ExecutionLane calculationLane;
 
-    public CalculationController(CalculateSumUseCase calculateSumUseCase){
+    public CalculationController(CalculateSumUseCase calculateSumUseCase,
+                                 @Qualifier("calculationLane") ExecutionLane calculationLane){
         this.calculateSumUseCase = calculateSumUseCase;
+        this.calculationLane = calculationLane;
     }
 
     @Operation(
             summary = "Calcular Suma con Porcentaje Externo",
-            description = "Recibe dos números no negativos, los suma y aplica un porcentaje obtenido de un servicio externo (simulado)."
+            description = "Recibe dos números no negativos, los suma y aplica un porcentaje obtenido de un servicio externo (simulado). " +
+                    "Además de JSON (por defecto) responde en CBOR o Smile según el header Accept."
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Cálculo exitoso",
@@ -53,14 +62,15 @@ public class CalculationController {
             @ApiResponse(responseCode = "429", description = "Límite de solicitudes excedido",
                     content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
                             schema = @Schema(implementation = ErrorResponse.class))),
-            @ApiResponse(responseCode = "503", description = "Servicio externo no disponible y sin fallback de caché",
+            @ApiResponse(responseCode = "503", description = "Servicio externo no disponible y sin fallback de caché, o carril de cálculo saturado",
                     content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
                             schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "500", description = "Error interno del servidor",
                     content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
                             schema = @Schema(implementation = ErrorResponse.class)))
     })
-    @GetMapping(value = "/sum-with-percentage", produces = MediaType.APPLICATION_JSON_VALUE)
+    @GetMapping(value = "/sum-with-percentage",
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinaryCodecsConfig.APPLICATION_SMILE_VALUE})
     public Mono<ResponseEntity<CalculationResponse>> calculate(
             @Parameter(description = "Primer número para la suma. Debe ser positivo.", required = true, example = "10.5")
             @RequestParam @NotNull @DecimalMin(value = "0.0", inclusive = true, message = "num1 debe ser positivo o cero") BigDecimal num1,
@@ -70,12 +80,12 @@ public class CalculationController {
 
         log.info("Recibida solicitud GET /sum-with-percentage con num1={}, num2={}", num1, num2);
 
-        return calculateSumUseCase.calculateSumWithPercentage(num1, num2)
+        return calculationLane.publish(calculateSumUseCase.calculateSumWithPercentage(num1, num2))
                 .map(result -> {
                     CalculationResponse responseDto = new CalculationResponse(result);
                     log.info("Cálculo exitoso, devolviendo resultado: {}", result);
                     return ResponseEntity.ok(responseDto); //
                 })
-                .doOnError(error -> log.error("Error procesando la solicitud: {}", error.getMessage()));
+                .doOnError(error -> errorLog.error(error.getClass().getName(), "Error procesando la solicitud: {}", error.getMessage()));
     }
 }
@@ -0,0 +1,164 @@
+package com.felipearrano.challenge.infrastructure.adapter.in.web;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.felipearrano.challenge.application.port.in.CalculateSumUseCase;
+import com.felipearrano.challenge.infrastructure.adapter.in.web.dto.CalculationResponse;
+import com.felipearrano.challenge.infrastructure.adapter.in.web.dto.ErrorResponse;
+import com.felipearrano.challenge.infrastructure.adapter.in.web.error.GlobalExceptionHandler;
+import com.felipearrano.challenge.infrastructure.config.CalculationFastPathProperties;
+import com.felipearrano.challenge.infrastructure.config.ExecutionLane;
+import com.felipearrano.challenge.infrastructure.service.ApiCallAuditor;
+import com.felipearrano.challenge.infrastructure.util.RateLimitedLogger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.TypeMismatchException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.util.NumberUtils;
+import org.springframework.web.method.annotation.ExceptionHandlerMethodResolver;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.MissingRequestValueException;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Versión funcional de {@link CalculationController#calculate}: sin resolución de handlers anotados,
+ * sin proxy de validación ni de auditoría. Los parámetros se parsean y validan a mano, la respuesta
+ * exitosa se escribe sin pasar por Jackson y los errores se delegan a {@link GlobalExceptionHandler}
+ * con las mismas excepciones que produce el binding de {@code @RequestParam}, así que el cliente y
+ * el historial ven exactamente lo mismo que con el controlador.
+ */
+@Component
+@ConditionalOnProperty(prefix = "calculation.fast-path", name = "enabled", havingValue = "true")
+public class CalculationFastPathHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(CalculationFastPathHandler.class);
+    private static final RateLimitedLogger errorLog = RateLimitedLogger.of(log);
+    // Etiqueta que usa WebFlux en MissingRequestValueException para @RequestParam
+    private static final String QUERY_PARAMETER = "query parameter";
+    // Mismos nombres que los parámetros del método del controlador anotado
+    private static final String[] PARAMETER_NAMES = {"num1", "num2"};
+
+    private final CalculateSumUseCase calculateSumUseCase;
+    private final ApiCallAuditor auditor;
+    private final GlobalExceptionHandler exceptionHandler;
+    private final ExecutionLane calculationLane;
+    private final ExceptionHandlerMethodResolver exceptionHandlerResolver =
+            new ExceptionHandlerMethodResolver(GlobalExceptionHandler.class);
+    private final String endpoint;
+    private final boolean plainBigDecimals;
+
+    public CalculationFastPathHandler(CalculateSumUseCase calculateSumUseCase,
+                                      ApiCallAuditor auditor,
+                                      GlobalExceptionHandler exceptionHandler,
+                                      CalculationFastPathProperties properties,
+                                      ObjectMapper objectMapper,
+                                      @Qualifier("calculationLane") ExecutionLane calculationLane) throws JsonProcessingException {
+        this.calculateSumUseCase = calculateSumUseCase;
+        this.auditor = auditor;
+        this.exceptionHandler = exceptionHandler;
+        this.calculationLane = calculationLane;
+        this.endpoint = properties.getPath();
+        // Mismo formato de BigDecimal que el ObjectMapper de la aplicación
+        this.plainBigDecimals = "1000".equals(objectMapper.writeValueAsString(new BigDecimal("1E+3")));
+    }
+
+    public Mono<ServerResponse> calculate(ServerRequest request) {
+        Instant startTime = Instant.now();
+
+        BigDecimal num1;
+        BigDecimal num2;
+        try {
+            num1 = parseRequired(request, "num1");
+            num2 = parseRequired(request, "num2");
+        } catch (ServerWebInputException ex) {
+            return handleError(ex, request);
+        }
+
+        List<String> violations = new ArrayList<>(2);
+        if (num1.signum() < 0) {
+            violations.add("num1 debe ser positivo o cero");
+        }
+        if (num2.signum() < 0) {
+            violations.add("num2 debe ser positivo o cero");
+        }
+        if (!violations.isEmpty()) {
+            log.warn("Error de validación de parámetros: {}", violations);
+            return exceptionHandler.parameterValidationError(violations, request.exchange())
+                    .flatMap(CalculationFastPathHandler::toServerResponse);
+        }
+
+        log.info("Recibida solicitud GET /sum-with-percentage con num1={}, num2={}", num1, num2);
+
+        Object[] args = {num1, num2};
+        return calculationLane.publish(calculateSumUseCase.calculateSumWithPercentage(num1, num2))
+                .map(result -> {
+                    log.info("Cálculo exitoso, devolviendo resultado: {}", result);
+                    return new CalculationResponse(result);
+                })
+                .doOnSuccess(response -> auditor.record(startTime, endpoint, PARAMETER_NAMES, args, response, null))
+                .doOnError(error -> {
+                    errorLog.error(error.getClass().getName(), "Error procesando la solicitud: {}", error.getMessage());
+                    auditor.record(startTime, endpoint, PARAMETER_NAMES, args, null, error);
+                })
+                .flatMap(response -> ServerResponse.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(render(response)))
+                .onErrorResume(error -> handleError(error, request));
+    }
+
+    // Mismas excepciones que el binding de @RequestParam BigDecimal: un valor vacío se trata como ausente
+    private static BigDecimal parseRequired(ServerRequest request, String name) {
+        String value = request.queryParams().getFirst(name);
+        if (value == null || value.isEmpty()) {
+            throw new MissingRequestValueException(name, BigDecimal.class, QUERY_PARAMETER, null);
+        }
+        try {
+            return NumberUtils.parseNumber(value, BigDecimal.class);
+        } catch (IllegalArgumentException ex) {
+            throw new ServerWebInputException("Type mismatch.", null, new TypeMismatchException(value, BigDecimal.class, ex));
+        }
+    }
+
+    private byte[] render(CalculationResponse response) {
+        BigDecimal result = response.result();
+        String number = result == null ? "null" : plainBigDecimals ? result.toPlainString() : result.toString();
+        return ("{\"result\":" + number + "}").getBytes(StandardCharsets.US_ASCII);
+    }
+
+    // Elige el @ExceptionHandler con la misma resolución que usa Spring para los controladores anotados
+    private Mono<ServerResponse> handleError(Throwable error, ServerRequest request) {
+        Method handlerMethod = exceptionHandlerResolver.resolveMethodByThrowable(error);
+        if (handlerMethod == null) {
+            return Mono.error(error);
+        }
+        try {
+            @SuppressWarnings("unchecked")
+            Mono<ResponseEntity<ErrorResponse>> response =
+                    (Mono<ResponseEntity<ErrorResponse>>) handlerMethod.invoke(exceptionHandler, error, request.exchange());
+            return response.flatMap(CalculationFastPathHandler::toServerResponse);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            log.error("No se pudo delegar el error a GlobalExceptionHandler: {}", e.getMessage(), e);
+            return Mono.error(error);
+        }
+    }
+
+    private static Mono<ServerResponse> toServerResponse(ResponseEntity<ErrorResponse> entity) {
+        return ServerResponse.status(entity.getStatusCode())
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(entity.getBody());
+    }
+}
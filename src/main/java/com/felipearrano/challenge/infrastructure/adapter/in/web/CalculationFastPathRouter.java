@@ -0,0 +1,25 @@
+package com.felipearrano.challenge.infrastructure.adapter.in.web;
+
+import com.felipearrano.challenge.infrastructure.config.CalculationFastPathProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.GET;
+import static org.springframework.web.reactive.function.server.RequestPredicates.accept;
+
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "calculation.fast-path", name = "enabled", havingValue = "true")
+public class CalculationFastPathRouter {
+
+    // Solo JSON: con Accept CBOR/Smile (o uno no soportado) no hay match y responde el controlador anotado
+    @Bean
+    public RouterFunction<ServerResponse> calculationFastPathRoute(CalculationFastPathHandler handler,
+                                                                  CalculationFastPathProperties properties) {
+        return RouterFunctions.route(GET(properties.getPath()).and(accept(MediaType.APPLICATION_JSON)), handler::calculate);
+    }
+}
@@ -1,9 +1,21 @@
 package com.felipearrano.challenge.infrastructure.adapter.in.web;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.felipearrano.challenge.application.port.in.GetHistoryUseCase;
 
+import com.felipearrano.challenge.application.port.in.SearchHistoryUseCase;
 import com.felipearrano.challenge.domain.HistoryLog;
+import com.felipearrano.challenge.domain.HistorySearchCriteria;
+import com.felipearrano.challenge.domain.HistorySearchCriteria.Comparison;
+import com.felipearrano.challenge.domain.HistorySearchCriteria.ParameterCondition;
 import com.felipearrano.challenge.infrastructure.adapter.in.web.dto.ErrorResponse;
+import com.felipearrano.challenge.infrastructure.adapter.in.web.dto.PageResponse;
+import com.felipearrano.challenge.infrastructure.config.BinaryCodecsConfig;
+import com.felipearrano.challenge.infrastructure.config.ExecutionLane;
+import com.felipearrano.challenge.infrastructure.config.HistoryJsonStorageProperties;
+import com.felipearrano.challenge.infrastructure.service.HistoryWriteWatermark;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -11,20 +23,35 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ETag;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebInputException;
 import reactor.core.publisher.Mono;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
 @RestController
 @RequestMapping("/api/v1/history")
 @Tag(name = "API de Historial", description = "Endpoint para recuperar el historial de llamadas a la API.")
@@ -32,47 +59,198 @@ public class HistoryController {
 
     private static final Logger log = LoggerFactory.getLogger(HistoryController.class);
 
+    // clave, operador y número: "num1>1000", "num2<=5", "num1=10.5"
+    private static final Pattern CONDITION = Pattern.compile("([A-Za-z_][A-Za-z0-9_]{0,39})\\s*(>=|<=|>|<|=)\\s*(\\S+)");
+
     private final GetHistoryUseCase getHistoryUseCase;
+    private final SearchHistoryUseCase searchHistoryUseCase;
+    private final HistoryJsonStorageProperties jsonStorageProperties;
+    private final ObjectMapper objectMapper;
+    // Las páginas y búsquedas se arman y serializan en su carril, no en el event loop de Netty
+    private final ExecutionLane historyReadLane;
+    private final HistoryWriteWatermark historyWriteWatermark;
 
-    public HistoryController(GetHistoryUseCase getHistoryUseCase){
+    public HistoryController(GetHistoryUseCase getHistoryUseCase, SearchHistoryUseCase searchHistoryUseCase,
+                             HistoryJsonStorageProperties jsonStorageProperties, ObjectMapper objectMapper,
+                             @Qualifier("historyReadLane") ExecutionLane historyReadLane,
+                             HistoryWriteWatermark historyWriteWatermark){
         this.getHistoryUseCase = getHistoryUseCase;
+        this.searchHistoryUseCase = searchHistoryUseCase;
+        this.jsonStorageProperties = jsonStorageProperties;
+        this.objectMapper = objectMapper;
+        this.historyReadLane = historyReadLane;
+        this.historyWriteWatermark = historyWriteWatermark;
     }
 
     @Operation(
             summary = "Obtener Historial de Llamadas API",
-            description = "Recupera una lista paginada de las llamadas pasadas a la API registradas en el sistema."
+            description = "Recupera una lista paginada de las llamadas pasadas a la API registradas en el sistema. " +
+                    "Además de JSON (por defecto) responde en CBOR o Smile según el header Accept. " +
+                    "Devuelve un ETag: con If-None-Match y sin escrituras nuevas responde 304 sin consultar la BD."
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Historial recuperado exitosamente",
                     content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
-                            schema = @Schema(implementation = Page.class))), // Schema genérico Page
+                            schema = @Schema(implementation = PageResponse.class))),
+            @ApiResponse(responseCode = "304", description = "La página no cambió desde el ETag enviado en If-None-Match"),
             @ApiResponse(responseCode = "400", description = "Parámetros de paginación inválidos",
                     content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
                             schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "429", description = "Límite de solicitudes excedido",
                     content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
                             schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "503", description = "Pool de lectura o carril del historial saturado",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "500", description = "Error interno del servidor recuperando el historial",
                     content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
                             schema = @Schema(implementation = ErrorResponse.class)))
     })
-    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
-    public Mono<ResponseEntity<Page<HistoryLog>>> getHistory(
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinaryCodecsConfig.APPLICATION_SMILE_VALUE})
+    public Mono<ResponseEntity<PageResponse<HistoryLog>>> getHistory(
             @Parameter(description = "Número de página a recuperar (basado en 0).", example = "0")
             @RequestParam(defaultValue = "0") @Min(0) int page,
             @Parameter(description = "Número de elementos por página.", example = "10")
-            @RequestParam(defaultValue = "10") @Min(1) int size
+            @RequestParam(defaultValue = "10") @Min(1) int size,
+            @Parameter(description = "ETag de una respuesta anterior; si la página no cambió se responde 304.")
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
     ){
         log.info("Recibida solicitud GET /history con page={}, size={}", page, size);
 
         Pageable pageable = PageRequest.of(page, size);
 
-        return getHistoryUseCase.getHistory(pageable)
-                .map(p -> {
-                    log.info("Historial encontrado. Devolviendo página {} de {} con {} elementos (total {}).",
-                            p.getNumber(), p.getTotalPages(), p.getNumberOfElements(), p.getTotalElements());
-                    return ResponseEntity.ok(p);
+        // Se pide antes de consultar: una escritura concurrente deja atrás este ETag y el próximo GET trae la página
+        return historyWriteWatermark.pageEtag(page, size)
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(etag -> {
+                    if (etag.isPresent() && matches(ifNoneMatch, etag.get())) {
+                        log.debug("Página {} sin cambios para el ETag {}; se responde 304.", page, etag.get());
+                        return Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                                .eTag(etag.get())
+                                .cacheControl(CacheControl.noCache())
+                                .varyBy(HttpHeaders.ACCEPT)
+                                .<PageResponse<HistoryLog>>build());
+                    }
+                    // El ETag es de todas las réplicas; el historial reciente en memoria, solo de esta instancia
+                    Mono<Page<HistoryLog>> query = etag.isPresent()
+                            ? getHistoryUseCase.getStoredHistory(pageable)
+                            : getHistoryUseCase.getHistory(pageable);
+                    return historyReadLane.publish(query)
+                            .map(p -> {
+                                log.info("Historial encontrado. Devolviendo página {} de {} con {} elementos (total {}).",
+                                        p.getNumber(), p.getTotalPages(), p.getNumberOfElements(), p.getTotalElements());
+                                if (!historyWriteWatermark.isEnabled()) {
+                                    return ResponseEntity.ok(PageResponse.from(p));
+                                }
+                                // Sin ETag (Redis caído o réplica aún sin la última escritura) igual se pide revalidar
+                                ResponseEntity.BodyBuilder ok = ResponseEntity.ok()
+                                        .cacheControl(CacheControl.noCache())
+                                        .varyBy(HttpHeaders.ACCEPT);
+                                etag.ifPresent(ok::eTag);
+                                return ok.body(PageResponse.from(p));
+                            });
                 })
                 .doOnError(error -> log.error("Error al obtener historial paginado: {}", error.getMessage()));
     }
+
+    @Operation(
+            summary = "Buscar en el Historial por Contenido",
+            description = "Busca llamadas por el contenido de sus parámetros o de su respuesta, usando los índices JSONB " +
+                    "(requiere history.json-storage.enabled). Los filtros se combinan con AND y los resultados van " +
+                    "del más nuevo al más antiguo. Solo cubre los registros de la base de datos guardados o importados con el modo activo."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Búsqueda realizada exitosamente",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)),
+            @ApiResponse(responseCode = "400", description = "Documento JSON, condición o límite inválido",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "501", description = "Búsqueda por contenido desactivada",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping(path = "/search", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinaryCodecsConfig.APPLICATION_SMILE_VALUE})
+    public Mono<ResponseEntity<List<HistoryLog>>> searchHistory(
+            @Parameter(description = "Path exacto del endpoint invocado.", example = "/api/v1/calculations/sum-with-percentage")
+            @RequestParam(required = false) String endpoint,
+            @Parameter(description = "Documento JSON contenido en los parámetros.", example = "{\"num1\": 10.5}")
+            @RequestParam(required = false) String params,
+            @Parameter(description = "Documento JSON contenido en la respuesta.", example = "{\"result\": 33.6}")
+            @RequestParam(required = false) String response,
+            @Parameter(description = "Condiciones numéricas sobre los parámetros (=, >, >=, <, <=). Las de rango solo " +
+                    "se admiten en las claves de history.json-storage.range-keys.", example = "num1>1000")
+            @RequestParam(required = false) List<String> where,
+            @Parameter(description = "Máximo de registros a devolver.", example = "50")
+            @RequestParam(defaultValue = "50") @Min(1) @Max(500) int limit
+    ){
+        log.info("Recibida solicitud GET /history/search con endpoint={}, params={}, response={}, where={}, limit={}",
+                endpoint, params, response, where, limit);
+
+        HistorySearchCriteria criteria = new HistorySearchCriteria(endpoint, jsonDocument("params", params),
+                jsonDocument("response", response), conditions(where), limit);
+
+        return historyReadLane.publish(searchHistoryUseCase.search(criteria))
+                .map(results -> {
+                    log.info("Búsqueda en historial completada con {} resultados.", results.size());
+                    return ResponseEntity.ok(results);
+                })
+                .doOnError(error -> log.error("Error al buscar en el historial: {}", error.getMessage()));
+    }
+
+    // Comparación débil, como indica RFC 9110 para If-None-Match
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        ETag current = ETag.create(etag);
+        return ETag.parse(ifNoneMatch).stream()
+                .anyMatch(candidate -> candidate.isWildcard() || candidate.compare(current, false));
+    }
+
+    private String jsonDocument(String name, String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            JsonNode node = objectMapper.readTree(value);
+            if (!node.isContainerNode()) {
+                throw new ServerWebInputException("El parámetro '" + name + "' debe ser un objeto o un arreglo JSON.");
+            }
+            return node.toString();
+        } catch (JsonProcessingException e) {
+            throw new ServerWebInputException("El parámetro '" + name + "' no es un JSON válido: " + e.getOriginalMessage());
+        }
+    }
+
+    private List<ParameterCondition> conditions(List<String> where) {
+        List<ParameterCondition> conditions = new ArrayList<>();
+        if (where == null) {
+            return conditions;
+        }
+        for (String raw : where) {
+            Matcher matcher = CONDITION.matcher(raw.trim());
+            if (!matcher.matches()) {
+                throw new ServerWebInputException("Condición inválida '" + raw + "'. Formato esperado: clave>valor (=, >, >=, <, <=).");
+            }
+            String key = matcher.group(1);
+            Comparison comparison = switch (matcher.group(2)) {
+                case ">" -> Comparison.GT;
+                case ">=" -> Comparison.GTE;
+                case "<" -> Comparison.LT;
+                case "<=" -> Comparison.LTE;
+                default -> Comparison.EQ;
+            };
+            if (comparison != Comparison.EQ && !jsonStorageProperties.getRangeKeys().contains(key)) {
+                throw new ServerWebInputException("La clave '" + key + "' no tiene índice de rango. Claves admitidas: "
+                        + jsonStorageProperties.getRangeKeys());
+            }
+            try {
+                conditions.add(new ParameterCondition(key, comparison, new BigDecimal(matcher.group(3))));
+            } catch (NumberFormatException e) {
+                throw new ServerWebInputException("El valor de la condición '" + raw + "' debe ser numérico.");
+            }
+        }
+        return conditions;
+    }
 }
@@ -0,0 +1,59 @@
+package com.felipearrano.challenge.infrastructure.adapter.in.web;
+
+import com.felipearrano.challenge.application.port.in.TailHistoryUseCase;
+import com.felipearrano.challenge.domain.HistoryLog;
+import com.felipearrano.challenge.infrastructure.config.HistoryLiveTailProperties;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+@RestController
+@RequestMapping("/api/v1/history")
+@Tag(name = "API de Historial", description = "Endpoint para recuperar el historial de llamadas a la API.")
+public class HistoryLiveTailController {
+
+    private static final Logger log = LoggerFactory.getLogger(HistoryLiveTailController.class);
+
+    private final TailHistoryUseCase tailHistoryUseCase;
+    private final HistoryLiveTailProperties properties;
+
+    public HistoryLiveTailController(TailHistoryUseCase tailHistoryUseCase, HistoryLiveTailProperties properties) {
+        this.tailHistoryUseCase = tailHistoryUseCase;
+        this.properties = properties;
+    }
+
+    @Operation(
+            summary = "Seguir el historial en vivo",
+            description = "Envía por Server-Sent Events cada llamada registrada desde la conexión, sin consultar la base de datos. "
+                    + "Un cliente que no consume a tiempo pierde eventos en lugar de acumularlos."
+    )
+    @GetMapping(value = "/live", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<HistoryLog>> liveTail(
+            @Parameter(description = "Solo llamadas a este endpoint.", example = "/api/v1/calculations/sum-with-percentage")
+            @RequestParam(required = false) String endpoint,
+            @Parameter(description = "Solo llamadas con este código HTTP.", example = "503")
+            @RequestParam(required = false) Integer status
+    ) {
+        log.info("Recibida solicitud GET /history/live con endpoint={}, status={}", endpoint, status);
+
+        Flux<ServerSentEvent<HistoryLog>> events = tailHistoryUseCase.tail(endpoint, status)
+                .map(historyLog -> ServerSentEvent.builder(historyLog)
+                        .id(historyLog.id().toString())
+                        .event("history")
+                        .build());
+        Flux<ServerSentEvent<HistoryLog>> heartbeats = Flux.interval(properties.getHeartbeat())
+                .map(tick -> ServerSentEvent.<HistoryLog>builder().comment("keep-alive").build());
+
+        return Flux.merge(events, heartbeats)
+                .doOnCancel(() -> log.info("Cliente desconectado del live tail."));
+    }
+}
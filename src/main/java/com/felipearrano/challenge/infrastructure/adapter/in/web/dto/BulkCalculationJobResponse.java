@@ -0,0 +1,23 @@
+package com.felipearrano.challenge.infrastructure.adapter.in.web.dto;
+
+import com.felipearrano.challenge.infrastructure.service.BulkCalculationJob;
+
+import java.time.Instant;
+
+/**
+ * Estado de un trabajo de cálculo por lotes. {@code resultUrl} solo se informa cuando el trabajo está
+ * completo; {@code progress} es una estimación entre 0 y 1.
+ */
+public record BulkCalculationJobResponse(String jobId, String fileName, BulkCalculationJob.Status status,
+                                         double progress, long inputBytes, long linesRead, long rowsCalculated,
+                                         long rowsInvalid, Double percentage, Instant submittedAt, Instant startedAt,
+                                         Instant finishedAt, String error, String resultUrl) {
+
+    public static BulkCalculationJobResponse from(BulkCalculationJob job, String basePath) {
+        BulkCalculationJob.Status status = job.status();
+        return new BulkCalculationJobResponse(job.id(), job.fileName(), status, job.progress(), job.inputBytes(),
+                job.linesRead(), job.rowsCalculated(), job.rowsInvalid(), job.percentage(), job.submittedAt(),
+                job.startedAt(), job.finishedAt(), job.error(),
+                status == BulkCalculationJob.Status.COMPLETED ? basePath + "/" + job.id() + "/result" : null);
+    }
+}
@@ -0,0 +1,21 @@
+package com.felipearrano.challenge.infrastructure.adapter.in.web.dto;
+
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+
+/**
+ * Página estable para la API, en lugar de serializar {@code PageImpl} (cuya forma depende de la versión
+ * de Spring Data e incluye metadatos redundantes como {@code pageable} y {@code sort}).
+ * Misma forma que el {@code PagedModel} de Spring Data: {@code content} y {@code page}.
+ */
+public record PageResponse<T>(List<T> content, PageMetadata page) {
+
+    public record PageMetadata(int size, int number, long totalElements, int totalPages) {
+    }
+
+    public static <T> PageResponse<T> from(Page<T> page) {
+        return new PageResponse<>(page.getContent(),
+                new PageMetadata(page.getSize(), page.getNumber(), page.getTotalElements(), page.getTotalPages()));
+    }
+}
@@ -3,6 +3,7 @@ package com.felipearrano.challenge.infrastructure.adapter.in.web.error;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.felipearrano.challenge.infrastructure.adapter.in.web.dto.ErrorResponse;
+import com.felipearrano.challenge.infrastructure.util.RateLimitedLogger;
 import io.github.resilience4j.ratelimiter.RequestNotPermitted;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -16,15 +17,23 @@ import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.server.WebExceptionHandler;
 import reactor.core.publisher.Mono;
 
+import java.time.Instant;
+
 @Component
 @Order(-2) // MUY IMPORTANTE: Orden alto para ejecutarse ANTES que el handler por defecto de Spring Boot, Revisar configurar presedencias en archivo de configuracion
 public class CustomWebExceptionHandler implements WebExceptionHandler {
 
     private static final Logger log = LoggerFactory.getLogger(CustomWebExceptionHandler.class);
+    private static final RateLimitedLogger rateLimitLog = RateLimitedLogger.of(log);
+    private static final String RATE_LIMIT_MESSAGE = "Se ha excedido el límite de solicitudes permitidas.";
+
     private final ObjectMapper objectMapper; // Para serializar el ErrorResponse a JSON
+    // Cuerpo del 429 serializado una sola vez: en una ráfaga de rechazos solo cambian timestamp y ruta
+    private final PrecomputedErrorBody rateLimitBody;
 
-    public CustomWebExceptionHandler(ObjectMapper objectMapper) {
+    public CustomWebExceptionHandler(ObjectMapper objectMapper) throws JsonProcessingException {
         this.objectMapper = objectMapper;
+        this.rateLimitBody = PrecomputedErrorBody.of(objectMapper, HttpStatus.TOO_MANY_REQUESTS, RATE_LIMIT_MESSAGE);
     }
 
     @Override
@@ -33,19 +42,19 @@ public class CustomWebExceptionHandler implements WebExceptionHandler {
         String path = exchange.getRequest().getURI().getPath();
 
         if (ex instanceof RequestNotPermitted) {
-            log.warn("Rate limit excedido (Manejado por WebExceptionHandler): {}", ex.getMessage());
-            ErrorResponse errorResponse = new ErrorResponse(
-                    HttpStatus.TOO_MANY_REQUESTS.value(),
-                    HttpStatus.TOO_MANY_REQUESTS.getReasonPhrase(),
-                    "Se ha excedido el límite de solicitudes permitidas.",
-                    path
-            );
+            rateLimitLog.warn("rate-limit", "Rate limit excedido (Manejado por WebExceptionHandler): {}", ex.getMessage());
 
             exchange.getResponse().setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
             exchange.getResponse().getHeaders().setContentType(MediaType.APPLICATION_JSON);
 
             try {
-                byte[] jsonBytes = objectMapper.writeValueAsBytes(errorResponse);
+                byte[] jsonBytes = rateLimitBody != null
+                        ? rateLimitBody.render(Instant.now(), path)
+                        : objectMapper.writeValueAsBytes(new ErrorResponse(
+                                HttpStatus.TOO_MANY_REQUESTS.value(),
+                                HttpStatus.TOO_MANY_REQUESTS.getReasonPhrase(),
+                                RATE_LIMIT_MESSAGE,
+                                path));
                 DataBuffer buffer = exchange.getResponse().bufferFactory().wrap(jsonBytes);
                 return exchange.getResponse().writeWith(Mono.just(buffer));
             } catch (JsonProcessingException e) {
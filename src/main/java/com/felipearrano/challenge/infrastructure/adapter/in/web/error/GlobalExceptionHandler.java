@@ -2,6 +2,12 @@ package com.felipearrano.challenge.infrastructure.adapter.in.web.error;
 
 import com.felipearrano.challenge.infrastructure.adapter.in.web.dto.ErrorResponse;
 import com.felipearrano.challenge.infrastructure.adapter.out.external.exception.PercentageServiceUnavailableException;
+import com.felipearrano.challenge.infrastructure.adapter.out.persistence.exception.HistorySearchUnavailableException;
+import com.felipearrano.challenge.infrastructure.adapter.out.persistence.exception.WorkloadSaturatedException;
+import com.felipearrano.challenge.infrastructure.service.exception.BulkJobNotFoundException;
+import com.felipearrano.challenge.infrastructure.service.exception.BulkJobNotReadyException;
+import com.felipearrano.challenge.infrastructure.service.exception.BulkUploadTooLargeException;
+import com.felipearrano.challenge.infrastructure.util.RateLimitedLogger;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import org.slf4j.Logger;
@@ -23,6 +29,8 @@ import java.util.stream.Collectors;
 public class GlobalExceptionHandler {
 
     private  static final Logger log = LoggerFactory.getLogger(GlobalExceptionHandler.class);
+    // Los errores 503 y 500 llegan en ráfagas: un mensaje por tipo de error y ventana
+    private static final RateLimitedLogger errorLog = RateLimitedLogger.of(log);
 
     @ExceptionHandler({ServerWebInputException.class}) // Captura el error de Input/Type mismatch
     public Mono<ResponseEntity<ErrorResponse>> handleServerWebInputException(ServerWebInputException ex, ServerWebExchange exchange) {
@@ -55,7 +63,11 @@ public class GlobalExceptionHandler {
                 .stream()
                 .map(ConstraintViolation::getMessage)
                 .collect(Collectors.toList());
+        return parameterValidationError(details, exchange);
+    }
 
+    // Respuesta común a los errores de validación de parámetros; la usa también el endpoint funcional de cálculo
+    public Mono<ResponseEntity<ErrorResponse>> parameterValidationError(List<String> details, ServerWebExchange exchange) {
         ErrorResponse errorResponse = new ErrorResponse(
                 HttpStatus.BAD_REQUEST.value(),
                 HttpStatus.BAD_REQUEST.getReasonPhrase(),
@@ -92,7 +104,7 @@ public class GlobalExceptionHandler {
     // Manejador para nuestro error específico de servicio externo + caché vacía
     @ExceptionHandler(PercentageServiceUnavailableException.class)
     public Mono<ResponseEntity<ErrorResponse>> handleServiceUnavailable(PercentageServiceUnavailableException ex, ServerWebExchange exchange) {
-        log.error("Error 503: Capturada PercentageServiceUnavailableException. Mensaje: {}", ex.getMessage(), ex); // Loguea el mensaje y la traza completa
+        errorLog.error(ex.getClass().getName(), "Error 503: Capturada PercentageServiceUnavailableException. Mensaje: {}", ex.getMessage(), ex);
 
         ErrorResponse errorResponse = new ErrorResponse(
                 HttpStatus.SERVICE_UNAVAILABLE.value(),
@@ -103,9 +115,77 @@ public class GlobalExceptionHandler {
         return Mono.just(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(errorResponse));
     }
 
+    // Manejador para rechazos rápidos cuando el pool de base de datos de la carga está saturado
+    @ExceptionHandler(WorkloadSaturatedException.class)
+    public Mono<ResponseEntity<ErrorResponse>> handleWorkloadSaturated(WorkloadSaturatedException ex, ServerWebExchange exchange) {
+        errorLog.warn(ex.getClass().getName(), "Error 503: {}", ex.getMessage());
+
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                HttpStatus.SERVICE_UNAVAILABLE.getReasonPhrase(),
+                "El sistema está procesando demasiadas consultas en este momento. Intente más tarde.",
+                exchange.getRequest().getURI().getPath()
+        );
+        return Mono.just(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(errorResponse));
+    }
+
+    // Manejador para la búsqueda por contenido cuando la copia JSONB del historial está desactivada
+    @ExceptionHandler(HistorySearchUnavailableException.class)
+    public Mono<ResponseEntity<ErrorResponse>> handleHistorySearchUnavailable(HistorySearchUnavailableException ex, ServerWebExchange exchange) {
+        log.warn("Búsqueda del historial no disponible: {}", ex.getMessage());
+
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.NOT_IMPLEMENTED.value(),
+                HttpStatus.NOT_IMPLEMENTED.getReasonPhrase(),
+                "La búsqueda por contenido del historial no está habilitada en este servicio.",
+                exchange.getRequest().getURI().getPath()
+        );
+        return Mono.just(ResponseEntity.status(HttpStatus.NOT_IMPLEMENTED).body(errorResponse));
+    }
+
+    @ExceptionHandler(BulkJobNotFoundException.class)
+    public Mono<ResponseEntity<ErrorResponse>> handleBulkJobNotFound(BulkJobNotFoundException ex, ServerWebExchange exchange) {
+        log.warn("Trabajo de cálculo por lotes no encontrado: {}", ex.getMessage());
+
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.NOT_FOUND.value(),
+                HttpStatus.NOT_FOUND.getReasonPhrase(),
+                ex.getMessage(),
+                exchange.getRequest().getURI().getPath()
+        );
+        return Mono.just(ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse));
+    }
+
+    // Descarga de resultados de un trabajo en cola, en curso o fallido
+    @ExceptionHandler(BulkJobNotReadyException.class)
+    public Mono<ResponseEntity<ErrorResponse>> handleBulkJobNotReady(BulkJobNotReadyException ex, ServerWebExchange exchange) {
+        log.warn("Resultados de cálculo por lotes no disponibles: {}", ex.getMessage());
+
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.CONFLICT.value(),
+                HttpStatus.CONFLICT.getReasonPhrase(),
+                ex.getMessage(),
+                exchange.getRequest().getURI().getPath()
+        );
+        return Mono.just(ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse));
+    }
+
+    @ExceptionHandler(BulkUploadTooLargeException.class)
+    public Mono<ResponseEntity<ErrorResponse>> handleBulkUploadTooLarge(BulkUploadTooLargeException ex, ServerWebExchange exchange) {
+        log.warn("Archivo de cálculo por lotes rechazado por tamaño: {}", ex.getMessage());
+
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.PAYLOAD_TOO_LARGE.value(),
+                HttpStatus.PAYLOAD_TOO_LARGE.getReasonPhrase(),
+                ex.getMessage(),
+                exchange.getRequest().getURI().getPath()
+        );
+        return Mono.just(ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(errorResponse));
+    }
+
     @ExceptionHandler(Exception.class)
     public Mono<ResponseEntity<ErrorResponse>> handleGenericException(Exception ex, ServerWebExchange exchange) {
-        log.error("Error inesperado en la aplicación: {}", ex.getMessage(), ex); // Loguea el stack trace completo
+        errorLog.error(ex.getClass().getName(), "Error inesperado en la aplicación: {}", ex.getMessage(), ex); // Loguea el stack trace completo
         ErrorResponse errorResponse = new ErrorResponse(
                 HttpStatus.INTERNAL_SERVER_ERROR.value(),
                 HttpStatus.INTERNAL_SERVER_ERROR.getReasonPhrase(),
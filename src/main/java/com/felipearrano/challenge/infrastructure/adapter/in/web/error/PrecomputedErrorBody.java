@@ -0,0 +1,72 @@
+package com.felipearrano.challenge.infrastructure.adapter.in.web.error;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.felipearrano.challenge.infrastructure.adapter.in.web.dto.ErrorResponse;
+import org.springframework.http.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+/**
+ * {@link ErrorResponse} fijo serializado una sola vez. Por petición solo se insertan el timestamp y la
+ * ruta entre los fragmentos ya codificados, sin pasar por el ObjectMapper. Los fragmentos salen de
+ * serializar una plantilla con el mismo ObjectMapper, así que el JSON es idéntico al de la ruta normal.
+ */
+final class PrecomputedErrorBody {
+
+    private static final Instant TIMESTAMP_MARKER = Instant.EPOCH;
+    private static final String PATH_MARKER = "__path__";
+
+    private final byte[] head;
+    private final byte[] middle;
+    private final byte[] tail;
+
+    private PrecomputedErrorBody(byte[] head, byte[] middle, byte[] tail) {
+        this.head = head;
+        this.middle = middle;
+        this.tail = tail;
+    }
+
+    /**
+     * Devuelve {@code null} si el ObjectMapper no escribe los Instant como texto ISO-8601, en cuyo caso
+     * el llamador debe seguir serializando la respuesta completa.
+     */
+    static PrecomputedErrorBody of(ObjectMapper objectMapper, HttpStatus status, String message) throws JsonProcessingException {
+        String timestamp = objectMapper.writeValueAsString(TIMESTAMP_MARKER);
+        if (!timestamp.equals('"' + TIMESTAMP_MARKER.toString() + '"')) {
+            return null;
+        }
+        String template = objectMapper.writeValueAsString(new ErrorResponse(
+                TIMESTAMP_MARKER, status.value(), status.getReasonPhrase(), message, PATH_MARKER, null));
+        String timestampValue = TIMESTAMP_MARKER.toString();
+        int timestampAt = template.indexOf(timestampValue);
+        int pathAt = template.indexOf(PATH_MARKER);
+        if (timestampAt < 0 || pathAt < timestampAt) {
+            return null;
+        }
+        return new PrecomputedErrorBody(
+                template.substring(0, timestampAt).getBytes(StandardCharsets.UTF_8),
+                template.substring(timestampAt + timestampValue.length(), pathAt).getBytes(StandardCharsets.UTF_8),
+                template.substring(pathAt + PATH_MARKER.length()).getBytes(StandardCharsets.UTF_8));
+    }
+
+    byte[] render(Instant timestamp, String path) {
+        byte[] timestampBytes = timestamp.toString().getBytes(StandardCharsets.US_ASCII);
+        byte[] pathBytes = JsonStringEncoder.getInstance().quoteAsUTF8(path);
+        byte[] body = new byte[head.length + timestampBytes.length + middle.length + pathBytes.length + tail.length];
+        int position = 0;
+        position = append(body, position, head);
+        position = append(body, position, timestampBytes);
+        position = append(body, position, middle);
+        position = append(body, position, pathBytes);
+        append(body, position, tail);
+        return body;
+    }
+
+    private static int append(byte[] target, int position, byte[] source) {
+        System.arraycopy(source, 0, target, position, source.length);
+        return position + source.length;
+    }
+}
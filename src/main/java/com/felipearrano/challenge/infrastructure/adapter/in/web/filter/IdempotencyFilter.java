@@ -0,0 +1,244 @@
+package com.felipearrano.challenge.infrastructure.adapter.in.web.filter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.felipearrano.challenge.infrastructure.adapter.in.web.dto.ErrorResponse;
+import com.felipearrano.challenge.infrastructure.adapter.out.idempotency.IdempotencyRecord;
+import com.felipearrano.challenge.infrastructure.adapter.out.idempotency.RedisIdempotencyStore;
+import com.felipearrano.challenge.infrastructure.config.IdempotencyProperties;
+import com.felipearrano.challenge.infrastructure.util.RateLimitedLogger;
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Reintentos seguros con {@code Idempotency-Key}. La primera petición con una clave toma la marca en
+ * Redis, se ejecuta normalmente y su respuesta queda guardada; los reintentos la reciben tal cual
+ * (header {@code Idempotent-Replayed: true}) sin llamar al upstream ni registrar otra auditoría.
+ * Un duplicado que llega mientras la original está en curso espera a que termine en lugar de ejecutarse.
+ * <p>
+ * Solo se guardan respuestas deterministas (2xx y 4xx salvo 429): un 5xx o un rechazo por rate limit
+ * liberan la clave para que el reintento vuelva a intentar. Si Redis no responde, la petición se
+ * atiende sin idempotencia en lugar de fallar.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+public class IdempotencyFilter implements WebFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyFilter.class);
+    private static final RateLimitedLogger storeLog = RateLimitedLogger.of(log);
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final byte[] EMPTY = new byte[0];
+
+    private enum Step {
+        EXECUTE,
+        INSPECT,
+        BYPASS
+    }
+
+    // owner es el token de la marca tomada; solo lo tiene EXECUTE
+    private record Attempt(Step step, String owner) {
+    }
+
+    private final RedisIdempotencyStore store;
+    private final IdempotencyProperties properties;
+    private final ObjectMapper objectMapper;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public IdempotencyFilter(RedisIdempotencyStore store, IdempotencyProperties properties, ObjectMapper objectMapper) {
+        this.store = store;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!properties.isEnabled()) {
+            return chain.filter(exchange);
+        }
+        String key = exchange.getRequest().getHeaders().getFirst(properties.getHeader());
+        if (key == null) {
+            return chain.filter(exchange);
+        }
+        String path = exchange.getRequest().getURI().getPath();
+        if (properties.getPaths().stream().noneMatch(pattern -> pathMatcher.match(pattern, path))) {
+            return chain.filter(exchange);
+        }
+        if (key.isBlank() || key.length() > properties.getMaxKeyLength()) {
+            return writeError(exchange, HttpStatus.BAD_REQUEST,
+                    "El header " + properties.getHeader() + " debe tener entre 1 y " + properties.getMaxKeyLength() + " caracteres.");
+        }
+        long deadline = System.nanoTime() + properties.getWaitTimeout().toNanos();
+        return process(exchange, chain, key, fingerprint(exchange.getRequest()), deadline);
+    }
+
+    private Mono<Void> process(ServerWebExchange exchange, WebFilterChain chain, String key, String fingerprint, long deadline) {
+        return store.tryAcquire(key, fingerprint)
+                .map(owner -> new Attempt(Step.EXECUTE, owner))
+                .defaultIfEmpty(new Attempt(Step.INSPECT, null))
+                .onErrorResume(error -> {
+                    storeLog.warn("redis", "Redis no disponible para idempotencia, se atiende sin ella: {}", error.getMessage());
+                    return Mono.just(new Attempt(Step.BYPASS, null));
+                })
+                .flatMap(attempt -> switch (attempt.step()) {
+                    case EXECUTE -> execute(exchange, chain, key, fingerprint, attempt.owner());
+                    case INSPECT -> inspect(exchange, chain, key, fingerprint, deadline);
+                    case BYPASS -> chain.filter(exchange);
+                });
+    }
+
+    private Mono<Void> inspect(ServerWebExchange exchange, WebFilterChain chain, String key, String fingerprint, long deadline) {
+        return store.find(key)
+                .flatMap(existing -> {
+                    if (!existing.fingerprint().equals(fingerprint)) {
+                        return writeError(exchange, HttpStatus.UNPROCESSABLE_ENTITY,
+                                "La clave de idempotencia ya se usó con otra petición.");
+                    }
+                    if (existing.isCompleted()) {
+                        return replay(exchange, existing);
+                    }
+                    if (System.nanoTime() - deadline >= 0) {
+                        return writeError(exchange, HttpStatus.CONFLICT,
+                                "Una petición con la misma clave de idempotencia sigue en curso. Reintente más tarde.");
+                    }
+                    return Mono.delay(properties.getPollInterval())
+                            .then(Mono.defer(() -> process(exchange, chain, key, fingerprint, deadline)));
+                })
+                // La marca expiró o se liberó entre el SET NX y la lectura: se vuelve a intentar tomarla
+                .switchIfEmpty(Mono.defer(() -> process(exchange, chain, key, fingerprint, deadline)));
+    }
+
+    private Mono<Void> execute(ServerWebExchange exchange, WebFilterChain chain, String key, String fingerprint, String owner) {
+        CapturingResponse response = new CapturingResponse(exchange.getResponse());
+        return chain.filter(exchange.mutate().response(response).build())
+                .onErrorResume(error -> release(key, owner).then(Mono.error(error)))
+                .then(Mono.defer(() -> complete(key, fingerprint, owner, response)))
+                .doOnCancel(() -> release(key, owner).subscribe());
+    }
+
+    private Mono<Void> complete(String key, String fingerprint, String owner, CapturingResponse response) {
+        HttpStatusCode status = response.getStatusCode() != null ? response.getStatusCode() : HttpStatus.OK;
+        if (response.captured == null || !isStorable(status)) {
+            return release(key, owner);
+        }
+        MediaType contentType = response.getHeaders().getContentType();
+        IdempotencyRecord completed = IdempotencyRecord.completed(fingerprint, status.value(),
+                contentType != null ? contentType.toString() : null, response.captured);
+        return store.complete(key, owner, completed)
+                .doOnNext(stored -> {
+                    if (!stored) {
+                        storeLog.warn("lock-lost", "La marca de idempotencia expiró antes de terminar la petición; "
+                                + "la respuesta no se guarda. Revisar idempotency.lock-ttl.");
+                    }
+                })
+                .onErrorResume(error -> {
+                    storeLog.warn("redis", "No se pudo guardar la respuesta idempotente: {}", error.getMessage());
+                    return release(key, owner).thenReturn(false);
+                })
+                .then();
+    }
+
+    private static boolean isStorable(HttpStatusCode status) {
+        return status.is2xxSuccessful()
+                || (status.is4xxClientError() && status.value() != HttpStatus.TOO_MANY_REQUESTS.value());
+    }
+
+    private Mono<Void> release(String key, String owner) {
+        return store.release(key, owner)
+                .onErrorResume(error -> {
+                    storeLog.warn("redis", "No se pudo liberar la clave de idempotencia: {}", error.getMessage());
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    private Mono<Void> replay(ServerWebExchange exchange, IdempotencyRecord stored) {
+        log.debug("Respuesta idempotente reutilizada para {}", exchange.getRequest().getURI().getPath());
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatusCode.valueOf(stored.status()));
+        if (stored.contentType() != null) {
+            response.getHeaders().set(HttpHeaders.CONTENT_TYPE, stored.contentType());
+        }
+        response.getHeaders().set(REPLAYED_HEADER, "true");
+        byte[] body = stored.body() != null ? stored.body() : EMPTY;
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+    }
+
+    private Mono<Void> writeError(ServerWebExchange exchange, HttpStatus status, String message) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(status);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(new ErrorResponse(
+                    status.value(), status.getReasonPhrase(), message, exchange.getRequest().getURI().getPath()));
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+        } catch (JsonProcessingException e) {
+            log.error("Error al serializar ErrorResponse de idempotencia", e);
+            return response.setComplete();
+        }
+    }
+
+    // Misma clave con otra petición (parámetros o formato pedido) no debe devolver la respuesta guardada
+    private static String fingerprint(ServerHttpRequest request) {
+        String accept = request.getHeaders().getFirst(HttpHeaders.ACCEPT);
+        String canonical = request.getMethod().name() + ' ' + request.getURI().getRawPath()
+                + '?' + (request.getURI().getRawQuery() != null ? request.getURI().getRawQuery() : "")
+                + '|' + (accept != null ? accept : "");
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(canonical.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    /**
+     * Deja pasar la respuesta al cliente guardando una copia del cuerpo.
+     */
+    private static final class CapturingResponse extends ServerHttpResponseDecorator {
+
+        private volatile byte[] captured;
+
+        private CapturingResponse(ServerHttpResponse delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            return DataBufferUtils.join(body)
+                    .map(joined -> {
+                        byte[] bytes = new byte[joined.readableByteCount()];
+                        joined.read(bytes);
+                        DataBufferUtils.release(joined);
+                        return bytes;
+                    })
+                    .defaultIfEmpty(EMPTY)
+                    .flatMap(bytes -> {
+                        captured = bytes;
+                        return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+                    });
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.felipearrano.challenge.infrastructure.adapter.in.web.filter;
 
+import com.felipearrano.challenge.infrastructure.diagnostics.event.JfrEvents;
+import com.felipearrano.challenge.infrastructure.util.RateLimitedLogger;
 import io.github.resilience4j.ratelimiter.RateLimiter;
 import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
 import io.github.resilience4j.ratelimiter.RequestNotPermitted;
@@ -22,6 +24,7 @@ import java.util.List;
 public class RateLimiterFilter implements WebFilter {
 
     private static final Logger log = LoggerFactory.getLogger(RateLimiterFilter.class);
+    private static final RateLimitedLogger rejectionLog = RateLimitedLogger.of(log);
     private static final String RESILIENCE4J_INSTANCE_NAME = "apiGlobalLimiter";
     private final AntPathMatcher pathMatcher = new AntPathMatcher();
     private final RateLimiter rateLimiter;
@@ -61,8 +64,9 @@ public class RateLimiterFilter implements WebFilter {
             String clientIp = exchange.getRequest().getRemoteAddress() != null
                     ? exchange.getRequest().getRemoteAddress().getAddress().getHostAddress()
                     : "unknown";
+            JfrEvents.rateLimitRejected(path, RESILIENCE4J_INSTANCE_NAME);
             RequestNotPermitted exception = RequestNotPermitted.createRequestNotPermitted(rateLimiter);
-            log.warn("Rate limit excedido (Detectado por tryAcquirePermission). IP: {}. Path: {}. RateLimiter: {}", clientIp, path, exception.getMessage());
+            rejectionLog.warn(RESILIENCE4J_INSTANCE_NAME, "Rate limit excedido (Detectado por tryAcquirePermission). IP: {}. Path: {}. RateLimiter: {}", clientIp, path, exception.getMessage());
             return Mono.error(exception);
         }
     }
@@ -0,0 +1,21 @@
+package com.felipearrano.challenge.infrastructure.adapter.out.archive;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Set;
+
+/**
+ * Índice de un segmento archivado: rango de tiempo, cantidad de filas y endpoints presentes.
+ * Se mantiene en memoria para descartar segmentos sin abrirlos.
+ */
+public record HistorySegment(Path dataFile, int rowCount, Instant minTimestamp, Instant maxTimestamp,
+                             Set<String> endpoints) {
+
+    public boolean overlaps(Instant from, Instant to) {
+        return !maxTimestamp.isBefore(from) && !minTimestamp.isAfter(to);
+    }
+
+    public boolean mayContain(String endpoint) {
+        return endpoint == null || endpoints.contains(endpoint);
+    }
+}
@@ -0,0 +1,161 @@
+package com.felipearrano.challenge.infrastructure.adapter.out.archive;
+
+import com.felipearrano.challenge.domain.HistoryLog;
+import com.felipearrano.challenge.infrastructure.config.HistoryArchiveProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Catálogo en memoria de los segmentos archivados, ordenados del más nuevo al más antiguo.
+ * Las consultas lo usan para abrir solo los segmentos cuyo rango de tiempo y endpoints pueden
+ * contener filas pedidas.
+ */
+@Component
+public class HistorySegmentCatalog {
+
+    private static final Logger log = LoggerFactory.getLogger(HistorySegmentCatalog.class);
+    private static final Comparator<HistorySegment> NEWEST_FIRST =
+            Comparator.comparing(HistorySegment::maxTimestamp).reversed();
+
+    private final HistoryArchiveProperties properties;
+    private volatile List<HistorySegment> segments = List.of();
+
+    public HistorySegmentCatalog(HistoryArchiveProperties properties) {
+        this.properties = properties;
+        if (properties.isEnabled()) {
+            reload();
+        }
+    }
+
+    public boolean isEmpty() {
+        return segments.isEmpty();
+    }
+
+    public List<HistorySegment> segments() {
+        return segments;
+    }
+
+    public Optional<Instant> newestTimestamp() {
+        List<HistorySegment> current = segments;
+        return current.isEmpty() ? Optional.empty() : Optional.of(current.get(0).maxTimestamp());
+    }
+
+    public long totalRows() {
+        return segments.stream().mapToLong(HistorySegment::rowCount).sum();
+    }
+
+    public List<HistorySegment> find(Instant from, Instant to, String endpoint) {
+        return segments.stream().filter(HistorySegmentCodec.overlapping(from, to, endpoint)).toList();
+    }
+
+    public HistorySegment write(List<HistoryLog> rows) throws IOException {
+        Files.createDirectories(properties.getDirectory());
+        HistorySegment segment = HistorySegmentCodec.write(properties.getDirectory(), rows);
+        register(segment);
+        return segment;
+    }
+
+    public List<HistoryLog> read(HistorySegment segment, Instant from, Instant to, String endpoint) {
+        try {
+            return HistorySegmentCodec.read(segment, from, to, endpoint);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo leer el segmento " + segment.dataFile(), e);
+        }
+    }
+
+    public List<HistoryLog> readAll(HistorySegment segment) {
+        return read(segment, Instant.MIN, Instant.MAX, null);
+    }
+
+    /**
+     * Lee {@code limit} filas desde la posición {@code offset} del segmento, de la más nueva a la más antigua;
+     * las columnas de texto de las demás filas no se materializan.
+     */
+    public List<HistoryLog> readPage(HistorySegment segment, int offset, int limit) {
+        try {
+            return HistorySegmentCodec.readPage(segment, offset, limit);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo leer el segmento " + segment.dataFile(), e);
+        }
+    }
+
+    /**
+     * Ids de {@code rows} que ya están en algún segmento. Solo abre los segmentos que se solapan con el rango
+     * de tiempo de las filas, así que con filas más nuevas que todo el archivo no lee nada.
+     */
+    public Set<UUID> archivedIds(List<HistoryLog> rows) {
+        if (rows.isEmpty()) {
+            return Set.of();
+        }
+        Instant min = rows.stream().map(HistoryLog::timestamp).min(Comparator.naturalOrder()).orElseThrow();
+        Instant max = rows.stream().map(HistoryLog::timestamp).max(Comparator.naturalOrder()).orElseThrow();
+        Set<UUID> candidates = new HashSet<>();
+        rows.forEach(row -> candidates.add(row.id()));
+        Set<UUID> archived = new HashSet<>();
+        for (HistorySegment segment : find(min, max, null)) {
+            read(segment, min, max, null).stream()
+                    .map(HistoryLog::id)
+                    .filter(candidates::contains)
+                    .forEach(archived::add);
+        }
+        return archived;
+    }
+
+    // Las instancias que solo leen ven así los segmentos que escribió la instancia del job
+    @Scheduled(fixedDelayString = "${history.archive.reload-interval:5m}",
+            initialDelayString = "${history.archive.reload-interval:5m}")
+    public void refresh() {
+        if (properties.isEnabled() && !properties.isJobEnabled()) {
+            reload();
+        }
+    }
+
+    public synchronized void reload() {
+        Path directory = properties.getDirectory();
+        if (!Files.isDirectory(directory)) {
+            segments = List.of();
+            return;
+        }
+        List<HistorySegment> loaded = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path indexFile : files.filter(f -> f.toString().endsWith(HistorySegmentCodec.INDEX_EXTENSION)).toList()) {
+                try {
+                    HistorySegment segment = HistorySegmentCodec.readIndex(indexFile);
+                    if (Files.exists(segment.dataFile())) {
+                        loaded.add(segment);
+                    }
+                } catch (IOException e) {
+                    log.warn("Se ignora el índice de segmento ilegible {}: {}", indexFile, e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo listar el directorio de archivado " + directory, e);
+        }
+        loaded.sort(NEWEST_FIRST);
+        segments = List.copyOf(loaded);
+        log.info("Catálogo de archivado cargado: {} segmentos, {} registros.", loaded.size(), totalRows());
+    }
+
+    private synchronized void register(HistorySegment segment) {
+        List<HistorySegment> updated = new ArrayList<>(segments);
+        updated.add(segment);
+        updated.sort(NEWEST_FIRST);
+        segments = List.copyOf(updated);
+    }
+}
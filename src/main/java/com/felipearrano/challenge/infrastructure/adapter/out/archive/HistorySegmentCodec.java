@@ -0,0 +1,366 @@
+package com.felipearrano.challenge.infrastructure.adapter.out.archive;
+
+import com.felipearrano.challenge.domain.HistoryLog;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Predicate;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Formato de los segmentos archivados. Cada segmento son dos archivos inmutables:
+ * <ul>
+ *   <li>{@code .seg}: filas ordenadas de la más nueva a la más antigua, guardadas por columnas y
+ *   comprimidas con GZIP. Los timestamps van en deltas y los endpoints en diccionario.</li>
+ *   <li>{@code .idx}: rango de tiempo, cantidad de filas y endpoints del segmento, sin comprimir.</li>
+ * </ul>
+ * El índice se escribe después del segmento, así que un segmento sin índice es una escritura incompleta.
+ * Desde la versión 2 los datos incluyen al final las ocurrencias y el último timestamp de cada fila;
+ * los segmentos de la versión 1 se siguen leyendo como filas de una sola llamada.
+ */
+final class HistorySegmentCodec {
+
+    static final String DATA_EXTENSION = ".seg";
+    static final String INDEX_EXTENSION = ".idx";
+
+    private static final int DATA_MAGIC = 0x48534547;  // "HSEG"
+    private static final int INDEX_MAGIC = 0x48534958; // "HSIX"
+    private static final int DATA_VERSION = 2;
+    private static final int INDEX_VERSION = 1;
+
+    private HistorySegmentCodec() {
+    }
+
+    /**
+     * Escribe las filas (en cualquier orden) como un segmento nuevo dentro de {@code directory}.
+     */
+    static HistorySegment write(Path directory, List<HistoryLog> rows) throws IOException {
+        List<HistoryLog> sorted = new ArrayList<>(rows);
+        sorted.sort(HistoryLog.NEWEST_FIRST);
+        Instant max = sorted.get(0).timestamp();
+        Instant min = sorted.get(sorted.size() - 1).timestamp();
+        Set<String> endpoints = new LinkedHashSet<>();
+        sorted.forEach(row -> endpoints.add(row.endpointInvoked()));
+
+        String baseName = "history-" + toMicros(min) + "-" + toMicros(max) + "-" + UUID.randomUUID();
+        Path dataFile = directory.resolve(baseName + DATA_EXTENSION);
+        Path indexFile = directory.resolve(baseName + INDEX_EXTENSION);
+
+        writeAtomically(dataFile, out -> writeData(out, sorted, endpoints));
+        HistorySegment segment = new HistorySegment(dataFile, sorted.size(), min, max, Set.copyOf(endpoints));
+        writeAtomically(indexFile, out -> writeIndex(out, segment));
+        return segment;
+    }
+
+    static HistorySegment readIndex(Path indexFile) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexFile)))) {
+            checkHeader(in, INDEX_MAGIC, INDEX_VERSION, indexFile);
+            int rowCount = in.readInt();
+            Instant min = fromMicros(in.readLong());
+            Instant max = fromMicros(in.readLong());
+            int endpointCount = in.readInt();
+            Set<String> endpoints = new LinkedHashSet<>();
+            for (int i = 0; i < endpointCount; i++) {
+                endpoints.add(in.readUTF());
+            }
+            String name = indexFile.getFileName().toString();
+            Path dataFile = indexFile.resolveSibling(name.substring(0, name.length() - INDEX_EXTENSION.length()) + DATA_EXTENSION);
+            return new HistorySegment(dataFile, rowCount, min, max, Set.copyOf(endpoints));
+        }
+    }
+
+    /**
+     * Decide si una fila se materializa a partir de su posición en el segmento (0 es la más nueva),
+     * su timestamp en microsegundos y su endpoint.
+     */
+    @FunctionalInterface
+    interface RowFilter {
+        boolean accept(int position, long micros, String endpoint);
+    }
+
+    /**
+     * Lee las filas del segmento que cumplen el filtro, en orden de la más nueva a la más antigua.
+     */
+    static List<HistoryLog> read(HistorySegment segment, Instant from, Instant to, String endpoint) throws IOException {
+        long fromMicros = toMicros(from);
+        long toMicros = toMicros(to);
+        return read(segment, (position, micros, rowEndpoint) -> micros >= fromMicros && micros <= toMicros
+                && (endpoint == null || endpoint.equals(rowEndpoint)));
+    }
+
+    /**
+     * Lee las filas de las posiciones {@code [offset, offset + limit)}, es decir, una página del segmento.
+     */
+    static List<HistoryLog> readPage(HistorySegment segment, int offset, int limit) throws IOException {
+        long end = (long) offset + limit;
+        return read(segment, (position, micros, rowEndpoint) -> position >= offset && position < end);
+    }
+
+    /**
+     * Timestamp y endpoint se leen primero; las columnas de texto solo se materializan para las filas aceptadas.
+     */
+    static List<HistoryLog> read(HistorySegment segment, RowFilter filter) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(Files.newInputStream(segment.dataFile()), 64 * 1024)))) {
+            int version = checkHeader(in, DATA_MAGIC, DATA_VERSION, segment.dataFile());
+            int rows = in.readInt();
+
+            long[] micros = new long[rows];
+            long previous = 0;
+            for (int i = 0; i < rows; i++) {
+                previous += readZigZag(in);
+                micros[i] = previous;
+            }
+
+            int dictionarySize = readVarInt(in);
+            String[] dictionary = new String[dictionarySize];
+            for (int i = 0; i < dictionarySize; i++) {
+                dictionary[i] = readString(in);
+            }
+            int[] endpoints = new int[rows];
+            for (int i = 0; i < rows; i++) {
+                endpoints[i] = readVarInt(in);
+            }
+
+            boolean[] accepted = new boolean[rows];
+            int acceptedCount = 0;
+            for (int i = 0; i < rows; i++) {
+                accepted[i] = filter.accept(i, micros[i], dictionary[endpoints[i]]);
+                if (accepted[i]) {
+                    acceptedCount++;
+                }
+            }
+            if (acceptedCount == 0) {
+                return List.of();
+            }
+
+            UUID[] ids = new UUID[rows];
+            for (int i = 0; i < rows; i++) {
+                ids[i] = new UUID(in.readLong(), in.readLong());
+            }
+            int[] statuses = new int[rows];
+            for (int i = 0; i < rows; i++) {
+                statuses[i] = in.readShort();
+            }
+            boolean[] successes = new boolean[rows];
+            for (int i = 0; i < rows; i++) {
+                successes[i] = in.readBoolean();
+            }
+            String[] parameters = readStringColumn(in, rows, accepted);
+            String[] bodies = readStringColumn(in, rows, accepted);
+            String[] errors = readStringColumn(in, rows, accepted);
+
+            int[] occurrences = new int[rows];
+            long[] lastMicros = micros;
+            if (version >= 2) {
+                lastMicros = new long[rows];
+                for (int i = 0; i < rows; i++) {
+                    occurrences[i] = readVarInt(in);
+                }
+                for (int i = 0; i < rows; i++) {
+                    lastMicros[i] = micros[i] + readZigZag(in);
+                }
+            }
+
+            List<HistoryLog> result = new ArrayList<>(acceptedCount);
+            for (int i = 0; i < rows; i++) {
+                if (accepted[i]) {
+                    result.add(new HistoryLog(ids[i], fromMicros(micros[i]), dictionary[endpoints[i]],
+                            parameters[i], bodies[i], statuses[i], successes[i], errors[i],
+                            occurrences[i], fromMicros(lastMicros[i])));
+                }
+            }
+            return result;
+        }
+    }
+
+    static List<HistoryLog> readAll(HistorySegment segment) throws IOException {
+        return read(segment, Instant.MIN, Instant.MAX, null);
+    }
+
+    private static void writeData(DataOutputStream out, List<HistoryLog> rows, Set<String> endpoints) throws IOException {
+        out.writeInt(DATA_MAGIC);
+        out.writeInt(DATA_VERSION);
+        out.writeInt(rows.size());
+
+        long previous = 0;
+        for (HistoryLog row : rows) {
+            long micros = toMicros(row.timestamp());
+            writeZigZag(out, micros - previous);
+            previous = micros;
+        }
+
+        Map<String, Integer> dictionary = new HashMap<>();
+        writeVarInt(out, endpoints.size());
+        for (String endpoint : endpoints) {
+            dictionary.put(endpoint, dictionary.size());
+            writeString(out, endpoint);
+        }
+        for (HistoryLog row : rows) {
+            writeVarInt(out, dictionary.get(row.endpointInvoked()));
+        }
+
+        for (HistoryLog row : rows) {
+            out.writeLong(row.id().getMostSignificantBits());
+            out.writeLong(row.id().getLeastSignificantBits());
+        }
+        for (HistoryLog row : rows) {
+            out.writeShort(row.httpStatus());
+        }
+        for (HistoryLog row : rows) {
+            out.writeBoolean(Boolean.TRUE.equals(row.isSuccess()));
+        }
+        for (HistoryLog row : rows) {
+            writeString(out, row.parametersReceived());
+        }
+        for (HistoryLog row : rows) {
+            writeString(out, row.responseBody());
+        }
+        for (HistoryLog row : rows) {
+            writeString(out, row.errorMessage());
+        }
+        for (HistoryLog row : rows) {
+            writeVarInt(out, row.occurrences());
+        }
+        // Distancia al primer timestamp de la fila: 0 para las llamadas únicas
+        for (HistoryLog row : rows) {
+            writeZigZag(out, toMicros(row.lastTimestamp()) - toMicros(row.timestamp()));
+        }
+    }
+
+    private static void writeIndex(DataOutputStream out, HistorySegment segment) throws IOException {
+        out.writeInt(INDEX_MAGIC);
+        out.writeInt(INDEX_VERSION);
+        out.writeInt(segment.rowCount());
+        out.writeLong(toMicros(segment.minTimestamp()));
+        out.writeLong(toMicros(segment.maxTimestamp()));
+        out.writeInt(segment.endpoints().size());
+        for (String endpoint : segment.endpoints()) {
+            out.writeUTF(endpoint);
+        }
+    }
+
+    private interface DataWriter {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    // Se escribe a un temporal y se renombra: un lector nunca ve un archivo a medio escribir
+    private static void writeAtomically(Path target, DataWriter writer) throws IOException {
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        boolean compressed = target.getFileName().toString().endsWith(DATA_EXTENSION);
+        try (OutputStream file = Files.newOutputStream(temp);
+             OutputStream stream = compressed ? new GZIPOutputStream(file, 64 * 1024) : file;
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream, 64 * 1024))) {
+            writer.write(out);
+        }
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static int checkHeader(DataInputStream in, int magic, int maxVersion, Path file) throws IOException {
+        int version = in.readInt() == magic ? in.readInt() : -1;
+        if (version < 1 || version > maxVersion) {
+            throw new IOException("Formato de segmento no reconocido: " + file);
+        }
+        return version;
+    }
+
+    private static String[] readStringColumn(DataInputStream in, int rows, boolean[] materialize) throws IOException {
+        String[] values = new String[rows];
+        for (int i = 0; i < rows; i++) {
+            int length = readVarInt(in) - 1;
+            if (length < 0) {
+                continue;
+            }
+            if (materialize[i]) {
+                values[i] = new String(in.readNBytes(length), StandardCharsets.UTF_8);
+            } else {
+                in.skipNBytes(length);
+            }
+        }
+        return values;
+    }
+
+    // Longitud + 1 en varint (0 representa null) seguida de los bytes UTF-8
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            writeVarInt(out, 0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, bytes.length + 1);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = readVarInt(in) - 1;
+        return length < 0 ? null : new String(in.readNBytes(length), StandardCharsets.UTF_8);
+    }
+
+    private static void writeZigZag(DataOutputStream out, long value) throws IOException {
+        long encoded = (value << 1) ^ (value >> 63);
+        while ((encoded & ~0x7FL) != 0) {
+            out.writeByte((int) ((encoded & 0x7F) | 0x80));
+            encoded >>>= 7;
+        }
+        out.writeByte((int) encoded);
+    }
+
+    private static long readZigZag(InputStream in) throws IOException {
+        long encoded = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = in.read();
+            if (b < 0) {
+                throw new IOException("Segmento truncado");
+            }
+            encoded |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return (encoded >>> 1) ^ -(encoded & 1);
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        writeZigZag(out, value);
+    }
+
+    private static int readVarInt(InputStream in) throws IOException {
+        return (int) readZigZag(in);
+    }
+
+    static long toMicros(Instant instant) {
+        if (instant.equals(Instant.MIN)) {
+            return Long.MIN_VALUE;
+        }
+        if (instant.equals(Instant.MAX)) {
+            return Long.MAX_VALUE;
+        }
+        return instant.getEpochSecond() * 1_000_000L + instant.getNano() / 1_000;
+    }
+
+    private static Instant fromMicros(long micros) {
+        return Instant.ofEpochSecond(Math.floorDiv(micros, 1_000_000L), Math.floorMod(micros, 1_000_000L) * 1_000L);
+    }
+
+    static Predicate<HistorySegment> overlapping(Instant from, Instant to, String endpoint) {
+        return segment -> segment.overlaps(from, to) && segment.mayContain(endpoint);
+    }
+}
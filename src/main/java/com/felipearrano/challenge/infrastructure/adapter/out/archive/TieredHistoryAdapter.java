@@ -0,0 +1,220 @@
+package com.felipearrano.challenge.infrastructure.adapter.out.archive;
+
+import com.felipearrano.challenge.application.port.out.HistoryRepositoryPort;
+import com.felipearrano.challenge.domain.HistoryLog;
+import com.felipearrano.challenge.domain.HistorySearchCriteria;
+import com.felipearrano.challenge.infrastructure.adapter.out.persistence.HistoryPersistenceAdapter;
+import com.felipearrano.challenge.infrastructure.config.ExecutionLane;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Historial repartido entre la BD (registros recientes) y los segmentos archivados (antiguos).
+ * Sin segmentos delega todo en la BD. Con segmentos, el {@code maxTimestamp} del segmento más nuevo es la
+ * marca de agua del archivo: la paginación recorre primero las filas de la BD más nuevas que la marca, con
+ * LIMIT/OFFSET en la consulta, y después los segmentos en orden, agrupando los que se solapan en el tiempo.
+ * Solo se abren los grupos que caen dentro de la página y de cada segmento se materializan solo las filas
+ * necesarias.
+ * Las filas de la BD no más nuevas que la marca no entran en la página ni en el total: son copias que un
+ * archivado interrumpido no llegó a borrar o registros importados con fechas ya archivadas, que el próximo
+ * archivado mueve a un segmento. Las consultas por rango sí las incluyen, y un registro que está en la BD
+ * y en un segmento se devuelve una sola vez.
+ */
+@Primary
+@Component
+public class TieredHistoryAdapter implements HistoryRepositoryPort {
+
+    // Con el mismo timestamp la versión de la BD va primero, así la copia archivada se descarta
+    private static final Comparator<TieredRow> DATABASE_FIRST =
+            Comparator.comparing((TieredRow row) -> row.log().timestamp()).reversed()
+                    .thenComparing(TieredRow::archived);
+
+    private final HistoryPersistenceAdapter database;
+    private final HistorySegmentCatalog catalog;
+    // Lectura de segmentos (E/S de archivos bloqueante)
+    private final ExecutionLane bulkLane;
+
+    public TieredHistoryAdapter(HistoryPersistenceAdapter database, HistorySegmentCatalog catalog,
+                                @Qualifier("bulkLane") ExecutionLane bulkLane) {
+        this.database = database;
+        this.catalog = catalog;
+        this.bulkLane = bulkLane;
+    }
+
+    private record TieredRow(HistoryLog log, boolean archived) {}
+
+    @Override
+    public Mono<Void> saveLog(HistoryLog log) {
+        return database.saveLog(log);
+    }
+
+    @Override
+    public Mono<Page<HistoryLog>> findAllPaginated(Pageable pageable) {
+        List<HistorySegment> segments = catalog.segments();
+        if (segments.isEmpty() || pageable.isUnpaged()) {
+            return database.findAllPaginated(pageable);
+        }
+        Instant archiveNewest = segments.get(0).maxTimestamp();
+        long archivedRows = segments.stream().mapToLong(HistorySegment::rowCount).sum();
+
+        return database.countNewerThan(archiveNewest)
+                .flatMap(headCount -> {
+                    long offset = pageable.getOffset();
+                    int size = pageable.getPageSize();
+
+                    // Filas de la BD más nuevas que cualquier segmento: van siempre primero
+                    Mono<List<HistoryLog>> head = offset < headCount
+                            ? database.findNewerThan(archiveNewest, offset, (int) Math.min(size, headCount - offset)).collectList()
+                            : Mono.just(List.of());
+
+                    return head.flatMap(headRows -> {
+                        int remaining = size - headRows.size();
+                        if (remaining == 0) {
+                            return Mono.just(headRows);
+                        }
+                        long archiveOffset = Math.max(0, offset - headCount);
+                        return readArchivedPage(segments, archiveOffset, remaining)
+                                .map(archived -> {
+                                    List<HistoryLog> content = new ArrayList<>(headRows);
+                                    content.addAll(archived);
+                                    return content;
+                                });
+                    }).map(content -> (Page<HistoryLog>) new PageImpl<>(content, pageable, headCount + archivedRows));
+                });
+    }
+
+    @Override
+    public Flux<HistoryLog> findInRange(Instant from, Instant to, String endpoint) {
+        List<HistorySegment> candidates = catalog.find(from, to, endpoint);
+        if (candidates.isEmpty()) {
+            return database.findInRange(from, to, endpoint);
+        }
+        // Grupo a grupo: solo los segmentos que se solapan están abiertos a la vez
+        Flux<HistoryLog> archived = Flux.fromIterable(SegmentGroup.build(candidates))
+                .concatMap(group -> mergeNewestFirst(group.segments().stream()
+                        .map(segment -> bulkLane.subscribe(Mono.fromCallable(() -> catalog.read(segment, from, to, endpoint)))
+                                .flatMapIterable(rows -> rows))
+                        .toList()));
+
+        return Flux.mergeComparing(DATABASE_FIRST,
+                        database.findInRange(from, to, endpoint).map(row -> new TieredRow(row, false)),
+                        archived.map(row -> new TieredRow(row, true)))
+                .transform(TieredHistoryAdapter::withoutArchivedDuplicates);
+    }
+
+    // Los segmentos no guardan las columnas JSONB ni tienen sus índices: la búsqueda solo cubre la BD
+    @Override
+    public Flux<HistoryLog> search(HistorySearchCriteria criteria) {
+        return database.search(criteria);
+    }
+
+    /**
+     * Devuelve {@code limit} filas a partir de la posición {@code offset} de los segmentos.
+     */
+    private Mono<List<HistoryLog>> readArchivedPage(List<HistorySegment> segments, long offset, int limit) {
+        List<Flux<HistoryLog>> reads = new ArrayList<>();
+        long pageEnd = offset + limit;
+        long groupStart = 0;
+        for (SegmentGroup group : SegmentGroup.build(segments)) {
+            long groupEnd = groupStart + group.rowCount();
+            if (groupEnd > offset) {
+                int skip = (int) Math.max(0, offset - groupStart);
+                int take = (int) (Math.min(groupEnd, pageEnd) - groupStart) - skip;
+                reads.add(readGroup(group, skip, take));
+            }
+            if (groupEnd >= pageEnd) {
+                break;
+            }
+            groupStart = groupEnd;
+        }
+        return Flux.concat(reads)
+                .take(limit)
+                .collectList();
+    }
+
+    /**
+     * Las filas {@code [skip, skip + take)} del grupo. Un segmento solo se lee por posición; si el grupo tiene
+     * varios, de cada uno bastan sus primeras {@code skip + take} filas para intercalarlas.
+     */
+    private Flux<HistoryLog> readGroup(SegmentGroup group, int skip, int take) {
+        if (group.segments().size() == 1) {
+            HistorySegment segment = group.segments().get(0);
+            return bulkLane.subscribe(Mono.fromCallable(() -> catalog.readPage(segment, skip, take)))
+                    .flatMapIterable(rows -> rows);
+        }
+        return mergeNewestFirst(group.segments().stream()
+                        .map(segment -> bulkLane.subscribe(Mono.fromCallable(() -> catalog.readPage(segment, 0, skip + take)))
+                                .flatMapIterable(rows -> rows))
+                        .toList())
+                .skip(skip)
+                .take(take);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Flux<HistoryLog> mergeNewestFirst(List<Flux<HistoryLog>> sources) {
+        return Flux.mergeComparing(HistoryLog.NEWEST_FIRST, sources.toArray(Flux[]::new));
+    }
+
+    /*
+     * Las filas llegan ordenadas por timestamp y, dentro del mismo timestamp, la BD antes que los segmentos:
+     * basta recordar los ids del timestamp en curso para descartar la copia archivada.
+     */
+    private static Flux<HistoryLog> withoutArchivedDuplicates(Flux<TieredRow> rows) {
+        return Flux.defer(() -> {
+            Set<UUID> seenAtTimestamp = new HashSet<>();
+            Instant[] currentTimestamp = {null};
+            return rows.filter(row -> {
+                        if (!row.log().timestamp().equals(currentTimestamp[0])) {
+                            currentTimestamp[0] = row.log().timestamp();
+                            seenAtTimestamp.clear();
+                        }
+                        return seenAtTimestamp.add(row.log().id());
+                    })
+                    .map(TieredRow::log);
+        });
+    }
+
+    /**
+     * Segmentos contiguos en el orden del catálogo cuyos rangos de tiempo se solapan: dentro del grupo las
+     * filas se intercalan, entre grupos no.
+     */
+    record SegmentGroup(List<HistorySegment> segments, long rowCount) {
+
+        static List<SegmentGroup> build(List<HistorySegment> segments) {
+            List<SegmentGroup> groups = new ArrayList<>();
+            List<HistorySegment> current = new ArrayList<>();
+            Instant currentMin = null;
+            long currentRows = 0;
+            for (HistorySegment segment : segments) {
+                if (currentMin != null && segment.maxTimestamp().isBefore(currentMin)) {
+                    groups.add(new SegmentGroup(List.copyOf(current), currentRows));
+                    current.clear();
+                    currentRows = 0;
+                    currentMin = null;
+                }
+                current.add(segment);
+                currentRows += segment.rowCount();
+                currentMin = currentMin == null || segment.minTimestamp().isBefore(currentMin)
+                        ? segment.minTimestamp() : currentMin;
+            }
+            if (!current.isEmpty()) {
+                groups.add(new SegmentGroup(List.copyOf(current), currentRows));
+            }
+            return groups;
+        }
+    }
+}
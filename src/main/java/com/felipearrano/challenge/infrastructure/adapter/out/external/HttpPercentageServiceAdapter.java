@@ -0,0 +1,59 @@
+package com.felipearrano.challenge.infrastructure.adapter.out.external;
+
+import com.felipearrano.challenge.infrastructure.adapter.out.external.resilience.AdaptiveTimeout;
+import com.felipearrano.challenge.infrastructure.adapter.out.external.resilience.RetryBudget;
+import com.felipearrano.challenge.infrastructure.config.HttpPercentageServiceProperties;
+import com.felipearrano.challenge.infrastructure.config.PercentageRetryProperties;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+/**
+ * Adaptador del servicio de porcentaje real sobre HTTP. Los errores de conexión, los timeouts y las
+ * respuestas no 2xx llegan como excepciones de WebClient y pasan por el mismo circuit breaker,
+ * reintentos y fallback a Redis que el adaptador simulado.
+ */
+@Component
+@ConditionalOnProperty(name = "percentage-service.mode", havingValue = "http")
+public class HttpPercentageServiceAdapter extends ResilientPercentageServiceAdapter {
+
+    private static final Logger log = LoggerFactory.getLogger(HttpPercentageServiceAdapter.class);
+
+    private final WebClient webClient;
+    private final HttpPercentageServiceProperties properties;
+
+    public HttpPercentageServiceAdapter(CircuitBreakerRegistry circuitBreakerRegistry,
+                                        RetryBudget retryBudget,
+                                        AdaptiveTimeout adaptiveTimeout,
+                                        PercentageRetryProperties retryProperties,
+                                        ReactiveRedisTemplate<String, Double> reactiveRedisTemplate,
+                                        @Qualifier("percentageWebClient") WebClient webClient,
+                                        HttpPercentageServiceProperties properties) {
+        super(circuitBreakerRegistry, retryBudget, adaptiveTimeout, retryProperties, reactiveRedisTemplate,
+                properties.getRedisKey(), properties.getRedisTtl());
+        this.webClient = webClient;
+        this.properties = properties;
+    }
+
+    @Override
+    protected Mono<Double> callUpstream() {
+        log.debug("Llamando al servicio externo de porcentaje en {}{}...", properties.getBaseUrl(), properties.getPath());
+        return webClient.get()
+                .uri(properties.getPath())
+                .accept(MediaType.APPLICATION_JSON)
+                .retrieve()
+                .bodyToMono(PercentageResponse.class)
+                .mapNotNull(PercentageResponse::percentage)
+                .switchIfEmpty(Mono.error(() -> new IllegalStateException("El servicio externo respondió sin porcentaje.")));
+    }
+
+    record PercentageResponse(Double percentage) {
+    }
+}
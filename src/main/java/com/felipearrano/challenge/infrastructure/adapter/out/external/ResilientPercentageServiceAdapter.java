@@ -0,0 +1,124 @@
+package com.felipearrano.challenge.infrastructure.adapter.out.external;
+
+import com.felipearrano.challenge.application.port.out.PercentageServicePort;
+import com.felipearrano.challenge.infrastructure.adapter.out.external.exception.PercentageServiceUnavailableException;
+import com.felipearrano.challenge.infrastructure.adapter.out.external.resilience.AdaptiveTimeout;
+import com.felipearrano.challenge.infrastructure.adapter.out.external.resilience.DecorrelatedJitterRetry;
+import com.felipearrano.challenge.infrastructure.adapter.out.external.resilience.RetryBudget;
+import com.felipearrano.challenge.infrastructure.config.PercentageRetryProperties;
+import com.felipearrano.challenge.infrastructure.diagnostics.event.JfrEvents;
+import com.felipearrano.challenge.infrastructure.diagnostics.event.PercentageAttemptEvent;
+import com.felipearrano.challenge.infrastructure.util.RateLimitedLogger;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Predicate;
+
+/**
+ * Comportamiento común de los adaptadores del servicio de porcentaje: timeout adaptativo y circuit breaker
+ * por intento, reintentos acotados por el presupuesto, actualización de la caché Redis tras cada éxito y fallback
+ * a esa caché cuando el upstream no responde. Las subclases solo implementan la llamada al upstream.
+ */
+public abstract class ResilientPercentageServiceAdapter implements PercentageServicePort {
+
+    private static final Logger log = LoggerFactory.getLogger(ResilientPercentageServiceAdapter.class);
+    // Durante una caída estos mensajes se repiten en cada petición
+    private static final RateLimitedLogger fallbackLog = RateLimitedLogger.of(log);
+
+    private static final String RESILIENCE4J_INSTANCE_NAME = "percentageService";
+
+    // Con el circuito abierto no tiene sentido reintentar: se corta de inmediato y se va al fallback
+    private static final Predicate<Throwable> RETRYABLE = error ->
+            !(error instanceof CallNotPermittedException)
+                    && (error instanceof RuntimeException || error instanceof TimeoutException);
+
+    private final CircuitBreaker circuitBreaker;
+    private final Retry retry;
+    private final RetryBudget retryBudget;
+    private final AdaptiveTimeout adaptiveTimeout;
+    private final ReactiveRedisTemplate<String, Double> reactiveRedisTemplate;
+    private final String redisKey;
+    private final Duration redisTtl;
+
+    protected ResilientPercentageServiceAdapter(CircuitBreakerRegistry circuitBreakerRegistry,
+                                                RetryBudget retryBudget,
+                                                AdaptiveTimeout adaptiveTimeout,
+                                                PercentageRetryProperties retryProperties,
+                                                ReactiveRedisTemplate<String, Double> reactiveRedisTemplate,
+                                                String redisKey,
+                                                Duration redisTtl) {
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(RESILIENCE4J_INSTANCE_NAME);
+        this.retryBudget = retryBudget;
+        this.adaptiveTimeout = adaptiveTimeout;
+        this.retry = new DecorrelatedJitterRetry(
+                retryProperties.getMaxAttempts(),
+                retryProperties.getBaseDelay(),
+                retryProperties.getMaxDelay(),
+                retryBudget,
+                RETRYABLE);
+        this.reactiveRedisTemplate = reactiveRedisTemplate;
+        this.redisKey = redisKey;
+        this.redisTtl = redisTtl;
+    }
+
+    /**
+     * Un intento de obtener el porcentaje del upstream. Se suscribe una vez por intento.
+     */
+    protected abstract Mono<Double> callUpstream();
+
+    @Override
+    public Mono<Double> getPercentage() {
+        log.info("Intentando obtener porcentaje del servicio externo (con fallback a Redis).");
+        Mono<Double> serviceCallMono = applyResilience(JfrEvents.timed(Mono.defer(this::callUpstream),
+                () -> new PercentageAttemptEvent(PercentageAttemptEvent.SOURCE_UPSTREAM)));
+
+        return serviceCallMono
+                .flatMap(valueFromService -> {
+                    log.info("Llamada al servicio exitosa. Valor: {}. Actualizando caché Redis Key '{}' con TTL {}.",
+                            valueFromService, redisKey, redisTtl);
+                    return reactiveRedisTemplate.opsForValue()
+                            .set(redisKey, valueFromService, redisTtl)
+                            .thenReturn(valueFromService);
+                })
+                .onErrorResume(this::fallbackToRedisCache);
+    }
+
+    /**
+     * El circuit breaker envuelve cada intento individual y los reintentos quedan por fuera,
+     * acotados por el presupuesto de reintentos. Así el circuito registra la tasa real de fallos
+     * del upstream y, al abrirse, corta también los reintentos pendientes. El timeout va dentro del
+     * circuit breaker para que los intentos vencidos cuenten como fallos.
+     */
+    private Mono<Double> applyResilience(Mono<Double> originalMono) {
+        return adaptiveTimeout.apply(originalMono)
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreaker))
+                .doOnSuccess(value -> retryBudget.recordSuccess())
+                .retryWhen(retry);
+    }
+
+    private Mono<Double> fallbackToRedisCache(Throwable throwable) {
+        fallbackLog.warn(throwable.getClass().getName(),
+                "La llamada al servicio externo falló después de aplicar resiliencia ({}). Intentando fallback a caché Redis Key '{}'...",
+                throwable.getClass().getSimpleName(), redisKey);
+
+        return JfrEvents.timed(reactiveRedisTemplate.opsForValue().get(redisKey),
+                        () -> new PercentageAttemptEvent(PercentageAttemptEvent.SOURCE_REDIS_FALLBACK))
+                .doOnNext(cachedValue -> fallbackLog.warn("fallback-hit",
+                        "Fallback exitoso: Se recuperó el valor de Redis Key '{}': {}", redisKey, cachedValue))
+                .switchIfEmpty(Mono.defer(() -> {
+                    fallbackLog.error("fallback-miss",
+                            "Fallback fallido: El servicio externo falló y no hay valor en Redis Key '{}'.", redisKey);
+                    return Mono.error(new PercentageServiceUnavailableException(
+                            "El servicio externo no está disponible y no hay valor en caché Redis.", throwable));
+                }));
+    }
+}
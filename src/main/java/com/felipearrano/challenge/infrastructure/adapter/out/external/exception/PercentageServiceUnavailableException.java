@@ -1,12 +1,16 @@
 package com.felipearrano.challenge.infrastructure.adapter.out.external.exception;
 
+/**
+ * Upstream caído y sin valor en caché. Es el resultado esperado de una caída, no un error de programación:
+ * no captura stack trace (la causa ya indica qué falló) para que el camino de error no sea más caro que el de éxito.
+ */
 public class PercentageServiceUnavailableException extends RuntimeException{
 
     public PercentageServiceUnavailableException(String message) {
-        super(message);
+        super(message, null, true, false);
     }
 
     public PercentageServiceUnavailableException(String message, Throwable cause) {
-        super(message, cause);
+        super(message, cause, true, false);
     }
 }
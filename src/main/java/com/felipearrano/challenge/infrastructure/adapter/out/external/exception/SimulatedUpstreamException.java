@@ -0,0 +1,14 @@
+package com.felipearrano.challenge.infrastructure.adapter.out.external.exception;
+
+/**
+ * Fallo simulado del upstream mock. Es un fallo esperado y frecuente durante las caídas simuladas, así
+ * que se usa una única instancia sin stack trace ni excepciones suprimidas: lanzarla no asigna memoria.
+ */
+public final class SimulatedUpstreamException extends RuntimeException {
+
+    public static final SimulatedUpstreamException INSTANCE = new SimulatedUpstreamException();
+
+    private SimulatedUpstreamException() {
+        super("Error simulado del servicio externo.", null, false, false);
+    }
+}
@@ -0,0 +1,226 @@
+package com.felipearrano.challenge.infrastructure.adapter.out.external.resilience;
+
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Timeout por intento derivado de la latencia observada del upstream.
+ * Las latencias se acumulan en un histograma de buckets logarítmicos sobre una ventana móvil dividida en
+ * porciones; el timeout es el cuantil configurado por un multiplicador, acotado entre un mínimo y un máximo.
+ * Los intentos que vencen solo se cuentan en {@code expired}: registrarlos con el timeout vigente como
+ * latencia haría que, con más de un 1 % de intentos colgados, el cuantil fuera el propio timeout y cada
+ * recálculo lo multiplicara hasta el máximo. Así, con el upstream colgado el timeout se mantiene en el último
+ * valor sano (o vuelve al inicial cuando la ventana se queda sin muestras), y lo que lo afloja son las
+ * respuestas lentas que sí llegan y las franjas horarias lentas conocidas, cuyo factor se aplica además.
+ */
+public class AdaptiveTimeout {
+
+    /**
+     * Franja horaria con latencia alta conocida. Si {@code end} es anterior a {@code start} cruza la medianoche.
+     */
+    public record SlowPeriod(LocalTime start, LocalTime end, double factor) {
+
+        boolean contains(LocalTime time) {
+            if (!start.isAfter(end)) {
+                return !time.isBefore(start) && time.isBefore(end);
+            }
+            return !time.isBefore(start) || time.isBefore(end);
+        }
+    }
+
+    private static final int SLICES = 6;
+    // El timeout se recalcula como mucho una vez por segundo; entre medias se sirve el valor cacheado
+    private static final long REFRESH_MILLIS = 1000L;
+    // Límites superiores en microsegundos, crecen un 20 % por bucket: el cuantil se sobrestima como mucho en ese 20 %
+    private static final long[] BOUNDS = buildBounds(100L, 600_000_000L, 1.2);
+
+    private final boolean enabled;
+    private final double quantile;
+    private final double multiplier;
+    private final long floorNanos;
+    private final long ceilingNanos;
+    private final long initialNanos;
+    private final long sliceMillis;
+    private final int minSamples;
+    private final List<SlowPeriod> slowPeriods;
+    private final ZoneId zone;
+    private final Clock clock;
+    private final Slice[] slices = new Slice[SLICES];
+    private final AtomicLong expired = new AtomicLong();
+
+    private volatile long cachedTimeoutNanos;
+    private volatile long nextRefreshAt = Long.MIN_VALUE;
+
+    public AdaptiveTimeout(boolean enabled, double quantile, double multiplier, Duration floor, Duration ceiling,
+                           Duration initial, Duration window, int minSamples, List<SlowPeriod> slowPeriods,
+                           ZoneId zone, Clock clock) {
+        if (quantile <= 0 || quantile > 1) {
+            throw new IllegalArgumentException("El cuantil del timeout adaptativo debe estar entre 0 y 1.");
+        }
+        if (floor.compareTo(ceiling) > 0) {
+            throw new IllegalArgumentException("El timeout mínimo no puede superar al máximo.");
+        }
+        if (window.toMillis() < SLICES) {
+            throw new IllegalArgumentException("La ventana del timeout adaptativo es demasiado corta.");
+        }
+        this.enabled = enabled;
+        this.quantile = quantile;
+        this.multiplier = multiplier;
+        this.floorNanos = floor.toNanos();
+        this.ceilingNanos = ceiling.toNanos();
+        this.initialNanos = initial.toNanos();
+        this.sliceMillis = window.toMillis() / SLICES;
+        this.minSamples = minSamples;
+        this.slowPeriods = List.copyOf(slowPeriods);
+        this.zone = zone;
+        this.clock = clock;
+        for (int i = 0; i < SLICES; i++) {
+            slices[i] = new Slice();
+        }
+    }
+
+    /**
+     * Aplica el timeout vigente a un intento y registra su latencia solo si termina bien.
+     * Los errores rápidos del upstream no se registran para no estrechar el timeout con ellos,
+     * y los intentos vencidos tampoco, para no aflojarlo con su propio valor.
+     */
+    public <T> Mono<T> apply(Mono<T> attempt) {
+        if (!enabled) {
+            return attempt;
+        }
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return attempt.timeout(currentTimeout())
+                    .doOnSuccess(value -> record(System.nanoTime() - start))
+                    .doOnError(TimeoutException.class, error -> expired.incrementAndGet());
+        });
+    }
+
+    public void record(long latencyNanos) {
+        long epoch = clock.millis() / sliceMillis;
+        Slice slice = slices[(int) (epoch % SLICES)];
+        if (slice.epoch != epoch) {
+            slice.reset(epoch);
+        }
+        slice.counts.incrementAndGet(bucketOf(latencyNanos / 1000L));
+    }
+
+    public Duration currentTimeout() {
+        long now = clock.millis();
+        if (now >= nextRefreshAt) {
+            cachedTimeoutNanos = computeTimeoutNanos(now);
+            nextRefreshAt = now + REFRESH_MILLIS;
+        }
+        return Duration.ofNanos(cachedTimeoutNanos);
+    }
+
+    /**
+     * Cuantil de la latencia en la ventana, en nanosegundos; NaN mientras no haya muestras suficientes.
+     */
+    public double observedQuantileNanos() {
+        long micros = quantileMicros(clock.millis());
+        return micros < 0 ? Double.NaN : micros * 1000.0;
+    }
+
+    public double quantile() {
+        return quantile;
+    }
+
+    public long expiredCount() {
+        return expired.get();
+    }
+
+    private long computeTimeoutNanos(long now) {
+        long quantileMicros = quantileMicros(now);
+        double timeout = quantileMicros < 0 ? initialNanos : quantileMicros * 1000.0 * multiplier;
+        timeout *= slowPeriodFactor(now);
+        return Math.max(floorNanos, Math.min(ceilingNanos, Math.round(timeout)));
+    }
+
+    private long quantileMicros(long now) {
+        long oldestEpoch = now / sliceMillis - SLICES + 1;
+        long[] merged = new long[BOUNDS.length];
+        long total = 0;
+        for (Slice slice : slices) {
+            if (slice.epoch < oldestEpoch) {
+                continue;
+            }
+            for (int i = 0; i < BOUNDS.length; i++) {
+                long count = slice.counts.get(i);
+                merged[i] += count;
+                total += count;
+            }
+        }
+        if (total < minSamples) {
+            return -1;
+        }
+        long rank = (long) Math.ceil(quantile * total);
+        long seen = 0;
+        for (int i = 0; i < BOUNDS.length; i++) {
+            seen += merged[i];
+            if (seen >= rank) {
+                return BOUNDS[i];
+            }
+        }
+        return BOUNDS[BOUNDS.length - 1];
+    }
+
+    private double slowPeriodFactor(long now) {
+        if (slowPeriods.isEmpty()) {
+            return 1.0;
+        }
+        LocalTime time = LocalTime.ofInstant(Instant.ofEpochMilli(now), zone);
+        double factor = 1.0;
+        for (SlowPeriod period : slowPeriods) {
+            if (period.contains(time)) {
+                factor = Math.max(factor, period.factor());
+            }
+        }
+        return factor;
+    }
+
+    private static int bucketOf(long micros) {
+        int index = Arrays.binarySearch(BOUNDS, micros);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return Math.min(index, BOUNDS.length - 1);
+    }
+
+    private static long[] buildBounds(long first, long last, double growth) {
+        List<Long> bounds = new ArrayList<>();
+        for (long bound = first; bound < last; bound = (long) Math.ceil(bound * growth)) {
+            bounds.add(bound);
+        }
+        bounds.add(last);
+        return bounds.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private static final class Slice {
+
+        private final AtomicLongArray counts = new AtomicLongArray(BOUNDS.length);
+        private volatile long epoch = Long.MIN_VALUE;
+
+        // Solo el primer hilo que entra en la porción nueva la vacía; se pierden como mucho muestras concurrentes
+        private synchronized void reset(long newEpoch) {
+            if (epoch == newEpoch) {
+                return;
+            }
+            for (int i = 0; i < counts.length(); i++) {
+                counts.set(i, 0);
+            }
+            epoch = newEpoch;
+        }
+    }
+}
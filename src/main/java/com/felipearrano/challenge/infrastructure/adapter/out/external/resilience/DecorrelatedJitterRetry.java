@@ -0,0 +1,77 @@
+package com.felipearrano.challenge.infrastructure.adapter.out.external.resilience;
+
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Predicate;
+
+/**
+ * Estrategia de reintentos con backoff exponencial "decorrelated jitter"
+ * ({@code sleep = min(max, random(base, sleep * 3))}) y acotada por un {@link RetryBudget}.
+ * El jitter evita que los reintentos de muchas peticiones lleguen al upstream en oleadas sincronizadas.
+ */
+public class DecorrelatedJitterRetry extends Retry {
+
+    private static final Logger log = LoggerFactory.getLogger(DecorrelatedJitterRetry.class);
+
+    private final int maxAttempts;
+    private final long baseDelayMillis;
+    private final long maxDelayMillis;
+    private final RetryBudget retryBudget;
+    private final Predicate<Throwable> retryable;
+
+    public DecorrelatedJitterRetry(int maxAttempts,
+                                   Duration baseDelay,
+                                   Duration maxDelay,
+                                   RetryBudget retryBudget,
+                                   Predicate<Throwable> retryable) {
+        this.maxAttempts = maxAttempts;
+        this.baseDelayMillis = Math.max(1L, baseDelay.toMillis());
+        this.maxDelayMillis = Math.max(this.baseDelayMillis, maxDelay.toMillis());
+        this.retryBudget = retryBudget;
+        this.retryable = retryable;
+    }
+
+    @Override
+    public Publisher<?> generateCompanion(Flux<RetrySignal> retrySignals) {
+        // Se invoca una vez por suscripción, por lo que el último delay es estado propio de cada llamada.
+        // concatMap procesa las señales en orden, así que no hace falta sincronizar el arreglo.
+        long[] previousDelayMillis = {baseDelayMillis};
+
+        return retrySignals.concatMap(signal -> {
+            Throwable failure = signal.failure();
+
+            if (signal.totalRetries() + 1 >= maxAttempts) {
+                log.warn("Reintentos agotados tras {} intentos: {}", maxAttempts, failure.getMessage());
+                return Mono.error(failure);
+            }
+            if (!retryable.test(failure)) {
+                return Mono.error(failure);
+            }
+            if (!retryBudget.tryAcquireRetry()) {
+                log.warn("Presupuesto de reintentos agotado (tokens disponibles: {}). Se descarta el reintento.",
+                        retryBudget.availableTokens());
+                return Mono.error(failure);
+            }
+
+            long delayMillis = nextDelayMillis(previousDelayMillis[0]);
+            previousDelayMillis[0] = delayMillis;
+            log.debug("Reintento {} programado en {} ms", signal.totalRetries() + 1, delayMillis);
+            return Mono.delay(Duration.ofMillis(delayMillis));
+        });
+    }
+
+    long nextDelayMillis(long previousDelayMillis) {
+        long upper = Math.min(maxDelayMillis, previousDelayMillis * 3);
+        if (upper <= baseDelayMillis) {
+            return baseDelayMillis;
+        }
+        return ThreadLocalRandom.current().nextLong(baseDelayMillis, upper + 1);
+    }
+}
@@ -0,0 +1,55 @@
+package com.felipearrano.challenge.infrastructure.adapter.out.external.resilience;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Presupuesto de reintentos tipo token bucket.
+ * Cada llamada exitosa deposita una fracción de token y cada reintento consume un token completo,
+ * de modo que los reintentos quedan acotados a una proporción de las llamadas exitosas.
+ * Durante una caída prolongada el bucket se vacía y se deja de amplificar la carga hacia el upstream.
+ */
+public class RetryBudget {
+
+    // Los tokens se guardan en milésimas para poder operar sin locks sobre un AtomicLong
+    private static final long SCALE = 1000L;
+
+    private final long maxTokens;
+    private final long depositPerSuccess;
+    private final AtomicLong tokens;
+
+    public RetryBudget(double maxTokens, double tokenRatio) {
+        if (maxTokens < 1) {
+            throw new IllegalArgumentException("El máximo de tokens del presupuesto de reintentos debe ser al menos 1.");
+        }
+        if (tokenRatio < 0) {
+            throw new IllegalArgumentException("La proporción de tokens por éxito no puede ser negativa.");
+        }
+        this.maxTokens = Math.round(maxTokens * SCALE);
+        this.depositPerSuccess = Math.round(tokenRatio * SCALE);
+        this.tokens = new AtomicLong(this.maxTokens);
+    }
+
+    public void recordSuccess() {
+        tokens.accumulateAndGet(depositPerSuccess, (current, deposit) -> Math.min(maxTokens, current + deposit));
+    }
+
+    /**
+     * Intenta consumir un token para realizar un reintento.
+     * @return true si hay presupuesto disponible, false si el reintento debe descartarse.
+     */
+    public boolean tryAcquireRetry() {
+        while (true) {
+            long current = tokens.get();
+            if (current < SCALE) {
+                return false;
+            }
+            if (tokens.compareAndSet(current, current - SCALE)) {
+                return true;
+            }
+        }
+    }
+
+    public double availableTokens() {
+        return (double) tokens.get() / SCALE;
+    }
+}
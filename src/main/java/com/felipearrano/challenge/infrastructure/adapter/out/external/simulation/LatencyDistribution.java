@@ -0,0 +1,38 @@
+package com.felipearrano.challenge.infrastructure.adapter.out.external.simulation;
+
+import com.felipearrano.challenge.infrastructure.config.MockServiceProperties;
+
+import java.time.Duration;
+import java.util.random.RandomGenerator;
+
+/**
+ * Distribución de la que se muestrea la latencia de cada llamada simulada, en nanosegundos.
+ */
+@FunctionalInterface
+public interface LatencyDistribution {
+
+    long sampleNanos(RandomGenerator random);
+
+    static LatencyDistribution from(MockServiceProperties.Latency latency, Duration fixedDelay) {
+        long fixed = fixedDelay.toNanos();
+        long cap = latency.getCap().toNanos();
+        return switch (latency.getDistribution()) {
+            case FIXED -> random -> fixed;
+            case UNIFORM -> {
+                long min = latency.getMin().toNanos();
+                long max = latency.getMax().toNanos();
+                yield min == max ? random -> min : random -> random.nextLong(min, max + 1);
+            }
+            case LOG_NORMAL -> {
+                double median = latency.getMedian().toNanos();
+                double sigma = latency.getSigma();
+                yield random -> Math.min(cap, (long) (median * Math.exp(sigma * random.nextGaussian())));
+            }
+            case BIMODAL -> {
+                long slow = latency.getSlowDelay().toNanos();
+                double slowRatio = latency.getSlowRatio();
+                yield random -> random.nextDouble() < slowRatio ? slow : fixed;
+            }
+        };
+    }
+}
@@ -0,0 +1,157 @@
+package com.felipearrano.challenge.infrastructure.adapter.out.external.simulation;
+
+import com.felipearrano.challenge.infrastructure.config.MockServiceProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Decide, llamada a llamada, si el upstream simulado falla y cuánto tarda.
+ * Cada hilo usa su propio generador derivado de la semilla, así no hay contención entre hilos y con
+ * {@code seed} fija la secuencia de cada hilo es reproducible. Sobre la tasa de fallo y la distribución
+ * de latencia se aplican, en este orden, las ventanas de caída y la fase activa del guion.
+ */
+@Component
+public class UpstreamBehaviorModel {
+
+    private static final Logger log = LoggerFactory.getLogger(UpstreamBehaviorModel.class);
+    private static final UpstreamOutcome FAILURE = new UpstreamOutcome(true, Duration.ZERO);
+
+    private final Profile base;
+    private final List<Profile> phases;
+    private final long scenarioNanos;
+    private final boolean loop;
+    private final ThreadLocal<RandomGenerator> random;
+    private final OutageSchedule outages;
+    private final long startNanos = System.nanoTime();
+
+    public UpstreamBehaviorModel(MockServiceProperties properties) {
+        SplittableRandom root = properties.getSeed() == null
+                ? new SplittableRandom()
+                : new SplittableRandom(properties.getSeed());
+        // Solo se sincroniza la primera llamada de cada hilo, al derivar su generador
+        this.random = ThreadLocal.withInitial(() -> {
+            synchronized (root) {
+                return root.split();
+            }
+        });
+
+        this.base = new Profile("base", 0,
+                LatencyDistribution.from(properties.getLatency(), properties.getDelay()), properties.getFailureRate());
+        List<Profile> compiled = new ArrayList<>();
+        for (MockServiceProperties.Phase phase : properties.getScenario().getPhases()) {
+            compiled.add(new Profile(
+                    phase.getName() != null ? phase.getName() : "fase-" + (compiled.size() + 1),
+                    phase.getDuration().toNanos(),
+                    phase.getLatency() != null
+                            ? LatencyDistribution.from(phase.getLatency(), properties.getDelay())
+                            : base.latency(),
+                    phase.getFailureRate() != null ? phase.getFailureRate() : base.failureRate()));
+        }
+        this.phases = List.copyOf(compiled);
+        this.scenarioNanos = phases.stream().mapToLong(Profile::durationNanos).sum();
+        this.loop = properties.getScenario().isLoop();
+
+        MockServiceProperties.Outage outage = properties.getOutage();
+        this.outages = outage.isEnabled()
+                ? new OutageSchedule(root.split(), outage.getMeanInterval().toNanos(), outage.getDuration().toNanos())
+                : null;
+
+        log.info("Modelo del upstream simulado: latencia {}, tasa de fallo {}, {} fases en el guion, caídas {}.",
+                properties.getLatency().getDistribution(), properties.getFailureRate(), phases.size(),
+                outage.isEnabled() ? "habilitadas" : "deshabilitadas");
+    }
+
+    public UpstreamOutcome nextCall() {
+        return nextCall(System.nanoTime() - startNanos);
+    }
+
+    UpstreamOutcome nextCall(long elapsedNanos) {
+        if (outages != null && outages.isDown(elapsedNanos)) {
+            return FAILURE;
+        }
+        Profile profile = profileAt(elapsedNanos);
+        RandomGenerator generator = random.get();
+        if (generator.nextDouble() < profile.failureRate()) {
+            return FAILURE;
+        }
+        return new UpstreamOutcome(false, Duration.ofNanos(profile.latency().sampleNanos(generator)));
+    }
+
+    String phaseAt(long elapsedNanos) {
+        return profileAt(elapsedNanos).name();
+    }
+
+    private Profile profileAt(long elapsedNanos) {
+        if (phases.isEmpty() || scenarioNanos == 0) {
+            return base;
+        }
+        long remaining = loop ? elapsedNanos % scenarioNanos : elapsedNanos;
+        for (Profile phase : phases) {
+            if (remaining < phase.durationNanos()) {
+                return phase;
+            }
+            remaining -= phase.durationNanos();
+        }
+        return phases.get(phases.size() - 1);
+    }
+
+    private record Profile(String name, long durationNanos, LatencyDistribution latency, double failureRate) {
+    }
+
+    /**
+     * Línea de tiempo de caídas generada a medida que avanza el reloj. La ventana vigente es inmutable y
+     * se lee sin bloqueo; solo se sincroniza al pasar a la siguiente.
+     */
+    private static final class OutageSchedule {
+
+        private final SplittableRandom random;
+        private final double meanIntervalNanos;
+        private final long durationNanos;
+        private volatile Window window;
+
+        OutageSchedule(SplittableRandom random, long meanIntervalNanos, long durationNanos) {
+            this.random = random;
+            this.meanIntervalNanos = meanIntervalNanos;
+            this.durationNanos = durationNanos;
+            long start = nextGap();
+            this.window = new Window(start, start + durationNanos);
+        }
+
+        boolean isDown(long elapsedNanos) {
+            Window current = window;
+            if (elapsedNanos >= current.end()) {
+                current = advance(elapsedNanos);
+            }
+            return elapsedNanos >= current.start();
+        }
+
+        private synchronized Window advance(long elapsedNanos) {
+            Window current = window;
+            while (elapsedNanos >= current.end()) {
+                long start = current.end() + nextGap();
+                current = new Window(start, start + durationNanos);
+            }
+            if (current != window) {
+                log.debug("Próxima caída simulada del upstream entre {} y {} ns desde el arranque.",
+                        current.start(), current.end());
+                window = current;
+            }
+            return current;
+        }
+
+        // Intervalos exponenciales: las caídas llegan como un proceso de Poisson
+        private long nextGap() {
+            return (long) (-meanIntervalNanos * Math.log(1 - random.nextDouble()));
+        }
+
+        private record Window(long start, long end) {
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.felipearrano.challenge.infrastructure.adapter.out.external.simulation;
+
+import java.time.Duration;
+
+/**
+ * Resultado decidido para una llamada simulada: si falla y, si no, cuánto tarda en responder.
+ */
+public record UpstreamOutcome(boolean failure, Duration latency) {
+}
@@ -0,0 +1,26 @@
+package com.felipearrano.challenge.infrastructure.adapter.out.idempotency;
+
+/**
+ * Estado de una clave de idempotencia en Redis. Mientras la primera petición se ejecuta solo hay
+ * {@code fingerprint} y {@code owner}, el token de la petición que tomó la marca; al terminar se guarda la
+ * respuesta completa (status, content type y cuerpo tal como se envió, en cualquier formato negociado).
+ */
+public record IdempotencyRecord(State state, String fingerprint, String owner, int status, String contentType, byte[] body) {
+
+    public enum State {
+        IN_PROGRESS,
+        COMPLETED
+    }
+
+    public static IdempotencyRecord inProgress(String fingerprint, String owner) {
+        return new IdempotencyRecord(State.IN_PROGRESS, fingerprint, owner, 0, null, null);
+    }
+
+    public static IdempotencyRecord completed(String fingerprint, int status, String contentType, byte[] body) {
+        return new IdempotencyRecord(State.COMPLETED, fingerprint, null, status, contentType, body);
+    }
+
+    public boolean isCompleted() {
+        return state == State.COMPLETED;
+    }
+}
@@ -0,0 +1,104 @@
+package com.felipearrano.challenge.infrastructure.adapter.out.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.felipearrano.challenge.infrastructure.config.IdempotencyProperties;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Claves de idempotencia en Redis, compartidas entre réplicas. La adquisición es un {@code SET NX} con
+ * el TTL de la marca en curso, así que solo una petición por clave se ejecuta aunque lleguen a la vez
+ * a instancias distintas; si la instancia cae, la marca expira sola.
+ * <p>
+ * La marca guarda un token del dueño. Guardar la respuesta y liberar la clave comparan ese token en un
+ * script Lua antes de escribir: si la marca expiró y otra petición la tomó, la petición original ya no
+ * pisa ni borra la marca ajena.
+ */
+@Component
+public class RedisIdempotencyStore {
+
+    // Devuelve 1 si la marca sigue siendo del dueño indicado y se aplicó la operación, 0 si no
+    private static final RedisScript<Long> COMPLETE_IF_OWNER = RedisScript.of("""
+            local current = redis.call('GET', KEYS[1])
+            if current and cjson.decode(current).owner == ARGV[1] then
+                redis.call('SET', KEYS[1], ARGV[2], 'PX', ARGV[3])
+                return 1
+            end
+            return 0
+            """, Long.class);
+    private static final RedisScript<Long> RELEASE_IF_OWNER = RedisScript.of("""
+            local current = redis.call('GET', KEYS[1])
+            if current and cjson.decode(current).owner == ARGV[1] then
+                return redis.call('DEL', KEYS[1])
+            end
+            return 0
+            """, Long.class);
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final IdempotencyProperties properties;
+
+    public RedisIdempotencyStore(ReactiveStringRedisTemplate redisTemplate,
+                                 ObjectMapper objectMapper,
+                                 IdempotencyProperties properties) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+    }
+
+    /**
+     * @return el token de dueño si esta petición quedó a cargo de la clave; vacío si otra la tiene.
+     */
+    public Mono<String> tryAcquire(String key, String fingerprint) {
+        String owner = UUID.randomUUID().toString();
+        return Mono.fromCallable(() -> write(IdempotencyRecord.inProgress(fingerprint, owner)))
+                .flatMap(value -> redisTemplate.opsForValue().setIfAbsent(redisKey(key), value, properties.getLockTtl()))
+                .filter(Boolean::booleanValue)
+                .map(acquired -> owner);
+    }
+
+    public Mono<IdempotencyRecord> find(String key) {
+        return redisTemplate.opsForValue().get(redisKey(key))
+                .map(this::read);
+    }
+
+    /**
+     * @return {@code false} si la marca ya no es de {@code owner} (expiró) y la respuesta no se guardó.
+     */
+    public Mono<Boolean> complete(String key, String owner, IdempotencyRecord completed) {
+        return Mono.fromCallable(() -> write(completed))
+                .flatMap(value -> redisTemplate.execute(COMPLETE_IF_OWNER, List.of(redisKey(key)),
+                                List.of(owner, value, String.valueOf(properties.getTtl().toMillis())))
+                        .next())
+                .map(applied -> applied > 0);
+    }
+
+    // Libera la clave sin respuesta guardada, para que un reintento vuelva a ejecutar la petición
+    public Mono<Boolean> release(String key, String owner) {
+        return redisTemplate.execute(RELEASE_IF_OWNER, List.of(redisKey(key)), List.of(owner))
+                .next()
+                .map(deleted -> deleted > 0);
+    }
+
+    private String redisKey(String key) {
+        return properties.getRedisKeyPrefix() + key;
+    }
+
+    private String write(IdempotencyRecord record) throws JsonProcessingException {
+        return objectMapper.writeValueAsString(record);
+    }
+
+    private IdempotencyRecord read(String value) {
+        try {
+            return objectMapper.readValue(value, IdempotencyRecord.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Registro de idempotencia ilegible en Redis", e);
+        }
+    }
+}
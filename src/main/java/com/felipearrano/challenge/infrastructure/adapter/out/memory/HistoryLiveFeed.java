@@ -0,0 +1,61 @@
+package com.felipearrano.challenge.infrastructure.adapter.out.memory;
+
+import com.felipearrano.challenge.application.port.out.HistoryLiveFeedPort;
+import com.felipearrano.challenge.domain.HistoryLog;
+import com.felipearrano.challenge.infrastructure.config.HistoryLiveTailProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.function.Predicate;
+
+/**
+ * Difusión en memoria de los registros de auditoría a los suscriptores del live tail.
+ * El sink multicast entrega a cada suscriptor por separado; cada uno tiene su propio buffer acotado,
+ * así que un cliente lento solo pierde sus eventos y nunca frena la auditoría ni a otros clientes.
+ * Solo ve los registros de esta instancia.
+ */
+@Component
+public class HistoryLiveFeed implements HistoryLiveFeedPort {
+
+    // Reintenta solo ante publicaciones concurrentes desde varios hilos del logger asíncrono
+    private static final Sinks.EmitFailureHandler RETRY_CONCURRENT_EMIT = Sinks.EmitFailureHandler.busyLooping(Duration.ofMillis(5));
+
+    private final Sinks.Many<HistoryLog> sink = Sinks.many().multicast().directBestEffort();
+    private final HistoryLiveTailProperties properties;
+    private final Counter droppedEvents;
+
+    public HistoryLiveFeed(HistoryLiveTailProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.droppedEvents = Counter.builder("history.live-tail.dropped")
+                .description("Eventos descartados por suscriptores lentos")
+                .register(meterRegistry);
+        Gauge.builder("history.live-tail.subscribers", sink, Sinks.Many::currentSubscriberCount)
+                .description("Suscriptores conectados al live tail")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void publish(HistoryLog log) {
+        // Sin suscriptores el evento simplemente se descarta
+        sink.emitNext(log, RETRY_CONCURRENT_EMIT);
+    }
+
+    @Override
+    public Flux<HistoryLog> subscribe(Predicate<HistoryLog> filter) {
+        // El filtro va antes del buffer para que los eventos descartados no ocupen lugar
+        Flux<HistoryLog> events = sink.asFlux().filter(filter);
+        // LATEST es un buffer de un solo evento: así los descartes también se cuentan
+        return switch (properties.getOverflow()) {
+            case LATEST -> events.onBackpressureBuffer(1,
+                    dropped -> droppedEvents.increment(), BufferOverflowStrategy.DROP_OLDEST);
+            case DROP_OLDEST -> events.onBackpressureBuffer(properties.getBufferSize(),
+                    dropped -> droppedEvents.increment(), BufferOverflowStrategy.DROP_OLDEST);
+        };
+    }
+}
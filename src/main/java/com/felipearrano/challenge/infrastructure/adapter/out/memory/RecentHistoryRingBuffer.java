@@ -0,0 +1,107 @@
+package com.felipearrano.challenge.infrastructure.adapter.out.memory;
+
+import com.felipearrano.challenge.application.port.out.RecentHistoryCachePort;
+import com.felipearrano.challenge.domain.HistoryLog;
+import com.felipearrano.challenge.infrastructure.config.RecentHistoryCacheProperties;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Buffer circular sin locks con los últimos N registros guardados por esta instancia.
+ * Cada escritura reserva una secuencia y publica el registro en su slot; los lectores validan la
+ * secuencia de cada slot y, ante un hueco o un slot ya sobrescrito, devuelven vacío para que se
+ * consulte la BD. El orden es el mismo que usa la BD: timestamp descendente y luego id descendente.
+ * Solo conoce las escrituras de esta instancia, por lo que con varias réplicas escribiendo conviene
+ * desactivarlo o mantener corto {@code total-max-age}.
+ */
+@Component
+public class RecentHistoryRingBuffer implements RecentHistoryCachePort {
+
+    private record Slot(long sequence, HistoryLog log) {
+    }
+
+    private final boolean enabled;
+    private final int capacity;
+    private final int mask;
+    private final int orderingSlack;
+    private final long totalMaxAgeNanos;
+    private final AtomicReferenceArray<Slot> slots;
+    private final AtomicLong nextSequence = new AtomicLong();
+    // Total de registros en BD; -1 mientras no se haya sincronizado
+    private final AtomicLong knownTotal = new AtomicLong(-1);
+    private volatile long totalSyncedAtNanos;
+
+    public RecentHistoryRingBuffer(RecentHistoryCacheProperties properties) {
+        this.enabled = properties.isEnabled();
+        this.capacity = Integer.highestOneBit(properties.getCapacity() - 1) << 1;
+        this.mask = capacity - 1;
+        this.orderingSlack = properties.getOrderingSlack();
+        this.totalMaxAgeNanos = properties.getTotalMaxAge().toNanos();
+        this.slots = new AtomicReferenceArray<>(enabled ? capacity : 0);
+    }
+
+    @Override
+    public void add(HistoryLog log) {
+        if (!enabled) {
+            return;
+        }
+        long sequence = nextSequence.getAndIncrement();
+        slots.set((int) (sequence & mask), new Slot(sequence, log));
+        knownTotal.updateAndGet(total -> total < 0 ? total : total + 1);
+    }
+
+    @Override
+    public void syncTotal(long totalElements) {
+        if (!enabled) {
+            return;
+        }
+        knownTotal.set(totalElements);
+        totalSyncedAtNanos = System.nanoTime();
+    }
+
+    @Override
+    public Optional<Page<HistoryLog>> findRecentPage(Pageable pageable) {
+        if (!enabled || pageable.isUnpaged()) {
+            return Optional.empty();
+        }
+        long total = knownTotal.get();
+        if (total < 0 || System.nanoTime() - totalSyncedAtNanos > totalMaxAgeNanos) {
+            return Optional.empty();
+        }
+
+        long head = nextSequence.get();
+        int available = (int) Math.min(head, capacity);
+        long offset = pageable.getOffset();
+        int size = pageable.getPageSize();
+
+        // Si toda la tabla cabe en el buffer cualquier página puede servirse desde memoria
+        boolean wholeTableInMemory = total <= available;
+        long needed = wholeTableInMemory ? available : offset + size + orderingSlack;
+        if (needed > available) {
+            return Optional.empty();
+        }
+
+        List<HistoryLog> snapshot = new ArrayList<>((int) needed);
+        for (long sequence = head - 1; sequence >= head - needed; sequence--) {
+            Slot slot = slots.get((int) (sequence & mask));
+            if (slot == null || slot.sequence() != sequence) {
+                return Optional.empty();
+            }
+            snapshot.add(slot.log());
+        }
+        snapshot.sort(HistoryLog.NEWEST_FIRST);
+
+        int from = (int) Math.min(offset, snapshot.size());
+        int to = Math.min(from + size, snapshot.size());
+        long pageTotal = wholeTableInMemory ? Math.max(total, snapshot.size()) : total;
+        return Optional.of(new PageImpl<>(List.copyOf(snapshot.subList(from, to)), pageable, pageTotal));
+    }
+}
@@ -0,0 +1,172 @@
+package com.felipearrano.challenge.infrastructure.adapter.out.persistence;
+
+import com.felipearrano.challenge.application.port.out.HistoryBulkImportPort;
+import com.felipearrano.challenge.domain.HistoryLog;
+import com.felipearrano.challenge.infrastructure.config.HistoryJsonStorageProperties;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.r2dbc.postgresql.api.PostgresqlConnection;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Wrapped;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Importación masiva con el protocolo COPY de PostgreSQL.
+ * Cada lote se copia a una tabla temporal y de ahí se inserta en {@code call_history} ignorando ids
+ * repetidos, junto con la posición alcanzada en {@code call_history_import}, todo en una transacción:
+ * si el proceso se corta, al reanudar se continúa desde el último lote confirmado sin duplicar filas.
+ * Con history.json-storage activo se copian además {@code parameters_json} y {@code response_json}.
+ */
+@Component
+public class HistoryCopyImportAdapter implements HistoryBulkImportPort {
+
+    private static final Logger log = LoggerFactory.getLogger(HistoryCopyImportAdapter.class);
+
+    private static final int ROWS_PER_CHUNK = 1_000;
+
+    private static final String CREATE_STAGE_SQL =
+            "CREATE TEMP TABLE call_history_import_stage (LIKE call_history INCLUDING DEFAULTS) ON COMMIT DROP";
+    private static final String COPY_COLUMNS = "id, timestamp, endpoint_invoked, parameters_received, response_body, "
+            + "http_status, is_success, error_message, occurrences, last_timestamp";
+    private static final String COPY_SQL =
+            "COPY call_history_import_stage (" + COPY_COLUMNS + ") FROM STDIN WITH (FORMAT csv)";
+    // Con history.json-storage las filas importadas también llevan su copia jsonb, como cada insert
+    private static final String COPY_WITH_JSON_SQL = "COPY call_history_import_stage (" + COPY_COLUMNS
+            + ", parameters_json, response_json) FROM STDIN WITH (FORMAT csv)";
+    private static final String MERGE_SQL =
+            "INSERT INTO call_history SELECT * FROM call_history_import_stage ON CONFLICT (id) DO NOTHING";
+    private static final String CHECKPOINT_SQL = """
+            INSERT INTO call_history_import (job_id, committed_position, rows_imported, updated_at)
+            VALUES ($1, $2, $3, now())
+            ON CONFLICT (job_id) DO UPDATE SET committed_position = EXCLUDED.committed_position,
+                rows_imported = call_history_import.rows_imported + EXCLUDED.rows_imported,
+                updated_at = EXCLUDED.updated_at
+            """;
+    private static final String POSITION_SQL = "SELECT committed_position FROM call_history_import WHERE job_id = $1";
+
+    private final ConnectionFactory connectionFactory;
+    private final HistoryJsonStorageProperties jsonStorage;
+    private final HistoryJsonColumns jsonColumns;
+
+    // Escritura masiva: va al primario por el pool de escrituras, nunca a una réplica
+    public HistoryCopyImportAdapter(@Qualifier("auditWriteConnectionFactory") ConnectionFactory connectionFactory,
+                                    HistoryJsonStorageProperties jsonStorage, HistoryJsonColumns jsonColumns) {
+        this.connectionFactory = connectionFactory;
+        this.jsonStorage = jsonStorage;
+        this.jsonColumns = jsonColumns;
+    }
+
+    @Override
+    public Mono<Long> findCommittedPosition(String jobId) {
+        return Mono.usingWhen(Mono.from(connectionFactory.create()),
+                connection -> Flux.from(connection.createStatement(POSITION_SQL).bind("$1", jobId).execute())
+                        .flatMap(result -> result.map((row, metadata) -> row.get(0, Long.class)))
+                        .next()
+                        .defaultIfEmpty(0L),
+                Connection::close);
+    }
+
+    @Override
+    public Mono<Long> importBatch(String jobId, List<HistoryLog> batch, long position) {
+        return Mono.usingWhen(Mono.from(connectionFactory.create()),
+                connection -> copyInTransaction(unwrap(connection), jobId, batch, position),
+                Connection::close);
+    }
+
+    private Mono<Long> copyInTransaction(PostgresqlConnection connection, String jobId, List<HistoryLog> batch, long position) {
+        boolean withJson = jsonStorage.isEnabled();
+        Mono<Long> inserted = batch.isEmpty()
+                ? Mono.just(0L)
+                : execute(connection, CREATE_STAGE_SQL)
+                        .then(connection.copyIn(withJson ? COPY_WITH_JSON_SQL : COPY_SQL, encode(batch, withJson)))
+                        .then(execute(connection, MERGE_SQL));
+
+        return Mono.from(connection.beginTransaction())
+                .then(inserted)
+                .flatMap(rows -> Flux.from(connection.createStatement(CHECKPOINT_SQL)
+                                .bind("$1", jobId)
+                                .bind("$2", position)
+                                .bind("$3", rows)
+                                .execute())
+                        .flatMap(result -> result.getRowsUpdated())
+                        .then(Mono.from(connection.commitTransaction()))
+                        .thenReturn(rows))
+                .onErrorResume(e -> {
+                    log.error("Error importando lote de {} registros para {}: {}", batch.size(), jobId, e.getMessage());
+                    return Mono.from(connection.rollbackTransaction()).then(Mono.error(e));
+                });
+    }
+
+    private Mono<Long> execute(PostgresqlConnection connection, String sql) {
+        return connection.createStatement(sql).execute()
+                .flatMap(result -> result.getRowsUpdated())
+                .reduce(0L, Long::sum);
+    }
+
+    // Se codifica por tramos para no armar un único buffer del tamaño del lote completo
+    private Flux<ByteBuf> encode(List<HistoryLog> batch, boolean withJson) {
+        return Flux.fromIterable(batch)
+                .buffer(ROWS_PER_CHUNK)
+                .map(rows -> {
+                    StringBuilder chunk = new StringBuilder(rows.size() * (withJson ? 512 : 256));
+                    rows.forEach(row -> appendCsvRow(chunk, row, withJson));
+                    return Unpooled.wrappedBuffer(chunk.toString().getBytes(StandardCharsets.UTF_8));
+                });
+    }
+
+    private void appendCsvRow(StringBuilder out, HistoryLog row, boolean withJson) {
+        appendField(out, row.id().toString()).append(',');
+        appendField(out, row.timestamp().toString()).append(',');
+        appendField(out, row.endpointInvoked()).append(',');
+        appendField(out, row.parametersReceived()).append(',');
+        appendField(out, row.responseBody()).append(',');
+        appendField(out, String.valueOf(row.httpStatus())).append(',');
+        appendField(out, String.valueOf(row.isSuccess())).append(',');
+        appendField(out, row.errorMessage()).append(',');
+        appendField(out, String.valueOf(row.occurrences())).append(',');
+        appendField(out, row.lastTimestamp().toString());
+        if (withJson) {
+            // Un texto que no es JSON válido queda nulo: si llegara al COPY como jsonb abortaría el lote
+            out.append(',');
+            appendField(out, jsonColumns.validJson(row.parametersReceived())).append(',');
+            appendField(out, jsonColumns.validJson(row.responseBody()));
+        }
+        out.append('\n');
+    }
+
+    // En COPY csv un campo vacío sin comillas es NULL; todo valor presente va entre comillas
+    private static StringBuilder appendField(StringBuilder out, String value) {
+        if (value == null) {
+            return out;
+        }
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                out.append('"');
+            }
+            out.append(c);
+        }
+        return out.append('"');
+    }
+
+    private static PostgresqlConnection unwrap(Connection connection) {
+        Object current = connection;
+        while (!(current instanceof PostgresqlConnection) && current instanceof Wrapped<?> wrapped) {
+            current = wrapped.unwrap();
+        }
+        if (current instanceof PostgresqlConnection postgresqlConnection) {
+            return postgresqlConnection;
+        }
+        throw new IllegalStateException("La importación por COPY requiere una conexión PostgreSQL");
+    }
+}
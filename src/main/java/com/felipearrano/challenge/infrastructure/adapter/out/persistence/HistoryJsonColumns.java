@@ -0,0 +1,43 @@
+package com.felipearrano.challenge.infrastructure.adapter.out.persistence;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.felipearrano.challenge.infrastructure.util.JsonSerializationUtil;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Decide qué texto de auditoría se copia a {@code parameters_json} y {@code response_json}
+ * (history.json-storage). Lo comparten el guardado de cada registro y la importación por COPY,
+ * para que ambos caminos dejen las mismas filas visibles a la búsqueda por contenido.
+ */
+@Component
+public class HistoryJsonColumns {
+
+    private final JsonFactory jsonFactory;
+
+    public HistoryJsonColumns(ObjectMapper objectMapper) {
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    /**
+     * El mismo texto si es un único valor JSON válido, o {@code null}
+     * (cuerpos truncados, "[No Body]", "[Serialization Error]", etc.).
+     */
+    public String validJson(String text) {
+        if (text == null || text.endsWith(JsonSerializationUtil.TRUNCATION_MARKER)) {
+            return null;
+        }
+        try (JsonParser parser = jsonFactory.createParser(text)) {
+            if (parser.nextToken() == null) {
+                return null;
+            }
+            parser.skipChildren();
+            return parser.nextToken() == null ? text : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.felipearrano.challenge.infrastructure.adapter.out.persistence;
+
+import com.felipearrano.challenge.infrastructure.config.HistoryJsonStorageProperties;
+import io.r2dbc.spi.ConnectionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Crea los índices de la búsqueda por contenido cuando la aplicación ya está lista. Se crean con
+ * {@code CONCURRENTLY}, así que en una tabla grande tardan pero no bloquean los inserts; mientras tanto
+ * las búsquedas funcionan, solo que recorriendo la tabla.
+ * Un {@code CREATE INDEX CONCURRENTLY} que falla o se interrumpe deja el índice marcado como inválido y
+ * {@code IF NOT EXISTS} lo daría por creado: por eso antes de crear cada índice se consulta su estado
+ * en {@code pg_index} y, si quedó inválido y nadie lo está construyendo, se borra y se vuelve a crear.
+ */
+@Component
+@ConditionalOnProperty(prefix = "history.json-storage", name = "enabled", havingValue = "true")
+public class HistoryJsonIndexInitializer {
+
+    private static final Logger log = LoggerFactory.getLogger(HistoryJsonIndexInitializer.class);
+
+    // Vacío si el índice no existe; true si es válido o si otra instancia lo está construyendo
+    private static final String INDEX_STATE_SQL = """
+            SELECT i.indisvalid
+                   OR EXISTS (SELECT 1 FROM pg_stat_progress_create_index p WHERE p.index_relid = i.indexrelid)
+                   AS usable
+            FROM pg_index i
+            JOIN pg_class c ON c.oid = i.indexrelid
+            WHERE i.indrelid = 'call_history'::regclass AND c.relname = :name
+            """;
+
+    // jsonb_path_ops solo admite @>, @? y @@, pero ocupa bastante menos que el operador por defecto
+    private static final Map<String, String> GIN_INDEXES = Map.of(
+            "idx_call_history_parameters_json", "USING GIN (parameters_json jsonb_path_ops)",
+            "idx_call_history_response_json", "USING GIN (response_json jsonb_path_ops)");
+
+    private final DatabaseClient databaseClient;
+    private final HistoryJsonStorageProperties properties;
+
+    public HistoryJsonIndexInitializer(ConnectionFactory connectionFactory, HistoryJsonStorageProperties properties) {
+        this.databaseClient = DatabaseClient.create(connectionFactory);
+        this.properties = properties;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void createIndexes() {
+        ensureIndexes()
+                .subscribe(
+                        unused -> { },
+                        e -> log.error("No se pudieron crear los índices JSONB del historial: {}", e.getMessage()),
+                        () -> log.info("Índices JSONB del historial verificados (claves de rango: {})", properties.getRangeKeys()));
+    }
+
+    /**
+     * Crea los índices que faltan y recrea los inválidos, uno detrás de otro.
+     */
+    public Mono<Void> ensureIndexes() {
+        Map<String, String> indexes = new LinkedHashMap<>();
+        GIN_INDEXES.forEach((name, definition) -> indexes.put(name, createIndexSql(name, definition)));
+        properties.getRangeKeys().forEach(key -> indexes.put(rangeIndexName(key), rangeIndexSql(key)));
+
+        return Flux.fromIterable(indexes.entrySet())
+                .concatMap(index -> ensureIndex(index.getKey(), index.getValue()))
+                .then();
+    }
+
+    // La expresión debe coincidir con la que arma HistoryJsonQuery para que el planner use el índice
+    static String rangeIndexSql(String key) {
+        return createIndexSql(rangeIndexName(key), "(" + HistoryJsonQuery.parameterPath(key) + ")");
+    }
+
+    private Mono<Void> ensureIndex(String name, String createSql) {
+        return databaseClient.sql(INDEX_STATE_SQL)
+                .bind("name", name)
+                .map(row -> Optional.ofNullable(row.get("usable", Boolean.class)))
+                .one()
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(state -> {
+                    if (state.isEmpty()) {
+                        return execute(createSql);
+                    }
+                    if (state.get()) {
+                        return Mono.empty();
+                    }
+                    log.warn("El índice {} quedó inválido tras una creación fallida; se borra y se vuelve a crear", name);
+                    return execute("DROP INDEX CONCURRENTLY IF EXISTS " + name).then(execute(createSql));
+                });
+    }
+
+    private Mono<Void> execute(String sql) {
+        return databaseClient.sql(sql).then();
+    }
+
+    private static String rangeIndexName(String key) {
+        return "idx_call_history_param_" + key.toLowerCase(Locale.ROOT);
+    }
+
+    private static String createIndexSql(String name, String definition) {
+        return "CREATE INDEX CONCURRENTLY IF NOT EXISTS " + name + " ON call_history " + definition;
+    }
+}
@@ -0,0 +1,97 @@
+package com.felipearrano.challenge.infrastructure.adapter.out.persistence;
+
+import com.felipearrano.challenge.domain.HistorySearchCriteria;
+import com.felipearrano.challenge.domain.HistorySearchCriteria.Comparison;
+import com.felipearrano.challenge.domain.HistorySearchCriteria.ParameterCondition;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * SQL de la búsqueda por contenido sobre las columnas JSONB. La contención ({@code @>}) y las igualdades
+ * se resuelven con los índices GIN; las comparaciones de rango usan la misma expresión
+ * {@code (parameters_json -> 'clave')} que los índices B-tree de {@link HistoryJsonIndexInitializer}.
+ * Las claves van en el SQL (el planner solo usa el índice de expresión con la clave literal), por eso
+ * se aceptan únicamente identificadores simples; los valores siempre van como parámetros.
+ */
+final class HistoryJsonQuery {
+
+    private static final Pattern KEY = Pattern.compile("[A-Za-z_][A-Za-z0-9_]{0,39}");
+
+    private final String sql;
+    private final Map<String, Object> bindings;
+
+    private HistoryJsonQuery(String sql, Map<String, Object> bindings) {
+        this.sql = sql;
+        this.bindings = bindings;
+    }
+
+    static HistoryJsonQuery of(HistorySearchCriteria criteria) {
+        List<String> predicates = new ArrayList<>();
+        Map<String, Object> bindings = new LinkedHashMap<>();
+
+        if (criteria.endpoint() != null) {
+            predicates.add("endpoint_invoked = " + bind(bindings, criteria.endpoint()));
+        }
+        if (criteria.parametersContain() != null) {
+            predicates.add("parameters_json @> CAST(" + bind(bindings, criteria.parametersContain()) + " AS jsonb)");
+        }
+        if (criteria.responseContains() != null) {
+            predicates.add("response_json @> CAST(" + bind(bindings, criteria.responseContains()) + " AS jsonb)");
+        }
+        for (ParameterCondition condition : criteria.parameterConditions()) {
+            String path = parameterPath(condition.key());
+            if (condition.comparison() == Comparison.EQ) {
+                // La igualdad numérica de jsonb ignora la escala (10.5 = 10.50), igual que la contención
+                String document = "{\"" + condition.key() + "\": " + condition.value() + "}";
+                predicates.add("parameters_json @> CAST(" + bind(bindings, document) + " AS jsonb)");
+            } else {
+                // jsonb ordena los números antes que booleanos, arrays y objetos: se exige que sea número
+                predicates.add(path + " " + operator(condition.comparison()) + " CAST("
+                        + bind(bindings, condition.value().toString()) + " AS jsonb)"
+                        + " AND jsonb_typeof" + path + " = 'number'");
+            }
+        }
+
+        StringBuilder sql = new StringBuilder("SELECT * FROM call_history");
+        if (!predicates.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", predicates));
+        }
+        sql.append(" ORDER BY timestamp DESC, id DESC LIMIT ").append(bind(bindings, criteria.limit()));
+        return new HistoryJsonQuery(sql.toString(), bindings);
+    }
+
+    static String parameterPath(String key) {
+        if (!KEY.matcher(key).matches()) {
+            throw new IllegalArgumentException("Clave de parámetro inválida para la búsqueda: " + key);
+        }
+        return "(parameters_json -> '" + key + "')";
+    }
+
+    String sql() {
+        return sql;
+    }
+
+    Map<String, Object> bindings() {
+        return bindings;
+    }
+
+    private static String bind(Map<String, Object> bindings, Object value) {
+        String name = "p" + bindings.size();
+        bindings.put(name, value);
+        return ":" + name;
+    }
+
+    private static String operator(Comparison comparison) {
+        return switch (comparison) {
+            case GT -> ">";
+            case GTE -> ">=";
+            case LT -> "<";
+            case LTE -> "<=";
+            case EQ -> "=";
+        };
+    }
+}
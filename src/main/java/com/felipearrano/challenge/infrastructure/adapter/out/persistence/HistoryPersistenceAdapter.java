@@ -1,31 +1,78 @@
 package com.felipearrano.challenge.infrastructure.adapter.out.persistence;
 
 import java.util.List;
+
 import com.felipearrano.challenge.application.port.out.HistoryRepositoryPort;
 import com.felipearrano.challenge.domain.HistoryLog;
+import com.felipearrano.challenge.domain.HistorySearchCriteria;
 import com.felipearrano.challenge.infrastructure.adapter.out.persistence.entity.HistoryLogEntity;
 import com.felipearrano.challenge.infrastructure.adapter.out.persistence.mapper.HistoryLogMapper;
 import com.felipearrano.challenge.infrastructure.adapter.out.persistence.repository.ReactiveHistoryLogRepository;
+import com.felipearrano.challenge.infrastructure.adapter.out.persistence.exception.HistorySearchUnavailableException;
+import com.felipearrano.challenge.infrastructure.adapter.out.persistence.routing.ReplicaRoutingConnectionFactory;
+import com.felipearrano.challenge.infrastructure.config.HistoryJsonStorageProperties;
+import io.r2dbc.postgresql.codec.Json;
+import io.r2dbc.spi.ConnectionFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.r2dbc.convert.R2dbcConverter;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.dialect.DialectResolver;
+import org.springframework.data.r2dbc.dialect.R2dbcDialect;
+import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.data.relational.core.query.Query;
+import org.springframework.r2dbc.core.DatabaseClient;
 import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.function.Tuples;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Component
 public class HistoryPersistenceAdapter implements HistoryRepositoryPort {
 
     private static final Logger log = LoggerFactory.getLogger(HistoryPersistenceAdapter.class);
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Order.desc("timestamp"), Sort.Order.desc("id"));
+    // PostgreSQL admite hasta 32767 parámetros por sentencia
+    private static final int DELETE_CHUNK_SIZE = 10_000;
 
     private final ReactiveHistoryLogRepository historyLogRepository;
     private final HistoryLogMapper historyLogMapper;
-
-    public HistoryPersistenceAdapter(ReactiveHistoryLogRepository historyLogRepository, HistoryLogMapper historyLogMapper) {
+    // Los inserts de auditoría usan su propio pool; el repositorio trabaja sobre el pool de lectura
+    private final R2dbcEntityTemplate auditWriteTemplate;
+    private final R2dbcEntityTemplate readTemplate;
+    private final WorkloadBulkhead historyReadBulkhead;
+    private final WorkloadBulkhead auditWriteBulkhead;
+    private final HistoryJsonStorageProperties jsonStorage;
+    private final HistoryJsonColumns jsonColumns;
+
+    public HistoryPersistenceAdapter(ReactiveHistoryLogRepository historyLogRepository,
+                                     HistoryLogMapper historyLogMapper,
+                                     R2dbcEntityTemplate readTemplate,
+                                     R2dbcConverter converter,
+                                     @Qualifier("auditWriteConnectionFactory") ConnectionFactory auditWriteConnectionFactory,
+                                     @Qualifier("historyReadBulkhead") WorkloadBulkhead historyReadBulkhead,
+                                     @Qualifier("auditWriteBulkhead") WorkloadBulkhead auditWriteBulkhead,
+                                     HistoryJsonStorageProperties jsonStorage,
+                                     HistoryJsonColumns jsonColumns) {
         this.historyLogRepository = historyLogRepository;
         this.historyLogMapper = historyLogMapper;
+        this.auditWriteTemplate = auditWriteTemplate(auditWriteConnectionFactory, converter);
+        this.readTemplate = readTemplate;
+        this.historyReadBulkhead = historyReadBulkhead;
+        this.auditWriteBulkhead = auditWriteBulkhead;
+        this.jsonStorage = jsonStorage;
+        this.jsonColumns = jsonColumns;
     }
 
     @Override
@@ -33,8 +80,12 @@ public class HistoryPersistenceAdapter implements HistoryRepositoryPort {
         log.debug("Guardando log en BD: {}", logToSave.id());
 
         HistoryLogEntity entity = historyLogMapper.toEntity(logToSave);
+        if (jsonStorage.isEnabled()) {
+            entity.setParametersJson(toJsonColumn(logToSave.parametersReceived()));
+            entity.setResponseJson(toJsonColumn(logToSave.responseBody()));
+        }
 
-        return historyLogRepository.save(entity)
+        return auditWriteBulkhead.execute(auditWriteTemplate.insert(entity))
                 .doOnError(e -> log.error("Error al guardar log con ID {}: {}", entity.getId(), e.getMessage()))
                 .then();
     }
@@ -43,12 +94,13 @@ public class HistoryPersistenceAdapter implements HistoryRepositoryPort {
     public Mono<Page<HistoryLog>> findAllPaginated(Pageable pageable) {
         log.debug("Buscando historial paginado: {}", pageable);
 
-        Mono<List<HistoryLogEntity>> pageContentMono = historyLogRepository.findByOrderByIdAsc(pageable)
+        Mono<List<HistoryLogEntity>> pageContentMono = historyLogRepository.findByOrderByTimestampDescIdDesc(pageable)
                 .collectList();
 
-        Mono<Long> totalCountMono = historyLogRepository.count();
-
-        return Mono.zip(pageContentMono, totalCountMono)
+        // Página y conteo van uno detrás de otro: cada permiso del bulkhead ocupa como mucho una conexión
+        return historyReadBulkhead.execute(pageContentMono
+                        .flatMap(entityList -> totalCount(pageable, entityList.size())
+                                .map(totalCount -> Tuples.of(entityList, totalCount))))
                 .map(tuple -> {
                     List<HistoryLogEntity> entityList = tuple.getT1();
                     long totalCount = tuple.getT2();
@@ -63,6 +115,104 @@ public class HistoryPersistenceAdapter implements HistoryRepositoryPort {
 
                     return pageResult;
                 })
-                .doOnError(e -> log.error("Error al buscar historial paginado: {}", e.getMessage()));
+                .doOnError(e -> log.error("Error al buscar historial paginado: {}", e.getMessage()))
+                // Página y conteo pueden leerse desde una réplica; sin réplicas disponibles van al primario
+                .contextWrite(ReplicaRoutingConnectionFactory::preferReplica);
+    }
+
+    @Override
+    public Flux<HistoryLog> findInRange(Instant from, Instant to, String endpoint) {
+        Criteria criteria = Criteria.where("timestamp").between(from, to);
+        if (endpoint != null) {
+            criteria = criteria.and("endpointInvoked").is(endpoint);
+        }
+        return selectNewestFirst(Query.query(criteria))
+                .contextWrite(ReplicaRoutingConnectionFactory::preferReplica);
+    }
+
+    @Override
+    public Flux<HistoryLog> search(HistorySearchCriteria criteria) {
+        if (!jsonStorage.isEnabled()) {
+            return Flux.error(new HistorySearchUnavailableException(
+                    "La búsqueda por contenido requiere history.json-storage.enabled=true"));
+        }
+        HistoryJsonQuery query = HistoryJsonQuery.of(criteria);
+        log.debug("Búsqueda en historial por contenido: {}", query.sql());
+
+        DatabaseClient.GenericExecuteSpec spec = readTemplate.getDatabaseClient().sql(query.sql());
+        for (Map.Entry<String, Object> binding : query.bindings().entrySet()) {
+            spec = spec.bind(binding.getKey(), binding.getValue());
+        }
+        return historyReadBulkhead.executeMany(spec
+                        .map((row, metadata) -> readTemplate.getConverter().read(HistoryLogEntity.class, row, metadata))
+                        .all())
+                .map(historyLogMapper::toDomain)
+                .doOnError(e -> log.error("Error en la búsqueda del historial por contenido: {}", e.getMessage()))
+                .contextWrite(ReplicaRoutingConnectionFactory::preferReplica);
+    }
+
+    /*
+     * Consultas usadas por el archivado: la BD guarda los registros más nuevos que el último segmento
+     * y, mientras el job no los mueva, algunos más antiguos (importaciones, reintentos fallidos).
+     */
+
+    public Mono<Long> countNewerThan(Instant timestamp) {
+        return historyReadBulkhead.execute(readTemplate.count(
+                        Query.query(Criteria.where("timestamp").greaterThan(timestamp)), HistoryLogEntity.class))
+                .contextWrite(ReplicaRoutingConnectionFactory::preferReplica);
+    }
+
+    public Flux<HistoryLog> findNewerThan(Instant timestamp, long offset, int limit) {
+        return selectNewestFirst(Query.query(Criteria.where("timestamp").greaterThan(timestamp)).offset(offset).limit(limit))
+                .contextWrite(ReplicaRoutingConnectionFactory::preferReplica);
+    }
+
+    // Candidatos a archivar: se leen del primario, que es donde luego se borran
+    public Flux<HistoryLog> findOldestBefore(Instant cutoff, int limit) {
+        return historyReadBulkhead.executeMany(readTemplate.select(HistoryLogEntity.class)
+                        .matching(Query.query(Criteria.where("timestamp").lessThan(cutoff))
+                                .sort(Sort.by(Sort.Order.asc("timestamp"), Sort.Order.asc("id")))
+                                .limit(limit))
+                        .all())
+                .map(historyLogMapper::toDomain);
+    }
+
+    public Mono<Long> deleteByIds(Collection<UUID> ids) {
+        return Flux.fromIterable(ids)
+                .buffer(DELETE_CHUNK_SIZE)
+                .concatMap(chunk -> auditWriteBulkhead.execute(auditWriteTemplate.delete(
+                        Query.query(Criteria.where("id").in(chunk)), HistoryLogEntity.class)))
+                .reduce(0L, Long::sum);
+    }
+
+    // Una página incompleta es la última: el total se deduce sin contar la tabla
+    private Mono<Long> totalCount(Pageable pageable, int contentSize) {
+        if (pageable.isPaged() && contentSize < pageable.getPageSize() && (contentSize > 0 || pageable.getOffset() == 0)) {
+            return Mono.just(pageable.getOffset() + contentSize);
+        }
+        return historyLogRepository.count();
+    }
+
+    // Mismas conversiones y dialecto que el R2dbcEntityTemplate de Spring Boot, sobre el pool de escrituras
+    private static R2dbcEntityTemplate auditWriteTemplate(ConnectionFactory connectionFactory, R2dbcConverter converter) {
+        R2dbcDialect dialect = DialectResolver.getDialect(connectionFactory);
+        DatabaseClient databaseClient = DatabaseClient.builder()
+                .connectionFactory(connectionFactory)
+                .bindMarkers(dialect.getBindMarkersFactory())
+                .build();
+        return new R2dbcEntityTemplate(databaseClient, dialect, converter);
+    }
+
+    // Texto de auditoría como jsonb, o null si no es un único valor JSON válido
+    private Json toJsonColumn(String text) {
+        String json = jsonColumns.validJson(text);
+        return json == null ? null : Json.of(json);
+    }
+
+    private Flux<HistoryLog> selectNewestFirst(Query query) {
+        return historyReadBulkhead.executeMany(readTemplate.select(HistoryLogEntity.class)
+                        .matching(query.sort(NEWEST_FIRST))
+                        .all())
+                .map(historyLogMapper::toDomain);
     }
-}
\ No newline at end of file
+}
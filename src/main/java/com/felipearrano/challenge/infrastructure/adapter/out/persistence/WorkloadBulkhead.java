@@ -0,0 +1,69 @@
+package com.felipearrano.challenge.infrastructure.adapter.out.persistence;
+
+import com.felipearrano.challenge.infrastructure.adapter.out.persistence.exception.WorkloadSaturatedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bulkhead por carga de trabajo: limita las operaciones simultáneas (las que tienen conexión más las que
+ * esperan una) y rechaza de inmediato cuando el pool está saturado, en vez de encolar sin límite.
+ */
+public class WorkloadBulkhead {
+
+    private final String workload;
+    private final int maxConcurrent;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Counter rejected;
+
+    public WorkloadBulkhead(String workload, int maxConcurrent, MeterRegistry meterRegistry) {
+        this.workload = workload;
+        this.maxConcurrent = maxConcurrent;
+        this.rejected = Counter.builder("history.db.bulkhead.rejected")
+                .description("Operaciones rechazadas por saturación del pool")
+                .tag("workload", workload)
+                .register(meterRegistry);
+        Gauge.builder("history.db.bulkhead.in-flight", inFlight, AtomicInteger::get)
+                .description("Operaciones en curso o esperando conexión")
+                .tag("workload", workload)
+                .register(meterRegistry);
+    }
+
+    public <T> Mono<T> execute(Mono<T> operation) {
+        return Mono.defer(() -> {
+            if (!tryAcquire()) {
+                rejected.increment();
+                return Mono.error(new WorkloadSaturatedException(
+                        "Pool de " + workload + " saturado (" + maxConcurrent + " operaciones en curso)."));
+            }
+            return operation.doFinally(signal -> inFlight.decrementAndGet());
+        });
+    }
+
+    public <T> Flux<T> executeMany(Flux<T> operation) {
+        return Flux.defer(() -> {
+            if (!tryAcquire()) {
+                rejected.increment();
+                return Flux.error(new WorkloadSaturatedException(
+                        "Pool de " + workload + " saturado (" + maxConcurrent + " operaciones en curso)."));
+            }
+            return operation.doFinally(signal -> inFlight.decrementAndGet());
+        });
+    }
+
+    private boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= maxConcurrent) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.felipearrano.challenge.infrastructure.adapter.out.persistence.entity;
 
+import io.r2dbc.postgresql.codec.Json;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -42,6 +43,20 @@ public class HistoryLogEntity implements Persistable<UUID>{
     @Column("error_message")
     private String errorMessage;
 
+    @Column("occurrences")
+    private Integer occurrences;
+
+    // Nulo en registros de una sola llamada (p. ej. importados por COPY)
+    @Column("last_timestamp")
+    private Instant lastTimestamp;
+
+    // Solo se llenan con history.json-storage.enabled y cuando el texto es JSON válido
+    @Column("parameters_json")
+    private Json parametersJson;
+
+    @Column("response_json")
+    private Json responseJson;
+
     /**
      * Indica a Spring Data si esta entidad es nueva (debe hacer INSERT) o no (debe hacer UPDATE).
      * Como siempre generamos un UUID nuevo antes de llamar a save() para los logs,
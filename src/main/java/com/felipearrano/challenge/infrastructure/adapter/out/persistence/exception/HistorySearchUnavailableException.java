@@ -0,0 +1,11 @@
+package com.felipearrano.challenge.infrastructure.adapter.out.persistence.exception;
+
+/**
+ * Búsqueda por contenido pedida sin {@code history.json-storage.enabled}: las columnas JSONB no se llenan.
+ */
+public class HistorySearchUnavailableException extends RuntimeException {
+
+    public HistorySearchUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.felipearrano.challenge.infrastructure.adapter.out.persistence.exception;
+
+/**
+ * Rechazo rápido por bulkhead saturado. Se produce en ráfagas bajo carga, por eso no captura stack trace.
+ */
+public class WorkloadSaturatedException extends RuntimeException {
+
+    public WorkloadSaturatedException(String message) {
+        super(message, null, true, false);
+    }
+}
@@ -3,6 +3,7 @@ package com.felipearrano.challenge.infrastructure.adapter.out.persistence.mapper
 import com.felipearrano.challenge.domain.HistoryLog;
 import com.felipearrano.challenge.infrastructure.adapter.out.persistence.entity.HistoryLogEntity;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.MappingConstants;
 
 @Mapper(componentModel = MappingConstants.ComponentModel.SPRING)
@@ -10,5 +11,8 @@ public interface HistoryLogMapper {
 
     HistoryLog toDomain(HistoryLogEntity entity);
 
+    // Las columnas JSONB las llena el adaptador según history.json-storage
+    @Mapping(target = "parametersJson", ignore = true)
+    @Mapping(target = "responseJson", ignore = true)
     HistoryLogEntity toEntity(HistoryLog domain);
 }
@@ -11,5 +11,5 @@ import java.util.UUID;
 @Repository
 public interface ReactiveHistoryLogRepository extends ReactiveCrudRepository<HistoryLogEntity, UUID> {
 
-    Flux<HistoryLogEntity> findByOrderByIdAsc(Pageable pageable);
+    Flux<HistoryLogEntity> findByOrderByTimestampDescIdDesc(Pageable pageable);
 }
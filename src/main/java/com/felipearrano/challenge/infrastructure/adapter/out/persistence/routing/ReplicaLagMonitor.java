@@ -0,0 +1,145 @@
+package com.felipearrano.challenge.infrastructure.adapter.out.persistence.routing;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.pool.ConnectionPool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.scheduling.annotation.Scheduled;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Mide periódicamente el lag de replicación de cada réplica y decide cuáles pueden atender lecturas.
+ * Una réplica que supera {@code max-lag} o que no responde queda fuera de la rotación hasta la
+ * siguiente verificación exitosa; sin réplicas disponibles las lecturas vuelven al primario.
+ * Una réplica empieza fuera de la rotación hasta que se mide su lag por primera vez.
+ */
+public class ReplicaLagMonitor implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    // Si la réplica ya aplicó todo lo recibido no hay lag, aunque el primario lleve tiempo sin escrituras
+    static final String LAG_QUERY = """
+            SELECT CASE
+                WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)
+            END::float8 AS lag_seconds
+            """;
+
+    private final Map<String, ConnectionPool> replicaPools;
+    private final List<ReplicaState> replicas;
+    private final Duration maxLag;
+    private final AtomicInteger roundRobin = new AtomicInteger();
+
+    public ReplicaLagMonitor(Map<String, ConnectionPool> replicaPools, Duration maxLag, MeterRegistry meterRegistry) {
+        this.replicaPools = Collections.unmodifiableMap(new LinkedHashMap<>(replicaPools));
+        this.maxLag = maxLag;
+        this.replicas = this.replicaPools.entrySet().stream()
+                .map(entry -> new ReplicaState(entry.getKey(), DatabaseClient.create(entry.getValue())))
+                .toList();
+        for (ReplicaState replica : replicas) {
+            Gauge.builder("history.db.replica.lag", replica, state -> state.lagSeconds)
+                    .description("Lag de replicación medido en segundos")
+                    .baseUnit("seconds")
+                    .tag("replica", replica.name)
+                    .register(meterRegistry);
+            Gauge.builder("history.db.replica.available", replica, state -> state.available ? 1 : 0)
+                    .description("1 si la réplica está atendiendo lecturas")
+                    .tag("replica", replica.name)
+                    .register(meterRegistry);
+        }
+    }
+
+    public Map<String, ConnectionPool> getReplicaPools() {
+        return replicaPools;
+    }
+
+    /**
+     * Devuelve la siguiente réplica disponible en round-robin, o vacío si ninguna cumple el lag máximo.
+     */
+    public Optional<String> selectReplica() {
+        int size = replicas.size();
+        if (size == 0) {
+            return Optional.empty();
+        }
+        int start = Math.floorMod(roundRobin.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            ReplicaState replica = replicas.get((start + i) % size);
+            if (replica.available) {
+                return Optional.of(replica.name);
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Scheduled(fixedDelayString = "${history.db.replica.lag-check-interval:5s}")
+    public Mono<Void> checkLag() {
+        return Flux.fromIterable(replicas)
+                .flatMap(replica -> replica.client.sql(LAG_QUERY)
+                        .map(row -> row.get("lag_seconds", Double.class))
+                        .one()
+                        .timeout(maxLag)
+                        .doOnNext(lagSeconds -> recordLag(replica, lagSeconds))
+                        .onErrorResume(e -> {
+                            markUnavailable(replica, e.getMessage());
+                            return Mono.empty();
+                        }))
+                .then();
+    }
+
+    void recordLag(String name, double lagSeconds) {
+        replicas.stream()
+                .filter(replica -> replica.name.equals(name))
+                .forEach(replica -> recordLag(replica, lagSeconds));
+    }
+
+    private void recordLag(ReplicaState replica, double lagSeconds) {
+        replica.lagSeconds = lagSeconds;
+        boolean withinThreshold = lagSeconds * 1000 <= maxLag.toMillis();
+        if (replica.available != withinThreshold) {
+            if (withinThreshold) {
+                log.info("Réplica {} vuelve a atender lecturas (lag {} s).", replica.name, lagSeconds);
+            } else {
+                log.warn("Réplica {} excede el lag máximo ({} s > {} ms); lecturas al primario.",
+                        replica.name, lagSeconds, maxLag.toMillis());
+            }
+        }
+        replica.available = withinThreshold;
+    }
+
+    private void markUnavailable(ReplicaState replica, String reason) {
+        if (replica.available) {
+            log.warn("Réplica {} no responde, se retira de la rotación: {}", replica.name, reason);
+        }
+        replica.available = false;
+        replica.lagSeconds = Double.NaN;
+    }
+
+    @Override
+    public void destroy() {
+        replicaPools.values().forEach(ConnectionPool::dispose);
+    }
+
+    private static final class ReplicaState {
+        private final String name;
+        private final DatabaseClient client;
+        private volatile double lagSeconds = Double.NaN;
+        private volatile boolean available;
+
+        private ReplicaState(String name, DatabaseClient client) {
+            this.name = name;
+            this.client = client;
+        }
+    }
+}
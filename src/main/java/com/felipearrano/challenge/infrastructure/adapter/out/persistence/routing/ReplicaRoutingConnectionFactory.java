@@ -0,0 +1,55 @@
+package com.felipearrano.challenge.infrastructure.adapter.out.persistence.routing;
+
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryMetadata;
+import org.springframework.r2dbc.connection.lookup.AbstractRoutingConnectionFactory;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.util.Map;
+
+/**
+ * Envía a una réplica las consultas que se suscriben con {@link #preferReplica(Context)} en el contexto
+ * de Reactor; todo lo demás (inserts, inicialización del schema) sigue en el primario.
+ */
+public class ReplicaRoutingConnectionFactory extends AbstractRoutingConnectionFactory {
+
+    private static final String PREFER_REPLICA_KEY = ReplicaRoutingConnectionFactory.class.getName() + ".preferReplica";
+
+    private final ConnectionFactory primary;
+    private final ReplicaLagMonitor lagMonitor;
+
+    public ReplicaRoutingConnectionFactory(ConnectionFactory primary, Map<String, ConnectionFactory> replicas,
+                                           ReplicaLagMonitor lagMonitor) {
+        this.primary = primary;
+        this.lagMonitor = lagMonitor;
+        setTargetConnectionFactories(Map.copyOf(replicas));
+        setDefaultTargetConnectionFactory(primary);
+        afterPropertiesSet();
+    }
+
+    /**
+     * Marca la suscripción como de solo lectura: se usará una réplica si alguna está dentro del lag máximo.
+     * Uso: {@code consulta.contextWrite(ReplicaRoutingConnectionFactory::preferReplica)}.
+     */
+    public static Context preferReplica(Context context) {
+        return context.put(PREFER_REPLICA_KEY, Boolean.TRUE);
+    }
+
+    @Override
+    protected Mono<Object> determineCurrentLookupKey() {
+        // Sin clave se usa el primario como destino por defecto
+        return Mono.deferContextual(context -> {
+            if (!context.getOrDefault(PREFER_REPLICA_KEY, Boolean.FALSE)) {
+                return Mono.empty();
+            }
+            return Mono.justOrEmpty(lagMonitor.selectReplica().orElse(null));
+        });
+    }
+
+    @Override
+    public ConnectionFactoryMetadata getMetadata() {
+        // Primario y réplicas son el mismo motor; el dialecto se resuelve con el primario
+        return primary.getMetadata();
+    }
+}
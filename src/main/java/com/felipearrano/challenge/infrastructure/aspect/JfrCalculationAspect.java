@@ -0,0 +1,26 @@
+package com.felipearrano.challenge.infrastructure.aspect;
+
+import com.felipearrano.challenge.infrastructure.diagnostics.event.CalculationEvent;
+import com.felipearrano.challenge.infrastructure.diagnostics.event.JfrEvents;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Emite un {@link CalculationEvent} por cada cálculo, sin acoplar la capa de aplicación a JFR.
+ */
+@Aspect
+@Component
+public class JfrCalculationAspect {
+
+    @Around("execution(* com.felipearrano.challenge.application.port.in.CalculateSumUseCase.calculateSumWithPercentage(..))")
+    public Object recordCalculation(ProceedingJoinPoint joinPoint) throws Throwable {
+        Object result = joinPoint.proceed();
+        if (result instanceof Mono<?> mono) {
+            return JfrEvents.timed(mono, CalculationEvent::new);
+        }
+        return result;
+    }
+}
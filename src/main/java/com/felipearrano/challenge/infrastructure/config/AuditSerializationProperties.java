@@ -0,0 +1,18 @@
+package com.felipearrano.challenge.infrastructure.config;
+
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+@Component
+@ConfigurationProperties(prefix = "history.serialization")
+@Validated
+@Data
+public class AuditSerializationProperties {
+
+    // Máximo de bytes (UTF-8) almacenados por parámetros o cuerpo de respuesta; el resto se trunca
+    @Min(value = 64, message = "El máximo de bytes serializados debe ser al menos 64")
+    private int maxBytes = 16 * 1024;
+}
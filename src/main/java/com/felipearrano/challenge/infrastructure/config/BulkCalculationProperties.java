@@ -0,0 +1,51 @@
+package com.felipearrano.challenge.infrastructure.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.validation.annotation.Validated;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Trabajos de cálculo por lotes sobre archivos CSV o NDJSON subidos a
+ * {@code /api/v1/calculations/bulk-jobs}. Cada trabajo usa un solo porcentaje para todo el archivo y
+ * escribe los resultados en {@code work-directory}.
+ */
+@Component
+@ConfigurationProperties(prefix = "calculation.bulk")
+@Validated
+@Data
+public class BulkCalculationProperties {
+
+    private boolean enabled = false;
+
+    @NotNull(message = "El directorio de trabajo de los cálculos por lotes no puede ser nulo")
+    private Path workDirectory = Path.of("bulk-jobs");
+
+    // Filas leídas, calculadas y escritas juntas; también es lo máximo que un trabajo tiene en memoria
+    @Min(value = 1, message = "El tamaño de bloque de los cálculos por lotes debe ser al menos 1")
+    private int chunkSize = 10_000;
+
+    // Tamaño máximo del archivo subido; se cuenta mientras llega y al pasarlo la subida responde 413
+    @NotNull(message = "El tamaño máximo de subida de los cálculos por lotes no puede ser nulo")
+    private DataSize maxUploadSize = DataSize.ofMegabytes(512);
+
+    @Min(value = 1, message = "El máximo de trabajos simultáneos debe ser al menos 1")
+    private int maxConcurrentJobs = 2;
+
+    // Trabajos aceptados (en cola o en curso); con más, la subida responde 503
+    @Min(value = 1, message = "El máximo de trabajos pendientes debe ser al menos 1")
+    private int maxPendingJobs = 20;
+
+    // Tiempo que se conservan el estado y el archivo de resultados de un trabajo terminado
+    @NotNull(message = "La retención de los cálculos por lotes no puede ser nula")
+    private Duration retention = Duration.ofHours(24);
+
+    @NotNull(message = "El intervalo de limpieza de los cálculos por lotes no puede ser nulo")
+    private Duration cleanupInterval = Duration.ofMinutes(10);
+}
@@ -0,0 +1,24 @@
+package com.felipearrano.challenge.infrastructure.config;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Endpoint funcional del cálculo. Con la ruta por defecto reemplaza al controlador anotado, porque
+ * las RouterFunction se resuelven antes que los {@code @RequestMapping}; con otra ruta conviven ambos
+ * (útil para compararlos en la misma corrida).
+ */
+@Component
+@ConfigurationProperties(prefix = "calculation.fast-path")
+@Validated
+@Data
+public class CalculationFastPathProperties {
+
+    private boolean enabled = false;
+
+    @NotBlank(message = "La ruta del endpoint funcional no puede estar vacía")
+    private String path = "/api/v1/calculations/sum-with-percentage";
+}
@@ -0,0 +1,163 @@
+package com.felipearrano.challenge.infrastructure.config;
+
+import com.felipearrano.challenge.infrastructure.adapter.out.persistence.exception.WorkloadSaturatedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Carril de ejecución de una clase de trabajo: pool de {@code maxConcurrency} hilos (de plataforma o
+ * virtuales) con cola acotada, expuesto como {@link Scheduler} de Reactor. Con la cola llena la tarea se
+ * rechaza y la operación termina con {@link WorkloadSaturatedException} (503) en vez de esperar.
+ * <p>
+ * Publica las métricas de executor de Micrometer con el tag {@code lane} ({@code executor.idle} es el
+ * tiempo en cola, {@code executor.queued} y {@code executor.active} el estado actual) más
+ * {@code execution.lane.utilization} y {@code execution.lane.rejected}. Un carril desactivado usa el
+ * scheduler de respaldo y no crea hilos.
+ */
+public class ExecutionLane implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ExecutionLane.class);
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 5;
+
+    private final String name;
+    private final ThreadPoolExecutor pool;
+    private final ExecutorService executor;
+    private final Scheduler scheduler;
+    private final Counter rejected;
+
+    public ExecutionLane(String name, ExecutionLanesProperties.Lane config, Scheduler fallback,
+                         MeterRegistry meterRegistry) {
+        this.name = name;
+        this.rejected = Counter.builder("execution.lane.rejected")
+                .description("Tareas rechazadas por carril lleno (hilos ocupados y cola completa)")
+                .tag("lane", name)
+                .register(meterRegistry);
+        if (config.isEnabled()) {
+            this.pool = newPool(name, config);
+            this.executor = ExecutorServiceMetrics.monitor(meterRegistry, pool, "lane-" + name, Tags.of("lane", name));
+            this.scheduler = Schedulers.fromExecutorService(executor, "lane-" + name);
+            Gauge.builder("execution.lane.utilization", pool, p -> (double) p.getActiveCount() / p.getMaximumPoolSize())
+                    .description("Fracción de los hilos del carril ocupados")
+                    .tag("lane", name)
+                    .register(meterRegistry);
+        } else {
+            this.pool = null;
+            this.executor = null;
+            this.scheduler = fallback;
+        }
+    }
+
+    private static ThreadPoolExecutor newPool(String name, ExecutionLanesProperties.Lane config) {
+        ThreadFactory threadFactory = config.getThreadType() == ExecutionLanesProperties.ThreadType.VIRTUAL
+                ? Thread.ofVirtual().name("lane-" + name + "-", 0).factory()
+                : Thread.ofPlatform().name("lane-" + name + "-", 0).daemon(true).factory();
+        BlockingQueue<Runnable> queue = config.getQueueCapacity() == 0
+                ? new SynchronousQueue<>()
+                : new ArrayBlockingQueue<>(config.getQueueCapacity());
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(config.getMaxConcurrency(), config.getMaxConcurrency(),
+                60, TimeUnit.SECONDS, queue, threadFactory, new ThreadPoolExecutor.AbortPolicy());
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public boolean isIsolated() {
+        return pool != null;
+    }
+
+    public Scheduler scheduler() {
+        return scheduler;
+    }
+
+    /**
+     * Continúa la cadena (resultado y serialización de la respuesta) en el carril. Desactivado no cambia de hilo.
+     */
+    public <T> Mono<T> publish(Mono<T> source) {
+        if (!isIsolated()) {
+            return source;
+        }
+        return source.publishOn(scheduler).onErrorMap(RejectedExecutionException.class, this::saturated);
+    }
+
+    public <T> Flux<T> publish(Flux<T> source) {
+        if (!isIsolated()) {
+            return source;
+        }
+        return source.publishOn(scheduler).onErrorMap(RejectedExecutionException.class, this::saturated);
+    }
+
+    /**
+     * Suscribe en el carril (o en el scheduler de respaldo); para trabajo bloqueante como E/S de archivos.
+     */
+    public <T> Mono<T> subscribe(Mono<T> source) {
+        return source.subscribeOn(scheduler).onErrorMap(RejectedExecutionException.class, this::saturated);
+    }
+
+    public <T> Flux<T> subscribe(Flux<T> source) {
+        return source.subscribeOn(scheduler).onErrorMap(RejectedExecutionException.class, this::saturated);
+    }
+
+    /**
+     * Ejecuta la tarea en el carril; con el carril lleno lanza {@link RejectedExecutionException}.
+     */
+    public void execute(Runnable task) {
+        if (!isIsolated()) {
+            scheduler.schedule(task);
+            return;
+        }
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw e;
+        }
+    }
+
+    /**
+     * Executor para {@code @Async}, o {@code null} si el carril está desactivado (Spring usa el suyo).
+     */
+    public Executor asyncExecutor() {
+        return isIsolated() ? this::execute : null;
+    }
+
+    private Throwable saturated(RejectedExecutionException e) {
+        rejected.increment();
+        return new WorkloadSaturatedException("Carril " + name + " saturado (hilos ocupados y cola llena).");
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        if (!isIsolated()) {
+            return;
+        }
+        pool.shutdown();
+        if (!pool.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            log.warn("El carril {} no terminó en {}s; se descartan {} tareas en cola",
+                    name, SHUTDOWN_TIMEOUT_SECONDS, pool.getQueue().size());
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.felipearrano.challenge.infrastructure.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.AsyncConfigurer;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Un {@link ExecutionLane} por clase de trabajo, para que una exportación o una ráfaga de auditoría no
+ * ocupe los hilos que atienden el cálculo y el historial. Los carriles se inyectan por nombre de bean
+ * ({@code calculationLane}, {@code historyReadLane}, {@code bulkLane}, {@code auditLane}).
+ * No se registran como {@link Executor} para no reemplazar el executor de tareas de Spring Boot.
+ */
+@Configuration
+public class ExecutionLanesConfig {
+
+    public static final String CALCULATION_LANE = "calculation";
+    public static final String HISTORY_READ_LANE = "history-read";
+    public static final String BULK_LANE = "bulk";
+    public static final String AUDIT_LANE = "audit";
+
+    @Bean
+    public ExecutionLane calculationLane(ExecutionLanesProperties properties, MeterRegistry meterRegistry) {
+        return new ExecutionLane(CALCULATION_LANE, properties.getCalculation(), Schedulers.immediate(), meterRegistry);
+    }
+
+    @Bean
+    public ExecutionLane historyReadLane(ExecutionLanesProperties properties, MeterRegistry meterRegistry) {
+        return new ExecutionLane(HISTORY_READ_LANE, properties.getHistoryRead(), Schedulers.immediate(), meterRegistry);
+    }
+
+    @Bean
+    public ExecutionLane bulkLane(ExecutionLanesProperties properties, MeterRegistry meterRegistry) {
+        return new ExecutionLane(BULK_LANE, properties.getBulk(), Schedulers.boundedElastic(), meterRegistry);
+    }
+
+    @Bean
+    public ExecutionLane auditLane(ExecutionLanesProperties properties, MeterRegistry meterRegistry) {
+        return new ExecutionLane(AUDIT_LANE, properties.getAudit(), Schedulers.immediate(), meterRegistry);
+    }
+
+    // Los métodos @Async (vaciado de la agrupación del historial) corren en el carril de auditoría cuando está activo
+    @Bean
+    public AsyncConfigurer auditLaneAsyncConfigurer(@Qualifier("auditLane") ExecutionLane auditLane) {
+        return new AsyncConfigurer() {
+            @Override
+            public Executor getAsyncExecutor() {
+                return auditLane.asyncExecutor();
+            }
+        };
+    }
+}
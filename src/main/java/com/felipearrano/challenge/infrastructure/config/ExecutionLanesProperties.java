@@ -0,0 +1,63 @@
+package com.felipearrano.challenge.infrastructure.config;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Carriles de ejecución por clase de trabajo (ver {@link ExecutionLanesConfig}). Un carril desactivado
+ * vuelve al comportamiento sin aislamiento: el event loop de Netty para cálculo e historial,
+ * {@code Schedulers.boundedElastic()} para los trabajos por lotes y el executor de {@code @Async} de
+ * Spring Boot para la auditoría.
+ */
+@Component
+@ConfigurationProperties(prefix = "execution.lanes")
+@Validated
+@Data
+public class ExecutionLanesProperties {
+
+    public enum ThreadType {
+        PLATFORM,
+        VIRTUAL
+    }
+
+    // El cálculo no bloquea y dura menos que el salto de hilo; solo conviene aislarlo si se saturan los event loops
+    @Valid
+    private Lane calculation = new Lane(false, ThreadType.PLATFORM, 4, 1000);
+
+    // Armado y serialización de las páginas y búsquedas del historial
+    @Valid
+    private Lane historyRead = new Lane(true, ThreadType.PLATFORM, 4, 200);
+
+    // Consultas tipo exportación y trabajos por lotes: segmentos archivados, archivado e importación (bloqueantes)
+    @Valid
+    private Lane bulk = new Lane(true, ThreadType.VIRTUAL, 16, 1000);
+
+    // Serialización y guardado de la auditoría (una tarea por registro) y vaciado de la agrupación (@Async)
+    @Valid
+    private Lane audit = new Lane(true, ThreadType.PLATFORM, 8, 10_000);
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Lane {
+
+        private boolean enabled;
+
+        @NotNull(message = "El tipo de hilo del carril no puede ser nulo")
+        private ThreadType threadType;
+
+        @Min(value = 1, message = "La concurrencia máxima del carril debe ser al menos 1")
+        private int maxConcurrency;
+
+        // Tareas que esperan hilo además de las que corren; el resto se rechaza
+        @Min(value = 0, message = "La cola del carril no puede ser negativa")
+        private int queueCapacity;
+    }
+}
@@ -0,0 +1,43 @@
+package com.felipearrano.challenge.infrastructure.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Archivado del historial antiguo en segmentos comprimidos en disco local o un volumen montado.
+ * El job debe habilitarse en una sola instancia; todas las que compartan el directorio pueden leerlo.
+ */
+@Component
+@ConfigurationProperties(prefix = "history.archive")
+@Validated
+@Data
+public class HistoryArchiveProperties {
+
+    private boolean enabled = false;
+
+    @NotNull(message = "El directorio de archivado no puede ser nulo")
+    private Path directory = Path.of("archive");
+
+    // Los registros más antiguos que esta antigüedad se mueven de la BD a segmentos
+    @NotNull(message = "La antigüedad de archivado no puede ser nula")
+    private Duration olderThan = Duration.ofDays(365);
+
+    @Min(value = 1, message = "Un segmento debe contener al menos un registro")
+    private int segmentMaxRows = 100_000;
+
+    // Si es falso esta instancia solo lee los segmentos existentes
+    private boolean jobEnabled = true;
+
+    @NotNull(message = "La expresión cron del archivado no puede ser nula")
+    private String cron = "0 30 3 * * *";
+
+    @NotNull(message = "El intervalo de recarga del catálogo no puede ser nulo")
+    private Duration reloadInterval = Duration.ofMinutes(5);
+}
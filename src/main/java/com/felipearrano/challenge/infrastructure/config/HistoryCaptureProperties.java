@@ -0,0 +1,59 @@
+package com.felipearrano.challenge.infrastructure.config;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Política de captura del historial. Los errores y respuestas no 2xx se registran siempre;
+ * las llamadas exitosas (y, si se pide, los 304) pueden muestrearse por tasa y/o con un máximo por segundo.
+ * Las claves de {@code endpoints} son el path del endpoint (en YAML: {@code "[/api/v1/history]"}).
+ */
+@Component
+@ConfigurationProperties(prefix = "history.capture")
+@Validated
+@Data
+public class HistoryCaptureProperties {
+
+    @Valid
+    private Policy defaults = new Policy();
+
+    @Valid
+    private Map<String, Policy> endpoints = new HashMap<>();
+
+    public Policy policyFor(String endpoint) {
+        return endpoints.getOrDefault(endpoint, defaults);
+    }
+
+    @Data
+    public static class Policy {
+
+        @DecimalMin(value = "0.0", message = "La tasa de muestreo debe ser mínimo 0.0")
+        @DecimalMax(value = "1.0", message = "La tasa de muestreo debe ser máximo 1.0")
+        private double successSampleRate = 1.0;
+
+        // 0 = sin límite por segundo
+        @Min(value = 0, message = "El máximo de capturas por segundo no puede ser negativo")
+        @Max(value = 1_000_000, message = "El máximo de capturas por segundo debe ser a lo más 1000000")
+        private int maxSuccessPerSecond = 0;
+
+        private boolean dropBodies = false;
+
+        // Con true los 304 de los GET condicionales se muestrean como las respuestas exitosas;
+        // se siguen guardando como no exitosos
+        private boolean sampleNotModified = false;
+
+        public boolean isSampling() {
+            return successSampleRate < 1.0 || maxSuccessPerSecond > 0;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.felipearrano.challenge.infrastructure.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Agrupación de llamadas idénticas en el historial. Las llamadas con el mismo endpoint, parámetros,
+ * estado, respuesta y error dentro de {@code window} se guardan como un único registro con la cantidad
+ * de ocurrencias y el primer y último timestamp.
+ */
+@Component
+@ConfigurationProperties(prefix = "history.coalescing")
+@Validated
+@Data
+public class HistoryCoalescingProperties {
+
+    private boolean enabled = false;
+
+    // Tiempo que se retiene el primer registro esperando repeticiones; también es la demora máxima
+    // (más flush-interval) con la que el registro llega a la BD, al buffer reciente y al live tail
+    @NotNull(message = "La ventana de agrupación no puede ser nula")
+    private Duration window = Duration.ofSeconds(1);
+
+    @NotNull(message = "El intervalo de vaciado de la agrupación no puede ser nulo")
+    private Duration flushInterval = Duration.ofMillis(200);
+
+    // Con más llamadas distintas pendientes, las nuevas se guardan sin agrupar
+    @Min(value = 1, message = "El máximo de grupos pendientes debe ser al menos 1")
+    private int maxPending = 10_000;
+}
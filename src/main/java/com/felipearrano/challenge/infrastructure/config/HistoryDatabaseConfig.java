@@ -0,0 +1,131 @@
+package com.felipearrano.challenge.infrastructure.config;
+
+import com.felipearrano.challenge.infrastructure.adapter.out.persistence.WorkloadBulkhead;
+import com.felipearrano.challenge.infrastructure.adapter.out.persistence.routing.ReplicaLagMonitor;
+import com.felipearrano.challenge.infrastructure.adapter.out.persistence.routing.ReplicaRoutingConnectionFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcConnectionDetails;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Separa las lecturas del historial y las escrituras de auditoría en pools distintos, para que un
+ * scan pesado no deje sin conexiones a los inserts ni una ráfaga de inserts bloquee las lecturas.
+ * El pool de lectura es el {@link ConnectionFactory} primario (repositorios e inicialización del schema).
+ * Las métricas {@code r2dbc.pool.*} de Actuator se publican por pool con el nombre del bean.
+ * Con {@code history.db.replica.enabled} las lecturas marcadas con
+ * {@link ReplicaRoutingConnectionFactory#preferReplica} se reparten entre las réplicas que cumplen el lag máximo.
+ */
+@Configuration
+public class HistoryDatabaseConfig {
+
+    public static final String READ_WORKLOAD = "history-read";
+    public static final String WRITE_WORKLOAD = "audit-write";
+    public static final String REPLICA_WORKLOAD = "history-replica";
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionPool historyReadConnectionPool(R2dbcConnectionDetails connectionDetails,
+                                                    HistoryDatabaseProperties properties) {
+        return createPool(connectionDetails, READ_WORKLOAD, properties.getRead());
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionPool auditWriteConnectionPool(R2dbcConnectionDetails connectionDetails,
+                                                   HistoryDatabaseProperties properties) {
+        return createPool(connectionDetails, WRITE_WORKLOAD, properties.getWrite());
+    }
+
+    @Bean
+    @Primary
+    public ConnectionFactory connectionFactory(@Qualifier("historyReadConnectionPool") ConnectionPool pool,
+                                               ObjectProvider<ReplicaLagMonitor> replicaLagMonitor,
+                                               MeterRegistry meterRegistry) {
+        ConnectionFactory primary = new TimedConnectionFactory(pool, READ_WORKLOAD, meterRegistry);
+        ReplicaLagMonitor lagMonitor = replicaLagMonitor.getIfAvailable();
+        if (lagMonitor == null) {
+            return primary;
+        }
+        Map<String, ConnectionFactory> replicas = new LinkedHashMap<>();
+        lagMonitor.getReplicaPools().forEach((name, replicaPool) ->
+                replicas.put(name, new TimedConnectionFactory(replicaPool, REPLICA_WORKLOAD, meterRegistry)));
+        return new ReplicaRoutingConnectionFactory(primary, replicas, lagMonitor);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "history.db.replica", name = "enabled", havingValue = "true")
+    public ReplicaLagMonitor replicaLagMonitor(R2dbcConnectionDetails connectionDetails,
+                                               HistoryDatabaseProperties properties,
+                                               MeterRegistry meterRegistry) {
+        HistoryDatabaseProperties.Replica replica = properties.getReplica();
+        ConnectionFactoryOptions primaryOptions = connectionDetails.getConnectionFactoryOptions();
+        List<String> urls = replica.getUrls();
+        Map<String, ConnectionPool> pools = new LinkedHashMap<>();
+        for (int i = 0; i < urls.size(); i++) {
+            String name = REPLICA_WORKLOAD + "-" + i;
+            pools.put(name, createPool(replicaOptions(urls.get(i), primaryOptions), name, replica.getPool()));
+        }
+        return new ReplicaLagMonitor(pools, replica.getMaxLag(), meterRegistry);
+    }
+
+    @Bean
+    public ConnectionFactory auditWriteConnectionFactory(@Qualifier("auditWriteConnectionPool") ConnectionPool pool,
+                                                         MeterRegistry meterRegistry) {
+        return new TimedConnectionFactory(pool, WRITE_WORKLOAD, meterRegistry);
+    }
+
+    @Bean
+    public WorkloadBulkhead historyReadBulkhead(HistoryDatabaseProperties properties, MeterRegistry meterRegistry) {
+        HistoryDatabaseProperties.Pool pool = properties.getRead();
+        return new WorkloadBulkhead(READ_WORKLOAD, pool.getMaxSize() + pool.getMaxPending(), meterRegistry);
+    }
+
+    @Bean
+    public WorkloadBulkhead auditWriteBulkhead(HistoryDatabaseProperties properties, MeterRegistry meterRegistry) {
+        HistoryDatabaseProperties.Pool pool = properties.getWrite();
+        return new WorkloadBulkhead(WRITE_WORKLOAD, pool.getMaxSize() + pool.getMaxPending(), meterRegistry);
+    }
+
+    private ConnectionPool createPool(R2dbcConnectionDetails connectionDetails, String name,
+                                      HistoryDatabaseProperties.Pool pool) {
+        return createPool(connectionDetails.getConnectionFactoryOptions(), name, pool);
+    }
+
+    private ConnectionPool createPool(ConnectionFactoryOptions options, String name, HistoryDatabaseProperties.Pool pool) {
+        ConnectionFactory connectionFactory = ConnectionFactories.get(options);
+        return new ConnectionPool(ConnectionPoolConfiguration.builder(connectionFactory)
+                .name(name)
+                .initialSize(pool.getInitialSize())
+                .maxSize(pool.getMaxSize())
+                .maxAcquireTime(pool.getMaxAcquireTime())
+                .build());
+    }
+
+    // Las réplicas comparten credenciales con el primario salvo que la URL indique otras
+    private ConnectionFactoryOptions replicaOptions(String url, ConnectionFactoryOptions primaryOptions) {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url);
+        if (options.hasOption(ConnectionFactoryOptions.USER)) {
+            return options;
+        }
+        ConnectionFactoryOptions.Builder builder = options.mutate();
+        if (primaryOptions.hasOption(ConnectionFactoryOptions.USER)) {
+            builder.option(ConnectionFactoryOptions.USER, primaryOptions.getRequiredValue(ConnectionFactoryOptions.USER));
+        }
+        if (primaryOptions.hasOption(ConnectionFactoryOptions.PASSWORD)) {
+            builder.option(ConnectionFactoryOptions.PASSWORD, primaryOptions.getRequiredValue(ConnectionFactoryOptions.PASSWORD));
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,79 @@
+package com.felipearrano.challenge.infrastructure.config;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pools R2DBC separados por carga de trabajo: lecturas del historial y escrituras de auditoría,
+ * más las réplicas de lectura opcionales.
+ * Las credenciales y la URL del primario siguen saliendo de {@code spring.r2dbc.*}.
+ */
+@Component
+@ConfigurationProperties(prefix = "history.db")
+@Validated
+@Data
+public class HistoryDatabaseProperties {
+
+    @Valid
+    private Pool read = new Pool(2, 6, Duration.ofSeconds(2), 20);
+
+    @Valid
+    private Pool write = new Pool(2, 4, Duration.ofSeconds(1), 200);
+
+    @Valid
+    private Replica replica = new Replica();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Pool {
+
+        @Min(value = 0, message = "El tamaño inicial del pool no puede ser negativo")
+        private int initialSize;
+
+        @Min(value = 1, message = "El tamaño máximo del pool debe ser al menos 1")
+        private int maxSize;
+
+        @NotNull(message = "El timeout de adquisición de conexión no puede ser nulo")
+        private Duration maxAcquireTime;
+
+        // Operaciones que pueden esperar conexión además de las que ya la tienen; el resto se rechaza
+        @Min(value = 0, message = "El máximo de operaciones en espera no puede ser negativo")
+        private int maxPending;
+    }
+
+    @Data
+    public static class Replica {
+
+        private boolean enabled = false;
+
+        // URLs R2DBC de las réplicas; si no incluyen usuario se usan las credenciales del primario
+        private List<String> urls = new ArrayList<>();
+
+        @NotNull(message = "El lag máximo de réplica no puede ser nulo")
+        private Duration maxLag = Duration.ofSeconds(5);
+
+        @NotNull(message = "El intervalo de verificación del lag no puede ser nulo")
+        private Duration lagCheckInterval = Duration.ofSeconds(5);
+
+        @Valid
+        private Pool pool = new Pool(1, 6, Duration.ofSeconds(2), 20);
+
+        @AssertTrue(message = "Si las réplicas están habilitadas se debe indicar al menos una URL")
+        public boolean isUrlsConfigured() {
+            return !enabled || !urls.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.felipearrano.challenge.infrastructure.config;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * ETag de las páginas de /api/v1/history, derivado de la marca de escrituras guardada en Redis.
+ */
+@Component
+@ConfigurationProperties(prefix = "history.etag")
+@Validated
+@Data
+public class HistoryEtagProperties {
+
+    private boolean enabled = true;
+
+    @NotBlank(message = "La clave Redis de la marca de escrituras no puede estar vacía")
+    private String redisKey = "history:write-watermark";
+
+    // Pasado este tiempo sin respuesta de Redis la página se sirve sin ETag y la marca no avanza
+    @NotNull(message = "El timeout de Redis para el ETag no puede ser nulo")
+    private Duration redisTimeout = Duration.ofMillis(200);
+
+    // Endpoints cuyas llamadas registradas no avanzan la marca: son lecturas del propio historial y, si no,
+    // cada consulta auditada invalidaría el ETag de la siguiente
+    @NotNull(message = "Los endpoints ignorados por el ETag no pueden ser nulos")
+    private Set<String> ignoredEndpoints = new LinkedHashSet<>(Set.of(
+            "/api/v1/history", "/api/v1/history/search", "/api/v1/history/live"));
+}
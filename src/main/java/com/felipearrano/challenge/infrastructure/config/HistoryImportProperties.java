@@ -0,0 +1,39 @@
+package com.felipearrano.challenge.infrastructure.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import java.nio.file.Path;
+
+/**
+ * Importación masiva de historial desde archivos NDJSON o CSV.
+ * Se activa al indicar {@code history.import.file}; ver {@code HistoryImportCommand}.
+ */
+@Component
+@ConfigurationProperties(prefix = "history.import")
+@Validated
+@Data
+public class HistoryImportProperties {
+
+    public enum Format { AUTO, NDJSON, CSV }
+
+    private Path file;
+
+    @NotNull(message = "El formato de importación no puede ser nulo")
+    private Format format = Format.AUTO;
+
+    // Identifica la importación para poder reanudarla; por defecto, nombre, tamaño y fecha de modificación del archivo
+    private String jobId;
+
+    @Min(value = 1, message = "El tamaño de lote de importación debe ser al menos 1")
+    private int batchSize = 50_000;
+
+    @Min(value = 0, message = "El máximo de registros inválidos no puede ser negativo")
+    private long maxInvalidRecords = 1_000;
+
+    private boolean exitOnCompletion = true;
+}
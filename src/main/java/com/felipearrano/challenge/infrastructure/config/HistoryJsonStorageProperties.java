@@ -0,0 +1,32 @@
+package com.felipearrano.challenge.infrastructure.config;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Copia JSONB de parámetros y respuestas del historial para buscarlas por contenido.
+ * Con {@code enabled} los parámetros se registran como objeto con nombre ({@code {"num1": 10.5, ...}}),
+ * cada insert y cada lote importado por COPY guardan además {@code parameters_json} y {@code response_json},
+ * y al arrancar se crean los índices GIN y un índice de expresión por cada clave de {@code range-keys}.
+ */
+@Component
+@ConfigurationProperties(prefix = "history.json-storage")
+@Validated
+@Data
+public class HistoryJsonStorageProperties {
+
+    private boolean enabled = false;
+
+    // Claves de parameters_json con índice B-tree, las únicas que admiten comparaciones >, >=, < y <=
+    @NotNull(message = "La lista de claves con índice de rango no puede ser nula")
+    private List<@Pattern(regexp = "[A-Za-z_][A-Za-z0-9_]{0,39}",
+            message = "Las claves con índice de rango deben ser identificadores simples") String> rangeKeys =
+            new ArrayList<>(List.of("num1", "num2"));
+}
@@ -0,0 +1,37 @@
+package com.felipearrano.challenge.infrastructure.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Live tail del historial por Server-Sent Events.
+ */
+@Component
+@ConfigurationProperties(prefix = "history.live-tail")
+@Validated
+@Data
+public class HistoryLiveTailProperties {
+
+    public enum Overflow {
+        // Se descartan los eventos más antiguos del buffer del suscriptor
+        DROP_OLDEST,
+        // Solo se conserva el último evento pendiente
+        LATEST
+    }
+
+    @Min(value = 1, message = "El buffer por suscriptor debe admitir al menos un evento")
+    private int bufferSize = 256;
+
+    @NotNull(message = "La estrategia de desborde no puede ser nula")
+    private Overflow overflow = Overflow.DROP_OLDEST;
+
+    // Comentario SSE periódico para que proxies y balanceadores no corten conexiones inactivas
+    @NotNull(message = "El intervalo de heartbeat no puede ser nulo")
+    private Duration heartbeat = Duration.ofSeconds(15);
+}
@@ -0,0 +1,74 @@
+package com.felipearrano.challenge.infrastructure.config;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Cliente HTTP del servicio de porcentaje real ({@code percentage-service.mode=http}).
+ * El upstream responde {@code {"percentage": <valor>}} en {@code base-url + path}.
+ */
+@Component
+@ConfigurationProperties(prefix = "percentage-service.http")
+@Validated
+@Data
+public class HttpPercentageServiceProperties {
+
+    @NotBlank(message = "La URL base del servicio de porcentaje no puede estar vacía")
+    private String baseUrl = "http://localhost:8089";
+
+    @NotBlank(message = "La ruta del servicio de porcentaje no puede estar vacía")
+    private String path = "/percentage";
+
+    @NotNull(message = "El timeout de conexión no puede ser nulo")
+    private Duration connectTimeout = Duration.ofMillis(500);
+
+    // Tiempo máximo entre el envío de la petición y la respuesta completa de cada intento
+    @NotNull(message = "El timeout de respuesta no puede ser nulo")
+    private Duration responseTimeout = Duration.ofSeconds(2);
+
+    private boolean keepAlive = true;
+
+    // h2 con TLS o h2c en texto plano, con HTTP/1.1 como alternativa
+    private boolean http2 = false;
+
+    @NotBlank(message = "La clave de Redis no puede estar vacía")
+    private String redisKey = "percentage:current";
+
+    @NotNull(message = "El TTL de Redis no puede ser nulo")
+    private Duration redisTtl = Duration.ofMinutes(30);
+
+    @Valid
+    private Pool pool = new Pool();
+
+    @Data
+    public static class Pool {
+
+        @Min(value = 1, message = "El máximo de conexiones debe ser al menos 1")
+        private int maxConnections = 50;
+
+        // Peticiones que pueden esperar una conexión libre; el resto falla de inmediato
+        @Min(value = 0, message = "El máximo de adquisiciones pendientes no puede ser negativo")
+        private int maxPending = 200;
+
+        @NotNull(message = "El timeout de adquisición de conexión no puede ser nulo")
+        private Duration acquireTimeout = Duration.ofMillis(500);
+
+        // Por debajo del idle timeout del upstream, para no reutilizar conexiones que el servidor ya cerró
+        @NotNull(message = "El tiempo máximo de inactividad no puede ser nulo")
+        private Duration maxIdleTime = Duration.ofSeconds(30);
+
+        @NotNull(message = "El tiempo máximo de vida de la conexión no puede ser nulo")
+        private Duration maxLifeTime = Duration.ofMinutes(5);
+
+        @NotNull(message = "El intervalo de limpieza del pool no puede ser nulo")
+        private Duration evictionInterval = Duration.ofSeconds(30);
+    }
+}
@@ -0,0 +1,58 @@
+package com.felipearrano.challenge.infrastructure.config;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Soporte del header {@code Idempotency-Key}: la primera respuesta se guarda en Redis y los reintentos
+ * con la misma clave la reciben sin volver a ejecutar la petición.
+ */
+@Component
+@ConfigurationProperties(prefix = "idempotency")
+@Validated
+@Data
+public class IdempotencyProperties {
+
+    private boolean enabled = true;
+
+    @NotBlank(message = "El nombre del header de idempotencia no puede estar vacío")
+    private String header = "Idempotency-Key";
+
+    @Min(value = 1, message = "El largo máximo de la clave debe ser al menos 1")
+    @Max(value = 1024, message = "El largo máximo de la clave debe ser a lo más 1024")
+    private int maxKeyLength = 255;
+
+    // Patrones Ant de las rutas que aceptan el header
+    @NotEmpty(message = "Debe indicarse al menos una ruta idempotente")
+    private List<String> paths = new ArrayList<>(List.of("/api/v1/calculations/sum-with-percentage"));
+
+    // Cuánto se conserva la respuesta para los reintentos
+    @NotNull(message = "El TTL de las respuestas guardadas no puede ser nulo")
+    private Duration ttl = Duration.ofHours(24);
+
+    // Vida de la marca "en curso": debe superar la duración máxima de una petición
+    @NotNull(message = "El TTL de la marca en curso no puede ser nulo")
+    private Duration lockTtl = Duration.ofSeconds(30);
+
+    // Un duplicado concurrente consulta Redis con este intervalo hasta que la original termina
+    @NotNull(message = "El intervalo de espera no puede ser nulo")
+    private Duration pollInterval = Duration.ofMillis(20);
+
+    // Pasado este tiempo el duplicado recibe 409 en lugar de seguir esperando
+    @NotNull(message = "El tiempo máximo de espera no puede ser nulo")
+    private Duration waitTimeout = Duration.ofSeconds(10);
+
+    @NotBlank(message = "El prefijo de las claves en Redis no puede estar vacío")
+    private String redisKeyPrefix = "idempotency:";
+}
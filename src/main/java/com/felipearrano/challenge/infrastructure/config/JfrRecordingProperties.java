@@ -0,0 +1,45 @@
+package com.felipearrano.challenge.infrastructure.config;
+
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.validation.annotation.Validated;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Grabaciones de JDK Flight Recorder bajo demanda desde el endpoint {@code /actuator/jfr}.
+ * Toda grabación queda acotada en duración y tamaño, aunque nadie la detenga.
+ */
+@Component
+@ConfigurationProperties(prefix = "diagnostics.jfr")
+@Validated
+@Data
+public class JfrRecordingProperties {
+
+    @NotNull(message = "La duración por defecto de la grabación no puede ser nula")
+    private Duration defaultDuration = Duration.ofSeconds(60);
+
+    @NotNull(message = "La duración máxima de la grabación no puede ser nula")
+    private Duration maxDuration = Duration.ofMinutes(10);
+
+    @NotNull(message = "El tamaño máximo de la grabación no puede ser nulo")
+    private DataSize maxSize = DataSize.ofMegabytes(250);
+
+    @NotNull(message = "El directorio de las grabaciones no puede ser nulo")
+    private Path directory = Path.of(System.getProperty("java.io.tmpdir"));
+
+    // Configuración de eventos del JDK: "default" (~1% de overhead) o "profile" (más detalle, ~2%)
+    @NotBlank(message = "La configuración de JFR no puede estar vacía")
+    private String settings = "profile";
+
+    @AssertTrue(message = "La duración por defecto no puede superar a la máxima")
+    public boolean isDefaultDurationValid() {
+        return defaultDuration == null || maxDuration == null || defaultDuration.compareTo(maxDuration) <= 0;
+    }
+}
@@ -1,5 +1,9 @@
 package com.felipearrano.challenge.infrastructure.config;
 
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
@@ -10,6 +14,8 @@ import org.springframework.stereotype.Component;
 import org.springframework.validation.annotation.Validated;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 
 @Component
 @ConfigurationProperties(prefix = "mock.percentage-service")
@@ -20,6 +26,7 @@ public class MockServiceProperties {
     @NotNull(message = "El valor del porcentaje mock no puede ser nulo")
     private Double percentageValue;
 
+    // Latencia de la distribución FIXED y del modo rápido de BIMODAL
     @NotNull(message = "El delay simulado no puede ser nulo")
     private Duration delay = Duration.ofMillis(500);
 
@@ -32,4 +39,107 @@ public class MockServiceProperties {
     @Min(value = 0, message = "La tasa de fallo debe ser mínimo 0.0")
     @Max(value = 1, message = "La tasa de fallo debe ser máximo 1.0")
     private double failureRate = 0.5;
-}
\ No newline at end of file
+
+    // Con semilla cada hilo recibe un generador derivado de ella y la secuencia de latencias y fallos se repite
+    private Long seed;
+
+    @Valid
+    private Latency latency = new Latency();
+
+    @Valid
+    private Outage outage = new Outage();
+
+    @Valid
+    private Scenario scenario = new Scenario();
+
+    public enum Distribution {
+        FIXED,
+        UNIFORM,
+        LOG_NORMAL,
+        BIMODAL
+    }
+
+    @Data
+    public static class Latency {
+
+        @NotNull(message = "La distribución de latencia no puede ser nula")
+        private Distribution distribution = Distribution.FIXED;
+
+        // UNIFORM
+        @NotNull(message = "La latencia mínima no puede ser nula")
+        private Duration min = Duration.ofMillis(100);
+
+        @NotNull(message = "La latencia máxima no puede ser nula")
+        private Duration max = Duration.ofMillis(900);
+
+        // LOG_NORMAL: la mediana fija el centro y sigma el largo de la cola
+        @NotNull(message = "La mediana de latencia no puede ser nula")
+        private Duration median = Duration.ofMillis(300);
+
+        @DecimalMin(value = "0.0", message = "El sigma de la distribución log-normal no puede ser negativo")
+        private double sigma = 0.5;
+
+        // BIMODAL: una fracción de las llamadas cae en el modo lento
+        @NotNull(message = "La latencia del modo lento no puede ser nula")
+        private Duration slowDelay = Duration.ofSeconds(2);
+
+        @DecimalMin(value = "0.0", message = "La proporción de llamadas lentas debe ser mínimo 0.0")
+        @DecimalMax(value = "1.0", message = "La proporción de llamadas lentas debe ser máximo 1.0")
+        private double slowRatio = 0.05;
+
+        // Tope para que la cola de LOG_NORMAL no genere esperas absurdas
+        @NotNull(message = "La latencia máxima muestreada no puede ser nula")
+        private Duration cap = Duration.ofSeconds(30);
+
+        @AssertTrue(message = "La latencia mínima no puede superar a la máxima")
+        public boolean isRangeValid() {
+            return min == null || max == null || min.compareTo(max) <= 0;
+        }
+    }
+
+    /**
+     * Caídas en ráfaga: ventanas de {@code duration} en las que todas las llamadas fallan, separadas por
+     * intervalos exponenciales de media {@code meanInterval}.
+     */
+    @Data
+    public static class Outage {
+
+        private boolean enabled = false;
+
+        @NotNull(message = "El intervalo medio entre caídas no puede ser nulo")
+        private Duration meanInterval = Duration.ofMinutes(5);
+
+        @NotNull(message = "La duración de las caídas no puede ser nula")
+        private Duration duration = Duration.ofSeconds(20);
+    }
+
+    /**
+     * Guion de fases que se recorren en orden desde el arranque. Cada fase puede redefinir la latencia y
+     * la tasa de fallo; lo que no redefine se toma de la configuración general.
+     */
+    @Data
+    public static class Scenario {
+
+        // Al terminar la última fase se vuelve a la primera; si no, la última queda activa
+        private boolean loop = true;
+
+        @Valid
+        private List<Phase> phases = new ArrayList<>();
+    }
+
+    @Data
+    public static class Phase {
+
+        private String name;
+
+        @NotNull(message = "La duración de la fase no puede ser nula")
+        private Duration duration;
+
+        @Valid
+        private Latency latency;
+
+        @DecimalMin(value = "0.0", message = "La tasa de fallo de la fase debe ser mínimo 0.0")
+        @DecimalMax(value = "1.0", message = "La tasa de fallo de la fase debe ser máximo 1.0")
+        private Double failureRate;
+    }
+}
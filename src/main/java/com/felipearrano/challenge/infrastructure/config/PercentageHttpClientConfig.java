@@ -0,0 +1,67 @@
+package com.felipearrano.challenge.infrastructure.config;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * WebClient dedicado al servicio de porcentaje, con su propio pool de Reactor Netty para que una
+ * degradación del upstream no consuma conexiones de otros clientes HTTP.
+ * Las métricas del pool se publican como {@code reactor.netty.connection.provider.*}
+ * (conexiones activas, ociosas, totales y adquisiciones pendientes) con la etiqueta {@code name=percentage-service}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "percentage-service.mode", havingValue = "http")
+public class PercentageHttpClientConfig {
+
+    public static final String POOL_NAME = "percentage-service";
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider percentageConnectionProvider(HttpPercentageServiceProperties properties) {
+        return connectionProvider(properties.getPool());
+    }
+
+    @Bean
+    public WebClient percentageWebClient(WebClient.Builder builder,
+                                         @Qualifier("percentageConnectionProvider") ConnectionProvider connectionProvider,
+                                         HttpPercentageServiceProperties properties) {
+        return builder.clone()
+                .baseUrl(properties.getBaseUrl())
+                .clientConnector(new ReactorClientHttpConnector(httpClient(connectionProvider, properties)))
+                .build();
+    }
+
+    public static ConnectionProvider connectionProvider(HttpPercentageServiceProperties.Pool pool) {
+        return ConnectionProvider.builder(POOL_NAME)
+                .maxConnections(pool.getMaxConnections())
+                .pendingAcquireMaxCount(pool.getMaxPending())
+                .pendingAcquireTimeout(pool.getAcquireTimeout())
+                .maxIdleTime(pool.getMaxIdleTime())
+                .maxLifeTime(pool.getMaxLifeTime())
+                .evictInBackground(pool.getEvictionInterval())
+                .metrics(true)
+                .build();
+    }
+
+    public static HttpClient httpClient(ConnectionProvider connectionProvider, HttpPercentageServiceProperties properties) {
+        HttpClient client = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.getConnectTimeout().toMillis())
+                .option(ChannelOption.SO_KEEPALIVE, properties.isKeepAlive())
+                .keepAlive(properties.isKeepAlive())
+                .responseTimeout(properties.getResponseTimeout());
+
+        if (!properties.isHttp2()) {
+            return client.protocol(HttpProtocol.HTTP11);
+        }
+        return properties.getBaseUrl().startsWith("https")
+                ? client.secure().protocol(HttpProtocol.H2, HttpProtocol.HTTP11)
+                : client.protocol(HttpProtocol.H2C, HttpProtocol.HTTP11);
+    }
+}
@@ -0,0 +1,68 @@
+package com.felipearrano.challenge.infrastructure.config;
+
+import com.felipearrano.challenge.infrastructure.adapter.out.external.resilience.AdaptiveTimeout;
+import com.felipearrano.challenge.infrastructure.adapter.out.external.resilience.RetryBudget;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class PercentageResilienceConfig {
+
+    @Bean
+    public RetryBudget percentageRetryBudget(PercentageRetryProperties properties, MeterRegistry meterRegistry) {
+        RetryBudget retryBudget = new RetryBudget(
+                properties.getBudget().getMaxTokens(),
+                properties.getBudget().getTokenRatio());
+
+        Gauge.builder("percentage.retry.budget.tokens", retryBudget, RetryBudget::availableTokens)
+                .description("Tokens disponibles en el presupuesto de reintentos del servicio de porcentaje")
+                .register(meterRegistry);
+
+        return retryBudget;
+    }
+
+    @Bean
+    public AdaptiveTimeout percentageAdaptiveTimeout(PercentageTimeoutProperties properties, MeterRegistry meterRegistry) {
+        AdaptiveTimeout adaptiveTimeout = new AdaptiveTimeout(
+                properties.isEnabled(),
+                properties.getQuantile(),
+                properties.getMultiplier(),
+                properties.getFloor(),
+                properties.getCeiling(),
+                properties.getInitial(),
+                properties.getWindow(),
+                properties.getMinSamples(),
+                properties.getSlowPeriods().stream()
+                        .map(period -> new AdaptiveTimeout.SlowPeriod(
+                                LocalTime.parse(period.getStart()), LocalTime.parse(period.getEnd()), period.getFactor()))
+                        .toList(),
+                ZoneId.of(properties.getZone()),
+                Clock.systemUTC());
+
+        if (properties.isEnabled()) {
+            TimeGauge.builder("percentage.timeout.current", adaptiveTimeout, TimeUnit.NANOSECONDS,
+                            timeout -> timeout.currentTimeout().toNanos())
+                    .description("Timeout por intento vigente hacia el servicio de porcentaje")
+                    .register(meterRegistry);
+            TimeGauge.builder("percentage.latency.observed", adaptiveTimeout, TimeUnit.NANOSECONDS,
+                            AdaptiveTimeout::observedQuantileNanos)
+                    .description("Cuantil de latencia del servicio de porcentaje en la ventana del timeout adaptativo")
+                    .tag("quantile", String.valueOf(properties.getQuantile()))
+                    .register(meterRegistry);
+            FunctionCounter.builder("percentage.timeout.expired", adaptiveTimeout, AdaptiveTimeout::expiredCount)
+                    .description("Intentos al servicio de porcentaje cortados por el timeout adaptativo")
+                    .register(meterRegistry);
+        }
+
+        return adaptiveTimeout;
+    }
+}
@@ -0,0 +1,41 @@
+package com.felipearrano.challenge.infrastructure.config;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "percentage-service.retry")
+@Validated
+@Data
+public class PercentageRetryProperties {
+
+    @Min(value = 1, message = "El número máximo de intentos debe ser al menos 1")
+    private int maxAttempts = 3;
+
+    @NotNull(message = "El delay base de reintento no puede ser nulo")
+    private Duration baseDelay = Duration.ofMillis(100);
+
+    @NotNull(message = "El delay máximo de reintento no puede ser nulo")
+    private Duration maxDelay = Duration.ofSeconds(2);
+
+    @Valid
+    private Budget budget = new Budget();
+
+    @Data
+    public static class Budget {
+
+        @DecimalMin(value = "1.0", message = "El máximo de tokens debe ser al menos 1")
+        private double maxTokens = 10.0;
+
+        @DecimalMin(value = "0.0", message = "La proporción de tokens por éxito no puede ser negativa")
+        private double tokenRatio = 0.1;
+    }
+}
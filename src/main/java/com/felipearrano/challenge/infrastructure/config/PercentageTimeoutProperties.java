@@ -0,0 +1,78 @@
+package com.felipearrano.challenge.infrastructure.config;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Timeout por intento del servicio de porcentaje, derivado de la latencia observada:
+ * {@code quantile} de la ventana móvil por {@code multiplier}, acotado entre {@code floor} y {@code ceiling}.
+ * Hasta reunir {@code min-samples} muestras en la ventana se usa {@code initial}.
+ */
+@Component
+@ConfigurationProperties(prefix = "percentage-service.timeout")
+@Validated
+@Data
+public class PercentageTimeoutProperties {
+
+    private boolean enabled = true;
+
+    @DecimalMin(value = "0.5", message = "El cuantil del timeout debe estar entre 0.5 y 1")
+    @DecimalMax(value = "1.0", message = "El cuantil del timeout debe estar entre 0.5 y 1")
+    private double quantile = 0.99;
+
+    @DecimalMin(value = "1.0", message = "El multiplicador del timeout debe ser al menos 1")
+    private double multiplier = 3.0;
+
+    @NotNull(message = "El timeout mínimo no puede ser nulo")
+    private Duration floor = Duration.ofMillis(200);
+
+    // Con el adaptador HTTP, el response-timeout de Netty corta antes si es menor
+    @NotNull(message = "El timeout máximo no puede ser nulo")
+    private Duration ceiling = Duration.ofSeconds(5);
+
+    @NotNull(message = "El timeout inicial no puede ser nulo")
+    private Duration initial = Duration.ofSeconds(2);
+
+    // Ventana de latencias observadas; se descarta por sextos, así que olvida una caída en ese tiempo
+    @NotNull(message = "La ventana de latencias no puede ser nula")
+    private Duration window = Duration.ofMinutes(1);
+
+    @Min(value = 1, message = "El mínimo de muestras del timeout debe ser al menos 1")
+    private int minSamples = 50;
+
+    // Zona horaria de los slow-periods
+    @NotNull(message = "La zona horaria de los periodos lentos no puede ser nula")
+    private String zone = "UTC";
+
+    // Franjas horarias en las que el upstream es lento conocido (backups, batch nocturno): el timeout se multiplica
+    @Valid
+    private List<SlowPeriod> slowPeriods = new ArrayList<>();
+
+    @Data
+    public static class SlowPeriod {
+
+        @NotNull(message = "El inicio del periodo lento no puede ser nulo")
+        @Pattern(regexp = "([01]\\d|2[0-3]):[0-5]\\d", message = "El inicio del periodo lento debe tener formato HH:mm")
+        private String start;
+
+        // Si es anterior a start, el periodo cruza la medianoche
+        @NotNull(message = "El fin del periodo lento no puede ser nulo")
+        @Pattern(regexp = "([01]\\d|2[0-3]):[0-5]\\d", message = "El fin del periodo lento debe tener formato HH:mm")
+        private String end;
+
+        @DecimalMin(value = "1.0", message = "El factor del periodo lento debe ser al menos 1")
+        private double factor = 2.0;
+    }
+}
@@ -0,0 +1,37 @@
+package com.felipearrano.challenge.infrastructure.config;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Buffer circular en memoria con los últimos registros del historial.
+ * Memoria máxima aproximada: capacity * 2 * history.serialization.max-bytes.
+ */
+@Component
+@ConfigurationProperties(prefix = "history.recent-cache")
+@Validated
+@Data
+public class RecentHistoryCacheProperties {
+
+    private boolean enabled = true;
+
+    // Se redondea a la siguiente potencia de 2
+    @Min(value = 16, message = "La capacidad del buffer de historial reciente debe ser al menos 16")
+    @Max(value = 1 << 20, message = "La capacidad del buffer de historial reciente debe ser a lo más 1048576")
+    private int capacity = 1024;
+
+    // Registros extra leídos para reordenar escrituras asíncronas que terminaron fuera de orden
+    @Min(value = 0, message = "El margen de reordenamiento no puede ser negativo")
+    private int orderingSlack = 64;
+
+    // Pasado este tiempo el total de la BD se considera desactualizado y se vuelve a consultar
+    @NotNull(message = "La antigüedad máxima del total no puede ser nula")
+    private Duration totalMaxAge = Duration.ofSeconds(30);
+}
@@ -0,0 +1,25 @@
+package com.felipearrano.challenge.infrastructure.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "startup.warmup")
+@Validated
+@Data
+public class StartupWarmupProperties {
+
+    private boolean enabled = false;
+
+    @Min(value = 0, message = "Las iteraciones de calentamiento no pueden ser negativas")
+    private int iterations = 2000;
+
+    @NotNull(message = "El timeout de calentamiento no puede ser nulo")
+    private Duration timeout = Duration.ofSeconds(10);
+}
@@ -0,0 +1,46 @@
+package com.felipearrano.challenge.infrastructure.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryMetadata;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decorador que mide cuánto tarda en obtenerse una conexión del pool ({@code history.db.pool.acquire}).
+ * Las adquisiciones que fallan (p. ej. por {@code max-acquire-time}) también se registran: son justamente la cola
+ * de la distribución y, si se omitieran, el timer mostraría un pool sano mientras las peticiones vencen.
+ */
+class TimedConnectionFactory implements ConnectionFactory {
+
+    private final ConnectionFactory delegate;
+    private final Timer acquireTimer;
+
+    TimedConnectionFactory(ConnectionFactory delegate, String workload, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.acquireTimer = Timer.builder("history.db.pool.acquire")
+                .description("Latencia de adquisición de conexiones R2DBC")
+                .tag("workload", workload)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Publisher<? extends Connection> create() {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return Mono.from(delegate.create())
+                    .doOnNext(connection -> acquireTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS))
+                    .doOnError(error -> acquireTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+        });
+    }
+
+    @Override
+    public ConnectionFactoryMetadata getMetadata() {
+        return delegate.getMetadata();
+    }
+}
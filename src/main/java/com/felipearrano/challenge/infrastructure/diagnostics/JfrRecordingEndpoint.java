@@ -0,0 +1,151 @@
+package com.felipearrano.challenge.infrastructure.diagnostics;
+
+import com.felipearrano.challenge.infrastructure.config.JfrRecordingProperties;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Set;
+
+/**
+ * Grabaciones de JDK Flight Recorder sin reiniciar la aplicación.
+ * <ul>
+ *     <li>{@code POST /actuator/jfr} inicia una grabación ({@code duration} y {@code settings} opcionales).</li>
+ *     <li>{@code GET /actuator/jfr} devuelve el estado de la grabación actual o de la última.</li>
+ *     <li>{@code DELETE /actuator/jfr} la detiene si sigue en curso y descarga el archivo {@code .jfr}.</li>
+ * </ul>
+ * Hay como máximo una grabación a la vez; la duración se acota a {@code diagnostics.jfr.max-duration} y el
+ * tamaño a {@code diagnostics.jfr.max-size}. Solo se conserva en disco el archivo de la última grabación.
+ */
+@Component
+@Endpoint(id = "jfr")
+public class JfrRecordingEndpoint implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(JfrRecordingEndpoint.class);
+    private static final int STATUS_CONFLICT = 409;
+    private static final Set<String> SETTINGS = Set.of("default", "profile");
+    private static final DateTimeFormatter FILE_TIMESTAMP =
+            DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneOffset.UTC);
+
+    private final JfrRecordingProperties properties;
+
+    // Protegidos por el monitor del endpoint
+    private Recording recording;
+    private Path file;
+    private String settings;
+
+    public JfrRecordingEndpoint(JfrRecordingProperties properties) {
+        this.properties = properties;
+    }
+
+    @ReadOperation
+    public synchronized RecordingStatus status() {
+        if (recording == null) {
+            return new RecordingStatus("NONE", null, null, null, null, null);
+        }
+        Long size = file != null && Files.exists(file) ? file.toFile().length() : null;
+        return new RecordingStatus(recording.getState().name(), recording.getStartTime(),
+                recording.getDuration(), settings, file != null ? file.toString() : null, size);
+    }
+
+    @WriteOperation
+    public synchronized WebEndpointResponse<RecordingStatus> start(@Nullable Duration duration, @Nullable String settings) {
+        if (isActive()) {
+            return new WebEndpointResponse<>(status(), STATUS_CONFLICT);
+        }
+        String configurationName = settings != null ? settings : properties.getSettings();
+        if (!SETTINGS.contains(configurationName)) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+        Duration requested = duration != null && !duration.isNegative() && !duration.isZero()
+                ? duration : properties.getDefaultDuration();
+        Duration bounded = requested.compareTo(properties.getMaxDuration()) > 0 ? properties.getMaxDuration() : requested;
+
+        try {
+            discardPrevious();
+            Files.createDirectories(properties.getDirectory());
+            Path destination = properties.getDirectory().resolve("challenge-" + FILE_TIMESTAMP.format(Instant.now()) + ".jfr");
+
+            Recording newRecording = new Recording(Configuration.getConfiguration(configurationName));
+            newRecording.setName("challenge-on-demand");
+            newRecording.setToDisk(true);
+            newRecording.setDuration(bounded);
+            newRecording.setMaxSize(properties.getMaxSize().toBytes());
+            newRecording.setDestination(destination);
+            newRecording.start();
+
+            this.recording = newRecording;
+            this.file = destination;
+            this.settings = configurationName;
+        } catch (IOException | ParseException e) {
+            log.error("No se pudo iniciar la grabación JFR: {}", e.getMessage(), e);
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_INTERNAL_SERVER_ERROR);
+        }
+        log.info("Grabación JFR iniciada: configuración '{}', duración {}, destino {}.", configurationName, bounded, file);
+        return new WebEndpointResponse<>(status(), WebEndpointResponse.STATUS_OK);
+    }
+
+    @DeleteOperation(produces = "application/octet-stream")
+    public synchronized WebEndpointResponse<Resource> stop() {
+        if (recording == null) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        if (recording.getState() == RecordingState.RUNNING || recording.getState() == RecordingState.DELAYED) {
+            recording.stop();
+            log.info("Grabación JFR detenida: {}.", file);
+        }
+        if (file == null || !Files.exists(file)) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        return new WebEndpointResponse<>(new FileSystemResource(file), WebEndpointResponse.STATUS_OK);
+    }
+
+    @Override
+    public synchronized void destroy() {
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    private boolean isActive() {
+        return recording != null
+                && (recording.getState() == RecordingState.NEW
+                || recording.getState() == RecordingState.DELAYED
+                || recording.getState() == RecordingState.RUNNING);
+    }
+
+    private void discardPrevious() throws IOException {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+        if (file != null) {
+            Files.deleteIfExists(file);
+            file = null;
+        }
+    }
+
+    public record RecordingStatus(String state, Instant startedAt, Duration duration, String settings,
+                                  String file, Long sizeBytes) {
+    }
+}
@@ -0,0 +1,15 @@
+package com.felipearrano.challenge.infrastructure.diagnostics.event;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.felipearrano.challenge.Calculation")
+@Label("Cálculo con porcentaje")
+@Description("Cálculo completo de CalculateSumService, incluida la obtención del porcentaje")
+@Category({"Challenge", "Cálculos"})
+@StackTrace(false)
+public class CalculationEvent extends TimedOperationEvent {
+}
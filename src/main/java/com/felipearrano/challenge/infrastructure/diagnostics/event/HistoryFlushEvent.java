@@ -0,0 +1,22 @@
+package com.felipearrano.challenge.infrastructure.diagnostics.event;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.felipearrano.challenge.HistoryFlush")
+@Label("Escritura de historial")
+@Description("Persistencia de registros del historial en la BD")
+@Category({"Challenge", "Historial"})
+@StackTrace(false)
+public class HistoryFlushEvent extends TimedOperationEvent {
+
+    @Label("Registros")
+    int records;
+
+    public HistoryFlushEvent(int records) {
+        this.records = records;
+    }
+}
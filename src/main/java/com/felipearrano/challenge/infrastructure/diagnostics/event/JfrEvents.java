@@ -0,0 +1,55 @@
+package com.felipearrano.challenge.infrastructure.diagnostics.event;
+
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Emisión de eventos JFR desde código reactivo. Sin una grabación activa el costo es una instancia
+ * por operación y una comprobación de {@code isEnabled()}.
+ */
+public final class JfrEvents {
+
+    private JfrEvents() {
+    }
+
+    /**
+     * Mide {@code source} desde la suscripción hasta su terminación (valor, vacío, error o cancelación).
+     */
+    public static <T> Mono<T> timed(Mono<T> source, Supplier<? extends TimedOperationEvent> eventFactory) {
+        return Mono.defer(() -> {
+            TimedOperationEvent event = eventFactory.get();
+            if (!event.isEnabled()) {
+                return source;
+            }
+            AtomicBoolean committed = new AtomicBoolean();
+            event.begin();
+            return source
+                    .doOnSuccess(value -> commit(event, committed, value != null
+                            ? TimedOperationEvent.OUTCOME_SUCCESS
+                            : TimedOperationEvent.OUTCOME_EMPTY))
+                    .doOnError(error -> commit(event, committed, error.getClass().getSimpleName()))
+                    .doOnCancel(() -> commit(event, committed, TimedOperationEvent.OUTCOME_CANCELLED));
+        });
+    }
+
+    public static void rateLimitRejected(String path, String limiter) {
+        RateLimitRejectedEvent event = new RateLimitRejectedEvent();
+        if (event.shouldCommit()) {
+            event.path = path;
+            event.limiter = limiter;
+            event.commit();
+        }
+    }
+
+    private static void commit(TimedOperationEvent event, AtomicBoolean committed, String outcome) {
+        if (committed.compareAndSet(false, true)) {
+            event.end();
+            if (event.shouldCommit()) {
+                event.outcome = outcome;
+                event.commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.felipearrano.challenge.infrastructure.diagnostics.event;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.felipearrano.challenge.PercentageAttempt")
+@Label("Intento de obtener porcentaje")
+@Description("Cada intento de getPercentage contra el upstream o la caché Redis de fallback")
+@Category({"Challenge", "Porcentaje"})
+@StackTrace(false)
+public class PercentageAttemptEvent extends TimedOperationEvent {
+
+    public static final String SOURCE_UPSTREAM = "upstream";
+    public static final String SOURCE_REDIS_FALLBACK = "redis-fallback";
+
+    @Label("Origen")
+    String source;
+
+    public PercentageAttemptEvent(String source) {
+        this.source = source;
+    }
+}
@@ -0,0 +1,20 @@
+package com.felipearrano.challenge.infrastructure.diagnostics.event;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.felipearrano.challenge.RateLimitRejected")
+@Label("Petición rechazada por rate limit")
+@Category({"Challenge", "Web"})
+@StackTrace(false)
+public class RateLimitRejectedEvent extends Event {
+
+    @Label("Ruta")
+    String path;
+
+    @Label("Rate limiter")
+    String limiter;
+}
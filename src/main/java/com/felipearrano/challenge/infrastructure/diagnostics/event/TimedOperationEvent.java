@@ -0,0 +1,18 @@
+package com.felipearrano.challenge.infrastructure.diagnostics.event;
+
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+
+/**
+ * Base de los eventos JFR que miden una operación reactiva de principio a fin.
+ * {@link JfrEvents#timed} los inicia al suscribirse y los confirma al terminar.
+ */
+public abstract class TimedOperationEvent extends Event {
+
+    public static final String OUTCOME_SUCCESS = "success";
+    public static final String OUTCOME_EMPTY = "empty";
+    public static final String OUTCOME_CANCELLED = "cancelled";
+
+    @Label("Resultado")
+    String outcome;
+}
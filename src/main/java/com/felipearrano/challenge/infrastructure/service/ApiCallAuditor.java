@@ -0,0 +1,150 @@
+package com.felipearrano.challenge.infrastructure.service;
+
+import com.felipearrano.challenge.domain.HistoryLog;
+import com.felipearrano.challenge.infrastructure.adapter.out.persistence.exception.WorkloadSaturatedException;
+import com.felipearrano.challenge.infrastructure.config.ExecutionLane;
+import com.felipearrano.challenge.infrastructure.config.HistoryJsonStorageProperties;
+import com.felipearrano.challenge.infrastructure.service.HistoryCaptureSampler.CaptureDecision;
+import com.felipearrano.challenge.infrastructure.util.JsonSerializationUtil;
+import com.felipearrano.challenge.infrastructure.util.RateLimitedLogger;
+import io.github.resilience4j.ratelimiter.RequestNotPermitted;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Arma el registro de historial de una llamada a la API y lo guarda fuera del hilo que atiende la petición.
+ * Lo usan tanto el aspecto de los controladores anotados como los endpoints funcionales,
+ * para que ambos caminos produzcan registros idénticos. La serialización y el guardado corren en una
+ * misma tarea del carril de auditoría ({@code execution.lanes.audit}): un segundo salto al mismo carril
+ * ocuparía dos lugares por registro y, al detener la aplicación, se rechazaría.
+ */
+@Component
+public class ApiCallAuditor {
+
+    private final Logger log = LoggerFactory.getLogger(ApiCallAuditor.class);
+    private final RateLimitedLogger errorLog = RateLimitedLogger.of(log);
+    private final AsyncHistoryLoggerService loggerService;
+    private final JsonSerializationUtil jsonSerializationUtil;
+    private final HistoryCaptureSampler captureSampler;
+    private final HistoryCoalescer coalescer;
+    private final HistoryJsonStorageProperties jsonStorageProperties;
+    private final ExecutionLane auditLane;
+
+    public ApiCallAuditor(AsyncHistoryLoggerService loggerService,
+                          JsonSerializationUtil jsonSerializationUtil,
+                          HistoryCaptureSampler captureSampler,
+                          HistoryCoalescer coalescer,
+                          HistoryJsonStorageProperties jsonStorageProperties,
+                          @Qualifier("auditLane") ExecutionLane auditLane) {
+        this.loggerService = loggerService;
+        this.jsonSerializationUtil = jsonSerializationUtil;
+        this.captureSampler = captureSampler;
+        this.coalescer = coalescer;
+        this.jsonStorageProperties = jsonStorageProperties;
+        this.auditLane = auditLane;
+    }
+
+    private record LogDetails(int status, boolean success, Supplier<String> responseBody, String errorMessage) {}
+
+    /**
+     * Registra una llamada terminada. Con {@code error} nulo, {@code result} es la respuesta
+     * (un {@link ResponseEntity} o el cuerpo directamente). {@code parameterNames} puede ser nulo;
+     * solo se usa para guardar los parámetros como objeto cuando está activo history.json-storage.
+     */
+    public void record(Instant startTime, String endpoint, String[] parameterNames, Object[] args, Object result, Throwable error) {
+        try {
+            auditLane.execute(() -> buildAndSubmit(startTime, endpoint, parameterNames, args, result, error));
+        } catch (RejectedExecutionException e) {
+            errorLog.warn("audit-lane-rejected", "Carril de auditoría saturado; se descarta el registro de {}", endpoint);
+        }
+    }
+
+    private void buildAndSubmit(Instant startTime, String endpoint, String[] parameterNames, Object[] args,
+                                Object result, Throwable error) {
+        try {
+            LogDetails details = extractLogDetails(result, error);
+
+            CaptureDecision decision = captureSampler.decide(endpoint, details.status(), details.success());
+            if (decision == CaptureDecision.SKIP) {
+                log.trace("Llamada a {} omitida del historial por la política de muestreo", endpoint);
+                return;
+            }
+
+            HistoryLog historyLog = new HistoryLog(
+                    UUID.randomUUID(),
+                    startTime,
+                    endpoint,
+                    serializeParameters(parameterNames, args),
+                    decision == CaptureDecision.CAPTURE_WITHOUT_BODY ? null : details.responseBody().get(),
+                    details.status(),
+                    details.success(),
+                    details.errorMessage()
+            );
+            if (!coalescer.offer(historyLog)) {
+                loggerService.persist(historyLog);
+            }
+
+        } catch (Exception e) {
+            log.error("Error CRÍTICO al registrar la llamada en el historial: {}", e.getMessage(), e);
+        }
+    }
+
+    private String serializeParameters(String[] parameterNames, Object[] args) {
+        if (parameterNames != null && jsonStorageProperties.isEnabled()) {
+            return jsonSerializationUtil.safelySerializeNamed(parameterNames, args);
+        }
+        return jsonSerializationUtil.safelySerializeArray(args);
+    }
+
+    private LogDetails extractLogDetails(Object result, Throwable error) {
+        Integer status = null;
+        Supplier<String> responseBody;
+        boolean success = false;
+        String errorMessage = null;
+
+        if (error != null) {
+            errorLog.warn(error.getClass().getName(), "Extrayendo detalles del error: {}", error.getMessage());
+            errorMessage = error.getMessage();
+            success = false;
+
+            if (error instanceof ResponseStatusException rse) {
+                status = rse.getStatusCode().value();
+            } else if (error instanceof RequestNotPermitted) {
+                status = HttpStatus.TOO_MANY_REQUESTS.value();
+            } else if (error instanceof WorkloadSaturatedException) {
+                status = HttpStatus.SERVICE_UNAVAILABLE.value();
+            }
+            else {
+                status = HttpStatus.INTERNAL_SERVER_ERROR.value();
+            }
+            String errorBody = "Error: " + errorMessage;
+            responseBody = () -> jsonSerializationUtil.safelySerialize(errorBody);
+
+        } else if (result instanceof ResponseEntity<?> responseEntity) {
+            log.debug("Extrayendo detalles desde ResponseEntity");
+            status = responseEntity.getStatusCode().value();
+            success = responseEntity.getStatusCode().is2xxSuccessful();
+            responseBody = responseEntity.hasBody()
+                    ? () -> jsonSerializationUtil.safelySerialize(responseEntity.getBody())
+                    : () -> "[No Body]";
+        } else {
+            log.debug("Extrayendo detalles desde objeto de resultado simple");
+            status = HttpStatus.OK.value();
+            success = true;
+            responseBody = () -> jsonSerializationUtil.safelySerialize(result);
+        }
+        status = (status != null) ? status : HttpStatus.INTERNAL_SERVER_ERROR.value();
+
+        return new LogDetails(status, success, responseBody, errorMessage);
+    }
+}
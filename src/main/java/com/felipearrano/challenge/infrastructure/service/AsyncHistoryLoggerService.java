@@ -1,7 +1,11 @@
 package com.felipearrano.challenge.infrastructure.service;
 
 import com.felipearrano.challenge.domain.HistoryLog;
+import com.felipearrano.challenge.application.port.out.HistoryLiveFeedPort;
 import com.felipearrano.challenge.application.port.out.HistoryRepositoryPort;
+import com.felipearrano.challenge.application.port.out.RecentHistoryCachePort;
+import com.felipearrano.challenge.infrastructure.diagnostics.event.HistoryFlushEvent;
+import com.felipearrano.challenge.infrastructure.diagnostics.event.JfrEvents;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.scheduling.annotation.Async;
@@ -12,19 +16,42 @@ public class AsyncHistoryLoggerService {
 
     private static final Logger log = LoggerFactory.getLogger(AsyncHistoryLoggerService.class);
     private final HistoryRepositoryPort historyRepositoryPort;
+    private final RecentHistoryCachePort recentHistoryCachePort;
+    private final HistoryLiveFeedPort historyLiveFeedPort;
+    private final HistoryWriteWatermark historyWriteWatermark;
 
-    public AsyncHistoryLoggerService(HistoryRepositoryPort historyRepositoryPort){
+    public AsyncHistoryLoggerService(HistoryRepositoryPort historyRepositoryPort, RecentHistoryCachePort recentHistoryCachePort,
+                                     HistoryLiveFeedPort historyLiveFeedPort, HistoryWriteWatermark historyWriteWatermark){
         this. historyRepositoryPort = historyRepositoryPort;
+        this.recentHistoryCachePort = recentHistoryCachePort;
+        this.historyLiveFeedPort = historyLiveFeedPort;
+        this.historyWriteWatermark = historyWriteWatermark;
     }
 
+    /**
+     * Guarda el registro en el executor de {@code @Async} (el carril de auditoría). Solo para quien no
+     * corre ya en ese carril, como el vaciado programado de {@link HistoryCoalescer}.
+     */
     @Async
     public void logApiCall(HistoryLog historyLogData){
         log.info("Llamada asíncrona para guardar log de llamada a API: {}", historyLogData.id());
+        persist(historyLogData);
+    }
 
+    /**
+     * Guarda el registro en el hilo actual. Lo usan las tareas que ya corren en el carril de auditoría, para
+     * no ocupar un segundo lugar del mismo carril, y el vaciado final al detener la aplicación.
+     */
+    public void persist(HistoryLog historyLogData){
         try {
-            historyRepositoryPort.saveLog(historyLogData)
+            JfrEvents.timed(historyRepositoryPort.saveLog(historyLogData), () -> new HistoryFlushEvent(1))
                     .doOnError(e -> log.error("Error guardando log asíncrono con ID {}: {}", historyLogData.id(), e.getMessage()))
                     .block();
+            // Solo se publica en memoria lo que quedó persistido, para que coincida con la BD
+            recentHistoryCachePort.add(historyLogData);
+            // Una vez guardado en la BD: un ETag nuevo nunca debe servirse con la página anterior
+            historyWriteWatermark.advanceFor(historyLogData.endpointInvoked()).block();
+            historyLiveFeedPort.publish(historyLogData);
             log.debug("Log asíncrono guardado exitosamente: {}", historyLogData.id());
         } catch (Exception e) {
             log.error("Excepción inesperada al guardar log asíncrono con ID {}: {}", historyLogData.id(), e.getMessage(), e);
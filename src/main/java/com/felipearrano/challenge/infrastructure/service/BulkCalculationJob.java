@@ -0,0 +1,185 @@
+package com.felipearrano.challenge.infrastructure.service;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Estado de un trabajo de cálculo por lotes. Solo el pipeline del trabajo lo modifica; los campos son
+ * volátiles o atómicos para que la consulta de progreso los lea desde otro hilo sin bloquear.
+ */
+public class BulkCalculationJob {
+
+    public enum Status { QUEUED, RUNNING, COMPLETED, FAILED }
+
+    public enum Format {
+        CSV("text/csv", ".csv"),
+        NDJSON("application/x-ndjson", ".ndjson");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String contentType() {
+            return contentType;
+        }
+
+        public String extension() {
+            return extension;
+        }
+
+        public static Optional<Format> fromFileName(String fileName) {
+            String name = fileName == null ? "" : fileName.toLowerCase(Locale.ROOT);
+            if (name.endsWith(".csv")) {
+                return Optional.of(CSV);
+            }
+            if (name.endsWith(".ndjson") || name.endsWith(".jsonl")) {
+                return Optional.of(NDJSON);
+            }
+            return Optional.empty();
+        }
+    }
+
+    private final String id;
+    private final String fileName;
+    private final Format format;
+    private final Path inputFile;
+    private final Path resultFile;
+    private final Instant submittedAt;
+    private final AtomicLong linesRead = new AtomicLong();
+    private final AtomicLong charsRead = new AtomicLong();
+    private final AtomicLong rowsCalculated = new AtomicLong();
+    private final AtomicLong rowsInvalid = new AtomicLong();
+    private volatile long inputBytes;
+    private volatile Status status = Status.QUEUED;
+    private volatile Double percentage;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile String error;
+
+    public BulkCalculationJob(String id, String fileName, Format format, Path inputFile, Path resultFile, Instant submittedAt) {
+        this.id = id;
+        this.fileName = fileName;
+        this.format = format;
+        this.inputFile = inputFile;
+        this.resultFile = resultFile;
+        this.submittedAt = submittedAt;
+    }
+
+    void uploaded(long bytes) {
+        this.inputBytes = bytes;
+    }
+
+    void start(double percentage, Instant now) {
+        this.percentage = percentage;
+        this.startedAt = now;
+        this.status = Status.RUNNING;
+    }
+
+    void complete(Instant now) {
+        this.finishedAt = now;
+        this.status = Status.COMPLETED;
+    }
+
+    void fail(String error, Instant now) {
+        this.error = error;
+        this.finishedAt = now;
+        this.status = Status.FAILED;
+    }
+
+    // Número de la línea leída; los caracteres (más el salto de línea) aproximan el avance sobre el tamaño del archivo
+    long nextLine(String line) {
+        charsRead.addAndGet(line.length() + 1L);
+        return linesRead.incrementAndGet();
+    }
+
+    void chunkWritten(long calculated, long invalid) {
+        rowsCalculated.addAndGet(calculated);
+        rowsInvalid.addAndGet(invalid);
+    }
+
+    /**
+     * Avance estimado entre 0 y 1. Es exacto al terminar; durante el proceso se basa en caracteres leídos
+     * frente a bytes del archivo, así que con texto no ASCII puede quedar algo por debajo.
+     */
+    public double progress() {
+        if (status == Status.COMPLETED) {
+            return 1.0;
+        }
+        long bytes = inputBytes;
+        if (bytes == 0) {
+            return 0.0;
+        }
+        return Math.min(1.0, (double) charsRead.get() / bytes);
+    }
+
+    public String id() {
+        return id;
+    }
+
+    public String fileName() {
+        return fileName;
+    }
+
+    public Format format() {
+        return format;
+    }
+
+    public Path inputFile() {
+        return inputFile;
+    }
+
+    public Path resultFile() {
+        return resultFile;
+    }
+
+    public Instant submittedAt() {
+        return submittedAt;
+    }
+
+    public long inputBytes() {
+        return inputBytes;
+    }
+
+    public long linesRead() {
+        return linesRead.get();
+    }
+
+    public long rowsCalculated() {
+        return rowsCalculated.get();
+    }
+
+    public long rowsInvalid() {
+        return rowsInvalid.get();
+    }
+
+    public Status status() {
+        return status;
+    }
+
+    public Double percentage() {
+        return percentage;
+    }
+
+    public Instant startedAt() {
+        return startedAt;
+    }
+
+    public Instant finishedAt() {
+        return finishedAt;
+    }
+
+    public String error() {
+        return error;
+    }
+
+    public boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+}
@@ -0,0 +1,402 @@
+package com.felipearrano.challenge.infrastructure.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.felipearrano.challenge.application.port.out.PercentageServicePort;
+import com.felipearrano.challenge.domain.PercentageIncrease;
+import com.felipearrano.challenge.infrastructure.adapter.out.persistence.exception.WorkloadSaturatedException;
+import com.felipearrano.challenge.infrastructure.config.BulkCalculationProperties;
+import com.felipearrano.challenge.infrastructure.config.ExecutionLane;
+import com.felipearrano.challenge.infrastructure.service.exception.BulkJobNotFoundException;
+import com.felipearrano.challenge.infrastructure.service.exception.BulkJobNotReadyException;
+import com.felipearrano.challenge.infrastructure.service.exception.BulkUploadTooLargeException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cálculos por lotes sobre archivos subidos. El archivo se escribe a disco a medida que llega y cada
+ * trabajo lo recorre por bloques de {@code chunk-size} líneas en el carril {@code bulk}, con un solo
+ * porcentaje obtenido al iniciar, así que la memoria no depende del tamaño del archivo. Corren a la vez
+ * como máximo {@code max-concurrent-jobs} trabajos; el resto espera en cola.
+ * <p>
+ * El estado de los trabajos vive en memoria: al reiniciar se pierden los trabajos y se borran sus archivos.
+ */
+@Service
+@ConditionalOnProperty(prefix = "calculation.bulk", name = "enabled", havingValue = "true")
+public class BulkCalculationJobService implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkCalculationJobService.class);
+    private static final String CSV_HEADER = "line,num1,num2,result,error";
+    private static final String INPUT_SUFFIX = ".input";
+    private static final String PARTIAL_SUFFIX = ".part";
+    private static final String RESULT_SUFFIX = ".result";
+    private static final int MAX_VALUE_IN_ERROR = 40;
+
+    private final PercentageServicePort percentageServicePort;
+    private final BulkCalculationProperties properties;
+    private final ExecutionLane bulkLane;
+    private final ObjectReader jsonReader;
+    private final Map<String, BulkCalculationJob> jobs = new ConcurrentHashMap<>();
+    private final AtomicInteger pendingJobs = new AtomicInteger();
+    private final Sinks.Many<BulkCalculationJob> queue = Sinks.many().unicast().onBackpressureBuffer();
+    private final Disposable worker;
+    private final Counter calculatedCounter;
+    private final Counter invalidCounter;
+
+    public BulkCalculationJobService(PercentageServicePort percentageServicePort,
+                                     BulkCalculationProperties properties,
+                                     @Qualifier("bulkLane") ExecutionLane bulkLane,
+                                     ObjectMapper objectMapper,
+                                     MeterRegistry meterRegistry) throws IOException {
+        this.percentageServicePort = percentageServicePort;
+        this.properties = properties;
+        this.bulkLane = bulkLane;
+        // BigDecimal en lugar de double para no perder precisión en los decimales del archivo
+        this.jsonReader = objectMapper.reader().with(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+        this.calculatedCounter = rowsCounter(meterRegistry, "calculated");
+        this.invalidCounter = rowsCounter(meterRegistry, "invalid");
+        Gauge.builder("calculation.bulk.jobs.pending", pendingJobs, AtomicInteger::get)
+                .description("Trabajos de cálculo por lotes en cola o en curso")
+                .register(meterRegistry);
+
+        Files.createDirectories(properties.getWorkDirectory());
+        deleteLeftovers(properties.getWorkDirectory());
+        this.worker = queue.asFlux()
+                .flatMap(this::run, properties.getMaxConcurrentJobs())
+                .subscribe();
+    }
+
+    /**
+     * Guarda el archivo subido y encola el trabajo. Con {@code max-pending-jobs} trabajos pendientes
+     * termina con {@link WorkloadSaturatedException} sin leer el contenido; si el contenido supera
+     * {@code max-upload-size}, corta la subida en cuanto lo pasa y termina con {@link BulkUploadTooLargeException}.
+     */
+    public Mono<BulkCalculationJob> submit(String fileName, BulkCalculationJob.Format format, Flux<DataBuffer> content) {
+        return Mono.defer(() -> {
+            if (pendingJobs.incrementAndGet() > properties.getMaxPendingJobs()) {
+                pendingJobs.decrementAndGet();
+                return Mono.error(new WorkloadSaturatedException("Cola de cálculos por lotes llena ("
+                        + properties.getMaxPendingJobs() + " trabajos pendientes)."));
+            }
+            String id = UUID.randomUUID().toString();
+            Path directory = properties.getWorkDirectory();
+            BulkCalculationJob job = new BulkCalculationJob(id, fileName, format, directory.resolve(id + INPUT_SUFFIX),
+                    directory.resolve(id + RESULT_SUFFIX + format.extension()), Instant.now());
+            AtomicLong bytes = new AtomicLong();
+            long maxBytes = properties.getMaxUploadSize().toBytes();
+            Flux<DataBuffer> limited = content.handle((buffer, sink) -> {
+                if (bytes.addAndGet(buffer.readableByteCount()) > maxBytes) {
+                    DataBufferUtils.release(buffer);
+                    sink.error(new BulkUploadTooLargeException("El archivo supera el tamaño máximo de "
+                            + properties.getMaxUploadSize().toMegabytes() + " MB para cálculos por lotes."));
+                    return;
+                }
+                sink.next(buffer);
+            });
+
+            return DataBufferUtils.write(limited, job.inputFile())
+                    .then(Mono.fromCallable(() -> {
+                        job.uploaded(bytes.get());
+                        jobs.put(id, job);
+                        queue.emitNext(job, Sinks.EmitFailureHandler.busyLooping(Duration.ofSeconds(1)));
+                        log.info("Trabajo de cálculo por lotes {} encolado: {} ({} bytes, {}).", id, fileName, bytes.get(), format);
+                        return job;
+                    }))
+                    .doOnError(e -> abandonUpload(job))
+                    .doOnCancel(() -> abandonUpload(job));
+        });
+    }
+
+    public Optional<BulkCalculationJob> find(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    /**
+     * Trabajo terminado con éxito, listo para descargar sus resultados.
+     */
+    public BulkCalculationJob completed(String jobId) {
+        BulkCalculationJob job = find(jobId)
+                .orElseThrow(() -> new BulkJobNotFoundException("No existe el trabajo de cálculo por lotes " + jobId + "."));
+        if (job.status() != BulkCalculationJob.Status.COMPLETED) {
+            throw new BulkJobNotReadyException("El trabajo " + jobId + " está en estado " + job.status()
+                    + "; los resultados solo se pueden descargar al completarse.");
+        }
+        return job;
+    }
+
+    @Scheduled(fixedDelayString = "${calculation.bulk.cleanup-interval:10m}")
+    public void purgeExpired() {
+        Instant cutoff = Instant.now().minus(properties.getRetention());
+        jobs.values().removeIf(job -> {
+            if (!job.isFinished() || job.finishedAt().isAfter(cutoff)) {
+                return false;
+            }
+            deleteQuietly(job.resultFile());
+            log.debug("Trabajo de cálculo por lotes {} eliminado por retención.", job.id());
+            return true;
+        });
+    }
+
+    @Override
+    public void destroy() {
+        worker.dispose();
+    }
+
+    private Mono<Void> run(BulkCalculationJob job) {
+        long start = System.nanoTime();
+        return percentageServicePort.getPercentage()
+                .switchIfEmpty(Mono.error(new IllegalStateException("El servicio de porcentaje no devolvió un valor.")))
+                .flatMap(percentage -> {
+                    job.start(percentage, Instant.now());
+                    log.info("Trabajo {} iniciado con porcentaje {}%.", job.id(), percentage);
+                    return process(job, PercentageIncrease.of(percentage));
+                })
+                .then(Mono.fromRunnable(() -> {
+                    deleteQuietly(job.inputFile());
+                    job.complete(Instant.now());
+                    log.info("Trabajo {} completado: {} filas calculadas, {} inválidas en {} s.", job.id(),
+                            job.rowsCalculated(), job.rowsInvalid(), Duration.ofNanos(System.nanoTime() - start).toSeconds());
+                }))
+                .onErrorResume(e -> {
+                    log.error("Trabajo de cálculo por lotes {} fallido: {}", job.id(), e.getMessage(), e);
+                    deleteQuietly(job.inputFile());
+                    deleteQuietly(partialFile(job));
+                    job.fail(e.getMessage(), Instant.now());
+                    return Mono.empty();
+                })
+                .doFinally(signal -> pendingJobs.decrementAndGet())
+                .then();
+    }
+
+    // Los resultados se escriben en un archivo parcial que se renombra al terminar: la descarga nunca ve uno a medias
+    private Mono<Void> process(BulkCalculationJob job, PercentageIncrease increase) {
+        Path partial = partialFile(job);
+        return bulkLane.subscribe(Flux.using(
+                        () -> openResult(job, partial),
+                        writer -> readLines(job.inputFile())
+                                .buffer(properties.getChunkSize())
+                                .doOnNext(chunk -> writeChunk(job, chunk, increase, writer)),
+                        this::closeQuietly))
+                .then(Mono.fromCallable(() -> Files.move(partial, job.resultFile(), StandardCopyOption.REPLACE_EXISTING)))
+                .then();
+    }
+
+    private Flux<String> readLines(Path file) {
+        return Flux.using(() -> Files.newBufferedReader(file, StandardCharsets.UTF_8),
+                (BufferedReader reader) -> Flux.fromStream(reader.lines()),
+                this::closeQuietly);
+    }
+
+    private BufferedWriter openResult(BulkCalculationJob job, Path partial) throws IOException {
+        BufferedWriter writer = Files.newBufferedWriter(partial, StandardCharsets.UTF_8);
+        if (job.format() == BulkCalculationJob.Format.CSV) {
+            writer.write(CSV_HEADER);
+            writer.newLine();
+        }
+        return writer;
+    }
+
+    private void writeChunk(BulkCalculationJob job, List<String> lines, PercentageIncrease increase, Writer writer) {
+        long calculated = 0;
+        long invalid = 0;
+        try {
+            for (String line : lines) {
+                long number = job.nextLine(line);
+                if (line.isBlank() || (number == 1 && job.format() == BulkCalculationJob.Format.CSV && isCsvHeader(line))) {
+                    continue;
+                }
+                BigDecimal[] pair;
+                try {
+                    pair = job.format() == BulkCalculationJob.Format.CSV ? parseCsv(line) : parseJson(line);
+                } catch (IllegalArgumentException e) {
+                    invalid++;
+                    writer.write(errorRow(job.format(), number, e.getMessage()));
+                    continue;
+                }
+                calculated++;
+                writer.write(resultRow(job.format(), number, pair[0], pair[1], increase.applyToSum(pair[0], pair[1])));
+            }
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        job.chunkWritten(calculated, invalid);
+        calculatedCounter.increment(calculated);
+        invalidCounter.increment(invalid);
+    }
+
+    // La cabecera es opcional: si la primera columna de la primera línea no es un número, se omite
+    private static boolean isCsvHeader(String line) {
+        int comma = line.indexOf(',');
+        String first = (comma < 0 ? line : line.substring(0, comma)).trim();
+        try {
+            new BigDecimal(first);
+            return false;
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+
+    private static BigDecimal[] parseCsv(String line) {
+        int comma = line.indexOf(',');
+        if (comma < 0 || line.indexOf(',', comma + 1) >= 0) {
+            throw new IllegalArgumentException("Se esperaban dos columnas: num1,num2");
+        }
+        return new BigDecimal[]{
+                number("num1", line.substring(0, comma).trim()),
+                number("num2", line.substring(comma + 1).trim())};
+    }
+
+    private BigDecimal[] parseJson(String line) {
+        JsonNode node;
+        try {
+            node = jsonReader.readTree(line);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("JSON inválido");
+        }
+        if (node == null || !node.isObject()) {
+            throw new IllegalArgumentException("Se esperaba un objeto con num1 y num2");
+        }
+        return new BigDecimal[]{number("num1", node.get("num1")), number("num2", node.get("num2"))};
+    }
+
+    private static BigDecimal number(String name, JsonNode value) {
+        if (value == null || value.isNull()) {
+            throw new IllegalArgumentException(name + " es obligatorio");
+        }
+        if (value.isNumber()) {
+            return nonNegative(name, value.decimalValue());
+        }
+        if (value.isTextual()) {
+            return number(name, value.asText().trim());
+        }
+        throw new IllegalArgumentException(name + " debe ser un número");
+    }
+
+    private static BigDecimal number(String name, String text) {
+        if (text.isEmpty()) {
+            throw new IllegalArgumentException(name + " es obligatorio");
+        }
+        try {
+            return nonNegative(name, new BigDecimal(text));
+        } catch (NumberFormatException e) {
+            String shown = text.length() > MAX_VALUE_IN_ERROR ? text.substring(0, MAX_VALUE_IN_ERROR) + "..." : text;
+            throw new IllegalArgumentException(name + " no es un número: " + shown);
+        }
+    }
+
+    // Misma regla y mensaje que la validación de /sum-with-percentage
+    private static BigDecimal nonNegative(String name, BigDecimal value) {
+        if (value.signum() < 0) {
+            throw new IllegalArgumentException(name + " debe ser positivo o cero");
+        }
+        return value;
+    }
+
+    private static String resultRow(BulkCalculationJob.Format format, long line, BigDecimal num1, BigDecimal num2,
+                                    BigDecimal result) {
+        if (format == BulkCalculationJob.Format.CSV) {
+            return line + "," + num1.toPlainString() + "," + num2.toPlainString() + "," + result.toPlainString() + ",\n";
+        }
+        return "{\"line\":" + line + ",\"num1\":" + num1.toPlainString() + ",\"num2\":" + num2.toPlainString()
+                + ",\"result\":" + result.toPlainString() + "}\n";
+    }
+
+    private static String errorRow(BulkCalculationJob.Format format, long line, String message) {
+        if (format == BulkCalculationJob.Format.CSV) {
+            return line + ",,,,\"" + message.replace("\"", "\"\"") + "\"\n";
+        }
+        return "{\"line\":" + line + ",\"error\":\"" + new String(JsonStringEncoder.getInstance().quoteAsString(message)) + "\"}\n";
+    }
+
+    private void abandonUpload(BulkCalculationJob job) {
+        if (jobs.containsKey(job.id())) {
+            return;
+        }
+        pendingJobs.decrementAndGet();
+        deleteQuietly(job.inputFile());
+        log.warn("Subida del trabajo de cálculo por lotes {} interrumpida; se descarta.", job.id());
+    }
+
+    // Archivos de trabajos de una ejecución anterior: su estado ya no existe, así que no se pueden consultar
+    private void deleteLeftovers(Path directory) throws IOException {
+        int deleted = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory,
+                "*{" + INPUT_SUFFIX + "," + PARTIAL_SUFFIX + "," + RESULT_SUFFIX + ".*}")) {
+            for (Path file : files) {
+                deleteQuietly(file);
+                deleted++;
+            }
+        }
+        if (deleted > 0) {
+            log.info("Eliminados {} archivos de trabajos de cálculo por lotes de una ejecución anterior.", deleted);
+        }
+    }
+
+    private Path partialFile(BulkCalculationJob job) {
+        return properties.getWorkDirectory().resolve(job.id() + PARTIAL_SUFFIX);
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("No se pudo borrar el archivo {}: {}", file, e.getMessage());
+        }
+    }
+
+    private void closeQuietly(Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            log.warn("No se pudo cerrar un archivo de cálculo por lotes: {}", e.getMessage());
+        }
+    }
+
+    private static Counter rowsCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("calculation.bulk.rows")
+                .description("Filas procesadas por los cálculos por lotes")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,111 @@
+package com.felipearrano.challenge.infrastructure.service;
+
+import com.felipearrano.challenge.domain.HistoryLog;
+import com.felipearrano.challenge.infrastructure.adapter.out.archive.HistorySegment;
+import com.felipearrano.challenge.infrastructure.adapter.out.archive.HistorySegmentCatalog;
+import com.felipearrano.challenge.infrastructure.adapter.out.persistence.HistoryPersistenceAdapter;
+import com.felipearrano.challenge.infrastructure.config.ExecutionLane;
+import com.felipearrano.challenge.infrastructure.config.HistoryArchiveProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Mueve a segmentos los registros más antiguos que {@code history.archive.older-than}.
+ * Cada segmento se escribe y registra en el catálogo antes de borrar sus filas de la BD, así que un
+ * corte a mitad de camino solo deja filas repetidas. La paginación no las cuenta (quedan por debajo de la
+ * marca de agua del archivo) y el siguiente archivado las borra sin volver a escribirlas en otro segmento.
+ */
+@Service
+public class HistoryArchiveService {
+
+    private static final Logger log = LoggerFactory.getLogger(HistoryArchiveService.class);
+
+    private final HistoryPersistenceAdapter database;
+    private final HistorySegmentCatalog catalog;
+    private final HistoryArchiveProperties properties;
+    private final ExecutionLane bulkLane;
+    private final HistoryWriteWatermark historyWriteWatermark;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public HistoryArchiveService(HistoryPersistenceAdapter database, HistorySegmentCatalog catalog,
+                                 HistoryArchiveProperties properties, @Qualifier("bulkLane") ExecutionLane bulkLane,
+                                 HistoryWriteWatermark historyWriteWatermark) {
+        this.database = database;
+        this.catalog = catalog;
+        this.properties = properties;
+        this.bulkLane = bulkLane;
+        this.historyWriteWatermark = historyWriteWatermark;
+    }
+
+    @Scheduled(cron = "${history.archive.cron:0 30 3 * * *}")
+    public Mono<Void> scheduledArchive() {
+        if (!properties.isEnabled() || !properties.isJobEnabled()) {
+            return Mono.empty();
+        }
+        return archive(Instant.now().minus(properties.getOlderThan())).then();
+    }
+
+    /**
+     * Archiva todos los registros anteriores a {@code cutoff}; devuelve la cantidad de filas movidas.
+     */
+    public Mono<Long> archive(Instant cutoff) {
+        return Mono.defer(() -> {
+            if (!running.compareAndSet(false, true)) {
+                log.warn("Ya hay un archivado en curso; se omite esta ejecución.");
+                return Mono.just(0L);
+            }
+            log.info("Iniciando archivado de registros anteriores a {}.", cutoff);
+            return Mono.defer(() -> archiveNextSegment(cutoff))
+                    .repeat()
+                    .takeUntil(rows -> rows < properties.getSegmentMaxRows())
+                    .reduce(0L, Long::sum)
+                    .doOnNext(total -> log.info("Archivado completado: {} registros movidos a segmentos.", total))
+                    .doOnError(e -> log.error("Error durante el archivado: {}", e.getMessage(), e))
+                    .doFinally(signal -> running.set(false));
+        });
+    }
+
+    private Mono<Long> archiveNextSegment(Instant cutoff) {
+        return database.findOldestBefore(cutoff, properties.getSegmentMaxRows())
+                .collectList()
+                .flatMap(rows -> rows.isEmpty() ? Mono.just(0L) : moveToSegment(rows));
+    }
+
+    private Mono<Long> moveToSegment(List<HistoryLog> rows) {
+        return bulkLane.subscribe(Mono.fromCallable(() -> writeSegment(rows)))
+                .flatMap(segment -> database.deleteByIds(rows.stream().map(HistoryLog::id).toList())
+                        .doOnNext(deleted -> logSegment(segment, rows.size(), deleted))
+                        // Las filas importadas con fechas ya archivadas recién ahora entran en la paginación
+                        .flatMap(deleted -> historyWriteWatermark.advance()))
+                .thenReturn((long) rows.size());
+    }
+
+    // Las filas que ya están en un segmento (archivado anterior interrumpido antes de borrar) no se repiten
+    private Optional<HistorySegment> writeSegment(List<HistoryLog> rows) throws IOException {
+        Set<UUID> archived = catalog.archivedIds(rows);
+        List<HistoryLog> pending = archived.isEmpty()
+                ? rows
+                : rows.stream().filter(row -> !archived.contains(row.id())).toList();
+        return pending.isEmpty() ? Optional.empty() : Optional.of(catalog.write(pending));
+    }
+
+    private void logSegment(Optional<HistorySegment> written, int rows, long deleted) {
+        written.ifPresentOrElse(
+                segment -> log.info("Segmento {} escrito: {} registros entre {} y {} ({} borrados de la BD).",
+                        segment.dataFile().getFileName(), segment.rowCount(), segment.minTimestamp(),
+                        segment.maxTimestamp(), deleted),
+                () -> log.info("{} registros ya estaban archivados; solo se borran de la BD ({} borrados).", rows, deleted));
+    }
+}
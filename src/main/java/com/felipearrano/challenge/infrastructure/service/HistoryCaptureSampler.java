@@ -0,0 +1,103 @@
+package com.felipearrano.challenge.infrastructure.service;
+
+import com.felipearrano.challenge.infrastructure.config.HistoryCaptureProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decide qué llamadas se registran en el historial según {@link HistoryCaptureProperties}.
+ * Cada decisión incrementa el contador {@code history.capture.calls} (tags endpoint y outcome),
+ * de modo que los totales agregados siguen siendo exactos aunque las filas se muestreen.
+ */
+@Component
+public class HistoryCaptureSampler {
+
+    public enum CaptureDecision {
+        CAPTURE,
+        CAPTURE_WITHOUT_BODY,
+        SKIP
+    }
+
+    private final HistoryCaptureProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, PerSecondCap> caps = new ConcurrentHashMap<>();
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    public HistoryCaptureSampler(HistoryCaptureProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public CaptureDecision decide(String endpoint, int status, boolean success) {
+        CaptureDecision decision = evaluate(endpoint, status, success);
+        counter(endpoint, decision == CaptureDecision.SKIP ? "skipped" : "captured").increment();
+        return decision;
+    }
+
+    private CaptureDecision evaluate(String endpoint, int status, boolean success) {
+        HistoryCaptureProperties.Policy policy = properties.policyFor(endpoint);
+        boolean sampleable = success || (status == HttpStatus.NOT_MODIFIED.value() && policy.isSampleNotModified());
+
+        // Errores y respuestas no 2xx se registran siempre y completos, salvo los 304 si la política lo pide
+        if (!sampleable || !policy.isSampling()) {
+            return CaptureDecision.CAPTURE;
+        }
+        if (policy.getSuccessSampleRate() < 1.0
+                && ThreadLocalRandom.current().nextDouble() >= policy.getSuccessSampleRate()) {
+            return CaptureDecision.SKIP;
+        }
+        if (policy.getMaxSuccessPerSecond() > 0
+                && !caps.computeIfAbsent(endpoint, key -> new PerSecondCap()).tryAcquire(policy.getMaxSuccessPerSecond())) {
+            return CaptureDecision.SKIP;
+        }
+        return policy.isDropBodies() ? CaptureDecision.CAPTURE_WITHOUT_BODY : CaptureDecision.CAPTURE;
+    }
+
+    private Counter counter(String endpoint, String outcome) {
+        return counters.computeIfAbsent(endpoint + '|' + outcome, key -> Counter.builder("history.capture.calls")
+                .description("Llamadas a la API evaluadas por la política de captura del historial")
+                .tag("endpoint", endpoint)
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+    }
+
+    /**
+     * Límite por segundo sin locks: el segundo actual y el conteo se empaquetan en un único long
+     * (segundo en los bits altos, conteo en los 20 bits bajos).
+     */
+    static final class PerSecondCap {
+
+        private static final int COUNT_BITS = 20;
+        private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+        private final AtomicLong state = new AtomicLong();
+
+        boolean tryAcquire(int limit) {
+            return tryAcquire(limit, System.currentTimeMillis() / 1000);
+        }
+
+        boolean tryAcquire(int limit, long nowSecond) {
+            while (true) {
+                long current = state.get();
+                long next;
+                if ((current >>> COUNT_BITS) != nowSecond) {
+                    next = (nowSecond << COUNT_BITS) | 1;
+                } else if ((current & COUNT_MASK) >= limit) {
+                    return false;
+                } else {
+                    next = current + 1;
+                }
+                if (state.compareAndSet(current, next)) {
+                    return true;
+                }
+            }
+        }
+    }
+}
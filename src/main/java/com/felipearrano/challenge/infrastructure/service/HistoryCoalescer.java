@@ -0,0 +1,187 @@
+package com.felipearrano.challenge.infrastructure.service;
+
+import com.felipearrano.challenge.domain.HistoryLog;
+import com.felipearrano.challenge.infrastructure.config.HistoryCoalescingProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Agrupa llamadas idénticas antes del guardado asíncrono (ver {@link HistoryCoalescingProperties}).
+ * La primera llamada de cada grupo abre una ventana; las repeticiones dentro de ella solo suman una
+ * ocurrencia, y al cerrarse la ventana se guarda un único registro con el id de la primera llamada.
+ * Cada grupo se modifica solo dentro de {@code compute} sobre su clave, así que ninguna repetición se
+ * pierde aunque llegue mientras el grupo se está vaciando.
+ * <p>
+ * El grupo que cierra una llamada se guarda en la misma tarea del carril de auditoría que la trajo; el
+ * vaciado programado lo envía al carril con {@code @Async}. Al detener la aplicación deja de abrir grupos
+ * y guarda los pendientes en el hilo que la detiene. Depende del carril de auditoría para que Spring lo
+ * destruya antes: las tareas que siguen en el carril ven la agrupación cerrada y guardan sin agrupar.
+ */
+@Component
+@DependsOn("auditLane")
+public class HistoryCoalescer implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(HistoryCoalescer.class);
+
+    private record Key(String endpoint, String parameters, Integer status, Boolean success,
+                       String responseBody, String errorMessage) {
+
+        static Key of(HistoryLog historyLog) {
+            return new Key(historyLog.endpointInvoked(), historyLog.parametersReceived(), historyLog.httpStatus(),
+                    historyLog.isSuccess(), historyLog.responseBody(), historyLog.errorMessage());
+        }
+    }
+
+    private static final class Group {
+
+        private final HistoryLog first;
+        private final long deadlineNanos;
+        private int occurrences = 1;
+        private Instant firstTimestamp;
+        private Instant lastTimestamp;
+
+        private Group(HistoryLog first, long deadlineNanos) {
+            this.first = first;
+            this.deadlineNanos = deadlineNanos;
+            this.firstTimestamp = first.timestamp();
+            this.lastTimestamp = first.timestamp();
+        }
+
+        private boolean isDue(long nowNanos) {
+            return nowNanos - deadlineNanos >= 0;
+        }
+
+        // Las llamadas terminan fuera de orden, por eso se guardan el mínimo y el máximo
+        private void add(HistoryLog historyLog) {
+            occurrences++;
+            if (historyLog.timestamp().isBefore(firstTimestamp)) {
+                firstTimestamp = historyLog.timestamp();
+            }
+            if (historyLog.timestamp().isAfter(lastTimestamp)) {
+                lastTimestamp = historyLog.timestamp();
+            }
+        }
+
+        private HistoryLog merged() {
+            return new HistoryLog(first.id(), firstTimestamp, first.endpointInvoked(), first.parametersReceived(),
+                    first.responseBody(), first.httpStatus(), first.isSuccess(), first.errorMessage(),
+                    occurrences, lastTimestamp);
+        }
+    }
+
+    private final HistoryCoalescingProperties properties;
+    private final AsyncHistoryLoggerService loggerService;
+    private final Map<Key, Group> groups = new ConcurrentHashMap<>();
+    private final Counter mergedCalls;
+    private volatile boolean closing;
+
+    public HistoryCoalescer(HistoryCoalescingProperties properties, AsyncHistoryLoggerService loggerService,
+                            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.loggerService = loggerService;
+        this.mergedCalls = Counter.builder("history.coalescing.merged")
+                .description("Llamadas sumadas a un registro del historial ya pendiente en vez de guardarse aparte")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Devuelve {@code true} si el registro quedó a cargo de la agrupación; con {@code false} el llamador
+     * debe guardarlo directamente (agrupación desactivada o demasiados grupos pendientes).
+     */
+    public boolean offer(HistoryLog historyLog) {
+        return properties.isEnabled() && offer(historyLog, System.nanoTime());
+    }
+
+    boolean offer(HistoryLog historyLog, long nowNanos) {
+        boolean[] accepted = {true};
+        boolean[] merged = {false};
+        Group[] closed = new Group[1];
+        groups.compute(Key.of(historyLog), (key, group) -> {
+            if (group != null && !group.isDue(nowNanos)) {
+                group.add(historyLog);
+                merged[0] = true;
+                return group;
+            }
+            // Una ventana vencida que aún no se vació se cierra aquí; la llamada abre la siguiente
+            closed[0] = group;
+            if (closing || (group == null && groups.size() >= properties.getMaxPending())) {
+                accepted[0] = false;
+                return null;
+            }
+            return new Group(historyLog, nowNanos + properties.getWindow().toNanos());
+        });
+        if (closed[0] != null) {
+            save(closed[0], loggerService::persist);
+        }
+        if (merged[0]) {
+            mergedCalls.increment();
+        }
+        return accepted[0];
+    }
+
+    @Scheduled(fixedDelayString = "${history.coalescing.flush-interval:200ms}")
+    public void flushDue() {
+        flush(System.nanoTime(), false);
+    }
+
+    @Override
+    public void destroy() {
+        closing = true;
+        int pending = 0;
+        // Una llamada que ya pasó el chequeo de cierre aún puede dejar un grupo: se repite hasta vaciar
+        while (!groups.isEmpty()) {
+            pending += flush(System.nanoTime(), true, loggerService::persist);
+        }
+        if (pending > 0) {
+            log.info("Agrupación del historial vaciada al detener la aplicación: {} registros pendientes", pending);
+        }
+    }
+
+    int flush(long nowNanos, boolean all) {
+        return flush(nowNanos, all, loggerService::logApiCall);
+    }
+
+    private int flush(long nowNanos, boolean all, Consumer<HistoryLog> saver) {
+        List<Group> due = new ArrayList<>();
+        for (Map.Entry<Key, Group> entry : groups.entrySet()) {
+            if (!all && !entry.getValue().isDue(nowNanos)) {
+                continue;
+            }
+            groups.computeIfPresent(entry.getKey(), (key, group) -> {
+                if (all || group.isDue(nowNanos)) {
+                    due.add(group);
+                    return null;
+                }
+                return group;
+            });
+        }
+        due.forEach(group -> save(group, saver));
+        return due.size();
+    }
+
+    private void save(Group group, Consumer<HistoryLog> saver) {
+        HistoryLog merged = group.merged();
+        if (merged.occurrences() > 1) {
+            log.debug("Registro {} agrupa {} llamadas idénticas a {}", merged.id(), merged.occurrences(), merged.endpointInvoked());
+        }
+        try {
+            saver.accept(merged);
+        } catch (Exception e) {
+            log.error("No se pudo enviar al guardado el registro agrupado {} ({} llamadas): {}",
+                    merged.id(), merged.occurrences(), e.getMessage());
+        }
+    }
+}
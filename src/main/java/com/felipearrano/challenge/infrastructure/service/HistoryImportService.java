@@ -0,0 +1,208 @@
+package com.felipearrano.challenge.infrastructure.service;
+
+import com.felipearrano.challenge.application.port.out.HistoryBulkImportPort;
+import com.felipearrano.challenge.domain.HistoryLog;
+import com.felipearrano.challenge.infrastructure.config.ExecutionLane;
+import com.felipearrano.challenge.infrastructure.config.HistoryImportProperties;
+import com.felipearrano.challenge.infrastructure.service.exception.InvalidImportRecordException;
+import com.felipearrano.challenge.infrastructure.util.HistoryRecordParser;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Importa un archivo NDJSON o CSV a {@code call_history} por lotes.
+ * La lectura y conversión del lote siguiente se solapa con el COPY del lote en curso, y cada lote
+ * confirma la posición alcanzada: al relanzar la misma importación se saltan los registros ya confirmados.
+ * Sin {@code job-id} explícito, la importación se identifica por nombre, tamaño y fecha de modificación del
+ * archivo: un archivo distinto con el mismo nombre empieza de cero en lugar de reanudar una posición ajena.
+ */
+@Service
+public class HistoryImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(HistoryImportService.class);
+    private static final int LOGGED_INVALID_RECORDS = 20;
+    private static final int MAX_FILE_NAME_IN_JOB_ID = 200;
+
+    public record ImportSummary(String jobId, long resumedFrom, long recordsRead, long imported,
+                                long duplicates, long invalid, Duration elapsed) {
+    }
+
+    // Registro leído con su posición en el origen; log es nulo y error indica el motivo si la línea no era válida
+    private record SourceRecord(long position, HistoryLog log, String error) {
+    }
+
+    private final HistoryBulkImportPort historyBulkImportPort;
+    private final HistoryRecordParser parser;
+    private final HistoryImportProperties properties;
+    private final ExecutionLane bulkLane;
+    private final HistoryWriteWatermark historyWriteWatermark;
+    private final Counter importedCounter;
+    private final Counter duplicateCounter;
+    private final Counter invalidCounter;
+
+    public HistoryImportService(HistoryBulkImportPort historyBulkImportPort, HistoryRecordParser parser,
+                                HistoryImportProperties properties, @Qualifier("bulkLane") ExecutionLane bulkLane,
+                                HistoryWriteWatermark historyWriteWatermark, MeterRegistry meterRegistry) {
+        this.historyBulkImportPort = historyBulkImportPort;
+        this.parser = parser;
+        this.properties = properties;
+        this.bulkLane = bulkLane;
+        this.historyWriteWatermark = historyWriteWatermark;
+        this.importedCounter = recordsCounter(meterRegistry, "imported");
+        this.duplicateCounter = recordsCounter(meterRegistry, "duplicate");
+        this.invalidCounter = recordsCounter(meterRegistry, "invalid");
+    }
+
+    public Mono<ImportSummary> importFile(Path file) {
+        HistoryImportProperties.Format format = resolveFormat(file);
+
+        return Mono.fromCallable(() -> properties.getJobId() != null ? properties.getJobId() : jobIdOf(file))
+                .flatMap(jobId -> historyBulkImportPort.findCommittedPosition(jobId)
+                        .flatMap(resumeFrom -> {
+                            if (resumeFrom > 0) {
+                                log.info("Reanudando importación {} desde el registro {}.", jobId, resumeFrom);
+                            } else {
+                                log.info("Iniciando importación {} desde {} ({}).", jobId, file, format);
+                            }
+                            return run(jobId, file, format, resumeFrom);
+                        }));
+    }
+
+    // Si el archivo cambia, cambian su tamaño o su fecha y con ellos el id: no hereda la posición de otro archivo
+    static String jobIdOf(Path file) throws IOException {
+        String name = file.getFileName().toString();
+        if (name.length() > MAX_FILE_NAME_IN_JOB_ID) {
+            name = name.substring(0, MAX_FILE_NAME_IN_JOB_ID);
+        }
+        return name + "@" + Files.size(file) + "-" + Files.getLastModifiedTime(file).toMillis();
+    }
+
+    private Mono<ImportSummary> run(String jobId, Path file, HistoryImportProperties.Format format, long resumeFrom) {
+        long start = System.nanoTime();
+        AtomicLong read = new AtomicLong();
+        AtomicLong imported = new AtomicLong();
+        AtomicLong duplicates = new AtomicLong();
+        AtomicLong invalid = new AtomicLong();
+
+        return readRecords(file, format, resumeFrom)
+                .doOnNext(record -> {
+                    read.incrementAndGet();
+                    if (record.log() != null) {
+                        return;
+                    }
+                    long invalidSoFar = invalid.incrementAndGet();
+                    invalidCounter.increment();
+                    if (invalidSoFar <= LOGGED_INVALID_RECORDS) {
+                        log.warn("Importación {}: registro {} inválido, se omite: {}", jobId, record.position(), record.error());
+                    }
+                    if (invalidSoFar > properties.getMaxInvalidRecords()) {
+                        throw new InvalidImportRecordException("Se superó el máximo de "
+                                + properties.getMaxInvalidRecords() + " registros inválidos; importación abortada.");
+                    }
+                })
+                .buffer(properties.getBatchSize())
+                .concatMap(records -> {
+                    List<HistoryLog> batch = records.stream().map(SourceRecord::log).filter(Objects::nonNull).toList();
+                    long position = records.get(records.size() - 1).position();
+                    return historyBulkImportPort.importBatch(jobId, batch, position)
+                            .flatMap(rows -> rows > 0 ? historyWriteWatermark.advance().thenReturn(rows) : Mono.just(rows))
+                            .doOnNext(rows -> {
+                                imported.addAndGet(rows);
+                                duplicates.addAndGet(batch.size() - rows);
+                                importedCounter.increment(rows);
+                                duplicateCounter.increment(batch.size() - rows);
+                                logProgress(jobId, position, imported.get(), start);
+                            });
+                }, 1)
+                .then(Mono.fromSupplier(() -> new ImportSummary(jobId, resumeFrom, read.get(), imported.get(),
+                        duplicates.get(), invalid.get(), Duration.ofNanos(System.nanoTime() - start))))
+                .doOnNext(summary -> log.info("Importación {} completada: {} leídos, {} insertados, {} duplicados, {} inválidos en {} s.",
+                        jobId, summary.recordsRead(), summary.imported(), summary.duplicates(), summary.invalid(),
+                        summary.elapsed().toSeconds()));
+    }
+
+    private Flux<SourceRecord> readRecords(Path file, HistoryImportProperties.Format format, long resumeFrom) {
+        return bulkLane.subscribe(Flux.using(() -> Files.newBufferedReader(file, StandardCharsets.UTF_8),
+                        reader -> {
+                            Function<String, HistoryLog> lineParser = format == HistoryImportProperties.Format.CSV
+                                    ? csvParser(reader)
+                                    : parser::parseJson;
+                            AtomicLong position = new AtomicLong(resumeFrom);
+                            return Flux.fromStream(reader.lines())
+                                    .filter(line -> !line.isBlank())
+                                    .skip(resumeFrom)
+                                    .map(line -> parseLine(lineParser, line, position.incrementAndGet()));
+                        },
+                        this::closeQuietly));
+    }
+
+    private Function<String, HistoryLog> csvParser(BufferedReader reader) {
+        try {
+            String header = reader.readLine();
+            if (header == null) {
+                throw new InvalidImportRecordException("El archivo CSV está vacío");
+            }
+            Map<String, Integer> columns = parser.parseCsvHeader(header);
+            return line -> parser.parseCsv(line, columns);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private SourceRecord parseLine(Function<String, HistoryLog> lineParser, String line, long position) {
+        try {
+            return new SourceRecord(position, lineParser.apply(line), null);
+        } catch (InvalidImportRecordException e) {
+            return new SourceRecord(position, null, e.getMessage());
+        }
+    }
+
+    private void logProgress(String jobId, long position, long imported, long startNanos) {
+        double seconds = Math.max((System.nanoTime() - startNanos) / 1e9, 0.001);
+        log.info("Importación {}: posición {}, {} filas insertadas ({} filas/s).",
+                jobId, position, imported, Math.round(imported / seconds));
+    }
+
+    private HistoryImportProperties.Format resolveFormat(Path file) {
+        if (properties.getFormat() != HistoryImportProperties.Format.AUTO) {
+            return properties.getFormat();
+        }
+        return file.getFileName().toString().toLowerCase().endsWith(".csv")
+                ? HistoryImportProperties.Format.CSV
+                : HistoryImportProperties.Format.NDJSON;
+    }
+
+    private void closeQuietly(BufferedReader reader) {
+        try {
+            reader.close();
+        } catch (IOException e) {
+            log.warn("No se pudo cerrar el archivo de importación: {}", e.getMessage());
+        }
+    }
+
+    private static Counter recordsCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("history.import.records")
+                .description("Registros procesados por la importación masiva")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
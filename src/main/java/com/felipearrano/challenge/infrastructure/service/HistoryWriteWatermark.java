@@ -0,0 +1,112 @@
+package com.felipearrano.challenge.infrastructure.service;
+
+import com.felipearrano.challenge.infrastructure.config.HistoryDatabaseProperties;
+import com.felipearrano.challenge.infrastructure.config.HistoryEtagProperties;
+import com.felipearrano.challenge.infrastructure.util.RateLimitedLogger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Marca creciente de las escrituras del historial, guardada en Redis y compartida entre réplicas: cada
+ * inserción (guardado de auditoría, lote importado o segmento archivado) hace un {@code INCR} una vez
+ * visible para las lecturas, y el ETag de una página se arma con un {@code GET}. Permite responder 304 a
+ * un GET condicional sin consultar la BD.
+ * <p>
+ * La primera escritura siembra la clave con la hora en microsegundos: si Redis pierde la clave, la marca
+ * vuelve a empezar por encima de cualquier valor anterior y un ETag viejo no vuelve a coincidir. Mientras
+ * la clave no existe no se emite ETag.
+ * Con réplicas de lectura, cada escritura deja además una clave que vive {@code history.db.replica.max-lag}:
+ * mientras exista, la página puede venir de una réplica que aún no ve la escritura y tampoco se emite ETag,
+ * para no asociar la marca nueva a una página vieja.
+ * <p>
+ * Los registros de las consultas al propio historial ({@code history.etag.ignored-endpoints}) no avanzan la
+ * marca: de lo contrario cada consulta de un dashboard invalidaría el ETag de la siguiente. La página puede
+ * sumar esos registros sin que cambie el ETag.
+ */
+@Component
+public class HistoryWriteWatermark {
+
+    private static final RateLimitedLogger log = RateLimitedLogger.of(LoggerFactory.getLogger(HistoryWriteWatermark.class));
+
+    private static final RedisScript<Long> ADVANCE = RedisScript.of("""
+            redis.call('SET', KEYS[1], ARGV[1], 'NX')
+            local watermark = redis.call('INCR', KEYS[1])
+            if tonumber(ARGV[2]) > 0 then
+                redis.call('SET', KEYS[2], '1', 'PX', ARGV[2])
+            end
+            return watermark
+            """, Long.class);
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final boolean enabled;
+    private final String watermarkKey;
+    private final String settlingKey;
+    private final Duration timeout;
+    private final long settleMillis;
+    private final Set<String> ignoredEndpoints;
+
+    public HistoryWriteWatermark(ReactiveStringRedisTemplate redisTemplate, HistoryEtagProperties properties,
+                                 HistoryDatabaseProperties databaseProperties) {
+        this.redisTemplate = redisTemplate;
+        this.enabled = properties.isEnabled();
+        this.watermarkKey = properties.getRedisKey();
+        this.settlingKey = properties.getRedisKey() + ":settling";
+        this.timeout = properties.getRedisTimeout();
+        HistoryDatabaseProperties.Replica replica = databaseProperties.getReplica();
+        this.settleMillis = replica.isEnabled() ? replica.getMaxLag().toMillis() : 0;
+        this.ignoredEndpoints = Set.copyOf(properties.getIgnoredEndpoints());
+    }
+
+    /**
+     * Avanza la marca tras guardar el registro de una llamada a {@code endpoint}, salvo que sea una consulta
+     * al propio historial.
+     */
+    public Mono<Void> advanceFor(String endpoint) {
+        return ignoredEndpoints.contains(endpoint) ? Mono.empty() : advance();
+    }
+
+    /**
+     * Avanza la marca tras una inserción ya confirmada. Un fallo de Redis no debe deshacer la escritura:
+     * se registra y se completa igual.
+     */
+    public Mono<Void> advance() {
+        if (!enabled) {
+            return Mono.empty();
+        }
+        return redisTemplate.execute(ADVANCE, List.of(watermarkKey, settlingKey),
+                        List.of(Long.toString(System.currentTimeMillis() * 1000), Long.toString(settleMillis)))
+                .next()
+                .timeout(timeout)
+                .doOnError(e -> log.warn("advance", "No se pudo avanzar la marca de escrituras del historial: {}", e.toString()))
+                .onErrorComplete()
+                .then();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * ETag débil de una página: la misma página se sirve en JSON, CBOR o Smile con el mismo contenido.
+     * Debe pedirse antes de consultar, para que una escritura concurrente deje el ETag atrás y no al revés.
+     * Vacío si no hay marca, si una réplica puede no ver aún la última escritura o si Redis no responde.
+     */
+    public Mono<String> pageEtag(int page, int size) {
+        if (!enabled) {
+            return Mono.empty();
+        }
+        return redisTemplate.opsForValue().multiGet(List.of(watermarkKey, settlingKey))
+                .timeout(timeout)
+                .filter(values -> values.get(0) != null && values.get(1) == null)
+                .map(values -> "W/\"" + values.get(0) + "-" + page + "-" + size + "\"")
+                .doOnError(e -> log.warn("read", "No se pudo leer la marca de escrituras del historial; se omite el ETag: {}", e.toString()))
+                .onErrorComplete();
+    }
+}
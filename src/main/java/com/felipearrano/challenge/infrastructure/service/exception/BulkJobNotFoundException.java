@@ -0,0 +1,11 @@
+package com.felipearrano.challenge.infrastructure.service.exception;
+
+/**
+ * Trabajo de cálculo por lotes inexistente o ya eliminado por la retención.
+ */
+public class BulkJobNotFoundException extends RuntimeException {
+
+    public BulkJobNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.felipearrano.challenge.infrastructure.service.exception;
+
+/**
+ * Descarga pedida antes de que el trabajo de cálculo por lotes termine, o de un trabajo fallido.
+ */
+public class BulkJobNotReadyException extends RuntimeException {
+
+    public BulkJobNotReadyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.felipearrano.challenge.infrastructure.service.exception;
+
+/**
+ * Archivo de cálculo por lotes que supera {@code calculation.bulk.max-upload-size}.
+ */
+public class BulkUploadTooLargeException extends RuntimeException {
+
+    public BulkUploadTooLargeException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,12 @@
+package com.felipearrano.challenge.infrastructure.service.exception;
+
+public class InvalidImportRecordException extends RuntimeException {
+
+    public InvalidImportRecordException(String message) {
+        super(message);
+    }
+
+    public InvalidImportRecordException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,102 @@
+package com.felipearrano.challenge.infrastructure.startup;
+
+import com.felipearrano.challenge.domain.HistoryLog;
+import com.felipearrano.challenge.infrastructure.adapter.in.web.dto.CalculationResponse;
+import com.felipearrano.challenge.infrastructure.adapter.in.web.dto.PageResponse;
+import com.felipearrano.challenge.infrastructure.config.MockServiceProperties;
+import com.felipearrano.challenge.infrastructure.config.StartupWarmupProperties;
+import com.felipearrano.challenge.infrastructure.util.JsonSerializationUtil;
+import io.r2dbc.pool.ConnectionPool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Calienta las rutas críticas antes de que la aplicación se declare lista.
+ * Spring Boot marca el readiness como ACCEPTING_TRAFFIC recién después de ejecutar los
+ * {@link ApplicationRunner}, así que una réplica nueva no recibe tráfico con el pool de conexiones
+ * vacío ni con la serialización JSON sin compilar por el JIT.
+ * El calentamiento no invoca endpoints para no consumir el rate limiter ni escribir historial.
+ */
+@Component
+public class StartupWarmupRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupWarmupRunner.class);
+
+    private final StartupWarmupProperties properties;
+    private final ObjectProvider<ConnectionPool> connectionPools;
+    private final ReactiveRedisTemplate<String, Double> reactiveRedisTemplate;
+    private final MockServiceProperties mockServiceProperties;
+    private final JsonSerializationUtil jsonSerializationUtil;
+
+    public StartupWarmupRunner(StartupWarmupProperties properties,
+                               ObjectProvider<ConnectionPool> connectionPools,
+                               ReactiveRedisTemplate<String, Double> reactiveRedisTemplate,
+                               MockServiceProperties mockServiceProperties,
+                               JsonSerializationUtil jsonSerializationUtil) {
+        this.properties = properties;
+        this.connectionPools = connectionPools;
+        this.reactiveRedisTemplate = reactiveRedisTemplate;
+        this.mockServiceProperties = mockServiceProperties;
+        this.jsonSerializationUtil = jsonSerializationUtil;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long start = System.nanoTime();
+        log.info("Iniciando calentamiento previo al readiness ({} iteraciones).", properties.getIterations());
+
+        warmUpConnections();
+        warmUpSerialization();
+
+        log.info("Calentamiento completado en {} ms.", (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void warmUpConnections() {
+        // Hay un pool por carga de trabajo (lecturas e inserts de auditoría); se calientan todos
+        Mono<Integer> poolWarmup = Flux.fromStream(connectionPools.orderedStream())
+                .flatMap(ConnectionPool::warmup)
+                .reduce(0, Integer::sum);
+        // Lectura de la clave del porcentaje: abre la conexión a Redis sin modificar datos
+        Mono<Boolean> redisWarmup = reactiveRedisTemplate.hasKey(mockServiceProperties.getRedisKey());
+
+        try {
+            Mono.zip(poolWarmup, redisWarmup)
+                    .doOnNext(result -> log.info("Conexiones precalentadas: {} en los pools R2DBC, Redis disponible.", result.getT1()))
+                    .block(properties.getTimeout());
+        } catch (Exception e) {
+            // Un backend caído no debe impedir el arranque; los health checks lo reflejarán
+            log.warn("No se pudieron precalentar las conexiones: {}", e.getMessage());
+        }
+    }
+
+    private void warmUpSerialization() {
+        HistoryLog sample = new HistoryLog(UUID.randomUUID(), Instant.now(), "/api/v1/calculations/sum-with-percentage",
+                "[10.5, 20.0]", "{\"result\":33.550}", 200, true, null);
+        // Misma forma que devuelve /history
+        PageResponse<HistoryLog> page = PageResponse.from(new PageImpl<>(List.of(sample), PageRequest.of(0, 10), 1));
+
+        for (int i = 0; i < properties.getIterations(); i++) {
+            BigDecimal num = BigDecimal.valueOf(i);
+            jsonSerializationUtil.safelySerializeArray(new Object[]{num, num});
+            jsonSerializationUtil.safelySerialize(new CalculationResponse(num.add(num)));
+            jsonSerializationUtil.safelySerialize(page);
+        }
+    }
+}
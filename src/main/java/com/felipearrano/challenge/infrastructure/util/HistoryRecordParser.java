@@ -0,0 +1,148 @@
+package com.felipearrano.challenge.infrastructure.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.felipearrano.challenge.domain.HistoryLog;
+import com.felipearrano.challenge.infrastructure.service.exception.InvalidImportRecordException;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Convierte y valida líneas de archivos de importación (NDJSON o CSV) a {@link HistoryLog}.
+ * El CSV debe traer encabezado; las columnas se reconocen tanto en camelCase como en snake_case
+ * y los campos entre comillas pueden contener comas y comillas dobladas, pero no saltos de línea.
+ */
+@Component
+public class HistoryRecordParser {
+
+    private static final int MAX_ENDPOINT_LENGTH = 255;
+    private static final List<String> COLUMNS = List.of("id", "timestamp", "endpointinvoked", "parametersreceived",
+            "responsebody", "httpstatus", "issuccess", "errormessage", "occurrences", "lasttimestamp");
+
+    private final ObjectMapper objectMapper;
+
+    public HistoryRecordParser(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public HistoryLog parseJson(String line) {
+        try {
+            return validate(objectMapper.readValue(line, HistoryLog.class));
+        } catch (JsonProcessingException e) {
+            throw new InvalidImportRecordException("JSON inválido: " + e.getOriginalMessage(), e);
+        }
+    }
+
+    /**
+     * Resuelve la posición de cada columna conocida a partir del encabezado CSV.
+     */
+    public Map<String, Integer> parseCsvHeader(String headerLine) {
+        List<String> names = splitCsv(headerLine);
+        Map<String, Integer> positions = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            String normalized = names.get(i).replace("_", "").trim().toLowerCase(Locale.ROOT);
+            if (COLUMNS.contains(normalized)) {
+                positions.put(normalized, i);
+            }
+        }
+        for (String required : List.of("id", "timestamp", "endpointinvoked", "httpstatus", "issuccess")) {
+            if (!positions.containsKey(required)) {
+                throw new InvalidImportRecordException("El encabezado CSV no contiene la columna obligatoria '" + required + "'");
+            }
+        }
+        return positions;
+    }
+
+    public HistoryLog parseCsv(String line, Map<String, Integer> header) {
+        List<String> fields = splitCsv(line);
+        try {
+            // occurrences y last_timestamp son opcionales: sin ellas el registro representa una sola llamada
+            String occurrences = field(fields, header, "occurrences");
+            String lastTimestamp = field(fields, header, "lasttimestamp");
+            return validate(new HistoryLog(
+                    UUID.fromString(field(fields, header, "id")),
+                    Instant.parse(field(fields, header, "timestamp")),
+                    field(fields, header, "endpointinvoked"),
+                    field(fields, header, "parametersreceived"),
+                    field(fields, header, "responsebody"),
+                    Integer.valueOf(field(fields, header, "httpstatus")),
+                    Boolean.valueOf(field(fields, header, "issuccess")),
+                    field(fields, header, "errormessage"),
+                    occurrences == null ? null : Integer.valueOf(occurrences),
+                    lastTimestamp == null ? null : Instant.parse(lastTimestamp)));
+        } catch (IllegalArgumentException | DateTimeParseException | NullPointerException e) {
+            throw new InvalidImportRecordException("Valor inválido en CSV: " + e.getMessage(), e);
+        }
+    }
+
+    private HistoryLog validate(HistoryLog log) {
+        if (log.id() == null) {
+            throw new InvalidImportRecordException("Falta el id");
+        }
+        if (log.timestamp() == null) {
+            throw new InvalidImportRecordException("Falta el timestamp");
+        }
+        if (log.endpointInvoked() == null || log.endpointInvoked().isBlank()
+                || log.endpointInvoked().length() > MAX_ENDPOINT_LENGTH) {
+            throw new InvalidImportRecordException("El endpoint es obligatorio y no puede superar " + MAX_ENDPOINT_LENGTH + " caracteres");
+        }
+        if (log.httpStatus() == null || log.httpStatus() < 100 || log.httpStatus() > 599) {
+            throw new InvalidImportRecordException("Código HTTP inválido: " + log.httpStatus());
+        }
+        if (log.isSuccess() == null) {
+            throw new InvalidImportRecordException("Falta el indicador de éxito");
+        }
+        return log;
+    }
+
+    // Un campo vacío sin comillas es nulo; "" entre comillas es una cadena vacía
+    private static String field(List<String> fields, Map<String, Integer> header, String column) {
+        Integer position = header.get(column);
+        if (position == null || position >= fields.size()) {
+            return null;
+        }
+        return fields.get(position);
+    }
+
+    static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        boolean wasQuoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+                wasQuoted = true;
+            } else if (c == ',') {
+                fields.add(current.isEmpty() && !wasQuoted ? null : current.toString());
+                current.setLength(0);
+                wasQuoted = false;
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            throw new InvalidImportRecordException("Comillas sin cerrar en la línea CSV");
+        }
+        fields.add(current.isEmpty() && !wasQuoted ? null : current.toString());
+        return fields;
+    }
+}
@@ -1,24 +1,44 @@
 package com.felipearrano.challenge.infrastructure.util;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.felipearrano.challenge.infrastructure.config.AuditSerializationProperties;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.http.codec.multipart.FilePart;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import java.util.Arrays;
-import java.util.stream.Collectors;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 
+/**
+ * Serializa argumentos y respuestas para la auditoría.
+ * Jackson escribe directamente sobre un buffer reutilizable por hilo, acotado a
+ * {@code history.serialization.max-bytes}: al alcanzar el límite se corta la serialización y se agrega
+ * {@link #TRUNCATION_MARKER}. El resultado final se arma en una sola pasada, sin Strings intermedios.
+ */
 @Component
 public class JsonSerializationUtil {
 
     private static final Logger log = LoggerFactory.getLogger(JsonSerializationUtil.class);
-    private final ObjectMapper objectMapper;
 
-    public JsonSerializationUtil(ObjectMapper objectMapper) {
-        this.objectMapper = objectMapper;
+    public static final String TRUNCATION_MARKER = "...[Truncated]";
+    private static final String SERIALIZATION_ERROR = "[Serialization Error]";
+
+    private final ObjectWriter objectWriter;
+    private final int maxBytes;
+    private final ThreadLocal<BoundedBuffer> buffers;
+
+    public JsonSerializationUtil(ObjectMapper objectMapper, AuditSerializationProperties properties) {
+        this.objectWriter = objectMapper.writer();
+        this.maxBytes = properties.getMaxBytes();
+        this.buffers = ThreadLocal.withInitial(() -> new BoundedBuffer(maxBytes));
     }
 
     /**
@@ -31,11 +51,58 @@ public class JsonSerializationUtil {
         if (args == null || args.length == 0) {
             return "[]";
         }
-        // Llama al serializador de objeto individual para cada elemento
-        String serializedArgs = Arrays.stream(args)
-                .map(this::safelySerialize)
-                .collect(Collectors.joining(", "));
-        return "[" + serializedArgs + "]";
+        BoundedBuffer buffer = acquire();
+        try {
+            try {
+                buffer.writeAscii("[");
+                for (int i = 0; i < args.length; i++) {
+                    if (i > 0) {
+                        buffer.writeAscii(", ");
+                    }
+                    writeValue(buffer, args[i]);
+                }
+                buffer.writeAscii("]");
+            } catch (LimitReachedException e) {
+                // El buffer ya marcó el truncamiento; se devuelve lo escrito hasta el límite
+            }
+            return buffer.result();
+        } finally {
+            buffer.release();
+        }
+    }
+
+    /**
+     * Igual que {@link #safelySerializeArray(Object[])} pero como objeto JSON con el nombre de cada argumento
+     * (ej. "{"num1": 10.5, "num2": 20}"), para poder consultar los parámetros por clave.
+     * @param names Nombres de los argumentos, en el mismo orden que {@code args}.
+     * @param args Array de objetos a serializar.
+     */
+    public String safelySerializeNamed(String[] names, Object[] args) {
+        if (args == null || args.length == 0) {
+            return "{}";
+        }
+        BoundedBuffer buffer = acquire();
+        try {
+            try {
+                buffer.writeAscii("{");
+                for (int i = 0; i < args.length; i++) {
+                    if (i > 0) {
+                        buffer.writeAscii(", ");
+                    }
+                    buffer.writeAscii("\"");
+                    byte[] name = JsonStringEncoder.getInstance().quoteAsUTF8(i < names.length ? names[i] : "arg" + i);
+                    buffer.append(name, 0, name.length);
+                    buffer.writeAscii("\": ");
+                    writeValue(buffer, args[i]);
+                }
+                buffer.writeAscii("}");
+            } catch (LimitReachedException e) {
+                // El buffer ya marcó el truncamiento; se devuelve lo escrito hasta el límite
+            }
+            return buffer.result();
+        } finally {
+            buffer.release();
+        }
     }
 
     /**
@@ -51,16 +118,204 @@ public class JsonSerializationUtil {
         if (obj instanceof Mono || obj instanceof Flux) {
             return obj.getClass().getSimpleName();
         }
+        BoundedBuffer buffer = acquire();
+        try {
+            try {
+                writeValue(buffer, obj);
+            } catch (LimitReachedException e) {
+                // El buffer ya marcó el truncamiento; se devuelve lo escrito hasta el límite
+            }
+            return buffer.result();
+        } finally {
+            buffer.release();
+        }
+    }
 
+    private void writeValue(BoundedBuffer buffer, Object obj) throws LimitReachedException {
+        if (obj == null) {
+            buffer.writeAscii("null");
+            return;
+        }
+        if (obj instanceof Mono || obj instanceof Flux) {
+            buffer.writeAscii(obj.getClass().getSimpleName());
+            return;
+        }
+        // Archivos subidos o descargados: solo el nombre; Jackson abriría el contenido a través de los getters
+        if (obj instanceof FilePart || obj instanceof Resource) {
+            String name = obj instanceof FilePart filePart ? filePart.filename() : ((Resource) obj).getFilename();
+            byte[] quoted = JsonStringEncoder.getInstance().quoteAsUTF8("[File: " + name + "]");
+            buffer.writeAscii("\"");
+            buffer.append(quoted, 0, quoted.length);
+            buffer.writeAscii("\"");
+            return;
+        }
+
+        int mark = buffer.size();
         try {
-            return objectMapper.writeValueAsString(obj);
+            objectWriter.writeValue(buffer, obj);
         } catch (JsonProcessingException e) {
+            if (buffer.isTruncated()) {
+                throw LimitReachedException.INSTANCE;
+            }
             log.warn("No se pudo serializar el objeto de tipo {} a JSON: {}", obj.getClass().getName(), e.getMessage());
-            return "[Serialization Error]";
+            buffer.rewind(mark);
+            buffer.writeAscii(SERIALIZATION_ERROR);
         } catch (Exception e) {
-            // Captura genérica por si acaso
+            // Jackson puede envolver el corte por límite en otra excepción; el flag del buffer es la fuente de verdad
+            if (buffer.isTruncated()) {
+                throw LimitReachedException.INSTANCE;
+            }
             log.warn("Error inesperado serializando objeto de tipo {}: {}", obj.getClass().getName(), e.getMessage());
-            return "[Serialization Error]";
+            buffer.rewind(mark);
+            buffer.writeAscii(SERIALIZATION_ERROR);
+        }
+    }
+
+    private BoundedBuffer acquire() {
+        BoundedBuffer buffer = buffers.get();
+        if (buffer.inUse) {
+            // Uso reentrante en el mismo hilo: se usa un buffer temporal para no pisar el del pool
+            buffer = new BoundedBuffer(maxBytes);
+        }
+        buffer.inUse = true;
+        buffer.clear();
+        return buffer;
+    }
+
+    /**
+     * Corte de la serialización al alcanzar el límite. Preasignada, sin stack trace y sin supresión: es un
+     * flujo esperado y la instancia se comparte entre hilos, así que no puede acumular estado.
+     * Es unchecked porque IOException no permite desactivar la supresión; Jackson la propaga igual.
+     */
+    static final class LimitReachedException extends RuntimeException {
+
+        static final LimitReachedException INSTANCE = new LimitReachedException();
+
+        private LimitReachedException() {
+            super("Límite de serialización alcanzado", null, false, false);
+        }
+    }
+
+    /**
+     * OutputStream sobre un arreglo que crece hasta {@code maxBytes} y se reutiliza entre llamadas.
+     */
+    static final class BoundedBuffer extends OutputStream {
+
+        private static final int INITIAL_CAPACITY = 512;
+
+        private final int maxBytes;
+        private byte[] bytes;
+        private int count;
+        private boolean truncated;
+        private boolean inUse;
+
+        BoundedBuffer(int maxBytes) {
+            this.maxBytes = maxBytes;
+            this.bytes = new byte[Math.min(INITIAL_CAPACITY, maxBytes)];
+        }
+
+        // Tras el corte se ignora lo que escriba Jackson al cerrar el generador: volver a lanzar la misma
+        // instancia haría que la agregue como suprimida de sí misma
+        @Override
+        public void write(int b) throws IOException {
+            if (truncated) {
+                return;
+            }
+            if (count >= maxBytes) {
+                truncated = true;
+                throw LimitReachedException.INSTANCE;
+            }
+            ensureCapacity(count + 1);
+            bytes[count++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] source, int offset, int length) throws IOException {
+            append(source, offset, length);
+        }
+
+        void append(byte[] source, int offset, int length) throws LimitReachedException {
+            if (truncated) {
+                return;
+            }
+            int room = maxBytes - count;
+            int toCopy = Math.min(room, length);
+            ensureCapacity(count + toCopy);
+            System.arraycopy(source, offset, bytes, count, toCopy);
+            count += toCopy;
+            if (toCopy < length) {
+                truncated = true;
+                throw LimitReachedException.INSTANCE;
+            }
+        }
+
+        @Override
+        public void close() {
+            // Jackson cierra el stream al terminar cada valor; el buffer sigue en uso
+        }
+
+        void writeAscii(String text) throws LimitReachedException {
+            for (int i = 0; i < text.length(); i++) {
+                if (count >= maxBytes) {
+                    truncated = true;
+                    throw LimitReachedException.INSTANCE;
+                }
+                ensureCapacity(count + 1);
+                bytes[count++] = (byte) text.charAt(i);
+            }
+        }
+
+        int size() {
+            return count;
+        }
+
+        boolean isTruncated() {
+            return truncated;
+        }
+
+        void rewind(int mark) {
+            count = mark;
+        }
+
+        void clear() {
+            count = 0;
+            truncated = false;
+        }
+
+        void release() {
+            inUse = false;
+        }
+
+        String result() {
+            if (!truncated) {
+                return new String(bytes, 0, count, StandardCharsets.UTF_8);
+            }
+            return new String(bytes, 0, utf8Boundary(count), StandardCharsets.UTF_8) + TRUNCATION_MARKER;
+        }
+
+        /**
+         * Retrocede hasta el último carácter UTF-8 completo para no dejar una secuencia multibyte cortada.
+         */
+        private int utf8Boundary(int end) {
+            int lead = end - 1;
+            while (lead >= 0 && (bytes[lead] & 0xC0) == 0x80) {
+                lead--;
+            }
+            if (lead < 0) {
+                return 0;
+            }
+            int b = bytes[lead] & 0xFF;
+            int expected = b < 0x80 ? 1 : (b & 0xE0) == 0xC0 ? 2 : (b & 0xF0) == 0xE0 ? 3 : 4;
+            return end - lead < expected ? lead : end;
+        }
+
+        private void ensureCapacity(int required) {
+            if (required > bytes.length) {
+                int newCapacity = Math.min(maxBytes, Math.max(required, bytes.length * 2));
+                byte[] grown = new byte[newCapacity];
+                System.arraycopy(bytes, 0, grown, 0, count);
+                bytes = grown;
+            }
         }
     }
 }
@@ -0,0 +1,94 @@
+package com.felipearrano.challenge.infrastructure.util;
+
+import org.slf4j.Logger;
+import org.slf4j.event.Level;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Logging deduplicado para los caminos de error que se repiten en ráfaga (upstream caído, rate limit).
+ * Por cada clave se escribe como mucho un mensaje por ventana; los demás solo se cuentan y el siguiente
+ * mensaje que se escribe informa cuántos se suprimieron. Las claves deben tener cardinalidad acotada
+ * (tipo de error, sitio del log), nunca datos de la petición.
+ */
+public final class RateLimitedLogger {
+
+    public static final Duration DEFAULT_WINDOW = Duration.ofSeconds(10);
+
+    private static final String SUPPRESSED_SUFFIX = " ({} mensajes similares suprimidos en los últimos {} s)";
+
+    private final Logger delegate;
+    private final long windowNanos;
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+
+    public RateLimitedLogger(Logger delegate, Duration window) {
+        this.delegate = delegate;
+        this.windowNanos = window.toNanos();
+    }
+
+    public static RateLimitedLogger of(Logger delegate) {
+        return new RateLimitedLogger(delegate, DEFAULT_WINDOW);
+    }
+
+    public void error(String key, String format, Object... args) {
+        log(Level.ERROR, key, format, args);
+    }
+
+    public void warn(String key, String format, Object... args) {
+        log(Level.WARN, key, format, args);
+    }
+
+    void log(Level level, String key, String format, Object... args) {
+        if (!delegate.isEnabledForLevel(level)) {
+            return;
+        }
+        long now = System.nanoTime();
+        Window window = windows.computeIfAbsent(key, k -> new Window(now - windowNanos));
+        long start = window.start.get();
+        if (now - start < windowNanos || !window.start.compareAndSet(start, now)) {
+            window.suppressed.incrementAndGet();
+            return;
+        }
+        long suppressed = window.suppressed.getAndSet(0);
+        if (suppressed == 0) {
+            emit(level, format, args);
+            return;
+        }
+        emit(level, format + SUPPRESSED_SUFFIX, withSummary(args, suppressed, (now - start) / 1_000_000_000L));
+    }
+
+    private void emit(Level level, String format, Object[] args) {
+        if (level == Level.ERROR) {
+            delegate.error(format, args);
+        } else {
+            delegate.warn(format, args);
+        }
+    }
+
+    // El Throwable final, si lo hay, debe seguir siendo el último argumento para que SLF4J lo trate como excepción
+    private static Object[] withSummary(Object[] args, long suppressed, long seconds) {
+        boolean hasThrowable = args.length > 0 && args[args.length - 1] instanceof Throwable;
+        int plain = hasThrowable ? args.length - 1 : args.length;
+        Object[] extended = Arrays.copyOf(args, args.length + 2);
+        extended[plain] = suppressed;
+        extended[plain + 1] = seconds;
+        if (hasThrowable) {
+            extended[plain + 2] = args[args.length - 1];
+        }
+        return extended;
+    }
+
+    private static final class Window {
+
+        private final AtomicLong start;
+        private final AtomicLong suppressed = new AtomicLong();
+
+        private Window(long start) {
+            this.start = new AtomicLong(start);
+        }
+    }
+}
@@ -8,4 +8,23 @@ CREATE TABLE IF NOT EXISTS call_history (
     http_status INTEGER NOT NULL,                -- Código de estado HTTP de la respuesta
     is_success BOOLEAN NOT NULL,                 -- Indicador simple de si la llamada fue exitosa (status 2xx)
     error_message TEXT                           -- Mensaje de error específico si is_success es false
-);
\ No newline at end of file
+);
+
+-- Llamadas idénticas agrupadas en un solo registro (history.coalescing); timestamp es la primera
+ALTER TABLE call_history ADD COLUMN IF NOT EXISTS occurrences INTEGER NOT NULL DEFAULT 1;
+ALTER TABLE call_history ADD COLUMN IF NOT EXISTS last_timestamp TIMESTAMP WITH TIME ZONE;
+
+-- Copia JSONB de parámetros y respuesta (history.json-storage); nula si el texto no es JSON válido
+ALTER TABLE call_history ADD COLUMN IF NOT EXISTS parameters_json JSONB;
+ALTER TABLE call_history ADD COLUMN IF NOT EXISTS response_json JSONB;
+
+-- Índice para la paginación del historial (más recientes primero)
+CREATE INDEX IF NOT EXISTS idx_call_history_timestamp ON call_history (timestamp DESC, id DESC);
+
+-- Posición confirmada de cada importación masiva, para poder reanudarla
+CREATE TABLE IF NOT EXISTS call_history_import (
+    job_id VARCHAR(255) PRIMARY KEY,             -- Identificador de la importación (por defecto, nombre@tamaño-fecha del archivo)
+    committed_position BIGINT NOT NULL,          -- Registros del origen ya procesados en lotes confirmados
+    rows_imported BIGINT NOT NULL,               -- Filas insertadas (sin contar ids repetidos)
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
@@ -0,0 +1,47 @@
+package com.felipearrano.challenge.allocation;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+/**
+ * Mide los bytes asignados en el heap por operación con los contadores de asignación por hilo de la JVM.
+ * Se suman todos los hilos porque una petición reactiva salta entre el hilo que la recibe, los schedulers
+ * de Reactor y el executor de {@code @Async}. Cada medición es la mediana de varias rondas, para que un
+ * hilo de fondo que asigna en una ronda no mueva el resultado.
+ */
+final class AllocationMeter {
+
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    AllocationMeter() {
+        if (!threads.isThreadAllocatedMemorySupported()) {
+            throw new IllegalStateException("La JVM no soporta contadores de asignación por hilo");
+        }
+        threads.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    long bytesPerOperation(Runnable operation, int iterations, int rounds) {
+        long[] perRound = new long[rounds];
+        for (int round = 0; round < rounds; round++) {
+            long before = totalAllocatedBytes();
+            for (int i = 0; i < iterations; i++) {
+                operation.run();
+            }
+            // Un hilo que termina durante la ronda se lleva su contador: nunca se informa menos de cero
+            perRound[round] = Math.max(0, totalAllocatedBytes() - before) / iterations;
+        }
+        Arrays.sort(perRound);
+        return perRound[rounds / 2];
+    }
+
+    private long totalAllocatedBytes() {
+        long total = 0;
+        for (long bytes : threads.getThreadAllocatedBytes(threads.getAllThreadIds())) {
+            if (bytes > 0) {
+                total += bytes;
+            }
+        }
+        return total;
+    }
+}
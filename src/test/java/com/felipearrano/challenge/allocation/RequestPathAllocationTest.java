@@ -0,0 +1,114 @@
+package com.felipearrano.challenge.allocation;
+
+import com.felipearrano.challenge.TestcontainersConfiguration;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Presupuesto de asignación por petición de los endpoints principales. Las peticiones recorren en proceso
+ * el mismo camino que en producción (filtros, controladores con su aspecto de auditoría, casos de uso,
+ * serialización y el guardado asíncrono del historial); solo el upstream simulado responde sin demora.
+ * Se ejecuta con {@code ./gradlew allocationTest}, que forma parte de {@code check}.
+ */
+@Tag("allocation")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.MOCK, properties = {
+        "mock.percentage-service.delay=0ms",
+        "mock.percentage-service.failure-rate=0",
+        "resilience4j.ratelimiter.instances.apiGlobalLimiter.limitForPeriod=1000000",
+        "resilience4j.ratelimiter.instances.apiGlobalLimiter.limitRefreshPeriod=1s",
+        "startup.warmup.enabled=false",
+        "calculation.fast-path.enabled=true",
+        "calculation.fast-path.path=/api/v1/fast/calculations/sum-with-percentage"
+})
+@AutoConfigureWebTestClient
+@Import(TestcontainersConfiguration.class)
+class RequestPathAllocationTest {
+
+    private static final int WARMUP = Integer.getInteger("allocation.warmup", 2000);
+    private static final int ITERATIONS = Integer.getInteger("allocation.iterations", 500);
+    private static final int ROUNDS = Integer.getInteger("allocation.rounds", 5);
+
+    private static Properties budgets;
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    private final AllocationMeter meter = new AllocationMeter();
+
+    @BeforeAll
+    static void loadBudgets() throws IOException {
+        budgets = new Properties();
+        try (InputStream in = RequestPathAllocationTest.class.getResourceAsStream("/allocation-budgets.properties")) {
+            budgets.load(in);
+        }
+    }
+
+    @Test
+    @DisplayName("GET /sum-with-percentage debe mantenerse dentro de su presupuesto de asignación")
+    void calculation_shouldStayWithinBudget() {
+        assertWithinBudget("calculation.sum-with-percentage", () -> webTestClient.get()
+                .uri("/api/v1/calculations/sum-with-percentage?num1=10.5&num2=20")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().returnResult());
+    }
+
+    @Test
+    @DisplayName("El endpoint funcional de cálculo debe mantenerse dentro de su presupuesto de asignación")
+    void calculationFastPath_shouldStayWithinBudget() {
+        assertWithinBudget("calculation.fast-path", () -> webTestClient.get()
+                .uri("/api/v1/fast/calculations/sum-with-percentage?num1=10.5&num2=20")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().returnResult());
+    }
+
+    @Test
+    @DisplayName("Un error de validación debe mantenerse dentro de su presupuesto de asignación")
+    void validationError_shouldStayWithinBudget() {
+        assertWithinBudget("calculation.validation-error", () -> webTestClient.get()
+                .uri("/api/v1/calculations/sum-with-percentage?num1=-1&num2=20")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().returnResult());
+    }
+
+    @Test
+    @DisplayName("GET /history debe mantenerse dentro de su presupuesto de asignación")
+    void history_shouldStayWithinBudget() {
+        // Asegura una página completa para que el tamaño de la respuesta no cambie entre rondas
+        for (int i = 0; i < 20; i++) {
+            webTestClient.get().uri("/api/v1/calculations/sum-with-percentage?num1=1&num2=2").exchange();
+        }
+        assertWithinBudget("history.page", () -> webTestClient.get()
+                .uri("/api/v1/history?page=0&size=10")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().returnResult());
+    }
+
+    private void assertWithinBudget(String endpoint, Runnable request) {
+        for (int i = 0; i < WARMUP; i++) {
+            request.run();
+        }
+        long measured = meter.bytesPerOperation(request, ITERATIONS, ROUNDS);
+        long budget = Long.getLong("allocation.budget." + endpoint, Long.parseLong(budgets.getProperty(endpoint)));
+
+        assertThat(measured)
+                .as("Bytes asignados por petición en %s: %,d (presupuesto %,d)", endpoint, measured, budget)
+                .isLessThanOrEqualTo(budget);
+    }
+}
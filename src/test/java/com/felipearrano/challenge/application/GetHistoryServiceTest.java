@@ -1,6 +1,7 @@
 package com.felipearrano.challenge.application;
 
 import com.felipearrano.challenge.application.port.out.HistoryRepositoryPort;
+import com.felipearrano.challenge.application.port.out.RecentHistoryCachePort;
 import com.felipearrano.challenge.domain.HistoryLog;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -18,9 +19,11 @@ import reactor.test.StepVerifier;
 
 import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.verify;
 
@@ -30,6 +33,9 @@ class GetHistoryServiceTest {
     @Mock
     private HistoryRepositoryPort historyRepositoryPort;
 
+    @Mock
+    private RecentHistoryCachePort recentHistoryCachePort;
+
     @InjectMocks
     private GetHistoryService getHistoryService;
 
@@ -110,4 +116,55 @@ class GetHistoryServiceTest {
 
         verify(historyRepositoryPort).findAllPaginated(pageable);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Debe servir la página desde el historial reciente sin consultar el repositorio")
+    void shouldServePageFromRecentCacheWhenAvailable() {
+        // Arrange
+        Page<HistoryLog> cachedPage = new PageImpl<>(List.of(log2, log1), pageable, 2);
+        when(recentHistoryCachePort.findRecentPage(pageable)).thenReturn(Optional.of(cachedPage));
+
+        // Act
+        Mono<Page<HistoryLog>> resultMono = getHistoryService.getHistory(pageable);
+
+        // Assert
+        StepVerifier.create(resultMono)
+                .expectNext(cachedPage)
+                .verifyComplete();
+
+        verify(historyRepositoryPort, never()).findAllPaginated(any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Debe sincronizar el total del historial reciente al consultar el repositorio")
+    void shouldSyncRecentCacheTotalOnRepositoryFallback() {
+        // Arrange
+        Page<HistoryLog> expectedPage = new PageImpl<>(List.of(log1, log2), pageable, 2);
+        when(historyRepositoryPort.findAllPaginated(any(Pageable.class))).thenReturn(Mono.just(expectedPage));
+
+        // Act
+        StepVerifier.create(getHistoryService.getHistory(pageable))
+                .expectNext(expectedPage)
+                .verifyComplete();
+
+        // Assert
+        verify(recentHistoryCachePort).syncTotal(2);
+    }
+
+    @Test
+    @DisplayName("La página guardada debe consultarse en el repositorio sin pasar por el historial reciente")
+    void shouldBypassRecentCacheForStoredHistory() {
+        // Arrange
+        Page<HistoryLog> expectedPage = new PageImpl<>(List.of(log2, log1), pageable, 2);
+        when(historyRepositoryPort.findAllPaginated(pageable)).thenReturn(Mono.just(expectedPage));
+
+        // Act
+        StepVerifier.create(getHistoryService.getStoredHistory(pageable))
+                .expectNext(expectedPage)
+                .verifyComplete();
+
+        // Assert
+        verify(recentHistoryCachePort, never()).findRecentPage(any(Pageable.class));
+        verify(recentHistoryCachePort).syncTotal(2);
+    }
+}
@@ -0,0 +1,116 @@
+package com.felipearrano.challenge.infrastructure.adapter.in.web;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.felipearrano.challenge.TestcontainersConfiguration;
+import com.felipearrano.challenge.application.port.in.CalculateSumUseCase;
+import com.felipearrano.challenge.infrastructure.adapter.in.web.dto.CalculationResponse;
+import com.felipearrano.challenge.infrastructure.adapter.out.external.exception.PercentageServiceUnavailableException;
+import com.felipearrano.challenge.infrastructure.service.ApiCallAuditor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.reactive.server.EntityExchangeResult;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.AdditionalMatchers.aryEq;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// El endpoint funcional se publica en otra ruta para poder comparar ambos caminos en el mismo contexto
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "calculation.fast-path.enabled=true",
+        "calculation.fast-path.path=" + CalculationFastPathHandlerTest.FAST_PATH,
+        "resilience4j.ratelimiter.instances.apiGlobalLimiter.limitForPeriod=1000000",
+        "resilience4j.ratelimiter.instances.apiGlobalLimiter.limitRefreshPeriod=1s"
+})
+@Import(TestcontainersConfiguration.class)
+class CalculationFastPathHandlerTest {
+
+    static final String FAST_PATH = "/api/v1/fast/calculations/sum-with-percentage";
+    private static final String ANNOTATED_PATH = "/api/v1/calculations/sum-with-percentage";
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockitoBean
+    private CalculateSumUseCase calculateSumUseCase;
+
+    @MockitoSpyBean
+    private ApiCallAuditor auditor;
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "num1=5&num2=5",
+            "num1=-1&num2=5",
+            "num1=-1&num2=-2",
+            "num2=5",
+            "num1=&num2=5",
+            "num1=abc&num2=5",
+            "num1=1e3&num2=0.25"
+    })
+    @DisplayName("El endpoint funcional debe responder igual que el controlador anotado")
+    void shouldRespondLikeAnnotatedController(String query) throws Exception {
+        when(calculateSumUseCase.calculateSumWithPercentage(any(), any())).thenReturn(Mono.just(new BigDecimal("1.1E+3")));
+
+        assertThat(response(FAST_PATH + "?" + query)).isEqualTo(response(ANNOTATED_PATH + "?" + query));
+    }
+
+    @Test
+    @DisplayName("Un error del caso de uso debe producir el mismo 503 en ambos caminos")
+    void shouldMapUseCaseErrorsLikeAnnotatedController() throws Exception {
+        when(calculateSumUseCase.calculateSumWithPercentage(any(), any()))
+                .thenReturn(Mono.error(new PercentageServiceUnavailableException("Servicio caído")));
+
+        Map<String, Object> fast = response(FAST_PATH + "?num1=5&num2=5");
+
+        assertThat(fast).containsEntry("status", 503);
+        assertThat(fast).isEqualTo(response(ANNOTATED_PATH + "?num1=5&num2=5"));
+    }
+
+    @Test
+    @DisplayName("Debe registrar la llamada en el historial con los mismos argumentos y respuesta")
+    void shouldAuditSuccessfulCalls() {
+        BigDecimal result = new BigDecimal("11.0");
+        when(calculateSumUseCase.calculateSumWithPercentage(any(), any())).thenReturn(Mono.just(result));
+
+        webTestClient.get().uri(FAST_PATH + "?num1=5&num2=5")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.result").isEqualTo(result);
+
+        verify(auditor).record(any(), eq(FAST_PATH), aryEq(new String[]{"num1", "num2"}),
+                aryEq(new Object[]{new BigDecimal("5"), new BigDecimal("5")}),
+                eq(new CalculationResponse(result)), isNull());
+    }
+
+    // Status y cuerpo sin timestamp ni path; los detalles de validación se ordenan porque el controlador no garantiza orden
+    private Map<String, Object> response(String uri) throws Exception {
+        EntityExchangeResult<byte[]> result = webTestClient.get().uri(uri).exchange().expectBody().returnResult();
+        Map<String, Object> body = objectMapper.readValue(result.getResponseBodyContent(), new TypeReference<>() {});
+        body.remove("timestamp");
+        body.remove("path");
+        body.computeIfPresent("details", (key, details) -> ((List<?>) details).stream().map(String::valueOf).sorted().toList());
+        body.put("httpStatus", result.getStatus().value());
+        return body;
+    }
+}
@@ -0,0 +1,115 @@
+package com.felipearrano.challenge.infrastructure.adapter.in.web;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.felipearrano.challenge.TestcontainersConfiguration;
+import com.felipearrano.challenge.application.port.in.CalculateSumUseCase;
+import com.felipearrano.challenge.application.port.in.GetHistoryUseCase;
+import com.felipearrano.challenge.domain.HistoryLog;
+import com.felipearrano.challenge.infrastructure.adapter.in.web.dto.CalculationResponse;
+import com.felipearrano.challenge.infrastructure.adapter.in.web.dto.PageResponse;
+import com.felipearrano.challenge.infrastructure.config.BinaryCodecsConfig;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "resilience4j.ratelimiter.instances.apiGlobalLimiter.limitForPeriod=1000000",
+        "resilience4j.ratelimiter.instances.apiGlobalLimiter.limitRefreshPeriod=1s"
+})
+@Import(TestcontainersConfiguration.class)
+class ContentNegotiationTest {
+
+    private static final HistoryLog LOG = new HistoryLog(UUID.randomUUID(), Instant.parse("2025-04-10T12:00:00Z"),
+            "/api/v1/calculations/sum-with-percentage", "[5, 5]", "{\"result\":11.0}", 200, true, null);
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private Jackson2ObjectMapperBuilder objectMapperBuilder;
+
+    @MockitoBean
+    private GetHistoryUseCase getHistoryUseCase;
+
+    @MockitoBean
+    private CalculateSumUseCase calculateSumUseCase;
+
+    // Con ETag la página se pide sin el historial reciente en memoria; sin él, con el camino normal
+    private void stubHistoryPage(Page<HistoryLog> page) {
+        when(getHistoryUseCase.getHistory(any())).thenReturn(Mono.just(page));
+        when(getHistoryUseCase.getStoredHistory(any())).thenReturn(Mono.just(page));
+    }
+
+    @Test
+    @DisplayName("Sin Accept explícito /history debe responder JSON con la página estable")
+    void history_shouldDefaultToJsonPageResponse() {
+        stubHistoryPage(new PageImpl<>(List.of(LOG), PageRequest.of(0, 10), 21));
+
+        webTestClient.get().uri("/api/v1/history?page=0&size=10")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$.content[0].id").isEqualTo(LOG.id().toString())
+                .jsonPath("$.page.size").isEqualTo(10)
+                .jsonPath("$.page.number").isEqualTo(0)
+                .jsonPath("$.page.totalElements").isEqualTo(21)
+                .jsonPath("$.page.totalPages").isEqualTo(3)
+                .jsonPath("$.pageable").doesNotExist();
+    }
+
+    @Test
+    @DisplayName("Con Accept CBOR /history debe responder la misma página en CBOR")
+    void history_shouldNegotiateCbor() throws Exception {
+        stubHistoryPage(new PageImpl<>(List.of(LOG), PageRequest.of(0, 10), 1));
+        ObjectMapper cbor = BinaryCodecsConfig.cborMapper(objectMapperBuilder);
+        JavaType pageType = cbor.getTypeFactory().constructParametricType(PageResponse.class, HistoryLog.class);
+
+        byte[] body = webTestClient.get().uri("/api/v1/history?page=0&size=10")
+                .accept(MediaType.APPLICATION_CBOR)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_CBOR)
+                .expectBody(byte[].class).returnResult().getResponseBody();
+
+        PageResponse<HistoryLog> page = cbor.readValue(body, pageType);
+        assertThat(page.content()).containsExactly(LOG);
+        assertThat(page.page()).isEqualTo(new PageResponse.PageMetadata(10, 0, 1, 1));
+    }
+
+    @Test
+    @DisplayName("Con Accept Smile /sum-with-percentage debe responder el resultado en Smile")
+    void calculation_shouldNegotiateSmile() throws Exception {
+        when(calculateSumUseCase.calculateSumWithPercentage(any(), any())).thenReturn(Mono.just(new BigDecimal("11.0")));
+        ObjectMapper smile = BinaryCodecsConfig.smileMapper(objectMapperBuilder);
+
+        byte[] body = webTestClient.get().uri("/api/v1/calculations/sum-with-percentage?num1=5&num2=5")
+                .accept(BinaryCodecsConfig.APPLICATION_SMILE)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(BinaryCodecsConfig.APPLICATION_SMILE)
+                .expectBody(byte[].class).returnResult().getResponseBody();
+
+        assertThat(smile.readValue(body, CalculationResponse.class).result()).isEqualByComparingTo("11.0");
+    }
+}
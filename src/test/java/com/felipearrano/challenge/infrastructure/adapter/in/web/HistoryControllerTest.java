@@ -0,0 +1,102 @@
+package com.felipearrano.challenge.infrastructure.adapter.in.web;
+
+import com.felipearrano.challenge.TestcontainersConfiguration;
+import com.felipearrano.challenge.application.port.in.GetHistoryUseCase;
+import com.felipearrano.challenge.domain.HistoryLog;
+import com.felipearrano.challenge.infrastructure.service.HistoryWriteWatermark;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "resilience4j.ratelimiter.instances.apiGlobalLimiter.limitForPeriod=1000000",
+        "resilience4j.ratelimiter.instances.apiGlobalLimiter.limitRefreshPeriod=1s"
+})
+@Import(TestcontainersConfiguration.class)
+class HistoryControllerTest {
+
+    private static final HistoryLog LOG = new HistoryLog(UUID.randomUUID(), Instant.parse("2025-04-10T12:00:00Z"),
+            "/api/v1/calculations/sum-with-percentage", "[5, 5]", "{\"result\":11.0}", 200, true, null);
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private HistoryWriteWatermark historyWriteWatermark;
+
+    @MockitoBean
+    private GetHistoryUseCase getHistoryUseCase;
+
+    @BeforeEach
+    void setUp() {
+        // Sin ninguna escritura previa la clave de la marca no existe y no se emite ETag
+        historyWriteWatermark.advance().block();
+        when(getHistoryUseCase.getStoredHistory(any()))
+                .thenReturn(Mono.just(new PageImpl<>(List.of(LOG), PageRequest.of(0, 10), 1)));
+    }
+
+    private String fetchEtag(String uri) {
+        return webTestClient.get().uri(uri)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().exists(HttpHeaders.ETAG)
+                .returnResult(String.class)
+                .getResponseHeaders().getETag();
+    }
+
+    @Test
+    @DisplayName("Con If-None-Match y sin escrituras nuevas /history debe responder 304 sin consultar el historial")
+    void history_shouldReturn304WithoutQueryingWhenUnchanged() {
+        String etag = fetchEtag("/api/v1/history?page=0&size=10");
+
+        webTestClient.get().uri("/api/v1/history?page=0&size=10")
+                .ifNoneMatch(etag)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, etag)
+                .expectHeader().valueEquals(HttpHeaders.CACHE_CONTROL, "no-cache")
+                .expectHeader().values(HttpHeaders.VARY, vary -> assertThat(vary).contains(HttpHeaders.ACCEPT))
+                .expectBody().isEmpty();
+
+        verify(getHistoryUseCase, times(1)).getStoredHistory(any());
+    }
+
+    @Test
+    @DisplayName("Tras una escritura o con otra página el ETag debe cambiar y /history debe devolver la página")
+    void history_shouldReturnPageWhenWatermarkAdvancesOrPageDiffers() {
+        String etag = fetchEtag("/api/v1/history?page=0&size=10");
+        assertThat(fetchEtag("/api/v1/history?page=1&size=10")).isNotEqualTo(etag);
+
+        historyWriteWatermark.advance().block();
+
+        webTestClient.get().uri("/api/v1/history?page=0&size=10")
+                .ifNoneMatch(etag)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.content[0].id").isEqualTo(LOG.id().toString());
+
+        verify(getHistoryUseCase, times(3)).getStoredHistory(any());
+        verify(getHistoryUseCase, never()).getHistory(any());
+    }
+}
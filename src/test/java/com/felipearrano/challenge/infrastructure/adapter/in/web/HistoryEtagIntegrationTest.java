@@ -0,0 +1,100 @@
+package com.felipearrano.challenge.infrastructure.adapter.in.web;
+
+import com.felipearrano.challenge.TestcontainersConfiguration;
+import com.felipearrano.challenge.application.port.out.HistoryRepositoryPort;
+import com.felipearrano.challenge.domain.HistoryLog;
+import com.felipearrano.challenge.infrastructure.service.AsyncHistoryLoggerService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * GET condicional del historial de punta a punta: el aspecto audita cada consulta con la política de captura
+ * por defecto, los registros se guardan en Postgres y la marca de escrituras vive en Redis.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "resilience4j.ratelimiter.instances.apiGlobalLimiter.limitForPeriod=1000000",
+        "resilience4j.ratelimiter.instances.apiGlobalLimiter.limitRefreshPeriod=1s"
+})
+@Import(TestcontainersConfiguration.class)
+class HistoryEtagIntegrationTest {
+
+    private static final String PAGE_URI = "/api/v1/history?page=0&size=10";
+
+    private final Instant start = Instant.now();
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private AsyncHistoryLoggerService loggerService;
+
+    @Autowired
+    private HistoryRepositoryPort historyRepositoryPort;
+
+    private void saveCalculation() {
+        loggerService.persist(new HistoryLog(UUID.randomUUID(), Instant.now(), "/api/v1/calculations/sum-with-percentage",
+                "[5, 5]", "{\"result\":11.0}", 200, true, null));
+    }
+
+    // El registro de cada consulta se guarda en el carril de auditoría, después de responder
+    private void awaitAuditedReads(long expected) {
+        Long audited = historyRepositoryPort.findInRange(start, start.plusSeconds(3600), "/api/v1/history")
+                .count()
+                .filter(count -> count >= expected)
+                .repeatWhenEmpty(attempts -> attempts.delayElements(Duration.ofMillis(50)).take(100))
+                .block(Duration.ofSeconds(10));
+        assertThat(audited).isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("Las consultas auditadas a /history no deben invalidar el ETag: dos sondeos seguidos deben responder 304")
+    void consecutivePolls_shouldReturn304DespiteAuditedReads() {
+        // Una escritura de otro endpoint crea la marca
+        saveCalculation();
+
+        String etag = webTestClient.get().uri(PAGE_URI)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().exists(HttpHeaders.ETAG)
+                .returnResult(String.class)
+                .getResponseHeaders().getETag();
+        awaitAuditedReads(1);
+
+        webTestClient.get().uri(PAGE_URI)
+                .ifNoneMatch(etag)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, etag);
+        awaitAuditedReads(2);
+
+        webTestClient.get().uri(PAGE_URI)
+                .ifNoneMatch(etag)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, etag);
+        awaitAuditedReads(3);
+
+        // Una escritura de otro endpoint sí invalida el ETag
+        saveCalculation();
+
+        String next = webTestClient.get().uri(PAGE_URI)
+                .ifNoneMatch(etag)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().exists(HttpHeaders.ETAG)
+                .returnResult(String.class)
+                .getResponseHeaders().getETag();
+        assertThat(next).isNotEqualTo(etag);
+    }
+}
@@ -0,0 +1,177 @@
+package com.felipearrano.challenge.infrastructure.adapter.in.web;
+
+import com.felipearrano.challenge.TestcontainersConfiguration;
+import com.felipearrano.challenge.application.port.out.HistoryRepositoryPort;
+import com.felipearrano.challenge.domain.HistoryLog;
+import com.felipearrano.challenge.infrastructure.adapter.out.persistence.HistoryJsonIndexInitializer;
+import com.felipearrano.challenge.infrastructure.config.HistoryJsonStorageProperties;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Búsqueda por contenido contra un Postgres real: columnas jsonb rellenadas por el adaptador,
+ * índices GIN y de expresión creados por {@link HistoryJsonIndexInitializer}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "resilience4j.ratelimiter.instances.apiGlobalLimiter.limitForPeriod=1000000",
+        "resilience4j.ratelimiter.instances.apiGlobalLimiter.limitRefreshPeriod=1s",
+        "history.json-storage.enabled=true",
+        "history.json-storage.range-keys=num1"
+})
+@Import(TestcontainersConfiguration.class)
+class HistorySearchIntegrationTest {
+
+    private static final String SEARCH_URI = "/api/v1/history/search";
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private HistoryRepositoryPort historyRepositoryPort;
+
+    @Autowired
+    private HistoryJsonIndexInitializer indexInitializer;
+
+    @Autowired
+    private HistoryJsonStorageProperties jsonStorageProperties;
+
+    @Autowired
+    @Qualifier("auditWriteConnectionFactory")
+    private ConnectionFactory connectionFactory;
+
+    private HistoryLog save(String endpoint, String parameters, String response) {
+        HistoryLog log = new HistoryLog(UUID.randomUUID(), Instant.now(), endpoint, parameters, response, 200, true, null);
+        StepVerifier.create(historyRepositoryPort.saveLog(log)).verifyComplete();
+        return log;
+    }
+
+    private Boolean indexUsable(String name) {
+        return DatabaseClient.create(connectionFactory)
+                .sql("""
+                        SELECT i.indisvalid FROM pg_index i JOIN pg_class c ON c.oid = i.indexrelid
+                        WHERE c.relname = :name
+                        """)
+                .bind("name", name)
+                .map(row -> row.get(0, Boolean.class))
+                .one()
+                .block();
+    }
+
+    // La creación al arrancar es asíncrona: se espera a que los tres índices existan y sean válidos
+    private void awaitIndexes() {
+        Mono.fromCallable(() -> Boolean.TRUE.equals(indexUsable("idx_call_history_parameters_json"))
+                        && Boolean.TRUE.equals(indexUsable("idx_call_history_response_json"))
+                        && Boolean.TRUE.equals(indexUsable("idx_call_history_param_num1")))
+                .filter(Boolean::booleanValue)
+                .repeatWhenEmpty(attempts -> attempts.delayElements(Duration.ofMillis(100)).take(100))
+                .block(Duration.ofSeconds(15));
+        assertThat(indexUsable("idx_call_history_param_num1")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Debe filtrar por contención y por rango sobre las columnas jsonb indexadas")
+    void search_shouldFilterByContainmentAndRange() {
+        awaitIndexes();
+        String endpoint = "/api/v1/search-test/" + UUID.randomUUID();
+        HistoryLog big = save(endpoint, "{\"num1\": 1500.5, \"num2\": 3}", "{\"result\": 1657.0}");
+        save(endpoint, "{\"num1\": 10, \"num2\": 3}", "{\"result\": 14.3}");
+        save(endpoint, "[No Body]", "{\"result\": 1657.0}");
+
+        webTestClient.get()
+                .uri(builder -> builder.path(SEARCH_URI)
+                        .queryParam("endpoint", "{endpoint}")
+                        .queryParam("params", "{params}")
+                        .queryParam("where", "{where}")
+                        .build(Map.of("endpoint", endpoint, "params", "{\"num2\": 3}", "where", "num1>1000")))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].id").isEqualTo(big.id().toString());
+
+        webTestClient.get()
+                .uri(builder -> builder.path(SEARCH_URI)
+                        .queryParam("endpoint", "{endpoint}")
+                        .queryParam("response", "{response}")
+                        .build(Map.of("endpoint", endpoint, "response", "{\"result\": 1657.0}")))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Un filtro inválido debe responder 400")
+    void search_whenFilterIsInvalid_shouldReturn400() {
+        webTestClient.get()
+                .uri(builder -> builder.path(SEARCH_URI).queryParam("where", "{where}").build("num2>5"))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(400);
+
+        webTestClient.get()
+                .uri(builder -> builder.path(SEARCH_URI).queryParam("params", "{params}").build("{num1"))
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    @DisplayName("Con la búsqueda por contenido desactivada debe responder 501")
+    void search_whenFeatureDisabled_shouldReturn501() {
+        jsonStorageProperties.setEnabled(false);
+        try {
+            webTestClient.get()
+                    .uri(builder -> builder.path(SEARCH_URI).queryParam("where", "{where}").build("num1=10"))
+                    .exchange()
+                    .expectStatus().isEqualTo(501)
+                    .expectBody()
+                    .jsonPath("$.status").isEqualTo(501);
+        } finally {
+            jsonStorageProperties.setEnabled(true);
+        }
+    }
+
+    @Test
+    @DisplayName("Un índice que quedó inválido tras un CREATE INDEX CONCURRENTLY fallido debe recrearse")
+    void ensureIndexes_whenIndexInvalid_shouldRecreateIt() {
+        awaitIndexes();
+        DatabaseClient client = DatabaseClient.create(connectionFactory);
+        String endpoint = "/api/v1/duplicated/" + UUID.randomUUID();
+        save(endpoint, "{\"num1\": 1}", "{}");
+        save(endpoint, "{\"num1\": 1}", "{}");
+
+        // Un índice único sobre valores repetidos falla a mitad de la construcción y queda inválido
+        client.sql("DROP INDEX idx_call_history_param_num1").then().block();
+        StepVerifier.create(client.sql("CREATE UNIQUE INDEX CONCURRENTLY idx_call_history_param_num1"
+                        + " ON call_history (endpoint_invoked)").then())
+                .expectError()
+                .verify();
+        assertThat(indexUsable("idx_call_history_param_num1")).isFalse();
+
+        StepVerifier.create(indexInitializer.ensureIndexes()).verifyComplete();
+
+        assertThat(indexUsable("idx_call_history_param_num1")).isTrue();
+        assertThat(client.sql("SELECT pg_get_indexdef('idx_call_history_param_num1'::regclass)")
+                .map(row -> row.get(0, String.class))
+                .one()
+                .block())
+                .contains("parameters_json -> 'num1'");
+    }
+}
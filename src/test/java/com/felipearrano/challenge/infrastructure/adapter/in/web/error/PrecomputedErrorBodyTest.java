@@ -0,0 +1,43 @@
+package com.felipearrano.challenge.infrastructure.adapter.in.web.error;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.felipearrano.challenge.infrastructure.adapter.in.web.dto.ErrorResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PrecomputedErrorBodyTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Test
+    @DisplayName("Debe producir el mismo JSON que serializar el ErrorResponse completo")
+    void shouldMatchFullSerialization() throws Exception {
+        PrecomputedErrorBody body = PrecomputedErrorBody.of(objectMapper, HttpStatus.TOO_MANY_REQUESTS, "Límite \"excedido\"");
+        Instant now = Instant.parse("2025-04-10T12:34:56.789Z");
+        String path = "/api/v1/cálculos/\"raro\"";
+
+        String expected = objectMapper.writeValueAsString(new ErrorResponse(
+                now, 429, "Too Many Requests", "Límite \"excedido\"", path, null));
+
+        assertThat(body).isNotNull();
+        assertThat(new String(body.render(now, path), StandardCharsets.UTF_8)).isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("Sin Instant en formato ISO-8601 no debe precalcular el cuerpo")
+    void shouldSkipWhenInstantsAreNumeric() throws Exception {
+        ObjectMapper numericDates = new ObjectMapper().registerModule(new JavaTimeModule());
+
+        assertThat(PrecomputedErrorBody.of(numericDates, HttpStatus.TOO_MANY_REQUESTS, "x")).isNull();
+    }
+}
@@ -0,0 +1,119 @@
+package com.felipearrano.challenge.infrastructure.adapter.in.web.filter;
+
+import com.felipearrano.challenge.TestcontainersConfiguration;
+import com.felipearrano.challenge.application.port.in.CalculateSumUseCase;
+import com.felipearrano.challenge.infrastructure.adapter.out.external.exception.PercentageServiceUnavailableException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.reactive.server.EntityExchangeResult;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "resilience4j.ratelimiter.instances.apiGlobalLimiter.limitForPeriod=1000000",
+        "resilience4j.ratelimiter.instances.apiGlobalLimiter.limitRefreshPeriod=1s"
+})
+@Import(TestcontainersConfiguration.class)
+class IdempotencyFilterTest {
+
+    private static final String URI = "/api/v1/calculations/sum-with-percentage?num1=5&num2=5";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockitoBean
+    private CalculateSumUseCase calculateSumUseCase;
+
+    @Test
+    @DisplayName("Un reintento con la misma clave debe recibir la respuesta guardada sin recalcular")
+    void shouldReplayStoredResponse() {
+        when(calculateSumUseCase.calculateSumWithPercentage(any(), any())).thenReturn(Mono.just(new BigDecimal("11.0")));
+        String key = UUID.randomUUID().toString();
+
+        EntityExchangeResult<byte[]> first = call(URI, key);
+        EntityExchangeResult<byte[]> replay = call(URI, key);
+
+        assertThat(first.getStatus().value()).isEqualTo(200);
+        assertThat(first.getResponseHeaders().getFirst(IdempotencyFilter.REPLAYED_HEADER)).isNull();
+        assertThat(replay.getStatus().value()).isEqualTo(200);
+        assertThat(replay.getResponseHeaders().getFirst(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(replay.getResponseHeaders().getContentType()).isEqualTo(first.getResponseHeaders().getContentType());
+        assertThat(replay.getResponseBodyContent()).isEqualTo(first.getResponseBodyContent());
+        verify(calculateSumUseCase, times(1)).calculateSumWithPercentage(any(), any());
+    }
+
+    @Test
+    @DisplayName("Reusar la clave con otros parámetros debe devolver 422")
+    void shouldRejectKeyReuseWithDifferentRequest() {
+        when(calculateSumUseCase.calculateSumWithPercentage(any(), any())).thenReturn(Mono.just(new BigDecimal("11.0")));
+        String key = UUID.randomUUID().toString();
+
+        call(URI, key);
+        EntityExchangeResult<byte[]> reused = call("/api/v1/calculations/sum-with-percentage?num1=6&num2=5", key);
+
+        assertThat(reused.getStatus().value()).isEqualTo(422);
+        verify(calculateSumUseCase, times(1)).calculateSumWithPercentage(any(), any());
+    }
+
+    @Test
+    @DisplayName("Un duplicado concurrente debe esperar a la petición en curso en lugar de ejecutarse")
+    void shouldWaitForInProgressDuplicate() {
+        when(calculateSumUseCase.calculateSumWithPercentage(any(), any()))
+                .thenReturn(Mono.delay(Duration.ofMillis(300)).thenReturn(new BigDecimal("11.0")));
+        String key = UUID.randomUUID().toString();
+        WebClient webClient = WebClient.create("http://localhost:" + port);
+
+        Tuple2<ResponseEntity<String>, ResponseEntity<String>> responses = Mono.zip(
+                        webClient.get().uri(URI).header("Idempotency-Key", key).retrieve().toEntity(String.class),
+                        webClient.get().uri(URI).header("Idempotency-Key", key).retrieve().toEntity(String.class))
+                .block(Duration.ofSeconds(10));
+
+        assertThat(responses).isNotNull();
+        assertThat(responses.getT1().getBody()).isEqualTo(responses.getT2().getBody());
+        verify(calculateSumUseCase, times(1)).calculateSumWithPercentage(any(), any());
+    }
+
+    @Test
+    @DisplayName("Un 5xx no debe guardarse: el reintento vuelve a ejecutar la petición")
+    void shouldNotStoreServerErrors() {
+        when(calculateSumUseCase.calculateSumWithPercentage(any(), any()))
+                .thenReturn(Mono.error(new PercentageServiceUnavailableException("Servicio caído")))
+                .thenReturn(Mono.just(new BigDecimal("11.0")));
+        String key = UUID.randomUUID().toString();
+
+        assertThat(call(URI, key).getStatus().value()).isEqualTo(503);
+        EntityExchangeResult<byte[]> retry = call(URI, key);
+
+        assertThat(retry.getStatus().value()).isEqualTo(200);
+        assertThat(retry.getResponseHeaders().getFirst(IdempotencyFilter.REPLAYED_HEADER)).isNull();
+        verify(calculateSumUseCase, times(2)).calculateSumWithPercentage(any(), any());
+    }
+
+    private EntityExchangeResult<byte[]> call(String uri, String key) {
+        return webTestClient.get().uri(uri)
+                .header("Idempotency-Key", key)
+                .exchange()
+                .expectBody().returnResult();
+    }
+}
@@ -0,0 +1,106 @@
+package com.felipearrano.challenge.infrastructure.adapter.out.archive;
+
+import com.felipearrano.challenge.domain.HistoryLog;
+import com.felipearrano.challenge.infrastructure.config.HistoryArchiveProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HistorySegmentCatalogTest {
+
+    private final Instant base = Instant.parse("2024-01-01T00:00:00Z");
+
+    @TempDir
+    Path directory;
+
+    private HistorySegmentCatalog catalog;
+
+    @BeforeEach
+    void setUp() {
+        HistoryArchiveProperties properties = new HistoryArchiveProperties();
+        properties.setEnabled(true);
+        properties.setDirectory(directory);
+        catalog = new HistorySegmentCatalog(properties);
+    }
+
+    private HistoryLog logAt(int minute, String endpoint) {
+        return new HistoryLog(UUID.randomUUID(), base.plusSeconds(minute * 60L).plusNanos(123_000), endpoint,
+                "[1, 2]", minute % 2 == 0 ? "{\"result\":3}" : null, 200, true, null);
+    }
+
+    @Test
+    @DisplayName("Debe escribir y releer un segmento con las mismas filas, de la más nueva a la más antigua")
+    void write_thenReadAll_shouldRoundTrip() throws IOException {
+        List<HistoryLog> rows = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            rows.add(logAt(i, i % 3 == 0 ? "/api/v1/history" : "/api/v1/calculations/sum-with-percentage"));
+        }
+
+        HistorySegment segment = catalog.write(rows);
+
+        List<HistoryLog> expected = new ArrayList<>(rows);
+        expected.sort(HistoryLog.NEWEST_FIRST);
+        assertThat(catalog.readAll(segment)).containsExactlyElementsOf(expected);
+        assertThat(segment.minTimestamp()).isEqualTo(rows.get(0).timestamp());
+        assertThat(segment.maxTimestamp()).isEqualTo(rows.get(49).timestamp());
+    }
+
+    @Test
+    @DisplayName("Debe recargar el índice desde disco y descartar segmentos por rango y endpoint")
+    void reload_shouldPruneByTimeAndEndpoint() throws IOException {
+        catalog.write(List.of(logAt(0, "/a"), logAt(10, "/a")));
+        catalog.write(List.of(logAt(20, "/b"), logAt(30, "/b")));
+
+        catalog.reload();
+
+        assertThat(catalog.segments()).hasSize(2);
+        assertThat(catalog.newestTimestamp()).contains(logAt(30, "/b").timestamp());
+        assertThat(catalog.find(base, base.plusSeconds(15 * 60), null)).hasSize(1);
+        assertThat(catalog.find(base, base.plusSeconds(3600), "/b")).hasSize(1)
+                .allSatisfy(segment -> assertThat(segment.endpoints()).containsExactly("/b"));
+        assertThat(catalog.find(base.plusSeconds(7200), base.plusSeconds(9000), null)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Debe filtrar filas dentro del segmento por rango y endpoint")
+    void read_withFilter_shouldReturnOnlyMatchingRows() throws IOException {
+        HistorySegment segment = catalog.write(List.of(logAt(0, "/a"), logAt(5, "/b"), logAt(10, "/a")));
+
+        List<HistoryLog> result = catalog.read(segment, base.plusSeconds(60), base.plusSeconds(3600), "/a");
+
+        assertThat(result).extracting(HistoryLog::endpointInvoked).containsExactly("/a");
+        assertThat(result.get(0).timestamp()).isEqualTo(base.plusSeconds(600).plusNanos(123_000));
+    }
+
+    @Test
+    @DisplayName("Debe agrupar solo los segmentos que se solapan en el tiempo")
+    void segmentGroups_shouldMergeOverlappingSegments() {
+        HistorySegment newest = segment(100, 200, 10);
+        HistorySegment overlapping = segment(150, 180, 5);
+        HistorySegment oldest = segment(0, 50, 7);
+
+        List<TieredHistoryAdapter.SegmentGroup> groups =
+                TieredHistoryAdapter.SegmentGroup.build(List.of(newest, overlapping, oldest));
+
+        assertThat(groups).hasSize(2);
+        assertThat(groups.get(0).segments()).containsExactly(newest, overlapping);
+        assertThat(groups.get(0).rowCount()).isEqualTo(15);
+        assertThat(groups.get(1).segments()).containsExactly(oldest);
+    }
+
+    private HistorySegment segment(int minMinute, int maxMinute, int rows) {
+        return new HistorySegment(directory.resolve("s" + maxMinute), rows, base.plusSeconds(minMinute * 60L),
+                base.plusSeconds(maxMinute * 60L), Set.of("/a"));
+    }
+}
@@ -0,0 +1,181 @@
+package com.felipearrano.challenge.infrastructure.adapter.out.archive;
+
+import com.felipearrano.challenge.domain.HistoryLog;
+import com.felipearrano.challenge.infrastructure.adapter.out.persistence.HistoryPersistenceAdapter;
+import com.felipearrano.challenge.infrastructure.config.ExecutionLane;
+import com.felipearrano.challenge.infrastructure.config.ExecutionLanesProperties;
+import com.felipearrano.challenge.infrastructure.config.HistoryArchiveProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TieredHistoryAdapterTest {
+
+    private final Instant base = Instant.parse("2024-01-01T00:00:00Z");
+
+    @TempDir
+    Path directory;
+
+    @Mock
+    private HistoryPersistenceAdapter database;
+
+    private HistorySegmentCatalog catalog;
+    private TieredHistoryAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        HistoryArchiveProperties properties = new HistoryArchiveProperties();
+        properties.setEnabled(true);
+        properties.setDirectory(directory);
+        catalog = new HistorySegmentCatalog(properties);
+        ExecutionLane bulkLane = new ExecutionLane("bulk", new ExecutionLanesProperties.Lane(false,
+                ExecutionLanesProperties.ThreadType.VIRTUAL, 1, 0), Schedulers.immediate(), new SimpleMeterRegistry());
+        adapter = new TieredHistoryAdapter(database, catalog, bulkLane);
+    }
+
+    private HistoryLog logAt(int minute) {
+        return new HistoryLog(UUID.randomUUID(), base.plusSeconds(minute * 60L), "/api/v1/calculations/sum-with-percentage",
+                "[" + minute + ", 1]", "{\"result\":" + minute + "}", 200, true, null);
+    }
+
+    private List<HistoryLog> logsAt(int... minutes) {
+        List<HistoryLog> logs = new ArrayList<>();
+        for (int minute : minutes) {
+            logs.add(logAt(minute));
+        }
+        return logs;
+    }
+
+    private static List<HistoryLog> newestFirst(List<HistoryLog> logs) {
+        List<HistoryLog> sorted = new ArrayList<>(logs);
+        sorted.sort(HistoryLog.NEWEST_FIRST);
+        return sorted;
+    }
+
+    @Test
+    @DisplayName("La paginación debe recorrer primero la BD y seguir en los segmentos al cruzar la marca de agua")
+    void findAllPaginated_shouldPageAcrossTierBoundary() throws IOException {
+        List<HistoryLog> older = logsAt(0, 1, 2, 3);
+        List<HistoryLog> newer = logsAt(10, 11, 12, 13);
+        catalog.write(older);
+        catalog.write(newer);
+        Instant archiveNewest = newer.get(3).timestamp();
+        List<HistoryLog> head = newestFirst(logsAt(20, 21, 22));
+        when(database.countNewerThan(archiveNewest)).thenReturn(Mono.just(3L));
+        when(database.findNewerThan(archiveNewest, 0L, 3)).thenReturn(Flux.fromIterable(head));
+
+        List<HistoryLog> all = new ArrayList<>(head);
+        all.addAll(newestFirst(newer));
+        all.addAll(newestFirst(older));
+
+        StepVerifier.create(adapter.findAllPaginated(PageRequest.of(0, 5)))
+                .assertNext(page -> {
+                    assertThat(page.getContent()).containsExactlyElementsOf(all.subList(0, 5));
+                    assertThat(page.getTotalElements()).isEqualTo(11);
+                })
+                .verifyComplete();
+
+        StepVerifier.create(adapter.findAllPaginated(PageRequest.of(1, 5)))
+                .assertNext(page -> {
+                    assertThat(page.getContent()).containsExactlyElementsOf(all.subList(5, 10));
+                    assertThat(page.getTotalElements()).isEqualTo(11);
+                })
+                .verifyComplete();
+
+        // La segunda página ya empieza en los segmentos: no vuelve a consultar filas de la BD
+        verify(database).findNewerThan(any(), anyLong(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Las filas archivadas que siguen en la BD no deben contarse dos veces en el total")
+    void findAllPaginated_shouldNotCountArchivedRowsStillInDatabase() throws IOException {
+        List<HistoryLog> archived = logsAt(0, 1, 2, 3);
+        catalog.write(archived);
+        // La BD aún guarda las cuatro copias, pero ninguna es más nueva que la marca de agua
+        when(database.countNewerThan(archived.get(3).timestamp())).thenReturn(Mono.just(0L));
+
+        StepVerifier.create(adapter.findAllPaginated(PageRequest.of(0, 10)))
+                .assertNext(page -> {
+                    assertThat(page.getContent()).containsExactlyElementsOf(newestFirst(archived));
+                    assertThat(page.getTotalElements()).isEqualTo(4);
+                })
+                .verifyComplete();
+
+        verify(database, never()).findNewerThan(any(), anyLong(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Los segmentos que se solapan en el tiempo deben intercalarse dentro de la página")
+    void findAllPaginated_shouldInterleaveOverlappingSegments() throws IOException {
+        List<HistoryLog> even = logsAt(0, 2, 4, 6);
+        List<HistoryLog> odd = logsAt(1, 3, 5);
+        catalog.write(even);
+        catalog.write(odd);
+        when(database.countNewerThan(even.get(3).timestamp())).thenReturn(Mono.just(0L));
+
+        StepVerifier.create(adapter.findAllPaginated(PageRequest.of(1, 3)))
+                .assertNext(page -> {
+                    assertThat(page.getContent()).containsExactly(odd.get(1), even.get(1), odd.get(0));
+                    assertThat(page.getTotalElements()).isEqualTo(7);
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Un rango debe intercalar la BD y los segmentos y devolver una sola vez, con la versión de la BD, lo repetido")
+    void findInRange_shouldMergeTiersAndPreferDatabaseCopy() throws IOException {
+        List<HistoryLog> archived = logsAt(0, 1, 2, 3);
+        catalog.write(archived);
+        HistoryLog original = archived.get(3);
+        HistoryLog databaseCopy = new HistoryLog(original.id(), original.timestamp(), original.endpointInvoked(),
+                original.parametersReceived(), "{\"result\":\"bd\"}", 200, true, null);
+        HistoryLog recent = logAt(20);
+        Instant from = base;
+        Instant to = base.plusSeconds(3600);
+        when(database.findInRange(from, to, null)).thenReturn(Flux.just(recent, databaseCopy));
+
+        StepVerifier.create(adapter.findInRange(from, to, null))
+                .expectNext(recent, databaseCopy, archived.get(2), archived.get(1), archived.get(0))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Un rango sin segmentos candidatos debe ir solo a la BD")
+    void findInRange_withoutCandidates_shouldOnlyQueryDatabase() throws IOException {
+        catalog.write(logsAt(0, 1));
+        HistoryLog recent = logAt(600);
+        Instant from = base.plusSeconds(500 * 60L);
+        Instant to = base.plusSeconds(700 * 60L);
+        when(database.findInRange(from, to, null)).thenReturn(Flux.just(recent));
+
+        StepVerifier.create(adapter.findInRange(from, to, null))
+                .expectNext(recent)
+                .verifyComplete();
+    }
+}
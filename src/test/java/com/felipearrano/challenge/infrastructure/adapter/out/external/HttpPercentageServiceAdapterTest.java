@@ -0,0 +1,149 @@
+package com.felipearrano.challenge.infrastructure.adapter.out.external;
+
+import com.felipearrano.challenge.infrastructure.adapter.out.external.exception.PercentageServiceUnavailableException;
+import com.felipearrano.challenge.infrastructure.adapter.out.external.resilience.AdaptiveTimeout;
+import com.felipearrano.challenge.infrastructure.adapter.out.external.resilience.RetryBudget;
+import com.felipearrano.challenge.infrastructure.adapter.out.external.simulation.UpstreamBehaviorModel;
+import com.felipearrano.challenge.infrastructure.adapter.out.external.simulation.UpstreamOutcome;
+import com.felipearrano.challenge.infrastructure.config.HttpPercentageServiceProperties;
+import com.felipearrano.challenge.infrastructure.config.PercentageHttpClientConfig;
+import com.felipearrano.challenge.infrastructure.config.PercentageRetryProperties;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.test.StepVerifier;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@MockitoSettings(strictness = Strictness.LENIENT)
+@ExtendWith(MockitoExtension.class)
+class HttpPercentageServiceAdapterTest {
+
+    private static final double UPSTREAM_PERCENTAGE = 12.5;
+    private static final Double CACHED_PERCENTAGE = 15.0;
+
+    @Mock private ReactiveRedisTemplate<String, Double> reactiveRedisTemplate;
+    @Mock private ReactiveValueOperations<String, Double> reactiveValueOps;
+    @Mock private UpstreamBehaviorModel behaviorModel;
+
+    private final HttpPercentageServiceProperties properties = new HttpPercentageServiceProperties();
+    private PercentageStubServer stubServer;
+    private ConnectionProvider connectionProvider;
+    private HttpPercentageServiceAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        when(behaviorModel.nextCall()).thenReturn(new UpstreamOutcome(false, Duration.ZERO));
+        when(reactiveRedisTemplate.opsForValue()).thenReturn(reactiveValueOps);
+        when(reactiveValueOps.get(anyString())).thenReturn(Mono.empty());
+        when(reactiveValueOps.set(anyString(), anyDouble(), any(Duration.class))).thenReturn(Mono.just(true));
+
+        stubServer = PercentageStubServer.start(behaviorModel, UPSTREAM_PERCENTAGE);
+        properties.setBaseUrl(stubServer.baseUrl());
+        properties.setPath(PercentageStubServer.PATH);
+        properties.setResponseTimeout(Duration.ofMillis(200));
+
+        PercentageRetryProperties retryProperties = new PercentageRetryProperties();
+        retryProperties.setBaseDelay(Duration.ofMillis(1));
+        retryProperties.setMaxDelay(Duration.ofMillis(5));
+
+        connectionProvider = PercentageHttpClientConfig.connectionProvider(properties.getPool());
+        WebClient webClient = WebClient.builder()
+                .baseUrl(properties.getBaseUrl())
+                .clientConnector(new ReactorClientHttpConnector(
+                        PercentageHttpClientConfig.httpClient(connectionProvider, properties)))
+                .build();
+
+        // Desactivado: estas pruebas ejercitan el response-timeout de Netty
+        AdaptiveTimeout adaptiveTimeout = new AdaptiveTimeout(false, 0.99, 3.0, Duration.ofMillis(50), Duration.ofSeconds(1),
+                Duration.ofMillis(200), Duration.ofMinutes(1), 50, List.of(), ZoneOffset.UTC, Clock.systemUTC());
+        adapter = new HttpPercentageServiceAdapter(CircuitBreakerRegistry.ofDefaults(), new RetryBudget(10.0, 0.1),
+                adaptiveTimeout, retryProperties, reactiveRedisTemplate, webClient, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        connectionProvider.disposeLater().block(Duration.ofSeconds(5));
+        stubServer.close();
+    }
+
+    @Test
+    @DisplayName("Debe obtener el porcentaje por HTTP y guardarlo en Redis")
+    void getPercentage_whenUpstreamResponds_shouldReturnValueAndCacheIt() {
+        StepVerifier.create(adapter.getPercentage())
+                .expectNext(UPSTREAM_PERCENTAGE)
+                .verifyComplete();
+
+        verify(reactiveValueOps).set(eq(properties.getRedisKey()), eq(UPSTREAM_PERCENTAGE), eq(properties.getRedisTtl()));
+    }
+
+    @Test
+    @DisplayName("Debe reintentar las respuestas 503 y usar el valor de Redis al agotar los intentos")
+    void getPercentage_whenUpstreamFails_shouldRetryAndFallbackToRedis() {
+        when(behaviorModel.nextCall()).thenReturn(new UpstreamOutcome(true, Duration.ZERO));
+        when(reactiveValueOps.get(eq(properties.getRedisKey()))).thenReturn(Mono.just(CACHED_PERCENTAGE));
+
+        StepVerifier.create(adapter.getPercentage())
+                .expectNext(CACHED_PERCENTAGE)
+                .verifyComplete();
+
+        assertThat(stubServer.requestCount()).isEqualTo(3);
+        verify(reactiveValueOps, never()).set(anyString(), anyDouble(), any(Duration.class));
+    }
+
+    @Test
+    @DisplayName("Debe cortar por timeout de respuesta y fallar si Redis está vacío")
+    void getPercentage_whenUpstreamIsSlow_shouldTimeOut() {
+        when(behaviorModel.nextCall()).thenReturn(new UpstreamOutcome(false, Duration.ofSeconds(2)));
+
+        StepVerifier.create(adapter.getPercentage())
+                .expectError(PercentageServiceUnavailableException.class)
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    @DisplayName("Debe publicar las métricas del pool de conexiones")
+    void getPercentage_shouldExposePoolMetrics() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        Metrics.addRegistry(meterRegistry);
+        try {
+            StepVerifier.create(adapter.getPercentage())
+                    .expectNext(UPSTREAM_PERCENTAGE)
+                    .verifyComplete();
+
+            assertThat(meterRegistry.find("reactor.netty.connection.provider.total.connections")
+                    .tag("name", PercentageHttpClientConfig.POOL_NAME).gauge()).isNotNull();
+            assertThat(meterRegistry.find("reactor.netty.connection.provider.pending.connections")
+                    .tag("name", PercentageHttpClientConfig.POOL_NAME).gauge()).isNotNull();
+        } finally {
+            Metrics.removeRegistry(meterRegistry);
+        }
+    }
+}
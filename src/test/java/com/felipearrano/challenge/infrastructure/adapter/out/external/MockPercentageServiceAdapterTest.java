@@ -1,13 +1,14 @@
 package com.felipearrano.challenge.infrastructure.adapter.out.external;
 
+import com.felipearrano.challenge.infrastructure.adapter.out.external.resilience.AdaptiveTimeout;
+import com.felipearrano.challenge.infrastructure.adapter.out.external.resilience.RetryBudget;
+import com.felipearrano.challenge.infrastructure.adapter.out.external.simulation.UpstreamBehaviorModel;
+import com.felipearrano.challenge.infrastructure.adapter.out.external.simulation.UpstreamOutcome;
 import com.felipearrano.challenge.infrastructure.config.MockServiceProperties;
 import com.felipearrano.challenge.infrastructure.adapter.out.external.exception.PercentageServiceUnavailableException;
+import com.felipearrano.challenge.infrastructure.config.PercentageRetryProperties;
 import io.github.resilience4j.circuitbreaker.CircuitBreaker;
-import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
 import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
-import io.github.resilience4j.retry.Retry;
-import io.github.resilience4j.retry.RetryConfig;
-import io.github.resilience4j.retry.RetryRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -20,7 +21,11 @@ import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 import org.springframework.data.redis.core.ReactiveRedisTemplate;
 import org.springframework.data.redis.core.ReactiveValueOperations;
+import java.time.Clock;
 import java.time.Duration;
+import java.time.ZoneOffset;
+import java.util.List;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyDouble;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -38,19 +43,28 @@ class MockPercentageServiceAdapterTest {
     private final Double mockPercentage = 10.0;
     private final Double cachedPercentage = 15.0;
 
+    private static final UpstreamOutcome SUCCESS = new UpstreamOutcome(false, Duration.ZERO);
+    private static final UpstreamOutcome FAILURE = new UpstreamOutcome(true, Duration.ZERO);
+
     @Mock private CircuitBreakerRegistry circuitBreakerRegistry;
-    @Mock private RetryRegistry retryRegistry;
     @Mock private ReactiveRedisTemplate<String, Double> reactiveRedisTemplate;
     @Mock private MockServiceProperties properties;
     @Mock private ReactiveValueOperations<String, Double> reactiveValueOps;
     @Mock private CircuitBreaker circuitBreaker;
+    @Mock private UpstreamBehaviorModel behaviorModel;
 
+    private RetryBudget retryBudget;
+    private AdaptiveTimeout adaptiveTimeout;
     private MockPercentageServiceAdapter mockPercentageServiceAdapter;
 
     @BeforeEach
     void setUp() {
-        Retry defaultRetry = Retry.of("testRetry", RetryConfig.ofDefaults());
-        when(retryRegistry.retry(anyString())).thenReturn(defaultRetry);
+        PercentageRetryProperties retryProperties = new PercentageRetryProperties();
+        retryProperties.setBaseDelay(Duration.ofMillis(1));
+        retryProperties.setMaxDelay(Duration.ofMillis(5));
+        retryBudget = new RetryBudget(10.0, 0.1);
+        adaptiveTimeout = new AdaptiveTimeout(true, 0.99, 3.0, Duration.ofMillis(50), Duration.ofSeconds(1),
+                Duration.ofMillis(200), Duration.ofMinutes(1), 50, List.of(), ZoneOffset.UTC, Clock.systemUTC());
 
         when(circuitBreakerRegistry.circuitBreaker(anyString())).thenReturn(circuitBreaker);
         when(circuitBreaker.tryAcquirePermission()).thenReturn(true);
@@ -58,8 +72,7 @@ class MockPercentageServiceAdapterTest {
         when(properties.getRedisKey()).thenReturn(redisKey);
         when(properties.getRedisTtl()).thenReturn(redisTtl);
         when(properties.getPercentageValue()).thenReturn(mockPercentage);
-        when(properties.getDelay()).thenReturn(Duration.ZERO);
-        when(properties.getFailureRate()).thenReturn(0.0);
+        when(behaviorModel.nextCall()).thenReturn(SUCCESS);
 
         when(reactiveRedisTemplate.opsForValue()).thenReturn(reactiveValueOps);
         when(reactiveValueOps.get(anyString())).thenReturn(Mono.empty());
@@ -67,9 +80,12 @@ class MockPercentageServiceAdapterTest {
 
         mockPercentageServiceAdapter = new MockPercentageServiceAdapter(
                 circuitBreakerRegistry,
-                retryRegistry,
+                retryBudget,
+                adaptiveTimeout,
+                retryProperties,
                 reactiveRedisTemplate,
-                properties
+                properties,
+                behaviorModel
         );
     }
 
@@ -77,7 +93,7 @@ class MockPercentageServiceAdapterTest {
     @DisplayName("Debe llamar al servicio, obtener valor, guardarlo en Redis y devolverlo")
     void shouldCallServiceSaveToRedisAndReturnValueOnSuccess() {
 
-        when(properties.getFailureRate()).thenReturn(0.0);
+        when(behaviorModel.nextCall()).thenReturn(SUCCESS);
         when(reactiveValueOps.set(eq(redisKey), eq(mockPercentage), eq(redisTtl))).thenReturn(Mono.just(true));
 
         Mono<Double> resultMono = mockPercentageServiceAdapter.getPercentage();
@@ -94,7 +110,7 @@ class MockPercentageServiceAdapterTest {
     @DisplayName("Debe fallar la llamada al servicio y devolver valor de Redis si existe")
     void shouldUseRedisValueWhenServiceFailsAndCacheExists() {
 
-        when(properties.getFailureRate()).thenReturn(1.0);
+        when(behaviorModel.nextCall()).thenReturn(FAILURE);
         when(reactiveValueOps.get(eq(redisKey))).thenReturn(Mono.just(cachedPercentage));
 
         Mono<Double> resultMono = mockPercentageServiceAdapter.getPercentage();
@@ -111,7 +127,7 @@ class MockPercentageServiceAdapterTest {
     @DisplayName("Debe fallar la llamada al servicio y devolver error si Redis está vacío")
     void shouldReturnErrorWhenServiceFailsAndCacheIsEmpty() {
 
-        when(properties.getFailureRate()).thenReturn(1.0);
+        when(behaviorModel.nextCall()).thenReturn(FAILURE);
 
         Mono<Double> resultMono = mockPercentageServiceAdapter.getPercentage();
 
@@ -122,4 +138,34 @@ class MockPercentageServiceAdapterTest {
         verify(reactiveValueOps).get(eq(redisKey));
         verify(reactiveValueOps, never()).set(anyString(), anyDouble(), any(Duration.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Debe consumir el presupuesto de reintentos cuando el servicio falla")
+    void shouldConsumeRetryBudgetWhenServiceFails() {
+
+        when(behaviorModel.nextCall()).thenReturn(FAILURE);
+        when(reactiveValueOps.get(eq(redisKey))).thenReturn(Mono.just(cachedPercentage));
+
+        StepVerifier.create(mockPercentageServiceAdapter.getPercentage())
+                .expectNext(cachedPercentage)
+                .verifyComplete();
+
+        // 3 intentos = 2 reintentos, cada uno consume un token
+        assertThat(retryBudget.availableTokens()).isEqualTo(8.0);
+    }
+
+    @Test
+    @DisplayName("Debe cortar cada intento lento con el timeout adaptativo y recurrir a Redis")
+    void shouldTimeOutSlowAttemptsAndFallbackToRedis() {
+
+        when(behaviorModel.nextCall()).thenReturn(new UpstreamOutcome(false, Duration.ofSeconds(5)));
+        when(reactiveValueOps.get(eq(redisKey))).thenReturn(Mono.just(cachedPercentage));
+
+        StepVerifier.create(mockPercentageServiceAdapter.getPercentage())
+                .expectNext(cachedPercentage)
+                .verifyComplete();
+
+        assertThat(adaptiveTimeout.expiredCount()).isEqualTo(3);
+        verify(reactiveValueOps, never()).set(anyString(), anyDouble(), any(Duration.class));
+    }
+}
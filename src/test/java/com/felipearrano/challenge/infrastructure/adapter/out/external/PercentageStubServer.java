@@ -0,0 +1,62 @@
+package com.felipearrano.challenge.infrastructure.adapter.out.external;
+
+import com.felipearrano.challenge.infrastructure.adapter.out.external.simulation.UpstreamBehaviorModel;
+import com.felipearrano.challenge.infrastructure.adapter.out.external.simulation.UpstreamOutcome;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.server.HttpServer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Servidor HTTP local que imita al servicio de porcentaje para pruebas y benchmarks del adaptador HTTP.
+ * La latencia y los fallos (503) de cada petición salen de un {@link UpstreamBehaviorModel}.
+ * Acepta HTTP/1.1 y h2c.
+ */
+public final class PercentageStubServer implements AutoCloseable {
+
+    public static final String PATH = "/percentage";
+
+    private final DisposableServer server;
+    private final AtomicInteger requests = new AtomicInteger();
+
+    private PercentageStubServer(UpstreamBehaviorModel behaviorModel, double percentage) {
+        String body = "{\"percentage\":" + percentage + "}";
+        this.server = HttpServer.create()
+                .host("127.0.0.1")
+                .port(0)
+                .protocol(HttpProtocol.HTTP11, HttpProtocol.H2C)
+                .route(routes -> routes.get(PATH, (request, response) -> {
+                    requests.incrementAndGet();
+                    UpstreamOutcome outcome = behaviorModel.nextCall();
+                    if (outcome.failure()) {
+                        return response.status(HttpResponseStatus.SERVICE_UNAVAILABLE).send();
+                    }
+                    return Mono.delay(outcome.latency())
+                            .then(response.header(HttpHeaderNames.CONTENT_TYPE, "application/json")
+                                    .sendString(Mono.just(body))
+                                    .then());
+                }))
+                .bindNow();
+    }
+
+    public static PercentageStubServer start(UpstreamBehaviorModel behaviorModel, double percentage) {
+        return new PercentageStubServer(behaviorModel, percentage);
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.port();
+    }
+
+    public int requestCount() {
+        return requests.get();
+    }
+
+    @Override
+    public void close() {
+        server.disposeNow();
+    }
+}
@@ -0,0 +1,154 @@
+package com.felipearrano.challenge.infrastructure.adapter.out.external.resilience;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveTimeoutTest {
+
+    private static final Duration INITIAL = Duration.ofMillis(500);
+    private static final Duration CEILING = Duration.ofSeconds(2);
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2025-01-01T12:00:00Z"));
+
+    private AdaptiveTimeout adaptiveTimeout(List<AdaptiveTimeout.SlowPeriod> slowPeriods) {
+        return new AdaptiveTimeout(true, 0.99, 3.0, Duration.ofMillis(1), CEILING, INITIAL,
+                Duration.ofMinutes(1), 10, slowPeriods, ZoneOffset.UTC, clock);
+    }
+
+    private static void recordMillis(AdaptiveTimeout timeout, int samples, long millis) {
+        for (int i = 0; i < samples; i++) {
+            timeout.record(Duration.ofMillis(millis).toNanos());
+        }
+    }
+
+    @Test
+    @DisplayName("Sin muestras suficientes debe usar el timeout inicial")
+    void shouldUseInitialTimeoutUntilEnoughSamples() {
+        AdaptiveTimeout timeout = adaptiveTimeout(List.of());
+        recordMillis(timeout, 9, 10);
+
+        assertThat(timeout.currentTimeout()).isEqualTo(INITIAL);
+        assertThat(timeout.observedQuantileNanos()).isNaN();
+    }
+
+    @Test
+    @DisplayName("Con el upstream sano debe estrecharse al cuantil por el multiplicador")
+    void shouldTightenWhenUpstreamIsHealthy() {
+        AdaptiveTimeout timeout = adaptiveTimeout(List.of());
+        recordMillis(timeout, 100, 10);
+
+        // El bucket de 10 ms sobrestima como mucho un 20 %
+        assertThat(timeout.currentTimeout()).isBetween(Duration.ofMillis(30), Duration.ofMillis(36));
+    }
+
+    @Test
+    @DisplayName("Con respuestas lentas debe aflojarse hasta el máximo y volver al inicial al olvidar la ventana")
+    void shouldLoosenOnSlowResponsesAndForgetAfterWindow() {
+        AdaptiveTimeout timeout = adaptiveTimeout(List.of());
+        recordMillis(timeout, 100, 10);
+        assertThat(timeout.currentTimeout()).isLessThan(Duration.ofMillis(50));
+
+        clock.advance(Duration.ofSeconds(5));
+        recordMillis(timeout, 10, 900);
+        assertThat(timeout.currentTimeout()).isEqualTo(CEILING);
+
+        clock.advance(Duration.ofMinutes(1));
+        assertThat(timeout.currentTimeout()).isEqualTo(INITIAL);
+    }
+
+    @Test
+    @DisplayName("Con el upstream colgado el timeout debe mantenerse acotado y no aflojarse con los intentos vencidos")
+    void shouldStayBoundedWhileUpstreamHangs() {
+        AdaptiveTimeout timeout = adaptiveTimeout(List.of());
+        recordMillis(timeout, 100, 10);
+        Duration healthy = timeout.currentTimeout();
+        assertThat(healthy).isLessThan(Duration.ofMillis(50));
+
+        for (int attempt = 0; attempt < 10; attempt++) {
+            // Cada intento ve un timeout recalculado
+            clock.advance(Duration.ofSeconds(2));
+            StepVerifier.create(timeout.apply(Mono.never()))
+                    .expectError(TimeoutException.class)
+                    .verify(Duration.ofSeconds(2));
+            assertThat(timeout.currentTimeout()).isEqualTo(healthy);
+        }
+        assertThat(timeout.expiredCount()).isEqualTo(10);
+
+        // Sin respuestas en la ventana vuelve al inicial, no al máximo
+        clock.advance(Duration.ofMinutes(1));
+        assertThat(timeout.currentTimeout()).isEqualTo(INITIAL);
+    }
+
+    @Test
+    @DisplayName("Dentro de una franja lenta conocida debe aplicar su factor, incluso si cruza la medianoche")
+    void shouldApplySlowPeriodFactor() {
+        AdaptiveTimeout timeout = adaptiveTimeout(List.of(
+                new AdaptiveTimeout.SlowPeriod(LocalTime.of(23, 0), LocalTime.of(1, 0), 3.0)));
+
+        assertThat(timeout.currentTimeout()).isEqualTo(INITIAL);
+
+        clock.set(Instant.parse("2025-01-01T23:30:00Z"));
+        assertThat(timeout.currentTimeout()).isEqualTo(Duration.ofMillis(1500));
+
+        clock.set(Instant.parse("2025-01-02T00:59:00Z"));
+        assertThat(timeout.currentTimeout()).isEqualTo(Duration.ofMillis(1500));
+    }
+
+    @Test
+    @DisplayName("Debe cortar el intento que supera el timeout y registrarlo como vencido")
+    void shouldTimeOutSlowAttempt() {
+        AdaptiveTimeout timeout = new AdaptiveTimeout(true, 0.99, 3.0, Duration.ofMillis(10), CEILING,
+                Duration.ofMillis(50), Duration.ofMinutes(1), 10, List.of(), ZoneOffset.UTC, clock);
+
+        StepVerifier.create(timeout.apply(Mono.delay(Duration.ofSeconds(5))))
+                .expectError(TimeoutException.class)
+                .verify(Duration.ofSeconds(2));
+
+        assertThat(timeout.expiredCount()).isEqualTo(1);
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private volatile Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        void set(Instant instant) {
+            now = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.felipearrano.challenge.infrastructure.adapter.out.external.resilience;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RetryBudgetTest {
+
+    @Test
+    @DisplayName("Debe rechazar reintentos cuando el presupuesto se agota")
+    void shouldRejectRetriesWhenBudgetIsExhausted() {
+        RetryBudget budget = new RetryBudget(2.0, 0.5);
+
+        assertThat(budget.tryAcquireRetry()).isTrue();
+        assertThat(budget.tryAcquireRetry()).isTrue();
+        assertThat(budget.tryAcquireRetry()).isFalse();
+
+        // Dos éxitos depositan un token completo (2 * 0.5)
+        budget.recordSuccess();
+        budget.recordSuccess();
+        assertThat(budget.tryAcquireRetry()).isTrue();
+        assertThat(budget.tryAcquireRetry()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Los éxitos no deben superar el máximo de tokens")
+    void shouldNotExceedMaxTokens() {
+        RetryBudget budget = new RetryBudget(3.0, 1.0);
+
+        for (int i = 0; i < 10; i++) {
+            budget.recordSuccess();
+        }
+
+        assertThat(budget.availableTokens()).isEqualTo(3.0);
+    }
+
+    @Test
+    @DisplayName("El delay decorrelacionado debe mantenerse entre el base y el máximo")
+    void shouldKeepDelayWithinBounds() {
+        DecorrelatedJitterRetry retry = new DecorrelatedJitterRetry(
+                3, Duration.ofMillis(100), Duration.ofMillis(1000), new RetryBudget(10.0, 0.1), error -> true);
+
+        long previous = 100;
+        for (int i = 0; i < 50; i++) {
+            long next = retry.nextDelayMillis(previous);
+            assertThat(next).isBetween(100L, Math.min(1000L, previous * 3));
+            previous = next;
+        }
+    }
+
+    @Test
+    @DisplayName("Sin presupuesto disponible no debe reintentar")
+    void shouldNotRetryWithoutBudget() {
+        RetryBudget budget = new RetryBudget(1.0, 0.0);
+        budget.tryAcquireRetry();
+        DecorrelatedJitterRetry retry = new DecorrelatedJitterRetry(
+                5, Duration.ofMillis(1), Duration.ofMillis(5), budget, error -> true);
+        AtomicInteger attempts = new AtomicInteger();
+
+        Mono<String> failing = Mono.defer(() -> {
+            attempts.incrementAndGet();
+            return Mono.<String>error(new RuntimeException("fallo"));
+        });
+
+        StepVerifier.create(failing.retryWhen(retry))
+                .expectError(RuntimeException.class)
+                .verify();
+
+        assertThat(attempts.get()).isEqualTo(1);
+    }
+}
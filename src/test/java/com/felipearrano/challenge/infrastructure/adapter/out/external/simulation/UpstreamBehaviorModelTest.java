@@ -0,0 +1,115 @@
+package com.felipearrano.challenge.infrastructure.adapter.out.external.simulation;
+
+import com.felipearrano.challenge.infrastructure.config.MockServiceProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UpstreamBehaviorModelTest {
+
+    private static final long SECOND = Duration.ofSeconds(1).toNanos();
+
+    private MockServiceProperties properties(long seed) {
+        MockServiceProperties properties = new MockServiceProperties();
+        properties.setPercentageValue(10.0);
+        properties.setSeed(seed);
+        properties.setFailureRate(0.0);
+        return properties;
+    }
+
+    private List<UpstreamOutcome> sample(UpstreamBehaviorModel model, int calls) {
+        List<UpstreamOutcome> outcomes = new ArrayList<>();
+        for (int i = 0; i < calls; i++) {
+            outcomes.add(model.nextCall(0));
+        }
+        return outcomes;
+    }
+
+    @Test
+    @DisplayName("Con la misma semilla debe repetir exactamente la secuencia de latencias y fallos")
+    void nextCall_withSameSeed_shouldBeDeterministic() {
+        MockServiceProperties properties = properties(42);
+        properties.setFailureRate(0.3);
+        properties.getLatency().setDistribution(MockServiceProperties.Distribution.LOG_NORMAL);
+
+        assertThat(sample(new UpstreamBehaviorModel(properties), 200))
+                .isEqualTo(sample(new UpstreamBehaviorModel(properties), 200));
+    }
+
+    @Test
+    @DisplayName("La distribución uniforme debe muestrear dentro del rango configurado")
+    void nextCall_withUniform_shouldStayWithinRange() {
+        MockServiceProperties properties = properties(7);
+        properties.getLatency().setDistribution(MockServiceProperties.Distribution.UNIFORM);
+        properties.getLatency().setMin(Duration.ofMillis(10));
+        properties.getLatency().setMax(Duration.ofMillis(20));
+
+        assertThat(sample(new UpstreamBehaviorModel(properties), 500))
+                .allSatisfy(outcome -> assertThat(outcome.latency()).isBetween(Duration.ofMillis(10), Duration.ofMillis(20)));
+    }
+
+    @Test
+    @DisplayName("La distribución bimodal debe producir solo la latencia rápida o la lenta, en la proporción configurada")
+    void nextCall_withBimodal_shouldProduceTwoModes() {
+        MockServiceProperties properties = properties(3);
+        properties.setDelay(Duration.ofMillis(5));
+        properties.getLatency().setDistribution(MockServiceProperties.Distribution.BIMODAL);
+        properties.getLatency().setSlowDelay(Duration.ofSeconds(1));
+        properties.getLatency().setSlowRatio(0.1);
+
+        List<UpstreamOutcome> outcomes = sample(new UpstreamBehaviorModel(properties), 10_000);
+
+        assertThat(outcomes).extracting(UpstreamOutcome::latency)
+                .containsOnly(Duration.ofMillis(5), Duration.ofSeconds(1));
+        long slow = outcomes.stream().filter(outcome -> outcome.latency().equals(Duration.ofSeconds(1))).count();
+        assertThat(slow).isBetween(800L, 1200L);
+    }
+
+    @Test
+    @DisplayName("Debe aplicar la fase del guion correspondiente al tiempo transcurrido y repetirlo en bucle")
+    void nextCall_withScenario_shouldFollowPhases() {
+        MockServiceProperties properties = properties(1);
+        properties.setDelay(Duration.ofMillis(50));
+        MockServiceProperties.Phase healthy = new MockServiceProperties.Phase();
+        healthy.setName("sano");
+        healthy.setDuration(Duration.ofSeconds(10));
+        MockServiceProperties.Phase broken = new MockServiceProperties.Phase();
+        broken.setName("caido");
+        broken.setDuration(Duration.ofSeconds(5));
+        broken.setFailureRate(1.0);
+        properties.getScenario().setPhases(List.of(healthy, broken));
+
+        UpstreamBehaviorModel model = new UpstreamBehaviorModel(properties);
+
+        assertThat(model.phaseAt(9 * SECOND)).isEqualTo("sano");
+        assertThat(model.nextCall(9 * SECOND)).isEqualTo(new UpstreamOutcome(false, Duration.ofMillis(50)));
+        assertThat(model.phaseAt(12 * SECOND)).isEqualTo("caido");
+        assertThat(model.nextCall(12 * SECOND).failure()).isTrue();
+        assertThat(model.phaseAt(16 * SECOND)).isEqualTo("sano");
+    }
+
+    @Test
+    @DisplayName("Durante una ventana de caída todas las llamadas deben fallar")
+    void nextCall_withOutages_shouldFailInsideWindows() {
+        MockServiceProperties properties = properties(11);
+        properties.getOutage().setEnabled(true);
+        properties.getOutage().setMeanInterval(Duration.ofSeconds(10));
+        properties.getOutage().setDuration(Duration.ofSeconds(2));
+
+        UpstreamBehaviorModel model = new UpstreamBehaviorModel(properties);
+
+        long failures = 0;
+        for (long t = 0; t < 3600 * SECOND; t += SECOND / 10) {
+            if (model.nextCall(t).failure()) {
+                failures++;
+            }
+        }
+        // Ciclos de ~12 s con 2 s caídos: alrededor de una sexta parte de las llamadas
+        assertThat(failures).isBetween(4_000L, 8_000L);
+    }
+}
@@ -0,0 +1,101 @@
+package com.felipearrano.challenge.infrastructure.adapter.out.idempotency;
+
+import com.felipearrano.challenge.TestcontainersConfiguration;
+import com.felipearrano.challenge.infrastructure.config.IdempotencyProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Import(TestcontainersConfiguration.class)
+class RedisIdempotencyStoreTest {
+
+    private static final String FINGERPRINT = "fingerprint";
+
+    @Autowired
+    private RedisIdempotencyStore store;
+
+    @Autowired
+    private IdempotencyProperties properties;
+
+    @Autowired
+    private ReactiveStringRedisTemplate redisTemplate;
+
+    private final Duration originalLockTtl = Duration.ofSeconds(30);
+
+    @AfterEach
+    void restoreLockTtl() {
+        properties.setLockTtl(originalLockTtl);
+    }
+
+    private static IdempotencyRecord response(String body) {
+        return IdempotencyRecord.completed(FINGERPRINT, 200, "application/json", body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Espera a que Redis expire la marca, como si la petición original tardara más que lock-ttl
+    private void awaitExpiry(String key) {
+        Mono.defer(() -> redisTemplate.hasKey(properties.getRedisKeyPrefix() + key))
+                .filter(exists -> !exists)
+                .repeatWhenEmpty(attempts -> attempts.delayElements(Duration.ofMillis(20)).take(100))
+                .block(Duration.ofSeconds(5));
+    }
+
+    @Test
+    @DisplayName("El dueño de la marca debe poder guardar la respuesta y solo él debe poder liberarla")
+    void completeAndRelease_shouldRequireOwnerToken() {
+        String key = UUID.randomUUID().toString();
+        String owner = store.tryAcquire(key, FINGERPRINT).block();
+        assertThat(owner).isNotNull();
+
+        StepVerifier.create(store.tryAcquire(key, FINGERPRINT)).verifyComplete();
+        StepVerifier.create(store.release(key, "otro-dueño")).expectNext(false).verifyComplete();
+        StepVerifier.create(store.complete(key, owner, response("{\"result\":11.0}"))).expectNext(true).verifyComplete();
+
+        StepVerifier.create(store.find(key))
+                .assertNext(record -> {
+                    assertThat(record.isCompleted()).isTrue();
+                    assertThat(new String(record.body(), StandardCharsets.UTF_8)).isEqualTo("{\"result\":11.0}");
+                })
+                .verifyComplete();
+        // Una respuesta guardada ya no tiene dueño: un release tardío no la borra
+        StepVerifier.create(store.release(key, owner)).expectNext(false).verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Si la marca expira y otra petición la toma, la original no debe pisarla ni borrarla")
+    void whenLockExpires_originalOwnerShouldNotOverwriteOrReleaseNewLock() {
+        properties.setLockTtl(Duration.ofMillis(100));
+        String key = UUID.randomUUID().toString();
+        String slowOwner = store.tryAcquire(key, FINGERPRINT).block();
+        assertThat(slowOwner).isNotNull();
+
+        awaitExpiry(key);
+        properties.setLockTtl(originalLockTtl);
+        String newOwner = store.tryAcquire(key, FINGERPRINT).block();
+        assertThat(newOwner).isNotNull().isNotEqualTo(slowOwner);
+
+        StepVerifier.create(store.complete(key, slowOwner, response("{\"result\":1.0}"))).expectNext(false).verifyComplete();
+        StepVerifier.create(store.release(key, slowOwner)).expectNext(false).verifyComplete();
+        StepVerifier.create(store.find(key))
+                .assertNext(record -> {
+                    assertThat(record.isCompleted()).isFalse();
+                    assertThat(record.owner()).isEqualTo(newOwner);
+                })
+                .verifyComplete();
+
+        StepVerifier.create(store.release(key, newOwner)).expectNext(true).verifyComplete();
+        StepVerifier.create(store.find(key)).verifyComplete();
+    }
+}
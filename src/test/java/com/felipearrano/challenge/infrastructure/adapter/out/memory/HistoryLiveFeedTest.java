@@ -0,0 +1,86 @@
+package com.felipearrano.challenge.infrastructure.adapter.out.memory;
+
+import com.felipearrano.challenge.domain.HistoryLog;
+import com.felipearrano.challenge.infrastructure.config.HistoryLiveTailProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HistoryLiveFeedTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private HistoryLiveFeed feed(HistoryLiveTailProperties.Overflow overflow, int bufferSize) {
+        HistoryLiveTailProperties properties = new HistoryLiveTailProperties();
+        properties.setOverflow(overflow);
+        properties.setBufferSize(bufferSize);
+        return new HistoryLiveFeed(properties, meterRegistry);
+    }
+
+    private HistoryLog log(int status) {
+        return new HistoryLog(UUID.randomUUID(), Instant.now(), "/api/test", "[]", "{}", status, status < 400, null);
+    }
+
+    @Test
+    @DisplayName("Debe entregar solo los eventos que cumplen el filtro del suscriptor")
+    void subscribe_withFilter_shouldReceiveMatchingEvents() {
+        HistoryLiveFeed feed = feed(HistoryLiveTailProperties.Overflow.DROP_OLDEST, 16);
+        HistoryLog error = log(503);
+
+        StepVerifier.create(feed.subscribe(historyLog -> historyLog.httpStatus() == 503))
+                .then(() -> {
+                    feed.publish(log(200));
+                    feed.publish(error);
+                })
+                .expectNext(error)
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Un suscriptor lento debe perder los eventos más antiguos sin afectar la publicación")
+    void subscribe_whenSlowConsumer_shouldDropOldest() {
+        HistoryLiveFeed feed = feed(HistoryLiveTailProperties.Overflow.DROP_OLDEST, 2);
+        HistoryLog second = log(200);
+        HistoryLog third = log(201);
+
+        StepVerifier.create(feed.subscribe(historyLog -> true), 0)
+                .then(() -> {
+                    feed.publish(log(199));
+                    feed.publish(second);
+                    feed.publish(third);
+                })
+                .thenRequest(2)
+                .expectNext(second, third)
+                .thenCancel()
+                .verify();
+
+        assertThat(meterRegistry.get("history.live-tail.dropped").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("En modo LATEST debe conservar solo el último evento pendiente")
+    void subscribe_whenLatest_shouldConflate() {
+        HistoryLiveFeed feed = feed(HistoryLiveTailProperties.Overflow.LATEST, 1);
+        HistoryLog last = log(204);
+
+        StepVerifier.create(feed.subscribe(historyLog -> true), 0)
+                .then(() -> {
+                    feed.publish(log(200));
+                    feed.publish(log(201));
+                    feed.publish(last);
+                })
+                .thenRequest(1)
+                .expectNext(last)
+                .thenCancel()
+                .verify();
+
+        assertThat(meterRegistry.get("history.live-tail.dropped").counter().count()).isEqualTo(2.0);
+    }
+}
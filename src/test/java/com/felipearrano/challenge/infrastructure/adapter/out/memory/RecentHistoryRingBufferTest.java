@@ -0,0 +1,87 @@
+package com.felipearrano.challenge.infrastructure.adapter.out.memory;
+
+import com.felipearrano.challenge.domain.HistoryLog;
+import com.felipearrano.challenge.infrastructure.config.RecentHistoryCacheProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecentHistoryRingBufferTest {
+
+    private final Instant base = Instant.parse("2025-01-01T00:00:00Z");
+    private RecentHistoryRingBuffer ringBuffer;
+
+    @BeforeEach
+    void setUp() {
+        RecentHistoryCacheProperties properties = new RecentHistoryCacheProperties();
+        properties.setCapacity(16);
+        properties.setOrderingSlack(2);
+        ringBuffer = new RecentHistoryRingBuffer(properties);
+    }
+
+    private HistoryLog logAt(int second) {
+        return new HistoryLog(UUID.randomUUID(), base.plusSeconds(second), "/api/test", "[]", "{}", 200, true, null);
+    }
+
+    @Test
+    @DisplayName("Sin total sincronizado no debe servir páginas desde memoria")
+    void shouldNotServeBeforeTotalIsSynced() {
+        ringBuffer.add(logAt(1));
+
+        assertThat(ringBuffer.findRecentPage(PageRequest.of(0, 1))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Debe servir las páginas recientes ordenadas de más nuevo a más antiguo")
+    void shouldServeNewestFirstEvenIfWrittenOutOfOrder() {
+        ringBuffer.syncTotal(1000);
+        for (int i = 0; i < 10; i++) {
+            ringBuffer.add(logAt(i));
+        }
+        // Escritura asíncrona que terminó después que una más nueva
+        ringBuffer.add(logAt(-1));
+        ringBuffer.add(logAt(11));
+
+        Optional<Page<HistoryLog>> page = ringBuffer.findRecentPage(PageRequest.of(0, 3));
+
+        assertThat(page).isPresent();
+        assertThat(page.get().getTotalElements()).isEqualTo(1012);
+        assertThat(page.get().getContent()).extracting(HistoryLog::timestamp)
+                .containsExactly(base.plusSeconds(11), base.plusSeconds(9), base.plusSeconds(8));
+    }
+
+    @Test
+    @DisplayName("Debe devolver vacío si la página no cabe en el buffer")
+    void shouldFallBackWhenPageDoesNotFit() {
+        ringBuffer.syncTotal(1000);
+        for (int i = 0; i < 20; i++) {
+            ringBuffer.add(logAt(i));
+        }
+
+        assertThat(ringBuffer.findRecentPage(PageRequest.of(0, 10))).isPresent();
+        assertThat(ringBuffer.findRecentPage(PageRequest.of(1, 10))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Si toda la tabla está en memoria debe servir cualquier página")
+    void shouldServeAnyPageWhenWholeTableFits() {
+        ringBuffer.syncTotal(0);
+        for (int i = 0; i < 5; i++) {
+            ringBuffer.add(logAt(i));
+        }
+
+        Optional<Page<HistoryLog>> lastPage = ringBuffer.findRecentPage(PageRequest.of(1, 3));
+
+        assertThat(lastPage).isPresent();
+        assertThat(lastPage.get().getTotalElements()).isEqualTo(5);
+        assertThat(lastPage.get().getContent()).hasSize(2);
+    }
+}
@@ -0,0 +1,60 @@
+package com.felipearrano.challenge.infrastructure.adapter.out.persistence;
+
+import com.felipearrano.challenge.domain.HistorySearchCriteria;
+import com.felipearrano.challenge.domain.HistorySearchCriteria.Comparison;
+import com.felipearrano.challenge.domain.HistorySearchCriteria.ParameterCondition;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+
+class HistoryJsonQueryTest {
+
+    @Test
+    @DisplayName("Debe usar contención para documentos e igualdades y la expresión indexada para rangos")
+    void shouldBuildIndexFriendlyPredicates() {
+        HistorySearchCriteria criteria = new HistorySearchCriteria(
+                "/api/v1/calculations/sum-with-percentage",
+                "{\"num2\":20}",
+                null,
+                List.of(new ParameterCondition("num1", Comparison.GT, new BigDecimal("1000")),
+                        new ParameterCondition("num1", Comparison.EQ, new BigDecimal("1500.5"))),
+                50);
+
+        HistoryJsonQuery query = HistoryJsonQuery.of(criteria);
+
+        assertThat(query.sql()).isEqualTo("SELECT * FROM call_history WHERE endpoint_invoked = :p0"
+                + " AND parameters_json @> CAST(:p1 AS jsonb)"
+                + " AND (parameters_json -> 'num1') > CAST(:p2 AS jsonb) AND jsonb_typeof(parameters_json -> 'num1') = 'number'"
+                + " AND parameters_json @> CAST(:p3 AS jsonb)"
+                + " ORDER BY timestamp DESC, id DESC LIMIT :p4");
+        assertThat(query.bindings()).containsExactly(
+                entry("p0", "/api/v1/calculations/sum-with-percentage"),
+                entry("p1", "{\"num2\":20}"),
+                entry("p2", "1000"),
+                entry("p3", "{\"num1\": 1500.5}"),
+                entry("p4", 50));
+    }
+
+    @Test
+    @DisplayName("La expresión del índice de rango debe coincidir con la de la consulta")
+    void rangeIndexShouldMatchQueryExpression() {
+        assertThat(HistoryJsonIndexInitializer.rangeIndexSql("num1"))
+                .isEqualTo("CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_call_history_param_num1"
+                        + " ON call_history ((parameters_json -> 'num1'))");
+    }
+
+    @Test
+    @DisplayName("Debe rechazar claves que no son identificadores simples")
+    void shouldRejectUnsafeKeys() {
+        HistorySearchCriteria criteria = new HistorySearchCriteria(null, null, null,
+                List.of(new ParameterCondition("num1'; DROP TABLE call_history; --", Comparison.GT, BigDecimal.ONE)), 10);
+
+        assertThatThrownBy(() -> HistoryJsonQuery.of(criteria)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,104 @@
+package com.felipearrano.challenge.infrastructure.adapter.out.persistence;
+
+import com.felipearrano.challenge.TestcontainersConfiguration;
+import com.felipearrano.challenge.application.port.out.HistoryRepositoryPort;
+import com.felipearrano.challenge.domain.HistoryLog;
+import com.felipearrano.challenge.infrastructure.adapter.out.persistence.routing.ReplicaLagMonitor;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactories;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+import reactor.test.StepVerifier;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Levanta un segundo Postgres como "réplica" independiente: al no replicar, un registro que solo existe
+ * en él demuestra que la lectura se enrutó a la réplica, y uno que solo existe en el primario que la
+ * escritura no salió de él.
+ */
+@Testcontainers
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest(properties = {
+        "history.db.replica.enabled=true",
+        "history.recent-cache.enabled=false"
+})
+class HistoryReplicaRoutingIntegrationTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> replica = new PostgreSQLContainer<>(DockerImageName.parse("postgres:latest"))
+            .withInitScript("schema.sql");
+
+    @Autowired
+    private HistoryRepositoryPort historyRepositoryPort;
+
+    @Autowired
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    @Autowired
+    @Qualifier("auditWriteConnectionFactory")
+    private ConnectionFactory primaryConnectionFactory;
+
+    @DynamicPropertySource
+    static void replicaProperties(DynamicPropertyRegistry registry) {
+        registry.add("history.db.replica.urls[0]", HistoryReplicaRoutingIntegrationTest::replicaUrl);
+    }
+
+    @Test
+    @DisplayName("Debe leer desde la réplica y escribir en el primario")
+    void findAllPaginated_whenReplicaWithinLag_shouldReadFromReplica() {
+        StepVerifier.create(replicaLagMonitor.checkLag()).verifyComplete();
+        assertThat(replicaLagMonitor.selectReplica()).isPresent();
+
+        UUID replicaOnlyId = UUID.randomUUID();
+        insertInto(DatabaseClient.create(ConnectionFactories.get(replicaUrl())), replicaOnlyId);
+
+        HistoryLog written = new HistoryLog(UUID.randomUUID(), Instant.now(), "/api/v1/test", "[]", "{}", 200, true, null);
+        StepVerifier.create(historyRepositoryPort.saveLog(written)).verifyComplete();
+
+        StepVerifier.create(historyRepositoryPort.findAllPaginated(PageRequest.of(0, 10)))
+                .assertNext(page -> assertThat(page.getContent())
+                        .extracting(HistoryLog::id)
+                        .contains(replicaOnlyId)
+                        .doesNotContain(written.id()))
+                .verifyComplete();
+
+        StepVerifier.create(DatabaseClient.create(primaryConnectionFactory)
+                        .sql("SELECT COUNT(*) FROM call_history WHERE id = :id")
+                        .bind("id", written.id())
+                        .map(row -> row.get(0, Long.class))
+                        .one())
+                .expectNext(1L)
+                .verifyComplete();
+    }
+
+    private static String replicaUrl() {
+        return "r2dbc:postgresql://" + replica.getUsername() + ":" + replica.getPassword() + "@" + replica.getHost()
+                + ":" + replica.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT) + "/" + replica.getDatabaseName();
+    }
+
+    private static void insertInto(DatabaseClient client, UUID id) {
+        client.sql("""
+                        INSERT INTO call_history (id, timestamp, endpoint_invoked, http_status, is_success)
+                        VALUES (:id, now(), '/api/v1/replica', 200, true)
+                        """)
+                .bind("id", id)
+                .then()
+                .block();
+    }
+}
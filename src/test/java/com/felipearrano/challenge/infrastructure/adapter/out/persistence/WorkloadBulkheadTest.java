@@ -0,0 +1,47 @@
+package com.felipearrano.challenge.infrastructure.adapter.out.persistence;
+
+import com.felipearrano.challenge.infrastructure.adapter.out.persistence.exception.WorkloadSaturatedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WorkloadBulkheadTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final WorkloadBulkhead bulkhead = new WorkloadBulkhead("history-read", 1, meterRegistry);
+
+    @Test
+    @DisplayName("Debe rechazar de inmediato cuando se alcanza el máximo de operaciones en curso")
+    void execute_whenSaturated_shouldRejectImmediately() {
+        Sinks.One<String> pending = Sinks.one();
+
+        StepVerifier.create(bulkhead.execute(pending.asMono()))
+                .then(() -> StepVerifier.create(bulkhead.execute(Mono.just("segunda")))
+                        .expectError(WorkloadSaturatedException.class)
+                        .verify())
+                .then(() -> pending.tryEmitValue("primera"))
+                .expectNext("primera")
+                .verifyComplete();
+
+        assertThat(meterRegistry.get("history.db.bulkhead.rejected").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Debe liberar el cupo al terminar, incluso con error")
+    void execute_whenOperationFails_shouldReleasePermit() {
+        StepVerifier.create(bulkhead.execute(Mono.error(new IllegalStateException("fallo"))))
+                .expectError(IllegalStateException.class)
+                .verify();
+
+        StepVerifier.create(bulkhead.execute(Mono.just("ok")))
+                .expectNext("ok")
+                .verifyComplete();
+
+        assertThat(meterRegistry.get("history.db.bulkhead.in-flight").gauge().value()).isZero();
+    }
+}
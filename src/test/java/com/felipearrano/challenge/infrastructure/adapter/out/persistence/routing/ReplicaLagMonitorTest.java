@@ -0,0 +1,58 @@
+package com.felipearrano.challenge.infrastructure.adapter.out.persistence.routing;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.pool.ConnectionPool;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class ReplicaLagMonitorTest {
+
+    private ReplicaLagMonitor lagMonitor;
+
+    @BeforeEach
+    void setUp() {
+        Map<String, ConnectionPool> pools = new LinkedHashMap<>();
+        pools.put("replica-0", mock(ConnectionPool.class));
+        pools.put("replica-1", mock(ConnectionPool.class));
+        lagMonitor = new ReplicaLagMonitor(pools, Duration.ofSeconds(5), new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("No debe usar réplicas cuyo lag aún no se midió")
+    void selectReplica_beforeFirstCheck_shouldFallBackToPrimary() {
+        assertThat(lagMonitor.selectReplica()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Debe repartir las lecturas entre las réplicas dentro del lag máximo")
+    void selectReplica_whenAllWithinLag_shouldRoundRobin() {
+        lagMonitor.recordLag("replica-0", 0.2);
+        lagMonitor.recordLag("replica-1", 1.0);
+
+        assertThat(lagMonitor.selectReplica()).contains("replica-0");
+        assertThat(lagMonitor.selectReplica()).contains("replica-1");
+        assertThat(lagMonitor.selectReplica()).contains("replica-0");
+    }
+
+    @Test
+    @DisplayName("Debe excluir la réplica que supera el lag máximo y volver al primario si no queda ninguna")
+    void selectReplica_whenLagExceeded_shouldSkipReplica() {
+        lagMonitor.recordLag("replica-0", 12.0);
+        lagMonitor.recordLag("replica-1", 0.5);
+
+        assertThat(lagMonitor.selectReplica()).contains("replica-1");
+        assertThat(lagMonitor.selectReplica()).contains("replica-1");
+
+        lagMonitor.recordLag("replica-1", 6.0);
+
+        assertThat(lagMonitor.selectReplica()).isEmpty();
+    }
+}
@@ -0,0 +1,96 @@
+package com.felipearrano.challenge.infrastructure.config;
+
+import com.felipearrano.challenge.infrastructure.adapter.out.persistence.exception.WorkloadSaturatedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ExecutionLaneTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ExecutionLane created;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (created != null) {
+            created.destroy();
+        }
+    }
+
+    private ExecutionLane lane(boolean enabled, int maxConcurrency, int queueCapacity) {
+        created = new ExecutionLane("test", new ExecutionLanesProperties.Lane(enabled,
+                ExecutionLanesProperties.ThreadType.PLATFORM, maxConcurrency, queueCapacity),
+                Schedulers.immediate(), meterRegistry);
+        return created;
+    }
+
+    @Test
+    @DisplayName("Debe continuar la cadena en un hilo del carril")
+    void shouldPublishOnLaneThread() {
+        ExecutionLane lane = lane(true, 2, 10);
+
+        StepVerifier.create(lane.publish(Mono.fromSupplier(() -> "ok")).map(value -> Thread.currentThread().getName()))
+                .assertNext(thread -> assertThat(thread).startsWith("lane-test-"))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Con los hilos ocupados y la cola llena debe rechazar con WorkloadSaturatedException")
+    void shouldRejectWhenSaturated() throws InterruptedException {
+        ExecutionLane lane = lane(true, 1, 0);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        lane.execute(() -> {
+            started.countDown();
+            awaitQuietly(release);
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        try {
+            StepVerifier.create(lane.publish(Mono.just("ok")))
+                    .expectError(WorkloadSaturatedException.class)
+                    .verify();
+            assertThatThrownBy(() -> lane.execute(() -> { }))
+                    .isInstanceOf(RejectedExecutionException.class);
+            assertThat(meterRegistry.get("execution.lane.utilization").tag("lane", "test").gauge().value())
+                    .isEqualTo(1.0);
+        } finally {
+            release.countDown();
+        }
+        assertThat(meterRegistry.get("execution.lane.rejected").tag("lane", "test").counter().count())
+                .isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("Desactivado no debe cambiar de hilo ni crear métricas de executor")
+    void shouldRunInlineWhenDisabled() {
+        ExecutionLane lane = lane(false, 1, 0);
+        AtomicReference<Thread> ran = new AtomicReference<>();
+
+        lane.execute(() -> ran.set(Thread.currentThread()));
+
+        assertThat(ran.get()).isSameAs(Thread.currentThread());
+        assertThat(lane.asyncExecutor()).isNull();
+        assertThat(meterRegistry.find("execution.lane.utilization").gauge()).isNull();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
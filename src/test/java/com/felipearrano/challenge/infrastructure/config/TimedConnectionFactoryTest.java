@@ -0,0 +1,51 @@
+package com.felipearrano.challenge.infrastructure.config;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+class TimedConnectionFactoryTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ConnectionFactory delegate = mock(ConnectionFactory.class);
+    private final TimedConnectionFactory connectionFactory = new TimedConnectionFactory(delegate, "history-read", meterRegistry);
+
+    private Timer acquireTimer() {
+        return meterRegistry.get("history.db.pool.acquire").tag("workload", "history-read").timer();
+    }
+
+    @Test
+    @DisplayName("Debe registrar la latencia de las adquisiciones exitosas")
+    void create_whenAcquired_shouldRecordLatency() {
+        doReturn(Mono.just(mock(Connection.class))).when(delegate).create();
+
+        StepVerifier.create(Mono.from(connectionFactory.create()))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        assertThat(acquireTimer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Debe registrar también las adquisiciones que vencen")
+    void create_whenAcquireTimesOut_shouldRecordLatency() {
+        doReturn(Mono.error(new TimeoutException("max-acquire-time"))).when(delegate).create();
+
+        StepVerifier.create(Mono.from(connectionFactory.create()))
+                .expectError(TimeoutException.class)
+                .verify();
+
+        assertThat(acquireTimer().count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,96 @@
+package com.felipearrano.challenge.infrastructure.diagnostics;
+
+import com.felipearrano.challenge.infrastructure.config.JfrRecordingProperties;
+import com.felipearrano.challenge.infrastructure.diagnostics.event.JfrEvents;
+import com.felipearrano.challenge.infrastructure.diagnostics.event.PercentageAttemptEvent;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.Resource;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JfrRecordingEndpointTest {
+
+    @TempDir
+    Path directory;
+
+    private JfrRecordingEndpoint endpoint;
+
+    @BeforeEach
+    void setUp() {
+        JfrRecordingProperties properties = new JfrRecordingProperties();
+        properties.setDirectory(directory);
+        properties.setSettings("default");
+        properties.setMaxDuration(Duration.ofMinutes(1));
+        endpoint = new JfrRecordingEndpoint(properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        endpoint.destroy();
+    }
+
+    @Test
+    @DisplayName("Debe grabar los eventos propios y devolver el archivo al detener la grabación")
+    void startAndStop_shouldReturnRecordingWithCustomEvents() throws IOException {
+        WebEndpointResponse<JfrRecordingEndpoint.RecordingStatus> started = endpoint.start(Duration.ofSeconds(30), null);
+        assertThat(started.getStatus()).isEqualTo(WebEndpointResponse.STATUS_OK);
+        assertThat(started.getBody().state()).isEqualTo("RUNNING");
+
+        StepVerifier.create(JfrEvents.timed(Mono.just(10.0),
+                        () -> new PercentageAttemptEvent(PercentageAttemptEvent.SOURCE_UPSTREAM)))
+                .expectNext(10.0)
+                .verifyComplete();
+        JfrEvents.rateLimitRejected("/api/v1/history", "apiGlobalLimiter");
+
+        WebEndpointResponse<Resource> stopped = endpoint.stop();
+
+        assertThat(stopped.getStatus()).isEqualTo(WebEndpointResponse.STATUS_OK);
+        List<RecordedEvent> events = RecordingFile.readAllEvents(stopped.getBody().getFile().toPath());
+        assertThat(events).anySatisfy(event -> {
+            assertThat(event.getEventType().getName()).isEqualTo("com.felipearrano.challenge.PercentageAttempt");
+            assertThat(event.getString("source")).isEqualTo("upstream");
+            assertThat(event.getString("outcome")).isEqualTo("success");
+        });
+        assertThat(events).anySatisfy(event ->
+                assertThat(event.getEventType().getName()).isEqualTo("com.felipearrano.challenge.RateLimitRejected"));
+    }
+
+    @Test
+    @DisplayName("Debe rechazar una segunda grabación mientras haya una en curso")
+    void start_whenAlreadyRunning_shouldReturnConflict() {
+        endpoint.start(null, null);
+
+        assertThat(endpoint.start(null, null).getStatus()).isEqualTo(409);
+    }
+
+    @Test
+    @DisplayName("Debe acotar la duración pedida al máximo configurado y rechazar configuraciones desconocidas")
+    void start_shouldBoundDurationAndValidateSettings() {
+        assertThat(endpoint.start(null, "custom").getStatus()).isEqualTo(WebEndpointResponse.STATUS_BAD_REQUEST);
+
+        WebEndpointResponse<JfrRecordingEndpoint.RecordingStatus> started = endpoint.start(Duration.ofHours(2), null);
+
+        assertThat(started.getBody().duration()).isEqualTo(Duration.ofMinutes(1));
+    }
+
+    @Test
+    @DisplayName("Detener sin grabación previa debe responder 404")
+    void stop_withoutRecording_shouldReturnNotFound() {
+        assertThat(endpoint.stop().getStatus()).isEqualTo(WebEndpointResponse.STATUS_NOT_FOUND);
+        assertThat(endpoint.status().state()).isEqualTo("NONE");
+    }
+}
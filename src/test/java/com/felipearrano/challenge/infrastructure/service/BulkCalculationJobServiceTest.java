@@ -0,0 +1,166 @@
+package com.felipearrano.challenge.infrastructure.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.felipearrano.challenge.application.port.out.PercentageServicePort;
+import com.felipearrano.challenge.infrastructure.adapter.out.persistence.exception.WorkloadSaturatedException;
+import com.felipearrano.challenge.infrastructure.config.BulkCalculationProperties;
+import com.felipearrano.challenge.infrastructure.config.ExecutionLane;
+import com.felipearrano.challenge.infrastructure.config.ExecutionLanesProperties;
+import com.felipearrano.challenge.infrastructure.service.exception.BulkJobNotReadyException;
+import com.felipearrano.challenge.infrastructure.service.exception.BulkUploadTooLargeException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BulkCalculationJobServiceTest {
+
+    @Mock
+    private PercentageServicePort percentageServicePort;
+
+    @TempDir
+    private Path workDirectory;
+
+    private BulkCalculationProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private BulkCalculationJobService service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        properties = new BulkCalculationProperties();
+        properties.setWorkDirectory(workDirectory);
+        properties.setChunkSize(2);
+        meterRegistry = new SimpleMeterRegistry();
+        ExecutionLane bulkLane = new ExecutionLane("bulk", new ExecutionLanesProperties.Lane(false,
+                ExecutionLanesProperties.ThreadType.VIRTUAL, 1, 0), Schedulers.boundedElastic(), meterRegistry);
+        service = new BulkCalculationJobService(percentageServicePort, properties, bulkLane, new ObjectMapper(), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.destroy();
+    }
+
+    private static Flux<DataBuffer> content(String text) {
+        return Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(text.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private BulkCalculationJob awaitFinished(BulkCalculationJob job) throws InterruptedException {
+        for (int i = 0; i < 500 && !job.isFinished(); i++) {
+            Thread.sleep(10);
+        }
+        assertThat(job.isFinished()).isTrue();
+        return job;
+    }
+
+    @Test
+    @DisplayName("Debe calcular todas las filas con un único porcentaje e informar las líneas inválidas")
+    void shouldCalculateCsvWithSinglePercentageSnapshot() throws Exception {
+        when(percentageServicePort.getPercentage()).thenReturn(Mono.just(10.0));
+
+        BulkCalculationJob job = service.submit("pares.csv", BulkCalculationJob.Format.CSV,
+                content("num1,num2\n5,5\n\n1.5,abc\n-1,2\n10.5,20\n")).block();
+        awaitFinished(job);
+
+        assertThat(job.status()).isEqualTo(BulkCalculationJob.Status.COMPLETED);
+        assertThat(job.percentage()).isEqualTo(10.0);
+        assertThat(job.rowsCalculated()).isEqualTo(2);
+        assertThat(job.rowsInvalid()).isEqualTo(2);
+        assertThat(job.progress()).isEqualTo(1.0);
+        verify(percentageServicePort, times(1)).getPercentage();
+        assertThat(Files.readAllLines(service.completed(job.id()).resultFile())).containsExactly(
+                "line,num1,num2,result,error",
+                "2,5,5,11.0000,",
+                "4,,,,\"num2 no es un número: abc\"",
+                "5,,,,\"num1 debe ser positivo o cero\"",
+                "6,10.5,20,33.55000,");
+        assertThat(job.inputFile()).doesNotExist();
+        assertThat(meterRegistry.counter("calculation.bulk.rows", "outcome", "calculated").count()).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("Debe procesar NDJSON y escribir los resultados como NDJSON")
+    void shouldCalculateNdjson() throws Exception {
+        when(percentageServicePort.getPercentage()).thenReturn(Mono.just(0.0));
+
+        BulkCalculationJob job = service.submit("pares.ndjson", BulkCalculationJob.Format.NDJSON,
+                content("{\"num1\": 0.1, \"num2\": 0.2}\n{\"num1\": 1}\nnot json\n")).block();
+        awaitFinished(job);
+
+        assertThat(Files.readAllLines(job.resultFile())).containsExactly(
+                "{\"line\":1,\"num1\":0.1,\"num2\":0.2,\"result\":0.30000}",
+                "{\"line\":2,\"error\":\"num2 es obligatorio\"}",
+                "{\"line\":3,\"error\":\"JSON inválido\"}");
+    }
+
+    @Test
+    @DisplayName("Si no se obtiene el porcentaje, el trabajo debe fallar y sus resultados no deben poder descargarse")
+    void shouldFailWhenPercentageIsUnavailable() throws Exception {
+        when(percentageServicePort.getPercentage()).thenReturn(Mono.error(new IllegalStateException("sin porcentaje")));
+
+        BulkCalculationJob job = service.submit("pares.csv", BulkCalculationJob.Format.CSV, content("1,2\n")).block();
+        awaitFinished(job);
+
+        assertThat(job.status()).isEqualTo(BulkCalculationJob.Status.FAILED);
+        assertThat(job.error()).isEqualTo("sin porcentaje");
+        assertThatThrownBy(() -> service.completed(job.id())).isInstanceOf(BulkJobNotReadyException.class);
+    }
+
+    @Test
+    @DisplayName("Con el máximo de trabajos pendientes debe rechazar la subida sin guardarla")
+    void shouldRejectWhenTooManyPendingJobs() {
+        when(percentageServicePort.getPercentage()).thenReturn(Mono.never());
+        properties.setMaxPendingJobs(1);
+
+        service.submit("a.csv", BulkCalculationJob.Format.CSV, content("1,2\n")).block();
+
+        StepVerifier.create(service.submit("b.csv", BulkCalculationJob.Format.CSV, content("1,2\n")))
+                .expectError(WorkloadSaturatedException.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Debe cortar la subida al pasar max-upload-size, borrar lo escrito y liberar el hueco en la cola")
+    void shouldRejectUploadLargerThanMaxUploadSize() throws Exception {
+        properties.setMaxUploadSize(DataSize.ofBytes(8));
+        properties.setMaxPendingJobs(1);
+
+        StepVerifier.create(service.submit("grande.csv", BulkCalculationJob.Format.CSV,
+                        Flux.concat(content("1,2\n3,4\n"), content("5,6\n"))))
+                .expectError(BulkUploadTooLargeException.class)
+                .verify();
+
+        try (var files = Files.list(workDirectory)) {
+            assertThat(files).isEmpty();
+        }
+        verify(percentageServicePort, never()).getPercentage();
+        when(percentageServicePort.getPercentage()).thenReturn(Mono.never());
+        StepVerifier.create(service.submit("chico.csv", BulkCalculationJob.Format.CSV, content("1,2\n")))
+                .expectNextCount(1)
+                .verifyComplete();
+    }
+}
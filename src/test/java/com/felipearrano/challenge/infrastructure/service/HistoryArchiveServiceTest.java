@@ -0,0 +1,142 @@
+package com.felipearrano.challenge.infrastructure.service;
+
+import com.felipearrano.challenge.domain.HistoryLog;
+import com.felipearrano.challenge.infrastructure.adapter.out.archive.HistorySegment;
+import com.felipearrano.challenge.infrastructure.adapter.out.archive.HistorySegmentCatalog;
+import com.felipearrano.challenge.infrastructure.adapter.out.persistence.HistoryPersistenceAdapter;
+import com.felipearrano.challenge.infrastructure.config.ExecutionLane;
+import com.felipearrano.challenge.infrastructure.config.ExecutionLanesProperties;
+import com.felipearrano.challenge.infrastructure.config.HistoryArchiveProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class HistoryArchiveServiceTest {
+
+    private static final int SEGMENT_MAX_ROWS = 3;
+
+    private final Instant base = Instant.parse("2024-01-01T00:00:00Z");
+    private final Instant cutoff = base.plusSeconds(86_400);
+
+    @TempDir
+    Path directory;
+
+    @Mock
+    private HistoryPersistenceAdapter database;
+
+    @Mock
+    private HistoryWriteWatermark historyWriteWatermark;
+
+    private HistorySegmentCatalog catalog;
+    private HistoryArchiveService archiveService;
+
+    @BeforeEach
+    void setUp() {
+        HistoryArchiveProperties properties = new HistoryArchiveProperties();
+        properties.setEnabled(true);
+        properties.setDirectory(directory);
+        properties.setSegmentMaxRows(SEGMENT_MAX_ROWS);
+        catalog = new HistorySegmentCatalog(properties);
+        ExecutionLane bulkLane = new ExecutionLane("bulk", new ExecutionLanesProperties.Lane(false,
+                ExecutionLanesProperties.ThreadType.VIRTUAL, 1, 0), Schedulers.immediate(), new SimpleMeterRegistry());
+        archiveService = new HistoryArchiveService(database, catalog, properties, bulkLane, historyWriteWatermark);
+
+        lenient().when(historyWriteWatermark.advance()).thenReturn(Mono.empty());
+        lenient().when(database.deleteByIds(anyCollection()))
+                .thenAnswer(invocation -> Mono.just((long) invocation.<Collection<?>>getArgument(0).size()));
+    }
+
+    private List<HistoryLog> logsAt(int... minutes) {
+        List<HistoryLog> logs = new ArrayList<>();
+        for (int minute : minutes) {
+            logs.add(new HistoryLog(UUID.randomUUID(), base.plusSeconds(minute * 60L), "/api/v1/history",
+                    "[]", null, 200, true, null));
+        }
+        return logs;
+    }
+
+    private List<UUID> archivedIds() {
+        return catalog.segments().stream()
+                .flatMap(segment -> catalog.readAll(segment).stream())
+                .map(HistoryLog::id)
+                .toList();
+    }
+
+    @Test
+    @DisplayName("Debe mover los registros en segmentos de a lo sumo segment-max-rows y borrarlos de la BD")
+    void archive_shouldMoveRowsInSegmentsAndDeleteThem() {
+        List<HistoryLog> rows = logsAt(0, 1, 2, 3, 4);
+        when(database.findOldestBefore(cutoff, SEGMENT_MAX_ROWS))
+                .thenReturn(Flux.fromIterable(rows.subList(0, 3)), Flux.fromIterable(rows.subList(3, 5)));
+
+        StepVerifier.create(archiveService.archive(cutoff))
+                .expectNext(5L)
+                .verifyComplete();
+
+        assertThat(catalog.segments()).extracting(HistorySegment::rowCount).containsExactly(2, 3);
+        assertThat(archivedIds()).containsExactlyInAnyOrderElementsOf(rows.stream().map(HistoryLog::id).toList());
+        verify(database, times(2)).deleteByIds(anyCollection());
+        verify(historyWriteWatermark, times(2)).advance();
+    }
+
+    @Test
+    @DisplayName("Las filas que ya están en un segmento por un archivado interrumpido deben borrarse sin volver a escribirse")
+    void archive_whenRowsAlreadyArchived_shouldDeleteWithoutRewriting() throws IOException {
+        List<HistoryLog> rows = logsAt(0, 1, 2);
+        // El archivado anterior escribió el segmento de las dos primeras filas pero no llegó a borrarlas
+        catalog.write(rows.subList(0, 2));
+        when(database.findOldestBefore(cutoff, SEGMENT_MAX_ROWS))
+                .thenReturn(Flux.fromIterable(rows), Flux.empty());
+
+        StepVerifier.create(archiveService.archive(cutoff))
+                .expectNext(3L)
+                .verifyComplete();
+
+        assertThat(catalog.segments()).extracting(HistorySegment::rowCount).containsExactlyInAnyOrder(2, 1);
+        assertThat(archivedIds()).containsExactlyInAnyOrderElementsOf(rows.stream().map(HistoryLog::id).toList());
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<UUID>> deleted = ArgumentCaptor.forClass(Collection.class);
+        verify(database).deleteByIds(deleted.capture());
+        assertThat(deleted.getValue()).containsExactlyInAnyOrderElementsOf(rows.stream().map(HistoryLog::id).toList());
+    }
+
+    @Test
+    @DisplayName("Sin registros anteriores al corte no debe escribir segmentos")
+    void archive_withoutCandidates_shouldNotWriteSegments() {
+        when(database.findOldestBefore(any(), anyInt())).thenReturn(Flux.empty());
+
+        StepVerifier.create(archiveService.archive(cutoff))
+                .expectNext(0L)
+                .verifyComplete();
+
+        assertThat(catalog.isEmpty()).isTrue();
+    }
+}
@@ -0,0 +1,87 @@
+package com.felipearrano.challenge.infrastructure.service;
+
+import com.felipearrano.challenge.infrastructure.config.HistoryCaptureProperties;
+import com.felipearrano.challenge.infrastructure.service.HistoryCaptureSampler.CaptureDecision;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HistoryCaptureSamplerTest {
+
+    private static final String ENDPOINT = "/api/v1/history";
+
+    private HistoryCaptureProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private HistoryCaptureSampler sampler;
+
+    @BeforeEach
+    void setUp() {
+        properties = new HistoryCaptureProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        sampler = new HistoryCaptureSampler(properties, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Sin política de muestreo debe capturar todas las llamadas")
+    void shouldCaptureEverythingByDefault() {
+        assertThat(sampler.decide(ENDPOINT, 200, true)).isEqualTo(CaptureDecision.CAPTURE);
+        assertThat(sampler.decide(ENDPOINT, 500, false)).isEqualTo(CaptureDecision.CAPTURE);
+    }
+
+    @Test
+    @DisplayName("Los errores deben capturarse siempre aunque la tasa de muestreo sea 0")
+    void shouldAlwaysCaptureErrors() {
+        HistoryCaptureProperties.Policy policy = new HistoryCaptureProperties.Policy();
+        policy.setSuccessSampleRate(0.0);
+        properties.getEndpoints().put(ENDPOINT, policy);
+
+        assertThat(sampler.decide(ENDPOINT, 200, true)).isEqualTo(CaptureDecision.SKIP);
+        assertThat(sampler.decide(ENDPOINT, 500, false)).isEqualTo(CaptureDecision.CAPTURE);
+    }
+
+    @Test
+    @DisplayName("Un 304 debe capturarse siempre salvo que la política pida muestrearlo como las respuestas exitosas")
+    void shouldSampleNotModifiedOnlyWhenConfigured() {
+        HistoryCaptureProperties.Policy policy = new HistoryCaptureProperties.Policy();
+        policy.setSuccessSampleRate(0.0);
+        properties.getEndpoints().put(ENDPOINT, policy);
+
+        assertThat(sampler.decide(ENDPOINT, 304, false)).isEqualTo(CaptureDecision.CAPTURE);
+
+        policy.setSampleNotModified(true);
+
+        assertThat(sampler.decide(ENDPOINT, 304, false)).isEqualTo(CaptureDecision.SKIP);
+        assertThat(sampler.decide(ENDPOINT, 500, false)).isEqualTo(CaptureDecision.CAPTURE);
+    }
+
+    @Test
+    @DisplayName("Debe respetar el máximo por segundo y omitir los cuerpos si está configurado")
+    void shouldApplyPerSecondCapAndDropBodies() {
+        HistoryCaptureProperties.Policy policy = new HistoryCaptureProperties.Policy();
+        policy.setMaxSuccessPerSecond(2);
+        policy.setDropBodies(true);
+        properties.getEndpoints().put(ENDPOINT, policy);
+
+        assertThat(sampler.decide(ENDPOINT, 200, true)).isEqualTo(CaptureDecision.CAPTURE_WITHOUT_BODY);
+        assertThat(sampler.decide(ENDPOINT, 200, true)).isEqualTo(CaptureDecision.CAPTURE_WITHOUT_BODY);
+        // Puede cruzarse el borde de segundo entre llamadas, por eso se valida con los contadores
+        sampler.decide(ENDPOINT, 200, true);
+
+        double captured = meterRegistry.counter("history.capture.calls", "endpoint", ENDPOINT, "outcome", "captured").count();
+        double skipped = meterRegistry.counter("history.capture.calls", "endpoint", ENDPOINT, "outcome", "skipped").count();
+        assertThat(captured + skipped).isEqualTo(3.0);
+    }
+
+    @Test
+    @DisplayName("El límite por segundo debe reiniciarse al cambiar de segundo")
+    void perSecondCapShouldResetOnNewSecond() {
+        HistoryCaptureSampler.PerSecondCap cap = new HistoryCaptureSampler.PerSecondCap();
+
+        assertThat(cap.tryAcquire(1, 100)).isTrue();
+        assertThat(cap.tryAcquire(1, 100)).isFalse();
+        assertThat(cap.tryAcquire(1, 101)).isTrue();
+    }
+}
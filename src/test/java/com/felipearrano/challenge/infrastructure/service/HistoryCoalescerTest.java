@@ -0,0 +1,188 @@
+package com.felipearrano.challenge.infrastructure.service;
+
+import com.felipearrano.challenge.domain.HistoryLog;
+import com.felipearrano.challenge.infrastructure.config.ExecutionLane;
+import com.felipearrano.challenge.infrastructure.config.ExecutionLanesProperties;
+import com.felipearrano.challenge.infrastructure.config.HistoryCoalescingProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class HistoryCoalescerTest {
+
+    private static final String ENDPOINT = "/api/v1/calculations/sum-with-percentage";
+    private static final Instant START = Instant.parse("2025-01-01T00:00:00Z");
+    private static final long WINDOW_NANOS = Duration.ofSeconds(1).toNanos();
+
+    @Mock
+    private AsyncHistoryLoggerService loggerService;
+
+    private HistoryCoalescingProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private HistoryCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        properties = new HistoryCoalescingProperties();
+        properties.setEnabled(true);
+        properties.setWindow(Duration.ofSeconds(1));
+        meterRegistry = new SimpleMeterRegistry();
+        coalescer = new HistoryCoalescer(properties, loggerService, meterRegistry);
+    }
+
+    private static HistoryLog call(long offsetMillis, String responseBody) {
+        return new HistoryLog(UUID.randomUUID(), START.plusMillis(offsetMillis), ENDPOINT,
+                "[10.5,20]", responseBody, 200, true, null);
+    }
+
+    @Test
+    @DisplayName("Desactivada no debe retener ningún registro")
+    void shouldNotTakeRecordsWhenDisabled() {
+        properties.setEnabled(false);
+
+        assertThat(coalescer.offer(call(0, "33.6"))).isFalse();
+        assertThat(coalescer.flush(Long.MAX_VALUE, true)).isZero();
+    }
+
+    @Test
+    @DisplayName("Las llamadas idénticas dentro de la ventana deben guardarse como un solo registro con sus ocurrencias")
+    void shouldMergeIdenticalCallsWithinWindow() {
+        HistoryLog first = call(0, "33.6");
+        assertThat(coalescer.offer(first, 0)).isTrue();
+        assertThat(coalescer.offer(call(250, "33.6"), 250_000_000L)).isTrue();
+        assertThat(coalescer.offer(call(-5, "33.6"), 300_000_000L)).isTrue();
+
+        assertThat(coalescer.flush(WINDOW_NANOS - 1, false)).isZero();
+        verify(loggerService, never()).logApiCall(any());
+
+        assertThat(coalescer.flush(WINDOW_NANOS, false)).isEqualTo(1);
+        ArgumentCaptor<HistoryLog> saved = ArgumentCaptor.forClass(HistoryLog.class);
+        verify(loggerService).logApiCall(saved.capture());
+        assertThat(saved.getValue().id()).isEqualTo(first.id());
+        assertThat(saved.getValue().occurrences()).isEqualTo(3);
+        assertThat(saved.getValue().timestamp()).isEqualTo(START.minusMillis(5));
+        assertThat(saved.getValue().lastTimestamp()).isEqualTo(START.plusMillis(250));
+        assertThat(meterRegistry.counter("history.coalescing.merged").count()).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("Llamadas con distinta respuesta deben guardarse en registros separados")
+    void shouldKeepDifferentResponsesApart() {
+        coalescer.offer(call(0, "33.6"), 0);
+        coalescer.offer(call(10, "40.0"), 10_000_000L);
+
+        assertThat(coalescer.flush(Long.MAX_VALUE, true)).isEqualTo(2);
+        ArgumentCaptor<HistoryLog> saved = ArgumentCaptor.forClass(HistoryLog.class);
+        verify(loggerService, times(2)).logApiCall(saved.capture());
+        assertThat(saved.getAllValues()).extracting(HistoryLog::occurrences).containsOnly(1);
+    }
+
+    @Test
+    @DisplayName("Una repetición después de la ventana debe cerrar el grupo vencido y abrir uno nuevo")
+    void shouldStartNewGroupAfterWindow() {
+        coalescer.offer(call(0, "33.6"), 0);
+        coalescer.offer(call(100, "33.6"), 100_000_000L);
+        HistoryLog late = call(1500, "33.6");
+        coalescer.offer(late, WINDOW_NANOS + 500_000_000L);
+
+        // La llamada ya corre en el carril de auditoría: el grupo cerrado se guarda en la misma tarea
+        ArgumentCaptor<HistoryLog> saved = ArgumentCaptor.forClass(HistoryLog.class);
+        verify(loggerService).persist(saved.capture());
+        assertThat(saved.getValue().occurrences()).isEqualTo(2);
+        verify(loggerService, never()).logApiCall(any());
+
+        coalescer.flush(Long.MAX_VALUE, true);
+        ArgumentCaptor<HistoryLog> flushed = ArgumentCaptor.forClass(HistoryLog.class);
+        verify(loggerService).logApiCall(flushed.capture());
+        assertThat(flushed.getValue().id()).isEqualTo(late.id());
+        assertThat(flushed.getValue().occurrences()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Con el máximo de grupos pendientes alcanzado, las llamadas nuevas deben guardarse sin agrupar")
+    void shouldRejectNewGroupsWhenFull() {
+        properties.setMaxPending(1);
+
+        assertThat(coalescer.offer(call(0, "33.6"), 0)).isTrue();
+        assertThat(coalescer.offer(call(10, "40.0"), 10_000_000L)).isFalse();
+        // Las repeticiones de un grupo existente se siguen sumando
+        assertThat(coalescer.offer(call(20, "33.6"), 20_000_000L)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Al detenerse debe guardar los grupos pendientes en el hilo actual y dejar de abrir grupos")
+    void destroy_shouldPersistPendingGroupsAndStopTakingRecords() {
+        HistoryLog first = call(0, "33.6");
+        coalescer.offer(first, 0);
+        coalescer.offer(call(10, "33.6"), 10_000_000L);
+
+        coalescer.destroy();
+
+        ArgumentCaptor<HistoryLog> saved = ArgumentCaptor.forClass(HistoryLog.class);
+        verify(loggerService).persist(saved.capture());
+        assertThat(saved.getValue().id()).isEqualTo(first.id());
+        assertThat(saved.getValue().occurrences()).isEqualTo(2);
+        verify(loggerService, never()).logApiCall(any());
+        assertThat(coalescer.offer(call(20, "33.6"), 20_000_000L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Al cerrar el contexto el carril de auditoría debe seguir aceptando tareas mientras se vacía la agrupación")
+    void contextClose_shouldDestroyCoalescerBeforeAuditLane() {
+        List<String> events = new CopyOnWriteArrayList<>();
+        AtomicReference<HistoryCoalescer> registered = new AtomicReference<>();
+        ExecutionLanesProperties.Lane laneConfig = new ExecutionLanesProperties.Lane(true,
+                ExecutionLanesProperties.ThreadType.PLATFORM, 1, 10);
+
+        // La agrupación se registra antes que el carril: sin @DependsOn el carril se destruiría primero
+        new ApplicationContextRunner()
+                .withBean(HistoryCoalescingProperties.class, () -> properties)
+                .withBean(AsyncHistoryLoggerService.class, () -> loggerService)
+                .withBean(MeterRegistry.class, () -> meterRegistry)
+                .withBean(HistoryCoalescer.class)
+                .withBean("auditLane", ExecutionLane.class,
+                        () -> new ExecutionLane("audit", laneConfig, Schedulers.immediate(), meterRegistry))
+                .run(context -> {
+                    ExecutionLane auditLane = context.getBean("auditLane", ExecutionLane.class);
+                    doAnswer(invocation -> {
+                        try {
+                            auditLane.execute(() -> { });
+                            events.add("persisted");
+                        } catch (RejectedExecutionException e) {
+                            events.add("lane-already-destroyed");
+                        }
+                        return null;
+                    }).when(loggerService).persist(any());
+                    HistoryCoalescer contextCoalescer = context.getBean(HistoryCoalescer.class);
+                    registered.set(contextCoalescer);
+                    assertThat(contextCoalescer.offer(call(0, "33.6"), 0)).isTrue();
+                });
+
+        assertThat(events).containsExactly("persisted");
+        assertThat(registered.get().offer(call(10, "33.6"), 10_000_000L)).isFalse();
+    }
+}
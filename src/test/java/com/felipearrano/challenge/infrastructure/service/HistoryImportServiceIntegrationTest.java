@@ -0,0 +1,217 @@
+package com.felipearrano.challenge.infrastructure.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.felipearrano.challenge.TestcontainersConfiguration;
+import com.felipearrano.challenge.domain.HistoryLog;
+import com.felipearrano.challenge.infrastructure.config.HistoryJsonStorageProperties;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.test.StepVerifier;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Importación contra un Postgres real: COPY a la tabla temporal, ON CONFLICT sobre los ids y
+ * posición confirmada en {@code call_history_import}.
+ */
+@SpringBootTest(properties = "history.import.batch-size=2")
+@Import(TestcontainersConfiguration.class)
+class HistoryImportServiceIntegrationTest {
+
+    @Autowired
+    private HistoryImportService historyImportService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private HistoryJsonStorageProperties jsonStorageProperties;
+
+    @Autowired
+    @Qualifier("auditWriteConnectionFactory")
+    private ConnectionFactory connectionFactory;
+
+    @TempDir
+    private Path directory;
+
+    private DatabaseClient client;
+    private String endpoint;
+
+    @BeforeEach
+    void setUp() {
+        client = DatabaseClient.create(connectionFactory);
+        endpoint = "/api/v1/import-test/" + UUID.randomUUID();
+    }
+
+    private List<HistoryLog> records(int count) {
+        Instant base = Instant.parse("2025-04-10T12:00:00Z");
+        List<HistoryLog> records = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            // Comas, comillas y saltos de línea escapados deben sobrevivir al CSV del COPY
+            records.add(new HistoryLog(UUID.randomUUID(), base.plus(i, ChronoUnit.SECONDS), endpoint,
+                    "[" + i + ", \"a,\\\"b\\\"\\n\"]", "{\"result\":" + i + "}", 200, true, null));
+        }
+        return records;
+    }
+
+    private Path write(String name, List<HistoryLog> records, String... extraLines) throws Exception {
+        List<String> lines = new ArrayList<>();
+        for (HistoryLog record : records) {
+            lines.add(objectMapper.writeValueAsString(record));
+        }
+        lines.addAll(List.of(extraLines));
+        return Files.write(directory.resolve(name), lines);
+    }
+
+    private long countRows() {
+        return client.sql("SELECT COUNT(*) FROM call_history WHERE endpoint_invoked = :endpoint")
+                .bind("endpoint", endpoint)
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .block();
+    }
+
+    @Test
+    @DisplayName("Debe copiar los registros válidos, omitir los inválidos y confirmar la posición alcanzada")
+    void importFile_shouldCopyValidRecordsAndCommitPosition() throws Exception {
+        List<HistoryLog> records = records(4);
+        Path file = write("history.ndjson", records, "no es json");
+
+        StepVerifier.create(historyImportService.importFile(file))
+                .assertNext(summary -> {
+                    assertThat(summary.resumedFrom()).isZero();
+                    assertThat(summary.recordsRead()).isEqualTo(5);
+                    assertThat(summary.imported()).isEqualTo(4);
+                    assertThat(summary.duplicates()).isZero();
+                    assertThat(summary.invalid()).isEqualTo(1);
+                })
+                .verifyComplete();
+
+        assertThat(countRows()).isEqualTo(4);
+        assertThat(client.sql("SELECT parameters_received FROM call_history WHERE id = :id")
+                .bind("id", records.get(2).id())
+                .map(row -> row.get(0, String.class))
+                .one()
+                .block())
+                .isEqualTo(records.get(2).parametersReceived());
+        assertThat(client.sql("SELECT committed_position, rows_imported FROM call_history_import WHERE job_id = :job")
+                .bind("job", HistoryImportService.jobIdOf(file))
+                .map(row -> List.of(row.get(0, Long.class), row.get(1, Long.class)))
+                .one()
+                .block())
+                .containsExactly(5L, 4L);
+    }
+
+    @Test
+    @DisplayName("Debe reanudar desde la posición confirmada sin volver a leer los registros anteriores")
+    void importFile_shouldResumeFromCommittedPosition() throws Exception {
+        List<HistoryLog> records = records(4);
+        Path file = write("resume.ndjson", records);
+        client.sql("""
+                        INSERT INTO call_history_import (job_id, committed_position, rows_imported, updated_at)
+                        VALUES (:job, 2, 2, now())
+                        """)
+                .bind("job", HistoryImportService.jobIdOf(file))
+                .then()
+                .block();
+
+        StepVerifier.create(historyImportService.importFile(file))
+                .assertNext(summary -> {
+                    assertThat(summary.resumedFrom()).isEqualTo(2);
+                    assertThat(summary.recordsRead()).isEqualTo(2);
+                    assertThat(summary.imported()).isEqualTo(2);
+                })
+                .verifyComplete();
+
+        assertThat(client.sql("SELECT id FROM call_history WHERE endpoint_invoked = :endpoint")
+                .bind("endpoint", endpoint)
+                .map(row -> row.get(0, UUID.class))
+                .all()
+                .collectList()
+                .block())
+                .containsExactlyInAnyOrder(records.get(2).id(), records.get(3).id());
+    }
+
+    @Test
+    @DisplayName("Un archivo nuevo con el mismo nombre debe empezar de cero e ignorar los ids ya importados")
+    void importFile_whenFileReplaced_shouldStartOverAndSkipExistingIds() throws Exception {
+        List<HistoryLog> records = records(4);
+        Path file = write("daily.ndjson", records.subList(0, 3));
+        StepVerifier.create(historyImportService.importFile(file))
+                .assertNext(summary -> assertThat(summary.imported()).isEqualTo(3))
+                .verifyComplete();
+
+        write("daily.ndjson", records);
+
+        StepVerifier.create(historyImportService.importFile(file))
+                .assertNext(summary -> {
+                    assertThat(summary.resumedFrom()).isZero();
+                    assertThat(summary.recordsRead()).isEqualTo(4);
+                    assertThat(summary.imported()).isEqualTo(1);
+                    assertThat(summary.duplicates()).isEqualTo(3);
+                })
+                .verifyComplete();
+
+        assertThat(countRows()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Un registro agrupado debe importarse con sus ocurrencias y su último timestamp")
+    void importFile_shouldKeepCoalescedOccurrencesAndLastTimestamp() throws Exception {
+        Instant first = Instant.parse("2025-04-10T12:00:00Z");
+        HistoryLog coalesced = new HistoryLog(UUID.randomUUID(), first, endpoint, "[5, 5]", "{\"result\":11.0}",
+                200, true, null, 7, first.plusMillis(850));
+        Path file = write("coalesced.ndjson", List.of(coalesced));
+
+        StepVerifier.create(historyImportService.importFile(file))
+                .assertNext(summary -> assertThat(summary.imported()).isEqualTo(1))
+                .verifyComplete();
+
+        assertThat(client.sql("SELECT occurrences, last_timestamp FROM call_history WHERE id = :id")
+                .bind("id", coalesced.id())
+                .map(row -> List.<Object>of(row.get(0, Integer.class), row.get(1, Instant.class)))
+                .one()
+                .block())
+                .containsExactly(7, first.plusMillis(850));
+    }
+
+    @Test
+    @DisplayName("Con history.json-storage activo la importación debe llenar las columnas jsonb solo con JSON válido")
+    void importFile_withJsonStorage_shouldFillJsonColumns() throws Exception {
+        HistoryLog record = new HistoryLog(UUID.randomUUID(), Instant.parse("2025-04-10T12:00:00Z"), endpoint,
+                "{\"num1\": 1500.5, \"num2\": 3}", "[No Body]", 200, true, null);
+        Path file = write("json.ndjson", List.of(record));
+
+        jsonStorageProperties.setEnabled(true);
+        try {
+            StepVerifier.create(historyImportService.importFile(file))
+                    .assertNext(summary -> assertThat(summary.imported()).isEqualTo(1))
+                    .verifyComplete();
+        } finally {
+            jsonStorageProperties.setEnabled(false);
+        }
+
+        assertThat(client.sql("SELECT parameters_json ->> 'num1', response_json IS NULL FROM call_history WHERE id = :id")
+                .bind("id", record.id())
+                .map(row -> List.<Object>of(row.get(0, String.class), row.get(1, Boolean.class)))
+                .one()
+                .block())
+                .containsExactly("1500.5", true);
+    }
+}
@@ -0,0 +1,89 @@
+package com.felipearrano.challenge.infrastructure.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.felipearrano.challenge.domain.HistoryLog;
+import com.felipearrano.challenge.infrastructure.service.exception.InvalidImportRecordException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HistoryRecordParserTest {
+
+    private final HistoryRecordParser parser = new HistoryRecordParser(new ObjectMapper().registerModule(new JavaTimeModule()));
+
+    @Test
+    @DisplayName("Debe convertir una línea NDJSON válida")
+    void parseJson_whenValid_shouldReturnHistoryLog() {
+        String line = """
+                {"id":"0f8fad5b-d9cb-469f-a165-70867728950e","timestamp":"2025-01-01T10:00:00Z",\
+                "endpointInvoked":"/api/v1/history","parametersReceived":"[0, 10]","responseBody":"{}",\
+                "httpStatus":200,"isSuccess":true,"errorMessage":null}""";
+
+        HistoryLog log = parser.parseJson(line);
+
+        assertThat(log.id()).isEqualTo(UUID.fromString("0f8fad5b-d9cb-469f-a165-70867728950e"));
+        assertThat(log.timestamp()).isEqualTo(Instant.parse("2025-01-01T10:00:00Z"));
+        assertThat(log.httpStatus()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("Debe rechazar registros sin campos obligatorios o con código HTTP fuera de rango")
+    void parseJson_whenInvalid_shouldThrow() {
+        assertThatThrownBy(() -> parser.parseJson("{\"timestamp\":\"2025-01-01T10:00:00Z\"}"))
+                .isInstanceOf(InvalidImportRecordException.class);
+        assertThatThrownBy(() -> parser.parseJson("""
+                {"id":"0f8fad5b-d9cb-469f-a165-70867728950e","timestamp":"2025-01-01T10:00:00Z",\
+                "endpointInvoked":"/x","httpStatus":999,"isSuccess":true}"""))
+                .isInstanceOf(InvalidImportRecordException.class)
+                .hasMessageContaining("999");
+        assertThatThrownBy(() -> parser.parseJson("no es json"))
+                .isInstanceOf(InvalidImportRecordException.class);
+    }
+
+    @Test
+    @DisplayName("Debe leer CSV con encabezado en snake_case, comillas escapadas y nulos")
+    void parseCsv_whenQuotedFields_shouldUnescape() {
+        Map<String, Integer> header = parser.parseCsvHeader(
+                "id,timestamp,endpoint_invoked,parameters_received,response_body,http_status,is_success,error_message");
+
+        HistoryLog log = parser.parseCsv("0f8fad5b-d9cb-469f-a165-70867728950e,2025-01-01T10:00:00Z,/api/v1/x,"
+                + "\"[1, 2]\",\"{\"\"result\"\":3}\",500,false,", header);
+
+        assertThat(log.parametersReceived()).isEqualTo("[1, 2]");
+        assertThat(log.responseBody()).isEqualTo("{\"result\":3}");
+        assertThat(log.isSuccess()).isFalse();
+        assertThat(log.errorMessage()).isNull();
+    }
+
+    @Test
+    @DisplayName("Debe conservar occurrences y last_timestamp de un registro agrupado")
+    void parse_whenCoalescedRecord_shouldKeepOccurrencesAndLastTimestamp() {
+        HistoryLog fromJson = parser.parseJson("""
+                {"id":"0f8fad5b-d9cb-469f-a165-70867728950e","timestamp":"2025-01-01T10:00:00Z",\
+                "endpointInvoked":"/api/v1/x","httpStatus":200,"isSuccess":true,\
+                "occurrences":3,"lastTimestamp":"2025-01-01T10:00:00.800Z"}""");
+        Map<String, Integer> header = parser.parseCsvHeader(
+                "id,timestamp,endpoint_invoked,http_status,is_success,occurrences,last_timestamp");
+        HistoryLog fromCsv = parser.parseCsv(
+                "0f8fad5b-d9cb-469f-a165-70867728950e,2025-01-01T10:00:00Z,/api/v1/x,200,true,3,2025-01-01T10:00:00.800Z", header);
+
+        assertThat(fromJson.occurrences()).isEqualTo(3);
+        assertThat(fromJson.lastTimestamp()).isEqualTo(Instant.parse("2025-01-01T10:00:00.800Z"));
+        assertThat(fromCsv).isEqualTo(fromJson);
+    }
+
+    @Test
+    @DisplayName("Debe exigir las columnas obligatorias en el encabezado CSV")
+    void parseCsvHeader_whenMissingColumn_shouldThrow() {
+        assertThatThrownBy(() -> parser.parseCsvHeader("id,timestamp"))
+                .isInstanceOf(InvalidImportRecordException.class)
+                .hasMessageContaining("endpointinvoked");
+    }
+}
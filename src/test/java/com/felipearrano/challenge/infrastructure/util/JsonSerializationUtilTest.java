@@ -0,0 +1,91 @@
+package com.felipearrano.challenge.infrastructure.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.felipearrano.challenge.infrastructure.config.AuditSerializationProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JsonSerializationUtilTest {
+
+    private JsonSerializationUtil util(int maxBytes) {
+        AuditSerializationProperties properties = new AuditSerializationProperties();
+        properties.setMaxBytes(maxBytes);
+        return new JsonSerializationUtil(new ObjectMapper(), properties);
+    }
+
+    @Test
+    @DisplayName("Debe serializar el array de argumentos con el mismo formato de siempre")
+    void shouldSerializeArgumentsArray() {
+        JsonSerializationUtil util = util(1024);
+
+        String result = util.safelySerializeArray(new Object[]{new BigDecimal("10.5"), null, Mono.empty()});
+
+        assertThat(result).isEqualTo("[10.5, null, MonoEmpty]");
+        assertThat(util.safelySerializeArray(new Object[0])).isEqualTo("[]");
+    }
+
+    @Test
+    @DisplayName("Debe serializar los argumentos como objeto con sus nombres")
+    void shouldSerializeNamedArguments() {
+        JsonSerializationUtil util = util(1024);
+
+        String result = util.safelySerializeNamed(new String[]{"num1", "num2"}, new Object[]{new BigDecimal("10.5"), null});
+
+        assertThat(result).isEqualTo("{\"num1\": 10.5, \"num2\": null}");
+        assertThat(util.safelySerializeNamed(new String[0], new Object[0])).isEqualTo("{}");
+    }
+
+    @Test
+    @DisplayName("Debe truncar al alcanzar el límite de bytes y agregar el marcador")
+    void shouldTruncateAtByteLimit() {
+        JsonSerializationUtil util = util(64);
+
+        String result = util.safelySerialize(Map.of("value", "x".repeat(500)));
+
+        assertThat(result).endsWith(JsonSerializationUtil.TRUNCATION_MARKER);
+        assertThat(result.length()).isEqualTo(64 + JsonSerializationUtil.TRUNCATION_MARKER.length());
+    }
+
+    @Test
+    @DisplayName("Los cortes repetidos no deben acumular excepciones suprimidas en la instancia compartida")
+    void shouldNotAccumulateSuppressedExceptionsAcrossTruncations() {
+        JsonSerializationUtil util = util(64);
+
+        for (int i = 0; i < 100; i++) {
+            String result = util.safelySerialize(Map.of("nested", Map.of("value", "x".repeat(500))));
+            assertThat(result).endsWith(JsonSerializationUtil.TRUNCATION_MARKER);
+        }
+
+        assertThat(JsonSerializationUtil.LimitReachedException.INSTANCE.getSuppressed()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("No debe cortar un carácter multibyte al truncar")
+    void shouldNotSplitMultibyteCharacters() {
+        JsonSerializationUtil util = util(64);
+
+        String result = util.safelySerialize("ñ".repeat(100));
+        String content = result.substring(0, result.length() - JsonSerializationUtil.TRUNCATION_MARKER.length());
+
+        assertThat(content).doesNotContain("�");
+        assertThat(content.getBytes(StandardCharsets.UTF_8).length).isLessThanOrEqualTo(64);
+    }
+
+    @Test
+    @DisplayName("Debe reutilizar el buffer entre llamadas sin arrastrar contenido previo")
+    void shouldReuseBufferWithoutLeakingPreviousContent() {
+        JsonSerializationUtil util = util(64);
+
+        util.safelySerialize("y".repeat(500));
+        String result = util.safelySerialize("corto");
+
+        assertThat(result).isEqualTo("\"corto\"");
+    }
+}
@@ -0,0 +1,52 @@
+package com.felipearrano.challenge.infrastructure.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.event.Level;
+
+import java.time.Duration;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RateLimitedLoggerTest {
+
+    @Test
+    @DisplayName("Dentro de la ventana solo debe escribirse el primer mensaje de cada clave")
+    void shouldSuppressRepeatedMessagesWithinWindow() {
+        Logger delegate = mock(Logger.class);
+        when(delegate.isEnabledForLevel(Level.WARN)).thenReturn(true);
+        RateLimitedLogger logger = new RateLimitedLogger(delegate, Duration.ofHours(1));
+
+        for (int i = 0; i < 5; i++) {
+            logger.warn("upstream", "Fallo {}", i);
+        }
+        logger.warn("otra-clave", "Otro fallo");
+
+        // Se verifica la sobrecarga varargs, que es la que usa RateLimitedLogger
+        verify(delegate).warn("Fallo {}", new Object[]{0});
+        verify(delegate).warn("Otro fallo", new Object[0]);
+        verify(delegate, never()).warn("Fallo {}", new Object[]{1});
+    }
+
+    @Test
+    @DisplayName("Al abrir una nueva ventana debe informar los mensajes suprimidos manteniendo la excepción al final")
+    void shouldReportSuppressedCountKeepingThrowableLast() throws InterruptedException {
+        Logger delegate = mock(Logger.class);
+        when(delegate.isEnabledForLevel(Level.ERROR)).thenReturn(true);
+        RateLimitedLogger logger = new RateLimitedLogger(delegate, Duration.ofMillis(50));
+        RuntimeException error = new RuntimeException("caído");
+
+        logger.error("upstream", "Fallo: {}", "a", error);
+        logger.error("upstream", "Fallo: {}", "b", error);
+        logger.error("upstream", "Fallo: {}", "c", error);
+        Thread.sleep(60);
+        logger.error("upstream", "Fallo: {}", "d", error);
+
+        verify(delegate).error("Fallo: {}", new Object[]{"a", error});
+        verify(delegate).error("Fallo: {} ({} mensajes similares suprimidos en los últimos {} s)", new Object[]{"d", 2L, 0L, error});
+    }
+}